@@ -0,0 +1,93 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.core;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
+import org.terasology.engine.entitySystem.systems.ComponentAccess;
+import org.terasology.engine.entitySystem.systems.UpdateSubscriberSystem;
+import org.terasology.unittest.stubs.IntegerComponent;
+import org.terasology.unittest.stubs.StringComponent;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class UpdateSubscriberSchedulerTest {
+
+    @Test
+    public void testIndependentSystemsShareStage() {
+        UpdateSubscriberSystem readsInteger = new ReadsInteger();
+        UpdateSubscriberSystem writesString = new WritesString();
+
+        UpdateSubscriberScheduler scheduler = new UpdateSubscriberScheduler(Arrays.asList(readsInteger, writesString));
+
+        assertEquals(Collections.singletonList(Arrays.asList(readsInteger, writesString)), scheduler.getStages());
+    }
+
+    @Test
+    public void testConflictingSystemsKeepOrder() {
+        UpdateSubscriberSystem writesInteger = new WritesInteger();
+        UpdateSubscriberSystem readsInteger = new ReadsInteger();
+        UpdateSubscriberSystem writesString = new WritesString();
+
+        UpdateSubscriberScheduler scheduler = new UpdateSubscriberScheduler(
+                Arrays.asList(writesInteger, readsInteger, writesString));
+
+        assertEquals(Arrays.asList(Collections.singletonList(writesInteger), Arrays.asList(readsInteger, writesString)),
+                scheduler.getStages());
+    }
+
+    @Test
+    public void testUndeclaredSystemsRunAlone() {
+        UpdateSubscriberSystem readsInteger = new ReadsInteger();
+        UpdateSubscriberSystem undeclared = new Undeclared();
+        UpdateSubscriberSystem writesString = new WritesString();
+
+        UpdateSubscriberScheduler scheduler = new UpdateSubscriberScheduler(
+                Arrays.asList(readsInteger, undeclared, writesString));
+
+        assertEquals(Arrays.asList(Collections.singletonList(readsInteger), Collections.singletonList(undeclared),
+                Collections.singletonList(writesString)), scheduler.getStages());
+    }
+
+    @Test
+    public void testUpdatesEverySystem() {
+        List<CountingSystem> systems = Lists.newArrayList(new ReadsInteger(), new WritesString(), new Undeclared(),
+                new WritesInteger(), new ReadsInteger());
+
+        new UpdateSubscriberScheduler(systems).update(0.5f);
+
+        for (CountingSystem system : systems) {
+            assertEquals(1, system.updates.get());
+        }
+    }
+
+    private abstract static class CountingSystem extends BaseComponentSystem implements UpdateSubscriberSystem {
+        private final AtomicInteger updates = new AtomicInteger();
+
+        @Override
+        public void update(float delta) {
+            updates.incrementAndGet();
+        }
+    }
+
+    @ComponentAccess(reads = IntegerComponent.class)
+    private static class ReadsInteger extends CountingSystem {
+    }
+
+    @ComponentAccess(writes = IntegerComponent.class)
+    private static class WritesInteger extends CountingSystem {
+    }
+
+    @ComponentAccess(reads = IntegerComponent.class, writes = StringComponent.class)
+    private static class WritesString extends CountingSystem {
+    }
+
+    private static class Undeclared extends CountingSystem {
+    }
+}
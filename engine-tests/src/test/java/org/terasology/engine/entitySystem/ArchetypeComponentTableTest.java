@@ -0,0 +1,121 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.entitySystem;
+
+import gnu.trove.iterator.TLongIterator;
+import gnu.trove.iterator.TLongObjectIterator;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.entitySystem.entity.internal.ArchetypeComponentTable;
+import org.terasology.gestalt.entitysystem.component.Component;
+import org.terasology.unittest.stubs.IntegerComponent;
+import org.terasology.unittest.stubs.StringComponent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ArchetypeComponentTableTest {
+
+    private final ArchetypeComponentTable table = new ArchetypeComponentTable();
+
+    @Test
+    public void testAddingComponentsKeepsExistingOnes() {
+        StringComponent string = new StringComponent("a");
+        IntegerComponent integer = new IntegerComponent(1);
+        assertNull(table.put(1, string));
+        assertNull(table.put(1, integer));
+
+        assertSame(string, table.get(1, StringComponent.class));
+        assertSame(integer, table.get(1, IntegerComponent.class));
+        assertEquals(2, table.getComponentsInNewList(1).size());
+        assertEquals(1, table.numEntities());
+    }
+
+    @Test
+    public void testReplaceReturnsOldComponent() {
+        StringComponent first = new StringComponent("a");
+        table.put(1, first);
+        assertSame(first, table.put(1, new StringComponent("b")));
+        assertEquals("b", table.get(1, StringComponent.class).value);
+    }
+
+    @Test
+    public void testRemovingComponentKeepsOtherEntitiesIntact() {
+        for (long id = 1; id <= 3; id++) {
+            table.put(id, new StringComponent("s" + id));
+            table.put(id, new IntegerComponent((int) id));
+        }
+
+        assertEquals(1, ((IntegerComponent) table.remove(1, IntegerComponent.class)).value);
+        assertNull(table.get(1, IntegerComponent.class));
+        assertEquals("s1", table.get(1, StringComponent.class).value);
+        for (long id = 2; id <= 3; id++) {
+            assertEquals("s" + id, table.get(id, StringComponent.class).value);
+            assertEquals(id, table.get(id, IntegerComponent.class).value);
+        }
+
+        table.remove(1, StringComponent.class);
+        assertEquals(2, table.numEntities());
+        assertTrue(table.getComponentsInNewList(1).isEmpty());
+    }
+
+    @Test
+    public void testEntityIdIteratorMatchesAllComponents() {
+        table.put(1, new StringComponent());
+        table.put(2, new StringComponent());
+        table.put(2, new IntegerComponent());
+        table.put(3, new IntegerComponent());
+
+        assertEquals(ids(2), collect(table.entityIdIterator(classes(StringComponent.class, IntegerComponent.class))));
+        assertEquals(ids(1, 2), collect(table.entityIdIterator(classes(StringComponent.class))));
+        assertEquals(2, table.getComponentCount(IntegerComponent.class));
+    }
+
+    @Test
+    public void testEntityIdIteratorSkipsEntitiesChangedWhileIterating() {
+        table.put(1, new StringComponent());
+        table.put(2, new StringComponent());
+
+        TLongIterator iterator = table.entityIdIterator(classes(StringComponent.class));
+        long first = iterator.next();
+        table.remove(first == 1 ? 2 : 1);
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testComponentIterator() {
+        table.put(1, new IntegerComponent(10));
+        table.put(2, new IntegerComponent(20));
+        table.put(2, new StringComponent());
+
+        TLongObjectIterator<IntegerComponent> iterator = table.componentIterator(IntegerComponent.class);
+        int sum = 0;
+        while (iterator.hasNext()) {
+            iterator.advance();
+            assertEquals(iterator.key() * 10, iterator.value().value);
+            sum += iterator.value().value;
+        }
+        assertEquals(30, sum);
+    }
+
+    @SafeVarargs
+    private static Class<? extends Component>[] classes(Class<? extends Component>... componentClasses) {
+        return componentClasses;
+    }
+
+    private static TLongSet ids(long... ids) {
+        return new TLongHashSet(ids);
+    }
+
+    private static TLongSet collect(TLongIterator iterator) {
+        TLongSet result = new TLongHashSet();
+        while (iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+}
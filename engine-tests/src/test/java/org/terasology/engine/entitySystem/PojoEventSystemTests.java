@@ -14,6 +14,7 @@
 import org.terasology.engine.entitySystem.event.Event;
 import org.terasology.engine.entitySystem.event.EventPriority;
 import org.terasology.engine.entitySystem.event.ReceiveEvent;
+import org.terasology.engine.entitySystem.event.internal.EventDispatchMetrics;
 import org.terasology.engine.entitySystem.event.internal.EventReceiver;
 import org.terasology.engine.entitySystem.event.internal.EventSystemImpl;
 import org.terasology.engine.entitySystem.metadata.ComponentLibrary;
@@ -29,6 +30,8 @@
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 public class PojoEventSystemTests {
@@ -190,6 +193,78 @@ public void testEventReceiverRegistration() {
         assertEquals(1, receiver.eventList.size());
     }
 
+    @Test
+    public void testCachedHandlersFollowComponentChanges() {
+        TestCompoundComponentEventHandler handler = new TestCompoundComponentEventHandler();
+        eventSystem.registerEventHandler(handler);
+        entity.addComponent(new StringComponent());
+
+        eventSystem.send(entity, new TestEvent());
+        assertEquals(0, handler.receivedList.size());
+
+        entity.addComponent(new IntegerComponent());
+        eventSystem.send(entity, new TestEvent());
+        eventSystem.send(entity, new TestEvent());
+        assertEquals(2, handler.receivedList.size());
+
+        entity.removeComponent(StringComponent.class);
+        eventSystem.send(entity, new TestEvent());
+        assertEquals(2, handler.receivedList.size());
+    }
+
+    @Test
+    public void testHandlerRegisteredAfterSendIsCalled() {
+        entity.addComponent(new StringComponent());
+        TestEventHandler handler = new TestEventHandler();
+        eventSystem.registerEventHandler(handler);
+        entity.send(new TestEvent());
+
+        TestHighPriorityEventHandler handlerHigh = new TestHighPriorityEventHandler();
+        eventSystem.registerEventHandler(handlerHigh);
+        entity.send(new TestEvent());
+        assertEquals(1, handlerHigh.receivedList.size());
+
+        eventSystem.unregisterEventHandler(handlerHigh);
+        entity.send(new TestEvent());
+        assertEquals(1, handlerHigh.receivedList.size());
+        assertEquals(3, handler.receivedList.size());
+    }
+
+    @Test
+    public void testHandlerReceivesComponentParameters() {
+        StringComponent string = new StringComponent("test");
+        IntegerComponent integer = new IntegerComponent(3);
+        entity.addComponent(string);
+        entity.addComponent(integer);
+
+        TestComponentParameterEventHandler handler = new TestComponentParameterEventHandler();
+        eventSystem.registerEventHandler(handler);
+        entity.send(new TestEvent());
+
+        assertEquals(1, handler.receivedList.size());
+        assertEquals(entity, handler.receivedList.get(0).entity);
+        assertSame(string, handler.string);
+        assertSame(integer, handler.integer);
+    }
+
+    @Test
+    public void testDispatchMetrics() {
+        entity.addComponent(new StringComponent());
+        eventSystem.registerEventHandler(new TestEventHandler());
+        EventDispatchMetrics metrics = eventSystem.getDispatchMetrics();
+        metrics.reset();
+
+        for (int i = 0; i < 4; i++) {
+            entity.send(new TestEvent());
+        }
+
+        assertEquals(1, metrics.getCacheMisses());
+        assertEquals(3, metrics.getCacheHits());
+        assertEquals(0.75, metrics.getCacheHitRate(), 0.0001);
+        assertTrue(metrics.getDispatchRatesSinceLastCall().get(TestEvent.class) > 0);
+        assertTrue(metrics.getDispatchRatesSinceLastCall().isEmpty());
+    }
+
     private static class TestEvent extends AbstractConsumableEvent {
 
     }
@@ -311,6 +386,39 @@ public Received(TestEvent event, EntityRef entity) {
         }
     }
 
+    public static class TestComponentParameterEventHandler extends BaseComponentSystem {
+
+        List<Received> receivedList = Lists.newArrayList();
+        StringComponent string;
+        IntegerComponent integer;
+
+        @ReceiveEvent
+        public void handleEvent(TestEvent event, EntityRef entity, StringComponent stringComponent,
+                                IntegerComponent integerComponent) {
+            receivedList.add(new Received(event, entity));
+            string = stringComponent;
+            integer = integerComponent;
+        }
+
+        public void initialise() {
+
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        public static class Received {
+            TestEvent event;
+            EntityRef entity;
+
+            public Received(TestEvent event, EntityRef entity) {
+                this.event = event;
+                this.entity = entity;
+            }
+        }
+    }
+
     public static class TestEventReceiver implements EventReceiver<TestEvent> {
         List<Event> eventList = Lists.newArrayList();
 
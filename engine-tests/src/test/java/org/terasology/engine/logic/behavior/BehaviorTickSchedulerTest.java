@@ -0,0 +1,249 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.logic.behavior;
+
+import com.google.common.collect.Lists;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.logic.behavior.actions.CounterAction;
+import org.terasology.engine.logic.behavior.actions.Print;
+import org.terasology.engine.logic.behavior.asset.BehaviorTree;
+import org.terasology.engine.logic.behavior.core.Actor;
+import org.terasology.engine.logic.behavior.core.BaseAction;
+import org.terasology.engine.logic.behavior.core.BehaviorNode;
+import org.terasology.engine.logic.behavior.core.BehaviorState;
+import org.terasology.engine.logic.behavior.core.BehaviorTreeBuilder;
+import org.terasology.engine.logic.location.LocationComponent;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BehaviorTickSchedulerTest {
+    private static final List<Vector3f> NO_PLAYERS = Collections.emptyList();
+
+    private BehaviorTickScheduler scheduler;
+
+    @BeforeEach
+    public void setup() {
+        scheduler = new BehaviorTickScheduler();
+    }
+
+    @Test
+    public void testTicksAllWithoutBudget() {
+        Interpreter first = addInterpreter(new Vector3f());
+        Interpreter second = addInterpreter(new Vector3f());
+
+        scheduler.update(0.5f, NO_PLAYERS);
+
+        verify(first).tick(0.5f);
+        verify(second).tick(0.5f);
+    }
+
+    @Test
+    public void testBudgetTicksRoundRobinWithAccumulatedDelta() {
+        Interpreter first = addInterpreter(new Vector3f());
+        Interpreter second = addInterpreter(new Vector3f());
+        scheduler.setBudgetNanos(1);
+
+        scheduler.update(0.5f, NO_PLAYERS);
+        verify(first).tick(0.5f);
+        verify(second, never()).tick(anyFloat());
+
+        scheduler.update(0.5f, NO_PLAYERS);
+        verify(second).tick(1f);
+        verify(first, times(1)).tick(anyFloat());
+    }
+
+    @Test
+    public void testDistantInterpretersTickLessOften() {
+        Interpreter near = addInterpreter(new Vector3f(5, 0, 0));
+        Interpreter far = addInterpreter(new Vector3f(25, 0, 0));
+        scheduler.setLodDistance(10);
+        List<Vector3f> players = Collections.singletonList(new Vector3f());
+
+        scheduler.update(0.1f, players);
+        scheduler.update(0.1f, players);
+
+        verify(near, times(2)).tick(0.1f);
+        verify(far).tick(0.2f);
+    }
+
+    @Test
+    public void testRemovedInterpretersAreNotTicked() {
+        Interpreter interpreter = mock(Interpreter.class);
+        EntityRef entity = createEntity(interpreter, new Vector3f());
+        scheduler.add(entity);
+        scheduler.remove(entity);
+
+        scheduler.update(0.5f, NO_PLAYERS);
+
+        verify(interpreter, never()).tick(anyFloat());
+        assertEquals(0, scheduler.size());
+    }
+
+    @Test
+    public void testTickRemovingAllInterpreters() {
+        Interpreter interpreter = mock(Interpreter.class);
+        EntityRef entity = createEntity(interpreter, new Vector3f());
+        EntityRef other = createEntity(mock(Interpreter.class), new Vector3f());
+        doAnswer(invocation -> {
+            scheduler.remove(entity);
+            scheduler.remove(other);
+            return null;
+        }).when(interpreter).tick(anyFloat());
+        scheduler.add(entity);
+        scheduler.add(other);
+
+        scheduler.update(0.5f, NO_PLAYERS);
+
+        verify(interpreter).tick(0.5f);
+        assertEquals(0, scheduler.size());
+    }
+
+    @Test
+    public void testRemovingVisitedInterpreterSkipsNone() {
+        Interpreter first = mock(Interpreter.class);
+        EntityRef firstEntity = createEntity(first, new Vector3f());
+        Interpreter second = mock(Interpreter.class);
+        doAnswer(invocation -> {
+            scheduler.remove(firstEntity);
+            return null;
+        }).when(second).tick(anyFloat());
+        scheduler.add(firstEntity);
+        scheduler.add(createEntity(second, new Vector3f()));
+        Interpreter third = addInterpreter(new Vector3f());
+        Interpreter fourth = addInterpreter(new Vector3f());
+        scheduler.setBudgetNanos(1);
+
+        for (int i = 0; i < 3; i++) {
+            scheduler.update(0.5f, NO_PLAYERS);
+        }
+
+        verify(first).tick(0.5f);
+        verify(second).tick(1f);
+        // the last interpreter took the place of the second one, instead of being moved behind the cursor
+        verify(fourth).tick(1.5f);
+        scheduler.update(0.5f, NO_PLAYERS);
+        verify(third).tick(2f);
+        verify(second, times(1)).tick(anyFloat());
+    }
+
+    @Test
+    public void testThreadSafeTrees() {
+        BehaviorTreeBuilder treeBuilder = new BehaviorTreeBuilder();
+        treeBuilder.registerAction("print", Print.class);
+        treeBuilder.registerDecorator("counter", CounterAction.class);
+
+        assertTrue(BehaviorTickScheduler.isThreadSafe(
+                treeBuilder.fromJson("{ sequence:[ { counter:{ count=2, child:success } }, failure ] }")));
+        assertFalse(BehaviorTickScheduler.isThreadSafe(
+                treeBuilder.fromJson("{ sequence:[ { counter:{ count=2, child:{ print:{msg:A} } } } ] }")));
+    }
+
+    @Test
+    public void testParallelTicksKeepStatePerActor() {
+        BehaviorTreeBuilder treeBuilder = new BehaviorTreeBuilder();
+        treeBuilder.registerAction("increment", Increment.class);
+        treeBuilder.registerDecorator("counter", CounterAction.class);
+        BehaviorNode root = treeBuilder.fromJson(
+                "{ sequence:[ increment, { counter:{ count=2, child:{ sequence:[ increment, increment ] } } } ] }");
+        assertTrue(BehaviorTickScheduler.isThreadSafe(root));
+        BehaviorTree tree = mock(BehaviorTree.class);
+        when(tree.getRoot()).thenReturn(root);
+
+        List<Actor> actors = Lists.newArrayList();
+        for (int i = 0; i < 200; i++) {
+            EntityRef entity = mock(EntityRef.class);
+            Actor actor = new Actor(entity);
+            Interpreter interpreter = new Interpreter(actor);
+            interpreter.setTree(tree);
+            BehaviorComponent behaviorComponent = new BehaviorComponent();
+            behaviorComponent.interpreter = interpreter;
+            when(entity.getComponent(BehaviorComponent.class)).thenReturn(behaviorComponent);
+            scheduler.add(entity);
+            actors.add(actor);
+        }
+        scheduler.setParallel(true);
+
+        for (int i = 0; i < 4; i++) {
+            scheduler.update(0.5f, NO_PLAYERS);
+        }
+
+        for (Actor actor : actors) {
+            assertEquals(10, (int) actor.readFromBlackboard(Increment.COUNT));
+        }
+    }
+
+    @Test
+    public void testInterpretersWithCallbackTickOnMainThread() {
+        BehaviorTreeBuilder treeBuilder = new BehaviorTreeBuilder();
+        treeBuilder.registerAction("increment", Increment.class);
+        BehaviorTree tree = mock(BehaviorTree.class);
+        when(tree.getRoot()).thenReturn(treeBuilder.fromJson("{ sequence:[ increment, increment ] }"));
+
+        Thread mainThread = Thread.currentThread();
+        List<Thread> callbackThreads = Collections.synchronizedList(Lists.newArrayList());
+        for (int i = 0; i < 200; i++) {
+            EntityRef entity = mock(EntityRef.class);
+            Interpreter interpreter = new Interpreter(new Actor(entity));
+            interpreter.setTree(tree);
+            interpreter.setCallback((node, state) -> callbackThreads.add(Thread.currentThread()));
+            BehaviorComponent behaviorComponent = new BehaviorComponent();
+            behaviorComponent.interpreter = interpreter;
+            when(entity.getComponent(BehaviorComponent.class)).thenReturn(behaviorComponent);
+            scheduler.add(entity);
+        }
+        scheduler.setParallel(true);
+
+        scheduler.update(0.5f, NO_PLAYERS);
+
+        assertFalse(callbackThreads.isEmpty());
+        for (Thread thread : callbackThreads) {
+            assertSame(mainThread, thread);
+        }
+    }
+
+    private Interpreter addInterpreter(Vector3f position) {
+        Interpreter interpreter = mock(Interpreter.class);
+        scheduler.add(createEntity(interpreter, position));
+        return interpreter;
+    }
+
+    private static EntityRef createEntity(Interpreter interpreter, Vector3f position) {
+        BehaviorComponent behaviorComponent = new BehaviorComponent();
+        behaviorComponent.interpreter = interpreter;
+        EntityRef entity = mock(EntityRef.class);
+        when(entity.getComponent(BehaviorComponent.class)).thenReturn(behaviorComponent);
+        when(entity.getComponent(LocationComponent.class)).thenReturn(new LocationComponent(position));
+        return entity;
+    }
+
+    /**
+     * Counts its executions on the blackboard of the actor.
+     */
+    @BehaviorAction(name = "increment", isThreadSafe = true)
+    public static class Increment extends BaseAction {
+        static final String COUNT = "count";
+
+        @Override
+        public BehaviorState modify(Actor actor, BehaviorState result) {
+            Integer count = actor.readFromBlackboard(COUNT);
+            actor.writeToBlackboard(COUNT, count == null ? 1 : count + 1);
+            return BehaviorState.SUCCESS;
+        }
+    }
+}
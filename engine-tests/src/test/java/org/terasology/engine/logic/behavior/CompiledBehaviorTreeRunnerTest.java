@@ -0,0 +1,115 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.logic.behavior;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.logic.behavior.actions.CounterAction;
+import org.terasology.engine.logic.behavior.actions.InvertAction;
+import org.terasology.engine.logic.behavior.actions.Print;
+import org.terasology.engine.logic.behavior.actions.TimeoutAction;
+import org.terasology.engine.logic.behavior.core.Actor;
+import org.terasology.engine.logic.behavior.core.BehaviorNode;
+import org.terasology.engine.logic.behavior.core.BehaviorState;
+import org.terasology.engine.logic.behavior.core.BehaviorTreeBuilder;
+import org.terasology.engine.logic.behavior.core.BehaviorTreeCompiler;
+import org.terasology.engine.logic.behavior.core.BehaviorTreeRunner;
+import org.terasology.engine.logic.behavior.core.CompiledBehaviorTree;
+import org.terasology.engine.logic.behavior.core.CompiledBehaviorTreeRunner;
+import org.terasology.engine.logic.behavior.core.DelegateNode;
+import org.terasology.engine.logic.behavior.core.SequenceNode;
+import org.terasology.engine.logic.behavior.core.SuccessNode;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompiledBehaviorTreeRunnerTest {
+    private BehaviorTreeBuilder treeBuilder;
+
+    @BeforeEach
+    public void setup() {
+        treeBuilder = new BehaviorTreeBuilder();
+        treeBuilder.registerAction("print", Print.class);
+        treeBuilder.registerDecorator("counter", CounterAction.class);
+        treeBuilder.registerDecorator("timeout", TimeoutAction.class);
+        treeBuilder.registerDecorator("invert", InvertAction.class);
+    }
+
+    @Test
+    public void testSequences() {
+        assertSameRun("{ sequence:[ { print:{msg:A} }, { print:{msg:B} }  ] }", 2);
+        assertSameRun("{ sequence:[ { print:{msg:A} }, failure, { print:{msg:B} }  ] }", 2);
+        assertSameRun("{ sequence:[ { counter:{ count=2, child:{ print:{msg:A} } } },{ print:{msg:B} } ] }", 4);
+        assertSameRun("{ sequence:[ { counter:{ count=2, child:{ counter:{ count=2, child:{ print:{msg:A} } } } } },"
+                + "{ print:{msg:B} } ] }", 6);
+        assertSameRun("{ sequence:[ { timeout:{ time=1, child:{ timeout:{ time=2, child:{ print:{msg:A} } } } } },"
+                + "{ print:{msg:B} } ] }", 4);
+    }
+
+    @Test
+    public void testSelectors() {
+        assertSameRun("{ selector:[ { invert:{ child:{ print:{msg:A} } } }, { print:{msg:B} } ] }", 2);
+        assertSameRun("{ selector:[ failure, { counter:{ count=2, child:{ print:{msg:A} } } }, { print:{msg:B} } ] }",
+                4);
+        assertSameRun("{ dynamic:[ { invert:{ child:{ print:{msg:A} } } }, "
+                + "{ counter:{ count=3, child:{ print:{msg:B} } } } ] }", 5);
+    }
+
+    @Test
+    public void testParallel() {
+        assertSameRun("{ parallel:[ { print:{msg:A} }, { counter:{ count=2, child:{ print:{msg:B} } } } ] }", 3);
+        assertSameRun("{ sequence:[ { parallel:[ running, { print:{msg:A} } ] }, { print:{msg:B} } ] }", 3);
+        assertSameRun("{ parallel:[ running, { sequence:[ { print:{msg:A} }, failure ] } ] }", 2);
+    }
+
+    @Test
+    public void testCompilesKnownNodesOnly() {
+        BehaviorNode tree = treeBuilder.fromJson("{ sequence:[ { print:{msg:A} }, failure ] }");
+        assertTrue(BehaviorTreeCompiler.isCompilable(tree));
+        CompiledBehaviorTree compiled = BehaviorTreeCompiler.compile(tree);
+        assertEquals(3, compiled.getNodeCount());
+        assertEquals(1, compiled.getStateSize());
+
+        SequenceNode sequence = new SequenceNode();
+        sequence.insertChild(0, new DelegateNode(new SuccessNode()));
+        assertFalse(BehaviorTreeCompiler.isCompilable(sequence));
+        assertThrows(IllegalArgumentException.class, () -> BehaviorTreeCompiler.compile(sequence));
+    }
+
+    /**
+     * Steps the tree with both the default and the compiled runner, expecting the same output and states.
+     */
+    private void assertSameRun(String json, int executions) {
+        BehaviorNode node = treeBuilder.fromJson(json);
+
+        Print.output = new StringBuilder();
+        List<BehaviorState> expectedStates = run(new DefaultBehaviorTreeRunner(node, createActor()), executions);
+        String expectedOutput = Print.output.toString();
+
+        Print.output = new StringBuilder();
+        CompiledBehaviorTree compiled = BehaviorTreeCompiler.compile(node);
+        List<BehaviorState> states = run(new CompiledBehaviorTreeRunner(compiled, createActor()), executions);
+
+        assertEquals(expectedOutput, Print.output.toString(), json);
+        assertEquals(expectedStates, states, json);
+    }
+
+    private static List<BehaviorState> run(BehaviorTreeRunner runner, int executions) {
+        List<BehaviorState> states = Lists.newArrayList();
+        for (int i = 0; i < executions; i++) {
+            states.add(runner.step());
+        }
+        return states;
+    }
+
+    private static Actor createActor() {
+        Actor actor = new Actor(null);
+        actor.setDelta(0.5f);
+        return actor;
+    }
+}
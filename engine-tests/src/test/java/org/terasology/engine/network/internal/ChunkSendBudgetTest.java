@@ -0,0 +1,59 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.network.internal;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChunkSendBudgetTest {
+    private static final float TICK_BUDGET = 100;
+
+    private final ChunkSendBudget budget = new ChunkSendBudget();
+
+    @Test
+    public void testLowBandwidthSendsLessThanOneChunkPerTick() {
+        int ticks = 100;
+        int sent = 0;
+        for (int i = 0; i < ticks; i++) {
+            budget.refill(TICK_BUDGET, true);
+            while (budget.canSend()) {
+                budget.spend(250);
+                sent++;
+            }
+        }
+        assertEquals(40, sent);
+    }
+
+    @Test
+    public void testHighBandwidthSendsSeveralChunksPerTick() {
+        budget.refill(TICK_BUDGET, true);
+        int sent = 0;
+        while (budget.canSend()) {
+            budget.spend(30);
+            sent++;
+        }
+        assertEquals(4, sent);
+    }
+
+    @Test
+    public void testIdleTicksOnlyPayOffDebt() {
+        budget.refill(TICK_BUDGET, true);
+        budget.spend(350);
+        budget.refill(TICK_BUDGET, false);
+        budget.refill(TICK_BUDGET, true);
+        assertFalse(budget.canSend());
+
+        for (int i = 0; i < 10; i++) {
+            budget.refill(TICK_BUDGET, false);
+        }
+        budget.refill(TICK_BUDGET, true);
+        budget.spend(99);
+        assertTrue(budget.canSend());
+        budget.spend(1);
+        assertFalse(budget.canSend());
+    }
+}
@@ -0,0 +1,69 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.network.internal;
+
+import org.joml.Vector3i;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.world.chunks.Chunk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class ChunkSendQueueTest {
+
+    private final ChunkSendQueue queue = new ChunkSendQueue();
+
+    @Test
+    public void testNearestChunkComesFirst() {
+        Chunk far = mock(Chunk.class);
+        Chunk near = mock(Chunk.class);
+        queue.put(new Vector3i(5, 0, 0), far);
+        queue.put(new Vector3i(0, 1, -1), near);
+        queue.put(new Vector3i(-3, 0, 0), mock(Chunk.class));
+
+        assertEquals(new Vector3i(0, 1, -1), queue.peekNearest());
+        assertSame(near, queue.remove(new Vector3i(0, 1, -1)));
+        assertEquals(new Vector3i(-3, 0, 0), queue.peekNearest());
+        queue.remove(new Vector3i(-3, 0, 0));
+        assertSame(far, queue.remove(queue.peekNearest()));
+        assertTrue(queue.isEmpty());
+        assertNull(queue.peekNearest());
+    }
+
+    @Test
+    public void testMovingCenterReordersChunks() {
+        queue.put(new Vector3i(1, 0, 0), mock(Chunk.class));
+        queue.put(new Vector3i(10, 0, 0), mock(Chunk.class));
+
+        queue.setCenter(new Vector3i(9, 0, 0));
+        assertEquals(new Vector3i(10, 0, 0), queue.peekNearest());
+
+        queue.setCenter(new Vector3i(0, 0, 0));
+        assertEquals(new Vector3i(1, 0, 0), queue.peekNearest());
+    }
+
+    @Test
+    public void testCloserChunkAddedLaterComesFirst() {
+        queue.put(new Vector3i(4, 4, 4), mock(Chunk.class));
+        assertEquals(new Vector3i(4, 4, 4), queue.peekNearest());
+
+        queue.put(new Vector3i(0, 0, 0), mock(Chunk.class));
+        assertEquals(new Vector3i(0, 0, 0), queue.peekNearest());
+    }
+
+    @Test
+    public void testReplacedChunkIsQueuedOnce() {
+        Chunk replacement = mock(Chunk.class);
+        queue.put(new Vector3i(2, 0, 0), mock(Chunk.class));
+        queue.put(new Vector3i(2, 0, 0), replacement);
+
+        assertEquals(1, queue.size());
+        assertSame(replacement, queue.remove(new Vector3i(2, 0, 0)));
+        assertNull(queue.remove(new Vector3i(2, 0, 0)));
+        assertTrue(queue.isEmpty());
+    }
+}
@@ -0,0 +1,107 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.network.internal;
+
+import org.joml.Vector3i;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.world.chunks.Chunk;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.protobuf.EntityData;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EncodedChunkCacheTest {
+    private static final Vector3i CHUNK_POS = new Vector3i(1, -2, 3);
+
+    private EncodedChunkCache cache;
+    private Chunk chunk;
+
+    @BeforeEach
+    public void setup() {
+        cache = new EncodedChunkCache(2);
+        chunk = mockChunk(CHUNK_POS);
+    }
+
+    @Test
+    public void testChunkIsEncodedOnceForAllClients() {
+        EntityData.ChunkStore first = cache.getEncoded(CHUNK_POS, chunk);
+        EntityData.ChunkStore second = cache.getEncoded(new Vector3i(CHUNK_POS), chunk);
+
+        assertSame(first, second);
+        verify(chunk, times(1)).encode();
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testBlockChangeInvalidatesChunk() {
+        EntityData.ChunkStore first = cache.getEncoded(CHUNK_POS, chunk);
+        cache.onBlockChanged(blockInChunk(CHUNK_POS), null, null);
+
+        assertNotSame(first, cache.getEncoded(CHUNK_POS, chunk));
+        verify(chunk, times(2)).encode();
+    }
+
+    @Test
+    public void testExtraDataChangeInvalidatesChunk() {
+        cache.getEncoded(CHUNK_POS, chunk);
+        cache.onExtraDataChanged(0, blockInChunk(CHUNK_POS), 1, 0);
+
+        cache.getEncoded(CHUNK_POS, chunk);
+        verify(chunk, times(2)).encode();
+    }
+
+    @Test
+    public void testChangeInOtherChunkKeepsEntry() {
+        cache.getEncoded(CHUNK_POS, chunk);
+        cache.onBlockChanged(new Vector3i(0, 0, 0), null, null);
+
+        cache.getEncoded(CHUNK_POS, chunk);
+        verify(chunk, times(1)).encode();
+    }
+
+    @Test
+    public void testReloadedChunkIsEncodedAgain() {
+        cache.getEncoded(CHUNK_POS, chunk);
+        Chunk reloaded = mockChunk(CHUNK_POS);
+
+        cache.getEncoded(CHUNK_POS, reloaded);
+        verify(reloaded, times(1)).encode();
+    }
+
+    @Test
+    public void testLeastRecentlyUsedChunkIsEvicted() {
+        Vector3i otherPos = new Vector3i(0, 0, 0);
+        Vector3i thirdPos = new Vector3i(0, 0, 1);
+        Chunk other = mockChunk(otherPos);
+        cache.getEncoded(CHUNK_POS, chunk);
+        cache.getEncoded(otherPos, other);
+        cache.getEncoded(CHUNK_POS, chunk);
+        cache.getEncoded(thirdPos, mockChunk(thirdPos));
+
+        assertEquals(2, cache.size());
+        cache.getEncoded(CHUNK_POS, chunk);
+        cache.getEncoded(otherPos, other);
+        verify(chunk, times(1)).encode();
+        verify(other, times(2)).encode();
+    }
+
+    private static Vector3i blockInChunk(Vector3i chunkPos) {
+        return new Vector3i(chunkPos).mul(Chunks.SIZE_X, Chunks.SIZE_Y, Chunks.SIZE_Z).add(5, 6, 7);
+    }
+
+    private static Chunk mockChunk(Vector3i pos) {
+        Chunk result = mock(Chunk.class);
+        when(result.encode()).thenAnswer(invocation ->
+                EntityData.ChunkStore.newBuilder().setX(pos.x).setY(pos.y).setZ(pos.z));
+        return result;
+    }
+}
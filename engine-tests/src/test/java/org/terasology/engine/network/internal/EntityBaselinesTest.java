@@ -0,0 +1,85 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.network.internal;
+
+import com.google.protobuf.ByteString;
+import org.junit.jupiter.api.Test;
+import org.terasology.protobuf.EntityData;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class EntityBaselinesTest {
+    private static final int NET_ID = 7;
+    private static final int LOCATION = 3;
+    private static final int HEALTH = 4;
+
+    private final EntityBaselines baselines = new EntityBaselines();
+
+    @Test
+    public void testOnlyChangedFieldsAreSent() {
+        baselines.setInitial(NET_ID, entity(LOCATION, new byte[]{1, 2}, value(1), value(2)));
+
+        EntityData.PackedEntity update = baselines.update(NET_ID,
+                entity(LOCATION, new byte[]{1, 2}, value(1), value(5)), true);
+
+        assertEquals(1, update.getComponentIdCount());
+        assertEquals(ByteString.copyFrom(new byte[]{2}), update.getFieldIds());
+        assertEquals(ByteString.copyFrom(new byte[]{1}), update.getComponentFieldCounts());
+        assertEquals(value(5), update.getFieldValue(0));
+    }
+
+    @Test
+    public void testUnchangedUpdateIsDropped() {
+        baselines.setInitial(NET_ID, entity(LOCATION, new byte[]{1}, value(1)));
+
+        assertNull(baselines.update(NET_ID, entity(LOCATION, new byte[]{1}, value(1)), true));
+    }
+
+    @Test
+    public void testUnknownComponentIsSentCompletely() {
+        baselines.setInitial(NET_ID, entity(LOCATION, new byte[]{1}, value(1)));
+        EntityData.PackedEntity added = entity(HEALTH, new byte[]{1, 2}, value(1), value(2));
+
+        assertEquals(added, baselines.update(NET_ID, added, true));
+        assertNull(baselines.update(NET_ID, added, true));
+    }
+
+    @Test
+    public void testRemovedComponentIsForgotten() {
+        EntityData.PackedEntity location = entity(LOCATION, new byte[]{1}, value(1));
+        baselines.setInitial(NET_ID, location);
+        EntityData.PackedEntity removal = EntityData.PackedEntity.newBuilder().addRemovedComponent(LOCATION).build();
+
+        assertEquals(removal.getRemovedComponentList(),
+                baselines.update(NET_ID, removal, true).getRemovedComponentList());
+        assertEquals(location, baselines.update(NET_ID, location, true));
+    }
+
+    @Test
+    public void testRecordedValuesAreUsedLater() {
+        EntityData.PackedEntity update = entity(LOCATION, new byte[]{1}, value(9));
+        assertSame(update, baselines.update(NET_ID, update, false));
+
+        assertNull(baselines.update(NET_ID, update, true));
+        baselines.remove(NET_ID);
+        assertEquals(update, baselines.update(NET_ID, update, true));
+    }
+
+    private static EntityData.PackedEntity entity(int componentId, byte[] fieldIds, EntityData.Value... values) {
+        EntityData.PackedEntity.Builder result = EntityData.PackedEntity.newBuilder()
+                .addComponentId(componentId)
+                .setComponentFieldCounts(ByteString.copyFrom(new byte[]{(byte) fieldIds.length}))
+                .setFieldIds(ByteString.copyFrom(fieldIds));
+        for (EntityData.Value value : values) {
+            result.addFieldValue(value);
+        }
+        return result.build();
+    }
+
+    private static EntityData.Value value(int integer) {
+        return EntityData.Value.newBuilder().addInteger(integer).build();
+    }
+}
@@ -0,0 +1,73 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.network.internal;
+
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.logic.location.LocationComponent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class EntityInterestGridTest {
+    private static final int INTEREST_RADIUS = 8;
+
+    private final EntityInterestGrid grid = new EntityInterestGrid();
+
+    @Test
+    public void testUpdateIntervalGrowsWithDistance() {
+        long viewerCell = EntityInterestGrid.getCell(new Vector3f(-5, 10, 3));
+        grid.update(1, locatedEntity(new Vector3f(-20, 12, 30)));
+        grid.update(2, locatedEntity(new Vector3f(-5, 10, -100)));
+        grid.update(3, locatedEntity(new Vector3f(1000, -500, 3)));
+
+        assertEquals(1, grid.getUpdateInterval(1, viewerCell, INTEREST_RADIUS));
+        assertEquals(EntityInterestGrid.NEAR_INTERVAL, grid.getUpdateInterval(2, viewerCell, INTEREST_RADIUS));
+        assertEquals(EntityInterestGrid.FAR_INTERVAL, grid.getUpdateInterval(3, viewerCell, INTEREST_RADIUS));
+    }
+
+    @Test
+    public void testMovedEntityChangesCell() {
+        LocationComponent location = new LocationComponent(new Vector3f(0, 0, 0));
+        EntityRef entity = mock(EntityRef.class);
+        when(entity.getComponent(LocationComponent.class)).thenReturn(location);
+        grid.update(1, entity);
+        long cell = grid.getCell(1);
+
+        location.setWorldPosition(new Vector3f(-1, 0, 0));
+        grid.update(1, entity);
+
+        assertNotEquals(cell, grid.getCell(1));
+        assertEquals(EntityInterestGrid.getCell(new Vector3f(-16, 0.5f, 15.9f)), grid.getCell(1));
+    }
+
+    @Test
+    public void testEntitiesOutsideGridGetFullRate() {
+        long viewerCell = EntityInterestGrid.getCell(new Vector3f(0, 0, 0));
+        grid.update(1, mock(EntityRef.class));
+        grid.update(2, locatedEntity(new Vector3f(5000, 0, 0)));
+        grid.remove(2);
+
+        assertEquals(1, grid.getUpdateInterval(1, viewerCell, INTEREST_RADIUS));
+        assertEquals(1, grid.getUpdateInterval(2, viewerCell, INTEREST_RADIUS));
+        assertEquals(Long.MIN_VALUE, grid.getCell(2));
+    }
+
+    @Test
+    public void testUnknownViewerGetsFullRate() {
+        grid.update(1, locatedEntity(new Vector3f(5000, 0, 0)));
+
+        assertEquals(1, grid.getUpdateInterval(1, Long.MIN_VALUE, INTEREST_RADIUS));
+        assertEquals(Long.MIN_VALUE, EntityInterestGrid.getCell(new Vector3f(Float.NaN, 0, 0)));
+    }
+
+    private static EntityRef locatedEntity(Vector3f position) {
+        EntityRef entity = mock(EntityRef.class);
+        when(entity.getComponent(LocationComponent.class)).thenReturn(new LocationComponent(position));
+        return entity;
+    }
+}
@@ -0,0 +1,81 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.network.internal;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.logic.location.LocationComponent;
+import org.terasology.engine.network.NetworkComponent;
+import org.terasology.engine.persistence.serializers.NetworkEntitySerializer;
+import org.terasology.gestalt.entitysystem.component.Component;
+import org.terasology.protobuf.EntityData;
+
+import java.util.Collections;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class EntityUpdateCacheTest {
+    private static final Set<Class<? extends Component>> NONE = Collections.emptySet();
+    private static final Set<Class<? extends Component>> LOCATION = ImmutableSet.of(LocationComponent.class);
+
+    private EntityUpdateCache cache;
+    private NetworkEntitySerializer entitySerializer;
+    private EntityRef entity;
+
+    @BeforeEach
+    public void setup() {
+        cache = new EntityUpdateCache();
+        entitySerializer = mock(NetworkEntitySerializer.class);
+        when(entitySerializer.serialize(any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> EntityData.PackedEntity.newBuilder().build());
+        entity = mock(EntityRef.class);
+    }
+
+    @Test
+    public void testObserversShareUpdate() {
+        EntityData.PackedEntity first = cache.getUpdate(entitySerializer, 1, entity, false, NONE, LOCATION, NONE);
+        Set<Class<? extends Component>> changed = Sets.newLinkedHashSet(LOCATION);
+        EntityData.PackedEntity second = cache.getUpdate(entitySerializer, 1, entity, false, NONE, changed, NONE);
+
+        assertSame(first, second);
+        assertEquals(1, cache.getSerializations());
+    }
+
+    @Test
+    public void testOwnerGetsSeparateUpdate() {
+        cache.getUpdate(entitySerializer, 1, entity, false, NONE, LOCATION, NONE);
+        cache.getUpdate(entitySerializer, 1, entity, true, NONE, LOCATION, NONE);
+        cache.getUpdate(entitySerializer, 1, entity, true, NONE, LOCATION, NONE);
+
+        assertEquals(2, cache.getSerializations());
+    }
+
+    @Test
+    public void testDifferentComponentsGetSeparateUpdates() {
+        cache.getUpdate(entitySerializer, 1, entity, false, NONE, LOCATION, NONE);
+        cache.getUpdate(entitySerializer, 1, entity, false, ImmutableSet.of(NetworkComponent.class), LOCATION, NONE);
+        cache.getUpdate(entitySerializer, 2, entity, false, NONE, LOCATION, NONE);
+
+        assertEquals(3, cache.getSerializations());
+    }
+
+    @Test
+    public void testChangedEntityIsSerializedAgain() {
+        cache.getUpdate(entitySerializer, 1, entity, false, NONE, LOCATION, NONE);
+        cache.invalidate(1);
+        cache.getUpdate(entitySerializer, 1, entity, false, NONE, LOCATION, NONE);
+        cache.clear();
+        cache.getUpdate(entitySerializer, 1, entity, false, NONE, LOCATION, NONE);
+
+        assertEquals(3, cache.getSerializations());
+    }
+}
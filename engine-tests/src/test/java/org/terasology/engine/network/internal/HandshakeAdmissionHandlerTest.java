@@ -0,0 +1,73 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.network.internal;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HandshakeAdmissionHandlerTest {
+
+    private final HandshakeLimiter limiter = new HandshakeLimiter(2, 1);
+
+    @AfterEach
+    public void shutdown() {
+        limiter.shutdown();
+    }
+
+    @Test
+    public void testConnectionsBeyondLimitAreRejected() {
+        EmbeddedChannel first = new EmbeddedChannel(new HandshakeAdmissionHandler(limiter));
+        EmbeddedChannel second = new EmbeddedChannel(new HandshakeAdmissionHandler(limiter));
+        EmbeddedChannel third = new EmbeddedChannel(new HandshakeAdmissionHandler(limiter));
+
+        assertTrue(first.isOpen());
+        assertTrue(second.isOpen());
+        assertFalse(third.isOpen());
+        assertEquals(0, limiter.getAvailableHandshakes());
+    }
+
+    @Test
+    public void testClosedConnectionFreesItsPlace() {
+        EmbeddedChannel channel = new EmbeddedChannel(new HandshakeAdmissionHandler(limiter));
+        assertEquals(1, limiter.getAvailableHandshakes());
+
+        channel.close();
+        assertEquals(2, limiter.getAvailableHandshakes());
+    }
+
+    @Test
+    public void testAuthenticatedConnectionFreesItsPlace() {
+        EmbeddedChannel channel = new EmbeddedChannel(new HandshakeAdmissionHandler(limiter));
+
+        channel.pipeline().remove(HandshakeAdmissionHandler.class);
+        assertTrue(channel.isOpen());
+        assertEquals(2, limiter.getAvailableHandshakes());
+        channel.close();
+        assertEquals(2, limiter.getAvailableHandshakes());
+    }
+
+    @Test
+    public void testWorkRunsOnHandshakeThread() throws InterruptedException {
+        EmbeddedChannel channel = new EmbeddedChannel(new HandshakeAdmissionHandler(limiter));
+        Thread caller = Thread.currentThread();
+        CountDownLatch done = new CountDownLatch(1);
+        Thread[] worker = new Thread[1];
+
+        limiter.execute(channel.pipeline().firstContext(), () -> {
+            worker[0] = Thread.currentThread();
+            done.countDown();
+        });
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertNotEquals(caller, worker[0]);
+    }
+}
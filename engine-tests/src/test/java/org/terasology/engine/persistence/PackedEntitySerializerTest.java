@@ -0,0 +1,195 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.persistence;
+
+import com.google.protobuf.ByteString;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.context.Context;
+import org.terasology.engine.context.internal.ContextImpl;
+import org.terasology.engine.core.bootstrap.EntitySystemSetupUtil;
+import org.terasology.engine.core.module.ModuleManager;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.entity.internal.EngineEntityManager;
+import org.terasology.engine.entitySystem.entity.internal.EntityScope;
+import org.terasology.engine.entitySystem.prefab.Prefab;
+import org.terasology.engine.entitySystem.prefab.PrefabData;
+import org.terasology.engine.entitySystem.prefab.internal.PojoPrefab;
+import org.terasology.engine.network.NetworkMode;
+import org.terasology.engine.network.NetworkSystem;
+import org.terasology.engine.persistence.serializers.PackedEntityReader;
+import org.terasology.engine.persistence.serializers.PackedEntityWriter;
+import org.terasology.engine.persistence.serializers.PersistenceComponentSerializeCheck;
+import org.terasology.engine.recording.RecordAndReplayCurrentStatus;
+import org.terasology.engine.registry.CoreRegistry;
+import org.terasology.engine.testUtil.ModuleManagerFactory;
+import org.terasology.engine.utilities.Assets;
+import org.terasology.gestalt.assets.ResourceUrn;
+import org.terasology.gestalt.assets.management.AssetManager;
+import org.terasology.gestalt.assets.module.ModuleAwareAssetTypeManager;
+import org.terasology.gestalt.assets.module.ModuleAwareAssetTypeManagerImpl;
+import org.terasology.protobuf.EntityData;
+import org.terasology.unittest.stubs.IntegerComponent;
+import org.terasology.unittest.stubs.MappedTypeComponent;
+import org.terasology.unittest.stubs.StringComponent;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PackedEntitySerializerTest {
+
+    private static Context context;
+    private EngineEntityManager entityManager;
+    private PackedEntityWriter writer;
+    private Prefab prefab;
+
+    @BeforeAll
+    public static void setupClass() throws Exception {
+        context = new ContextImpl();
+        CoreRegistry.setContext(context);
+        context.put(RecordAndReplayCurrentStatus.class, new RecordAndReplayCurrentStatus());
+        ModuleManager moduleManager = ModuleManagerFactory.create();
+        context.put(ModuleManager.class, moduleManager);
+
+        ModuleAwareAssetTypeManager assetTypeManager = new ModuleAwareAssetTypeManagerImpl();
+        assetTypeManager.createAssetType(Prefab.class, PojoPrefab::new, "prefabs");
+        assetTypeManager.switchEnvironment(moduleManager.getEnvironment());
+        context.put(AssetManager.class, assetTypeManager.getAssetManager());
+    }
+
+    @BeforeEach
+    public void setup() {
+        NetworkSystem networkSystem = mock(NetworkSystem.class);
+        when(networkSystem.getMode()).thenReturn(NetworkMode.NONE);
+        context.put(NetworkSystem.class, networkSystem);
+
+        EntitySystemSetupUtil.addReflectionBasedLibraries(context);
+        EntitySystemSetupUtil.addEntityManagementRelatedClasses(context);
+        entityManager = context.get(EngineEntityManager.class);
+        entityManager.getComponentLibrary().register(new ResourceUrn("test", "string"), StringComponent.class);
+        entityManager.getComponentLibrary().register(new ResourceUrn("test", "integer"), IntegerComponent.class);
+        entityManager.getComponentLibrary().register(new ResourceUrn("test", "mappedtype"), MappedTypeComponent.class);
+        writer = new PackedEntityWriter(entityManager);
+        writer.setComponentSerializeCheck(new PersistenceComponentSerializeCheck());
+
+        PrefabData prefabData = new PrefabData();
+        prefabData.addComponent(new StringComponent("Value"));
+        prefab = Assets.generateAsset(new ResourceUrn("test:Test"), prefabData, Prefab.class);
+    }
+
+    @Test
+    public void testSchemaListsWrittenComponentsOnce() {
+        entityManager.create(new IntegerComponent(1));
+        entityManager.create(new IntegerComponent(2));
+        entityManager.getAllEntities().forEach(writer::write);
+
+        List<EntityData.ComponentSchema> schemas = writer.getComponentSchemas();
+        assertEquals(1, schemas.size());
+        assertEquals("test:integer", schemas.get(0).getComponentClass());
+        assertEquals(1, schemas.get(0).getFieldNameCount());
+        assertEquals("value", schemas.get(0).getFieldName(0));
+    }
+
+    @Test
+    public void testLoadComponents() {
+        EntityRef entity = entityManager.create(new IntegerComponent(3), new StringComponent("Text"),
+                new MappedTypeComponent());
+
+        EntityRef loadedEntity = writeAndRead(entity);
+
+        assertEquals(entity.getId(), loadedEntity.getId());
+        assertEquals(3, loadedEntity.getComponent(IntegerComponent.class).value);
+        assertEquals("Text", loadedEntity.getComponent(StringComponent.class).value);
+        assertTrue(loadedEntity.hasComponent(MappedTypeComponent.class));
+    }
+
+    @Test
+    public void testDeltaLoadNoChange() {
+        EntityRef loadedEntity = writeAndRead(entityManager.create(prefab));
+
+        assertEquals(prefab, loadedEntity.getParentPrefab());
+        assertEquals("Value", loadedEntity.getComponent(StringComponent.class).value);
+    }
+
+    @Test
+    public void testDeltaLoadChangedAndRemovedComponents() {
+        EntityRef entity = entityManager.create(prefab);
+        entity.addComponent(new IntegerComponent(2));
+        entity.removeComponent(StringComponent.class);
+
+        EntityRef loadedEntity = writeAndRead(entity);
+
+        assertFalse(loadedEntity.hasComponent(StringComponent.class));
+        assertEquals(2, loadedEntity.getComponent(IntegerComponent.class).value);
+    }
+
+    @Test
+    public void testDeltaLoadChangedField() {
+        EntityRef entity = entityManager.create(prefab);
+        StringComponent comp = entity.getComponent(StringComponent.class);
+        comp.value = "Delta";
+        entity.saveComponent(comp);
+
+        EntityRef loadedEntity = writeAndRead(entity);
+
+        assertEquals("Delta", loadedEntity.getComponent(StringComponent.class).value);
+    }
+
+    @Test
+    public void testEntityInfoPersisted() {
+        EntityRef owner = entityManager.create(new IntegerComponent(1));
+        EntityRef entity = entityManager.create(prefab);
+        entity.setOwner(owner);
+        entity.setScope(EntityScope.SECTOR);
+        writer.write(owner);
+        writer.write(entity);
+
+        read(writer.getComponentSchemas());
+
+        EntityRef loadedEntity = entityManager.getEntity(entity.getId());
+        assertEquals(EntityScope.SECTOR, loadedEntity.getScope());
+        assertEquals(owner.getId(), loadedEntity.getOwner().getId());
+        assertTrue(loadedEntity.getOwner().exists());
+    }
+
+    @Test
+    public void testUnknownFieldsAreSkipped() {
+        EntityRef entity = entityManager.create(new IntegerComponent(3), new StringComponent("Text"));
+        writer.write(entity);
+        List<EntityData.ComponentSchema> schemas = writer.getComponentSchemas().stream()
+                .map(schema -> schema.getComponentClass().equals("test:integer")
+                        ? schema.toBuilder().setFieldName(0, "removedField").build()
+                        : schema)
+                .collect(Collectors.toList());
+
+        read(schemas);
+
+        EntityRef loadedEntity = entityManager.getEntity(entity.getId());
+        assertEquals(0, loadedEntity.getComponent(IntegerComponent.class).value);
+        assertEquals("Text", loadedEntity.getComponent(StringComponent.class).value);
+    }
+
+    private EntityRef writeAndRead(EntityRef entity) {
+        writer.write(entity);
+        read(writer.getComponentSchemas());
+        return entityManager.getEntity(entity.getId());
+    }
+
+    private void read(List<EntityData.ComponentSchema> schemas) {
+        ByteString packedEntities = writer.getPackedEntities();
+        long nextId = entityManager.getNextId();
+        entityManager.clear();
+        entityManager.setNextId(nextId);
+
+        PackedEntityReader reader = new PackedEntityReader(entityManager);
+        reader.setComponentSerializeCheck(new PersistenceComponentSerializeCheck());
+        reader.read(schemas, packedEntities);
+    }
+}
@@ -0,0 +1,39 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.persistence.internal;
+
+import com.google.common.io.ByteStreams;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChunkCompressionTest {
+
+    @ParameterizedTest
+    @EnumSource(ChunkCompression.class)
+    public void testCompressedDataIsRecognized(ChunkCompression compression) throws IOException {
+        byte[] data = new byte[20000];
+        Random random = new Random(7);
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) random.nextInt(4);
+        }
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream out = compression.compress(compressed)) {
+            out.write(data);
+        }
+        assertTrue(compressed.size() < data.length);
+
+        try (InputStream in = ChunkCompression.decompress(compressed.toByteArray())) {
+            assertArrayEquals(data, ByteStreams.toByteArray(in));
+        }
+    }
+}
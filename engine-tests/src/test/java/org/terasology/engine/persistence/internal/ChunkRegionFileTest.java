@@ -0,0 +1,140 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.persistence.internal;
+
+import com.google.common.collect.ImmutableMap;
+import org.joml.Vector3i;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ChunkRegionFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testWrittenChunkIsOnlyVisibleAfterCommit() throws Exception {
+        try (ChunkRegionFile regionFile = ChunkRegionFile.open(tempDir.resolve("0.0.0.region"), false)) {
+            byte[] oldData = data(100, 1);
+            regionFile.commit(5, regionFile.write(oldData));
+
+            long location = regionFile.write(data(10000, 2));
+            assertArrayEquals(oldData, regionFile.read(5));
+
+            regionFile.commit(5, location);
+            assertArrayEquals(data(10000, 2), regionFile.read(5));
+            assertNull(regionFile.read(6));
+        }
+    }
+
+    @Test
+    public void testChunksSurviveReopening() throws Exception {
+        Path path = tempDir.resolve("0.0.0.region");
+        try (ChunkRegionFile regionFile = ChunkRegionFile.open(path, false)) {
+            regionFile.commit(0, regionFile.write(data(5000, 1)));
+            regionFile.commit(32767, regionFile.write(data(3, 2)));
+        }
+
+        try (ChunkRegionFile regionFile = ChunkRegionFile.open(path, true)) {
+            assertArrayEquals(data(5000, 1), regionFile.read(0));
+            assertArrayEquals(data(3, 2), regionFile.read(32767));
+            assertThrows(IllegalStateException.class, () -> regionFile.write(data(1, 1)));
+        }
+    }
+
+    @Test
+    public void testSectorsOfReplacedChunksAreReused() throws Exception {
+        Path path = tempDir.resolve("0.0.0.region");
+        try (ChunkRegionFile regionFile = ChunkRegionFile.open(path, false)) {
+            for (int i = 0; i < 10; i++) {
+                regionFile.commit(7, regionFile.write(data(2 * ChunkRegionFile.SECTOR_SIZE, i)));
+            }
+            regionFile.force();
+            assertArrayEquals(data(2 * ChunkRegionFile.SECTOR_SIZE, 9), regionFile.read(7));
+        }
+        // the table plus at most the sectors of two versions of the chunk
+        assertEquals(ChunkRegionFile.SECTOR_SIZE * (64 + 4), Files.size(path), ChunkRegionFile.SECTOR_SIZE * 2);
+    }
+
+    @Test
+    public void testDiscardReleasesUncommittedSectorsOnly() throws Exception {
+        try (ChunkRegionFile regionFile = ChunkRegionFile.open(tempDir.resolve("0.0.0.region"), false)) {
+            long discarded = regionFile.write(data(100, 1));
+            regionFile.discard(5, discarded);
+            long committed = regionFile.write(data(100, 2));
+            assertEquals(discarded >>> 32, committed >>> 32);
+
+            regionFile.commit(5, committed);
+            regionFile.discard(5, committed);
+            assertNotEquals(committed >>> 32, regionFile.write(data(100, 3)) >>> 32);
+            assertArrayEquals(data(100, 2), regionFile.read(5));
+        }
+    }
+
+    @Test
+    public void testJournalCommitsChunks() throws Exception {
+        StoragePathProvider storagePathProvider = new StoragePathProvider(tempDir);
+        ChunkRegionStore store = new ChunkRegionStore(storagePathProvider, false);
+        Vector3i chunkPos = new Vector3i(-1, 33, 2);
+        Path regionPath = storagePathProvider.getChunkRegionPath(storagePathProvider.getChunkRegionPosition(chunkPos));
+        Files.createDirectories(regionPath.getParent());
+
+        long location = store.getRegionFile(chunkPos).write(data(42, 3));
+        Path journal = tempDir.resolve("journal");
+        ChunkRegionStore.writeJournal(journal, ImmutableMap.of(ChunkRegionFile.getIndex(chunkPos), location));
+        assertNull(store.load(chunkPos));
+
+        store.applyJournal(journal, regionPath);
+        store.applyJournal(journal, regionPath);
+        assertArrayEquals(data(42, 3), store.load(chunkPos));
+        store.close();
+    }
+
+    @Test
+    public void testMigratorMovesChunksIntoRegionFiles() throws Exception {
+        StoragePathProvider storagePathProvider = new StoragePathProvider(tempDir);
+        Path worldPath = storagePathProvider.getWorldPath();
+        Files.createDirectories(worldPath);
+        Vector3i zippedChunk = new Vector3i(1, 2, 3);
+        Vector3i chunk = new Vector3i(-40, 0, 7);
+        Path zipPath = storagePathProvider.getChunkZipPath(storagePathProvider.getChunkZipPosition(zippedChunk));
+        try (FileSystem zip = FileSystems.newFileSystem(URI.create("jar:" + zipPath.toUri()),
+                ImmutableMap.of("create", "true"))) {
+            Path zippedChunkPath = zip.getPath(storagePathProvider.getChunkFilename(zippedChunk));
+            try (OutputStream out = Files.newOutputStream(zippedChunkPath)) {
+                out.write(data(300, 4));
+            }
+        }
+        Files.write(storagePathProvider.getChunkPath(chunk), data(20, 5));
+        ChunkRegionStore store = new ChunkRegionStore(storagePathProvider, false);
+
+        assertEquals(2, ChunkRegionMigrator.migrate(storagePathProvider, store));
+
+        assertArrayEquals(data(300, 4), store.load(zippedChunk));
+        assertArrayEquals(data(20, 5), store.load(chunk));
+        assertFalse(ChunkRegionMigrator.hasChunksToMigrate(storagePathProvider));
+        store.close();
+    }
+
+    private static byte[] data(int length, int seed) {
+        byte[] data = new byte[length];
+        Arrays.fill(data, (byte) seed);
+        data[length - 1] = (byte) (seed * 31 + length);
+        return data;
+    }
+}
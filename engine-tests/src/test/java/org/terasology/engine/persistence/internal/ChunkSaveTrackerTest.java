@@ -0,0 +1,101 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.persistence.internal;
+
+import gnu.trove.set.hash.TLongHashSet;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.world.chunks.Chunks;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ChunkSaveTrackerTest {
+    private static final Vector3ic CHUNK_POS = new Vector3i(1, -2, 3);
+
+    private final ChunkSaveTracker tracker = new ChunkSaveTracker();
+
+    @Test
+    public void testChunkIsUnmodifiedAfterItGotSaved() {
+        assertFalse(tracker.markSaved(CHUNK_POS));
+        assertTrue(tracker.markSaved(CHUNK_POS));
+    }
+
+    @Test
+    public void testBlockChangeModifiesChunk() {
+        tracker.markSaved(CHUNK_POS);
+        Vector3i blockPos = new Vector3i(CHUNK_POS).mul(Chunks.SIZE_X, Chunks.SIZE_Y, Chunks.SIZE_Z).add(5, 6, 7);
+
+        tracker.onBlockChanged(blockPos, null, null);
+        assertFalse(tracker.markSaved(CHUNK_POS));
+        tracker.onExtraDataChanged(0, blockPos, 1, 0);
+        assertFalse(tracker.markSaved(CHUNK_POS));
+        tracker.onBlockChanged(new Vector3i(blockPos).add(Chunks.SIZE_X, 0, 0), null, null);
+        assertTrue(tracker.markSaved(CHUNK_POS));
+    }
+
+    @Test
+    public void testUnloadedChunkIsModified() {
+        tracker.markSaved(CHUNK_POS);
+        tracker.forget(CHUNK_POS);
+
+        assertFalse(tracker.markSaved(CHUNK_POS));
+    }
+
+    @Test
+    public void testEntitiesUnchangedWithoutChanges() {
+        List<EntityRef> entities = Collections.singletonList(entity(1));
+        tracker.recordSavedEntities(CHUNK_POS, entities, Arrays.asList(entity(1), entity(2)));
+
+        assertTrue(tracker.areEntitiesUnchanged(CHUNK_POS, entities, new TLongHashSet(new long[]{3})));
+        assertTrue(tracker.getSavedEntityIds(CHUNK_POS).contains(2));
+    }
+
+    @Test
+    public void testChangedOwnedEntityChangesChunk() {
+        List<EntityRef> entities = Collections.singletonList(entity(1));
+        tracker.recordSavedEntities(CHUNK_POS, entities, Arrays.asList(entity(1), entity(2)));
+
+        assertFalse(tracker.areEntitiesUnchanged(CHUNK_POS, entities, new TLongHashSet(new long[]{2})));
+    }
+
+    @Test
+    public void testEntityMovedIntoChunkChangesChunk() {
+        List<EntityRef> entities = Collections.singletonList(entity(1));
+        tracker.recordSavedEntities(CHUNK_POS, entities, entities);
+
+        assertFalse(tracker.areEntitiesUnchanged(CHUNK_POS, Arrays.asList(entity(1), entity(4)), new TLongHashSet()));
+        assertFalse(tracker.areEntitiesUnchanged(CHUNK_POS, Collections.singletonList(entity(4)), new TLongHashSet()));
+    }
+
+    @Test
+    public void testUnsavedChunkHasNoEntities() {
+        assertFalse(tracker.areEntitiesUnchanged(CHUNK_POS, Collections.emptyList(), new TLongHashSet()));
+        assertNull(tracker.getSavedEntityIds(CHUNK_POS));
+    }
+
+    @Test
+    public void testResetForgetsEverything() {
+        tracker.markSaved(CHUNK_POS);
+        tracker.recordSavedEntities(CHUNK_POS, Collections.emptyList(), Collections.emptyList());
+        tracker.reset();
+
+        assertFalse(tracker.markSaved(CHUNK_POS));
+        assertNull(tracker.getSavedEntityIds(CHUNK_POS));
+    }
+
+    private static EntityRef entity(long id) {
+        EntityRef entity = mock(EntityRef.class);
+        when(entity.getId()).thenReturn(id);
+        return entity;
+    }
+}
@@ -312,6 +312,37 @@ public void testChunkSurvivesStorageSaveAndRestore() throws Exception {
         assertEquals(testBlock2, restored.getChunk().getBlock(0, 4, 2));
     }
 
+    @Test
+    public void testChunkSurvivesStorageSaveAndRestoreInRegionFiles() throws Exception {
+        Chunk chunk = new ChunkImpl(CHUNK_POS, blockManager, extraDataManager);
+        chunk.setBlock(0, 0, 0, testBlock);
+        chunk.setBlock(0, 4, 2, testBlock2);
+        chunk.markReady();
+        ChunkProvider chunkProvider = mock(ChunkProvider.class);
+        when(chunkProvider.getAllChunks()).thenReturn(Arrays.asList(chunk));
+        when(chunkProvider.getChunk(ArgumentMatchers.any(Vector3ic.class))).thenReturn(chunk);
+        CoreRegistry.put(ChunkProvider.class, chunkProvider);
+
+        esm.setChunkStorageFormat(ChunkStorageFormat.REGION_FILES);
+        esm.waitForCompletionOfPreviousSaveAndStartSaving();
+        esm.finishSavingAndShutdown();
+
+        EntitySystemSetupUtil.addReflectionBasedLibraries(context);
+        EntitySystemSetupUtil.addEntityManagementRelatedClasses(context);
+        EngineEntityManager newEntityManager = context.get(EngineEntityManager.class);
+        StorageManager newSM = new ReadWriteStorageManager(savePath, moduleEnvironment, newEntityManager, blockManager,
+                extraDataManager, ChunkStorageFormat.REGION_FILES, recordAndReplaySerializer, recordAndReplayUtils,
+                recordAndReplayCurrentStatus);
+        newSM.loadGlobalStore();
+
+        ChunkStore restored = newSM.loadChunkStore(CHUNK_POS);
+        assertNotNull(restored);
+        assertEquals(CHUNK_POS, restored.getChunkPosition());
+        assertEquals(testBlock, restored.getChunk().getBlock(0, 0, 0));
+        assertEquals(testBlock2, restored.getChunk().getBlock(0, 4, 2));
+        newSM.finishSavingAndShutdown();
+    }
+
     @Test
     public void testEntitySurvivesStorageInChunkStore() throws Exception {
         Chunk chunk = new ChunkImpl(CHUNK_POS, blockManager, extraDataManager);
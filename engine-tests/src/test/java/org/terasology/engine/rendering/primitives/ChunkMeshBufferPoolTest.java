@@ -0,0 +1,65 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.rendering.primitives;
+
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ChunkMeshBufferPoolTest {
+
+    @Test
+    public void testReleasedElementsAreReusedEmpty() {
+        ChunkMeshBufferPool pool = new ChunkMeshBufferPool();
+        ChunkMesh.VertexElements elements = pool.acquire(ChunkMesh.RenderType.OPAQUE);
+        elements.position.put(new Vector3f(1, 2, 3));
+        elements.indices.put(0);
+        elements.vertexCount = 1;
+        int capacity = elements.buffer.capacity();
+
+        pool.release(ChunkMesh.RenderType.OPAQUE, elements);
+        ChunkMesh.VertexElements reused = pool.acquire(ChunkMesh.RenderType.OPAQUE);
+
+        assertSame(elements, reused);
+        assertEquals(0, reused.buffer.elements());
+        assertEquals(0, reused.indices.indices());
+        assertEquals(0, reused.position.getPosition());
+        assertEquals(0, reused.vertexCount);
+        assertEquals(capacity, reused.buffer.capacity());
+    }
+
+    @Test
+    public void testElementsArePooledPerRenderType() {
+        ChunkMeshBufferPool pool = new ChunkMeshBufferPool();
+        ChunkMesh.VertexElements elements = pool.acquire(ChunkMesh.RenderType.OPAQUE);
+        pool.release(ChunkMesh.RenderType.OPAQUE, elements);
+
+        assertNotSame(elements, pool.acquire(ChunkMesh.RenderType.BILLBOARD));
+        assertEquals(1, pool.size(ChunkMesh.RenderType.OPAQUE));
+    }
+
+    @Test
+    public void testPoolIsBounded() {
+        ChunkMeshBufferPool pool = new ChunkMeshBufferPool(2);
+        for (int i = 0; i < 3; i++) {
+            pool.release(ChunkMesh.RenderType.OPAQUE, new ChunkMesh.VertexElements());
+        }
+
+        assertEquals(2, pool.size(ChunkMesh.RenderType.OPAQUE));
+    }
+
+    @Test
+    public void testOversizedElementsAreDropped() {
+        ChunkMeshBufferPool pool = new ChunkMeshBufferPool();
+        ChunkMesh.VertexElements elements = new ChunkMesh.VertexElements();
+        elements.buffer.reserveElements(1 << 16);
+
+        pool.release(ChunkMesh.RenderType.BILLBOARD, elements);
+
+        assertEquals(0, pool.size(ChunkMesh.RenderType.BILLBOARD));
+    }
+}
@@ -0,0 +1,330 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.rendering.primitives;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.joml.Vector2f;
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.math.Side;
+import org.terasology.engine.world.ChunkView;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.block.BlockAppearance;
+import org.terasology.engine.world.block.BlockPart;
+import org.terasology.engine.world.block.BlockRegionc;
+import org.terasology.engine.world.block.BlockUri;
+import org.terasology.engine.world.block.shapes.BlockMeshPart;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.gestalt.assets.ResourceUrn;
+import org.terasology.math.TeraMath;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GreedyChunkMesherTest {
+    private static final float TILE_SIZE = 1f / 16;
+    private static final int GROUND = 20;
+    private static final int STEP = 24;
+
+    private TerrainView view;
+
+    @BeforeEach
+    public void setup() {
+        Block air = new Block();
+        air.setUri(new BlockUri(new ResourceUrn("test:air")));
+        air.setTranslucent(true);
+        air.setShadowCasting(false);
+        air.setPrimaryAppearance(new BlockAppearance());
+        air.setMeshGenerator(new BlockMeshGeneratorSingleShape(air));
+        Block glass = createCube("test:glass", 2);
+        glass.setTranslucent(true);
+        view = new TerrainView(air, createCube("test:stone", 0), createCube("test:grass", 1), glass);
+    }
+
+    @Test
+    public void testMergedMeshCoversSameFaces() {
+        ChunkMesh perBlock = generateMesh(false);
+        ChunkMesh merged = generateMesh(true);
+
+        Map<String, Float> expectedAreas = Maps.newHashMap();
+        Map<String, Float> areas = Maps.newHashMap();
+        for (ChunkMesh.RenderType type : ChunkMesh.RenderType.values()) {
+            for (Quad quad : Quad.of(perBlock.getVertexElements(type))) {
+                expectedAreas.merge(type + " " + quad.normal, quad.area, Float::sum);
+            }
+            for (Quad quad : Quad.of(merged.getVertexElements(type))) {
+                areas.merge(type + " " + quad.normal, quad.area, Float::sum);
+            }
+        }
+
+        assertTrue(expectedAreas.containsKey(ChunkMesh.RenderType.TRANSLUCENT + " " + new Vector3f(0, 1, 0)));
+        assertEquals(expectedAreas, areas);
+    }
+
+    @Test
+    public void testMergedMeshHasFewerVertices() {
+        ChunkMesh perBlock = generateMesh(false);
+        ChunkMesh merged = generateMesh(true);
+
+        for (ChunkMesh.RenderType type : ChunkMesh.RenderType.values()) {
+            int vertices = merged.getVertexElements(type).vertexCount;
+            int expectedVertices = perBlock.getVertexElements(type).vertexCount;
+            assertTrue(vertices <= expectedVertices, type.toString());
+        }
+        assertTrue(merged.getVertexElements(ChunkMesh.RenderType.OPAQUE).vertexCount
+                < perBlock.getVertexElements(ChunkMesh.RenderType.OPAQUE).vertexCount);
+        assertTrue(merged.getVertexElements(ChunkMesh.RenderType.TRANSLUCENT).vertexCount
+                < perBlock.getVertexElements(ChunkMesh.RenderType.TRANSLUCENT).vertexCount);
+    }
+
+    @Test
+    public void testUnevenlyLitFacesAreKeptPerBlock() {
+        ChunkMesh perBlock = generateMesh(false);
+        ChunkMesh merged = generateMesh(true);
+
+        int expectedUnevenQuads = 0;
+        int unevenQuads = 0;
+        for (ChunkMesh.RenderType type : ChunkMesh.RenderType.values()) {
+            for (Quad quad : Quad.of(perBlock.getVertexElements(type))) {
+                if (!quad.evenlyLit) {
+                    expectedUnevenQuads++;
+                }
+            }
+            for (Quad quad : Quad.of(merged.getVertexElements(type))) {
+                if (!quad.evenlyLit) {
+                    assertEquals(1f, quad.area, type + " " + quad.normal);
+                    unevenQuads++;
+                }
+            }
+        }
+
+        assertTrue(expectedUnevenQuads > 0);
+        assertEquals(expectedUnevenQuads, unevenQuads);
+    }
+
+    private ChunkMesh generateMesh(boolean greedyMeshing) {
+        ChunkTessellator tessellator = new ChunkTessellator();
+        tessellator.setGreedyMeshing(greedyMeshing);
+        return tessellator.generateMesh(view);
+    }
+
+    private static Block createCube(String uri, int tile) {
+        Block block = new Block();
+        block.setUri(new BlockUri(new ResourceUrn(uri)));
+        Map<BlockPart, BlockMeshPart> parts = Maps.newEnumMap(BlockPart.class);
+        Map<BlockPart, Vector2f> atlasPositions = Maps.newEnumMap(BlockPart.class);
+        for (BlockPart part : BlockPart.values()) {
+            atlasPositions.put(part, new Vector2f(tile * TILE_SIZE, 0));
+        }
+        for (Side side : Side.allSides()) {
+            block.setFullSide(side, true);
+            parts.put(BlockPart.fromSide(side), createFace(side).mapTexCoords(new Vector2f(tile * TILE_SIZE, 0),
+                    TILE_SIZE, 1));
+        }
+        block.setPrimaryAppearance(new BlockAppearance(parts, atlasPositions));
+        block.setMeshGenerator(new BlockMeshGeneratorSingleShape(block));
+        return block;
+    }
+
+    private static BlockMeshPart createFace(Side side) {
+        Vector3ic normal = side.direction();
+        int axis = normal.x() != 0 ? 0 : normal.y() != 0 ? 1 : 2;
+        int u = (axis + 1) % 3;
+        int v = (axis + 2) % 3;
+        float[][] corners = {{-0.5f, -0.5f}, {0.5f, -0.5f}, {0.5f, 0.5f}, {-0.5f, 0.5f}};
+        Vector3f[] vertices = new Vector3f[4];
+        Vector3f[] normals = new Vector3f[4];
+        Vector2f[] texCoords = new Vector2f[4];
+        for (int i = 0; i < 4; i++) {
+            vertices[i] = new Vector3f(normal).mul(0.5f);
+            vertices[i].setComponent(u, corners[i][0]);
+            vertices[i].setComponent(v, corners[i][1]);
+            normals[i] = new Vector3f(normal);
+            texCoords[i] = new Vector2f(corners[i][0] + 0.5f, corners[i][1] + 0.5f);
+        }
+        return new BlockMeshPart(vertices, normals, texCoords, new int[]{0, 1, 2, 0, 2, 3});
+    }
+
+    /**
+     * A face of the mesh, made of four consecutive vertices.
+     */
+    private static final class Quad {
+        private final Vector3f normal;
+        private final float area;
+        private final boolean evenlyLit;
+
+        private Quad(ChunkMesh.VertexElements elements, int first) {
+            normal = elements.normals.get(first, new Vector3f());
+            Vector3f min = new Vector3f(Float.POSITIVE_INFINITY);
+            Vector3f max = new Vector3f(Float.NEGATIVE_INFINITY);
+            Vector3f position = new Vector3f();
+            boolean even = true;
+            for (int i = first; i < first + 4; i++) {
+                elements.position.get(i, position);
+                min.min(position);
+                max.max(position);
+                even &= elements.sunlight.get(i) == elements.sunlight.get(first)
+                        && elements.blockLight.get(i) == elements.blockLight.get(first)
+                        && elements.ambientOcclusion.get(i) == elements.ambientOcclusion.get(first);
+            }
+            Vector3f extent = max.sub(min);
+            int axis = normal.x != 0 ? 0 : normal.y != 0 ? 1 : 2;
+            area = extent.get((axis + 1) % 3) * extent.get((axis + 2) % 3);
+            evenlyLit = even;
+        }
+
+        private static List<Quad> of(ChunkMesh.VertexElements elements) {
+            assertEquals(0, elements.vertexCount % 4);
+            List<Quad> quads = Lists.newArrayList();
+            for (int i = 0; i < elements.vertexCount; i += 4) {
+                quads.add(new Quad(elements, i));
+            }
+            return quads;
+        }
+    }
+
+    /**
+     * Chunk view over flat ground of stone covered by grass, with a step up in half of the chunk and a few glass blocks
+     * on top, lit by the sun from above.
+     */
+    private static class TerrainView implements ChunkView {
+        private final Block air;
+        private final Block stone;
+        private final Block grass;
+        private final Block glass;
+
+        TerrainView(Block air, Block stone, Block grass, Block glass) {
+            this.air = air;
+            this.stone = stone;
+            this.grass = grass;
+            this.glass = glass;
+        }
+
+        private static int height(int x, int z) {
+            return x < Chunks.SIZE_X / 2 ? GROUND : STEP;
+        }
+
+        private static boolean isGlass(int x, int y, int z) {
+            return y == GROUND + 1 && x >= 4 && x < 8 && z >= 4 && z < 8;
+        }
+
+        @Override
+        public Block getBlock(float x, float y, float z) {
+            return getBlock(round(x), round(y), round(z));
+        }
+
+        @Override
+        public Block getBlock(Vector3ic pos) {
+            return getBlock(pos.x(), pos.y(), pos.z());
+        }
+
+        @Override
+        public Block getBlock(int x, int y, int z) {
+            int height = height(x, z);
+            if (y > height) {
+                return isGlass(x, y, z) ? glass : air;
+            }
+            return y == height ? grass : stone;
+        }
+
+        @Override
+        public byte getSunlight(float x, float y, float z) {
+            return getSunlight(round(x), round(y), round(z));
+        }
+
+        @Override
+        public byte getSunlight(Vector3i pos) {
+            return getSunlight(pos.x(), pos.y(), pos.z());
+        }
+
+        @Override
+        public byte getSunlight(int x, int y, int z) {
+            return y > height(x, z) ? Chunks.MAX_SUNLIGHT : 0;
+        }
+
+        @Override
+        public byte getLight(float x, float y, float z) {
+            return 0;
+        }
+
+        @Override
+        public byte getLight(Vector3i pos) {
+            return 0;
+        }
+
+        @Override
+        public byte getLight(int x, int y, int z) {
+            return 0;
+        }
+
+        @Override
+        public void setBlock(Vector3ic pos, Block type) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setBlock(int x, int y, int z, Block type) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int getExtraData(int index, int x, int y, int z) {
+            return 0;
+        }
+
+        @Override
+        public int getExtraData(int index, Vector3ic pos) {
+            return 0;
+        }
+
+        @Override
+        public void setExtraData(int index, int x, int y, int z, int value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setExtraData(int index, Vector3ic pos, int value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Vector3i toWorldPos(Vector3ic localPos) {
+            return new Vector3i(localPos);
+        }
+
+        @Override
+        public BlockRegionc getWorldRegion() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public BlockRegionc getChunkRegion() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setDirtyAround(Vector3ic blockPos) {
+        }
+
+        @Override
+        public void setDirtyAround(BlockRegionc blockRegion) {
+        }
+
+        @Override
+        public boolean isValidView() {
+            return true;
+        }
+
+        private static int round(float value) {
+            return TeraMath.floorToInt(value + 0.5f);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.world.chunks.blockdata;
+
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.world.chunks.deflate.TeraStandardDeflator;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TeraPaletteArrayTest {
+
+    private static final int SIZE_X = 32;
+    private static final int SIZE_Y = 64;
+    private static final int SIZE_Z = 32;
+
+    @Test
+    public void testSingleValueArrayAllocatesNoIndices() {
+        TeraPaletteArray array = new TeraPaletteArray(SIZE_X, SIZE_Y, SIZE_Z);
+        assertEquals(0, array.getBitsPerEntry());
+        assertEquals(0, array.get(5, 10, 5));
+        assertEquals(0, array.set(5, 10, 5, 0));
+        assertEquals(0, array.getBitsPerEntry());
+    }
+
+    @Test
+    public void testBitWidthGrowsWithPalette() {
+        TeraPaletteArray array = new TeraPaletteArray(SIZE_X, SIZE_Y, SIZE_Z);
+        int[] expectedBits = {0, 1, 2, 2, 4};
+        for (int i = 1; i < expectedBits.length; i++) {
+            array.set(i, 0, 0, i);
+            assertEquals(expectedBits[i], array.getBitsPerEntry());
+        }
+        for (int i = 5; i < 300; i++) {
+            array.set(i % SIZE_X, i / SIZE_X, 1, i * 7);
+        }
+        assertEquals(16, array.getBitsPerEntry());
+        for (int i = 1; i < 5; i++) {
+            assertEquals(i, array.get(i, 0, 0));
+        }
+        for (int i = 5; i < 300; i++) {
+            assertEquals(i * 7, array.get(i % SIZE_X, i / SIZE_X, 1));
+        }
+        assertEquals(0, array.get(SIZE_X - 1, SIZE_Y - 1, SIZE_Z - 1));
+    }
+
+    @Test
+    public void testConcurrentReadsWhilePaletteGrows() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            TeraPaletteArray array = new TeraPaletteArray(SIZE_X, SIZE_Y, SIZE_Z);
+            for (int x = 0; x < SIZE_X; x++) {
+                array.set(x, 0, 0, 1);
+            }
+            AtomicBoolean done = new AtomicBoolean();
+            AtomicReference<String> failure = new AtomicReference<>();
+            Thread reader = new Thread(() -> {
+                try {
+                    while (!done.get() && failure.get() == null) {
+                        for (int x = 0; x < SIZE_X; x++) {
+                            int value = array.get(x, 0, 0);
+                            if (value != 1) {
+                                failure.set("Read " + value + " instead of 1 at x = " + x);
+                            }
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    failure.set(e.toString());
+                }
+            });
+            reader.start();
+            for (int i = 2; i < 400; i++) {
+                array.set(i % SIZE_X, 1 + i / SIZE_X, 0, i);
+            }
+            done.set(true);
+            reader.join();
+            assertNull(failure.get());
+            assertEquals(16, array.getBitsPerEntry());
+        }
+    }
+
+    @Test
+    public void testSetReturnsOldValue() {
+        TeraPaletteArray array = new TeraPaletteArray(SIZE_X, SIZE_Y, SIZE_Z);
+        assertEquals(0, array.set(1, 2, 3, 42));
+        assertEquals(42, array.set(1, 2, 3, -7));
+        assertEquals(-7, array.get(1, 2, 3));
+        assertFalse(array.set(1, 2, 3, 5, 42));
+        assertTrue(array.set(1, 2, 3, 5, -7));
+        assertEquals(5, array.get(1, 2, 3));
+    }
+
+    @Test
+    public void testCopyIsIndependent() {
+        TeraPaletteArray array = new TeraPaletteArray(SIZE_X, SIZE_Y, SIZE_Z);
+        array.set(1, 1, 1, 3);
+        TeraArray copy = array.copy();
+        copy.set(1, 1, 1, 4);
+        copy.set(2, 2, 2, 5);
+        assertEquals(3, array.get(1, 1, 1));
+        assertEquals(0, array.get(2, 2, 2));
+        assertEquals(4, copy.get(1, 1, 1));
+        assertEquals(5, copy.get(2, 2, 2));
+    }
+
+    @Test
+    public void testSerializationRoundTrip() {
+        TeraPaletteArray array = new TeraPaletteArray(SIZE_X, SIZE_Y, SIZE_Z);
+        for (int y = 0; y < SIZE_Y; y++) {
+            array.set(y % SIZE_X, y, 0, y % 20);
+        }
+        TeraPaletteArray.SerializationHandler handler = new TeraPaletteArray.SerializationHandler();
+        ByteBuffer buffer = handler.serialize(array);
+        buffer.rewind();
+        TeraPaletteArray result = handler.deserialize(buffer);
+
+        assertEquals(array.getPaletteSize(), result.getPaletteSize());
+        assertEquals(array.getBitsPerEntry(), result.getBitsPerEntry());
+        for (int y = 0; y < SIZE_Y; y++) {
+            for (int z = 0; z < SIZE_Z; z++) {
+                for (int x = 0; x < SIZE_X; x++) {
+                    assertEquals(array.get(x, y, z), result.get(x, y, z));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDeflateDropsUnusedPaletteEntries() {
+        TeraPaletteArray array = new TeraPaletteArray(SIZE_X, SIZE_Y, SIZE_Z);
+        for (int i = 1; i <= 20; i++) {
+            array.set(0, 0, 0, i);
+        }
+        array.set(1, 0, 0, 2);
+        assertEquals(8, array.getBitsPerEntry());
+
+        TeraArray deflated = new TeraStandardDeflator().deflate(array);
+        TeraPaletteArray result = (TeraPaletteArray) deflated;
+        assertEquals(3, result.getPaletteSize());
+        assertEquals(2, result.getBitsPerEntry());
+        assertEquals(20, result.get(0, 0, 0));
+        assertEquals(2, result.get(1, 0, 0));
+        assertEquals(0, result.get(2, 0, 0));
+        assertTrue(result.getEstimatedMemoryConsumptionInBytes() < array.getEstimatedMemoryConsumptionInBytes());
+
+        assertSame(result, new TeraStandardDeflator().deflate(result));
+    }
+
+    @Test
+    public void testDeflateUniformArrayKeepsSingleEntry() {
+        TeraPaletteArray array = new TeraPaletteArray(SIZE_X, SIZE_Y, SIZE_Z);
+        for (int y = 0; y < SIZE_Y; y++) {
+            for (int z = 0; z < SIZE_Z; z++) {
+                for (int x = 0; x < SIZE_X; x++) {
+                    array.set(x, y, z, 7);
+                }
+            }
+        }
+        assertEquals(2, array.getPaletteSize());
+
+        TeraPaletteArray result = (TeraPaletteArray) new TeraStandardDeflator().deflate(array);
+        assertEquals(1, result.getPaletteSize());
+        assertEquals(0, result.getBitsPerEntry());
+        assertEquals(7, result.get(5, 10, 15));
+
+        assertSame(result, new TeraStandardDeflator().deflate(result));
+    }
+}
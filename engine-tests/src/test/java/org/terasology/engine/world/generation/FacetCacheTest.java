@@ -0,0 +1,121 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.world.generation;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.block.BlockRegionc;
+import org.terasology.engine.world.generation.facets.base.BaseFacet2D;
+import org.terasology.engine.world.generation.facets.base.BaseFacet3D;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FacetCacheTest {
+
+    private final ElevationProvider elevationProvider = new ElevationProvider();
+    private final DensityProvider densityProvider = new DensityProvider();
+
+    @Test
+    public void testOnlyFacetsWithTwoDimensionalChainsAreCacheable() {
+        FacetCache cache = new FacetCache(chains(), FacetCache.DEFAULT_CAPACITY);
+
+        assertTrue(cache.isCacheable(Elevation.class));
+        assertFalse(cache.isCacheable(Density.class));
+    }
+
+    @Test
+    public void testChunksInOneColumnShareFacets() {
+        ListMultimap<Class<? extends WorldFacet>, FacetProvider> chains = chains();
+        FacetCache cache = new FacetCache(chains, FacetCache.DEFAULT_CAPACITY);
+
+        Elevation elevation = region(chains, cache, 0, 0).getFacet(Elevation.class);
+        for (int y = 1; y < 4; y++) {
+            RegionImpl region = region(chains, cache, 0, y);
+            assertSame(elevation, region.getFacet(Elevation.class));
+            assertEquals(y, region.getFacet(Density.class).y);
+        }
+
+        assertEquals(1, elevationProvider.calls);
+        assertEquals(4, densityProvider.calls);
+        assertEquals(3, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertNotSame(elevation, region(chains, cache, 1, 0).getFacet(Elevation.class));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedColumnIsEvicted() {
+        ListMultimap<Class<? extends WorldFacet>, FacetProvider> chains = chains();
+        FacetCache cache = new FacetCache(chains, 2);
+
+        region(chains, cache, 0, 0).getFacet(Elevation.class);
+        region(chains, cache, 1, 0).getFacet(Elevation.class);
+        region(chains, cache, 0, 1).getFacet(Elevation.class);
+        region(chains, cache, 2, 0).getFacet(Elevation.class);
+        region(chains, cache, 0, 2).getFacet(Elevation.class);
+        region(chains, cache, 1, 1).getFacet(Elevation.class);
+
+        assertEquals(4, elevationProvider.calls);
+    }
+
+    private ListMultimap<Class<? extends WorldFacet>, FacetProvider> chains() {
+        ListMultimap<Class<? extends WorldFacet>, FacetProvider> chains = ArrayListMultimap.create();
+        chains.put(Elevation.class, elevationProvider);
+        chains.put(Density.class, elevationProvider);
+        chains.put(Density.class, densityProvider);
+        return chains;
+    }
+
+    private static RegionImpl region(ListMultimap<Class<? extends WorldFacet>, FacetProvider> chains,
+                                     FacetCache cache, int chunkX, int chunkY) {
+        BlockRegion area = new BlockRegion(chunkX * 32, chunkY * 64, 0).setSize(32, 64, 32);
+        return new RegionImpl(area, chains, Collections.emptyMap(), 1, null, cache);
+    }
+
+    public static class Elevation extends BaseFacet2D {
+        public Elevation(BlockRegionc targetRegion, Border3D border) {
+            super(targetRegion, border);
+        }
+    }
+
+    public static class Density extends BaseFacet3D {
+        final int y;
+
+        public Density(BlockRegion targetRegion, Border3D border) {
+            super(targetRegion, border);
+            y = targetRegion.minY() / 64;
+        }
+    }
+
+    @Produces(Elevation.class)
+    public static class ElevationProvider implements FacetProvider {
+        int calls;
+
+        @Override
+        public void process(GeneratingRegion region) {
+            calls++;
+            region.setRegionFacet(Elevation.class, new Elevation(region.getRegion(),
+                    region.getBorderForFacet(Elevation.class)));
+        }
+    }
+
+    @Produces(Density.class)
+    @Requires(@Facet(Elevation.class))
+    public static class DensityProvider implements FacetProvider {
+        int calls;
+
+        @Override
+        public void process(GeneratingRegion region) {
+            calls++;
+            region.setRegionFacet(Density.class, new Density(region.getRegion(),
+                    region.getBorderForFacet(Density.class)));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.world.generation;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ListMultimap;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.generation.WorldBuilderTest.Facet1;
+import org.terasology.engine.world.generation.WorldBuilderTest.Facet1Provider;
+import org.terasology.engine.world.generation.WorldBuilderTest.Facet2;
+import org.terasology.engine.world.generation.WorldBuilderTest.Facet2Provider;
+import org.terasology.engine.world.generation.WorldBuilderTest.Facet3;
+import org.terasology.engine.world.generation.WorldBuilderTest.Facet3Provider;
+import org.terasology.engine.world.generation.WorldBuilderTest.Facet4;
+import org.terasology.engine.world.generation.WorldBuilderTest.Facet4Provider;
+
+import java.util.Collections;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FacetProviderGraphTest {
+
+    private final Facet1Provider facet1Provider = new Facet1Provider();
+    private final Facet2Provider facet2Provider = new Facet2Provider();
+    private final Facet3Provider facet3Provider = new Facet3Provider();
+    private final Facet4Provider facet4Provider = new Facet4Provider();
+    private final Facet1Updater facet1Updater = new Facet1Updater();
+
+    @Test
+    public void testIndependentProvidersHaveNoOrder() {
+        FacetProviderGraph graph = FacetProviderGraph.build(chains(), ImmutableList.of(Facet3.class, Facet4.class));
+
+        assertEquals(ImmutableSet.of(), graph.getPredecessors(facet2Provider));
+        assertEquals(ImmutableSet.of(facet2Provider), graph.getPredecessors(facet1Provider));
+        assertEquals(ImmutableSet.of(facet2Provider), graph.getPredecessors(facet4Provider));
+        assertEquals(ImmutableSet.of(facet1Provider), graph.getPredecessors(facet3Provider));
+        assertEquals(ImmutableList.of(facet2Provider, facet1Provider, facet3Provider, facet4Provider),
+                ImmutableList.copyOf(graph.getProviders()));
+    }
+
+    @Test
+    public void testUpdatersRunBeforeReaders() {
+        ListMultimap<Class<? extends WorldFacet>, FacetProvider> chains = chains();
+        chains.put(Facet1.class, facet1Updater);
+        chains.put(Facet3.class, facet1Updater);
+
+        FacetProviderGraph graph = FacetProviderGraph.build(chains, ImmutableList.of(Facet3.class));
+
+        assertEquals(ImmutableSet.of(facet1Provider), graph.getPredecessors(facet1Updater));
+        assertEquals(ImmutableSet.of(facet1Provider, facet1Updater), graph.getPredecessors(facet3Provider));
+    }
+
+    @Test
+    public void testGeneratedFacetsMatchSequentialGeneration() {
+        ListMultimap<Class<? extends WorldFacet>, FacetProvider> chains = chains();
+        chains.put(Facet1.class, facet1Updater);
+        chains.put(Facet3.class, facet1Updater);
+        BlockRegion area = new BlockRegion(0, 0, 0).expand(1, 1, 1);
+        RegionImpl sequential = new RegionImpl(area, chains, Collections.emptyMap(), 1);
+        RegionImpl parallel = new RegionImpl(area, chains, Collections.emptyMap(), 1);
+
+        parallel.generateFacets(FacetProviderGraph.build(chains, ImmutableList.of(Facet3.class, Facet4.class)),
+                ForkJoinPool.commonPool());
+
+        Facet1 facet1 = parallel.getRegionFacet(Facet1.class);
+        assertNotNull(facet1);
+        assertTrue(facet1.updated);
+        assertSame(facet1, parallel.getFacet(Facet1.class));
+        for (Class<? extends WorldFacet> facet : ImmutableList.of(Facet1.class, Facet2.class, Facet3.class,
+                Facet4.class)) {
+            assertEquals(sequential.getFacet(facet).getClass(), parallel.getFacet(facet).getClass());
+        }
+    }
+
+    private ListMultimap<Class<? extends WorldFacet>, FacetProvider> chains() {
+        ListMultimap<Class<? extends WorldFacet>, FacetProvider> chains = ArrayListMultimap.create();
+        chains.put(Facet2.class, facet2Provider);
+        chains.putAll(Facet1.class, ImmutableList.of(facet2Provider, facet1Provider));
+        chains.putAll(Facet3.class, ImmutableList.of(facet2Provider, facet1Provider, facet3Provider));
+        chains.putAll(Facet4.class, ImmutableList.of(facet2Provider, facet4Provider));
+        return chains;
+    }
+
+    @Updates(@Facet(Facet1.class))
+    public static class Facet1Updater implements FacetProvider {
+
+        @Override
+        public void process(GeneratingRegion region) {
+            region.getRegionFacet(Facet1.class).updated = true;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.world.propagation;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PackedPositionQueueTest {
+
+    private Supplier<PositionQueue> factory;
+    private PositionQueue queue;
+
+    @BeforeEach
+    public void setup() {
+        factory = PackedPositionQueue.factory();
+        queue = factory.get();
+    }
+
+    @Test
+    public void testDrainReturnsPositionsInOrderWithoutDuplicates() {
+        List<Vector3ic> expected = List.of(new Vector3i(1, 2, 3), new Vector3i(-40, 70, 33), new Vector3i(-1, -1, -1));
+        for (Vector3ic pos : expected) {
+            assertTrue(queue.add(pos));
+        }
+        assertFalse(queue.add(new Vector3i(1, 2, 3)));
+
+        assertEquals(expected, drain(queue));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testRemovedPositionIsNotDrained() {
+        queue.add(new Vector3i(5, 5, 5));
+        queue.add(new Vector3i(6, 5, 5));
+        assertTrue(queue.remove(new Vector3i(5, 5, 5)));
+        assertFalse(queue.remove(new Vector3i(5, 5, 5)));
+        assertFalse(queue.remove(new Vector3i(100, 5, 5)));
+
+        assertEquals(List.of(new Vector3i(6, 5, 5)), drain(queue));
+
+        queue.add(new Vector3i(7, 5, 5));
+        queue.remove(new Vector3i(7, 5, 5));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testPositionsAddedWhileDrainingAreQueuedAgain() {
+        queue.add(new Vector3i(0, 0, 0));
+        List<Vector3ic> visited = new ArrayList<>();
+        queue.drain(pos -> {
+            visited.add(new Vector3i(pos));
+            queue.add(pos);
+            queue.add(new Vector3i(pos.x() + 1, pos.y(), pos.z()));
+        });
+
+        assertEquals(List.of(new Vector3i(0, 0, 0)), visited);
+        assertEquals(List.of(new Vector3i(0, 0, 0), new Vector3i(1, 0, 0)), drain(queue));
+    }
+
+    @Test
+    public void testQueuesFromOneFactoryAreIndependent() {
+        PositionQueue other = factory.get();
+        queue.add(new Vector3i(64, 0, 0));
+        other.add(new Vector3i(64, 0, 0));
+        other.add(new Vector3i(0, 128, 0));
+
+        queue.clear();
+        assertTrue(queue.isEmpty());
+        assertEquals(List.of(new Vector3i(64, 0, 0), new Vector3i(0, 128, 0)), drain(other));
+
+        queue.add(new Vector3i(-64, 0, 0));
+        assertEquals(List.of(new Vector3i(-64, 0, 0)), drain(queue));
+    }
+
+    private static List<Vector3ic> drain(PositionQueue queue) {
+        List<Vector3ic> result = new ArrayList<>();
+        queue.drain(pos -> result.add(new Vector3i(pos)));
+        return result;
+    }
+}
@@ -4,6 +4,8 @@
 package org.terasology.utilities;
 
 import com.google.common.collect.Lists;
+import org.joml.Vector2f;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.terasology.engine.utilities.procedural.BrownianNoise;
@@ -11,13 +13,16 @@
 import org.terasology.engine.utilities.procedural.Noise;
 import org.terasology.engine.utilities.procedural.PerlinNoise;
 import org.terasology.engine.utilities.procedural.SimplexNoise;
+import org.terasology.engine.utilities.procedural.SubSampledNoise;
 import org.terasology.engine.utilities.procedural.WhiteNoise;
 import org.terasology.engine.utilities.random.FastRandom;
 import org.terasology.engine.utilities.random.Random;
+import org.terasology.engine.world.block.BlockArea;
 
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -88,4 +93,80 @@ public void testResolution(Noise noiseGen) {
 
         fail();
     }
+
+    public static List<Noise> batchData() {
+        List<Noise> noises = data();
+        noises.add(new BrownianNoise(new SimplexNoise(0xCAFE), 4));
+        noises.add(new BrownianNoise(new PerlinNoise(0xCAFE), 4));
+        return noises;
+    }
+
+    @ParameterizedTest
+    @MethodSource("batchData")
+    public void testBatchMatchesSinglePositions(Noise noiseGen) {
+        int count = 1000;
+        float[] x = new float[count];
+        float[] y = new float[count];
+        float[] z = new float[count];
+        for (int i = 0; i < count; i++) {
+            x[i] = (rng.nextFloat() - 0.5f) * 200f;
+            y[i] = (rng.nextFloat() - 0.5f) * 200f;
+            z[i] = (rng.nextFloat() - 0.5f) * 200f;
+        }
+
+        float[] expected2D = new float[count];
+        float[] expected3D = new float[count];
+        for (int i = 0; i < count; i++) {
+            expected2D[i] = noiseGen.noise(x[i], y[i]);
+            expected3D[i] = noiseGen.noise(x[i], y[i], z[i]);
+        }
+        float[] result2D = new float[count];
+        float[] result3D = new float[count];
+        noiseGen.noise(x, y, result2D, count);
+        noiseGen.noise(x, y, z, result3D, count);
+
+        assertArrayEquals(expected2D, result2D);
+        assertArrayEquals(expected3D, result3D);
+    }
+
+    @ParameterizedTest
+    @MethodSource("batchData")
+    public void testGridMatchesSinglePositions(Noise noiseGen) {
+        float frequency = 0.013f;
+        float[] result2D = new float[7 * 5];
+        float[] result3D = new float[7 * 5 * 3];
+        noiseGen.noiseGrid(-9, 4, 7, 5, 3, frequency, frequency * 2, result2D);
+        noiseGen.noiseGrid(-9, 4, 11, 7, 5, 3, 3, frequency, frequency * 2, frequency * 3, result3D);
+
+        for (int k = 0; k < 3; k++) {
+            for (int j = 0; j < 5; j++) {
+                for (int i = 0; i < 7; i++) {
+                    float posX = frequency * (-9 + i * 3);
+                    float posY = frequency * 2 * (4 + j * 3);
+                    float posZ = frequency * 3 * (11 + k * 3);
+                    if (k == 0) {
+                        assertEquals(noiseGen.noise(posX, posY), result2D[i + 7 * j]);
+                    }
+                    assertEquals(noiseGen.noise(posX, posY, posZ), result3D[i + 7 * (j + 5 * k)]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSubSampledNoiseKeepsSampledValues() {
+        Noise source = new BrownianNoise(new SimplexNoise(0xCAFE), 4);
+        Vector2f zoom = new Vector2f(0.01f, 0.02f);
+        SubSampledNoise subSampled = new SubSampledNoise(source, zoom, 4);
+        BlockArea area = new BlockArea(-13, 6, 18, 37);
+
+        float[] values = subSampled.noise(area);
+
+        for (int y = 8; y <= 36; y += 4) {
+            for (int x = -12; x <= 16; x += 4) {
+                int index = x - area.minX() + area.getSizeX() * (y - area.minY());
+                assertEquals(source.noise(x * zoom.x, y * zoom.y), values[index], 1e-6f);
+            }
+        }
+    }
 }
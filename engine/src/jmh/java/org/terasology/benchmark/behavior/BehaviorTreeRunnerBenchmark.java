@@ -0,0 +1,114 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.behavior;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.engine.logic.behavior.DefaultBehaviorTreeRunner;
+import org.terasology.engine.logic.behavior.actions.CounterAction;
+import org.terasology.engine.logic.behavior.actions.InvertAction;
+import org.terasology.engine.logic.behavior.actions.SleepAction;
+import org.terasology.engine.logic.behavior.actions.TimeoutAction;
+import org.terasology.engine.logic.behavior.core.Actor;
+import org.terasology.engine.logic.behavior.core.BehaviorNode;
+import org.terasology.engine.logic.behavior.core.BehaviorTreeBuilder;
+import org.terasology.engine.logic.behavior.core.BehaviorTreeCompiler;
+import org.terasology.engine.logic.behavior.core.BehaviorTreeRunner;
+import org.terasology.engine.logic.behavior.core.CompiledBehaviorTree;
+import org.terasology.engine.logic.behavior.core.CompiledBehaviorTreeRunner;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs one behavior tree for many NPCs, on copies of the nodes and compiled.
+ * <br><br>
+ * {@link #tick} reports NPC ticks per second. The memory per NPC is the allocation per operation of
+ * {@link #createRunner}, reported as <code>gc.alloc.rate.norm</code> when running with <code>-prof gc</code>.
+ */
+@Warmup(iterations = 1)
+@Fork(1)
+@Measurement(iterations = 1)
+public class BehaviorTreeRunnerBenchmark {
+    private static final int NPCS = 1000;
+    private static final String TREE = "{ dynamic:[ "
+            + "{ sequence:[ { counter:{ count=3, child:success } }, { invert:{ child:success } } ] }, "
+            + "{ parallel:[ { timeout:{ time=2, child:running } }, { sleep:{ time=1 } } ] }, "
+            + "{ selector:[ failure, { counter:{ count=2, child:{ sleep:{ time=0.5 } } } } ] } ] }";
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(NPCS)
+    public void tick(RunnerState state) {
+        for (BehaviorTreeRunner runner : state.runners) {
+            runner.step();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public BehaviorTreeRunner createRunner(RunnerState state) {
+        return state.runnerType.create(state, createActor());
+    }
+
+    private static Actor createActor() {
+        Actor actor = new Actor(null);
+        actor.setDelta(0.1f);
+        return actor;
+    }
+
+    public enum RunnerType {
+        DEFAULT {
+            @Override
+            BehaviorTreeRunner create(RunnerState state, Actor actor) {
+                return new DefaultBehaviorTreeRunner(state.root, actor);
+            }
+        },
+        COMPILED {
+            @Override
+            BehaviorTreeRunner create(RunnerState state, Actor actor) {
+                return new CompiledBehaviorTreeRunner(state.compiled, actor);
+            }
+        };
+
+        abstract BehaviorTreeRunner create(RunnerState state, Actor actor);
+    }
+
+    @State(Scope.Thread)
+    public static class RunnerState {
+        @Param({"DEFAULT", "COMPILED"})
+        private RunnerType runnerType;
+
+        private BehaviorNode root;
+        private CompiledBehaviorTree compiled;
+        private BehaviorTreeRunner[] runners;
+
+        @Setup
+        public void setup() {
+            BehaviorTreeBuilder treeBuilder = new BehaviorTreeBuilder();
+            treeBuilder.registerAction("sleep", SleepAction.class);
+            treeBuilder.registerDecorator("counter", CounterAction.class);
+            treeBuilder.registerDecorator("invert", InvertAction.class);
+            treeBuilder.registerDecorator("timeout", TimeoutAction.class);
+            root = treeBuilder.fromJson(TREE);
+            compiled = BehaviorTreeCompiler.compile(root);
+
+            runners = new BehaviorTreeRunner[NPCS];
+            for (int i = 0; i < NPCS; i++) {
+                runners[i] = runnerType.create(this, createActor());
+            }
+        }
+    }
+}
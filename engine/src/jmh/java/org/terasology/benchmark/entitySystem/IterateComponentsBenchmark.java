@@ -9,10 +9,13 @@
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.entity.internal.ComponentStoreType;
 import org.terasology.engine.entitySystem.entity.internal.PojoEntityManager;
 import org.terasology.engine.logic.location.LocationComponent;
 import org.terasology.engine.rendering.logic.MeshComponent;
@@ -31,11 +34,19 @@ public class IterateComponentsBenchmark {
 
     @State(Scope.Benchmark)
     public static class StateObject {
+        @Param({"HASHED", "ARCHETYPE"})
+        private ComponentStoreType storeType;
+
+        @Param({"1000", "20000"})
+        private int entityCount;
+
         private final PojoEntityManager entityManager = new PojoEntityManager();
 
+        @Setup
         public void setup() {
+            entityManager.setComponentStoreType(storeType);
             FastRandom rand = new FastRandom(0L);
-            for (int i = 0; i < 1000; ++i) {
+            for (int i = 0; i < entityCount; ++i) {
                 List<Component> entityData = Lists.newArrayList();
                 if (rand.nextFloat() < 0.75f) {
                     entityData.add(new LocationComponent());
@@ -60,6 +71,15 @@ public void iterateMultipleComponent(StateObject state) {
         }
     }
 
+    @Benchmark
+    public void iterateThreeComponents(StateObject state) {
+        for (EntityRef entity : state.entityManager.getEntitiesWith(MeshComponent.class, LocationComponent.class,
+                BlockComponent.class)) {
+            LocationComponent loc = entity.getComponent(LocationComponent.class);
+            loc.getLocalPosition();
+        }
+    }
+
     @Benchmark
     public void iterateSingleComponent(StateObject state) {
         for (EntityRef entity : state.entityManager.getEntitiesWith(LocationComponent.class)) {
@@ -0,0 +1,109 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.noise;
+
+import org.joml.Vector2f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.engine.utilities.procedural.BrownianNoise;
+import org.terasology.engine.utilities.procedural.Noise;
+import org.terasology.engine.utilities.procedural.PerlinNoise;
+import org.terasology.engine.utilities.procedural.SimplexNoise;
+import org.terasology.engine.utilities.procedural.SubSampledNoise;
+import org.terasology.engine.world.block.BlockArea;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares evaluating noise one position at a time with the batch methods of {@link Noise}, on the grid of a chunk.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 1)
+public class NoiseBenchmark {
+
+    private static final int SIZE_X = 32;
+    private static final int SIZE_Y = 64;
+    private static final int SIZE_Z = 32;
+    private static final float FREQUENCY = 0.01f;
+
+    @Benchmark
+    public float[] scalarGrid2D(NoiseState state) {
+        float[] result = state.result2D;
+        for (int z = 0; z < SIZE_Z; z++) {
+            for (int x = 0; x < SIZE_X; x++) {
+                result[x + SIZE_X * z] = state.noise.noise(FREQUENCY * x, FREQUENCY * z);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public float[] batchGrid2D(NoiseState state) {
+        state.noise.noiseGrid(0, 0, SIZE_X, SIZE_Z, 1, FREQUENCY, FREQUENCY, state.result2D);
+        return state.result2D;
+    }
+
+    @Benchmark
+    public float[] scalarGrid3D(NoiseState state) {
+        float[] result = state.result3D;
+        for (int z = 0; z < SIZE_Z; z++) {
+            for (int y = 0; y < SIZE_Y; y++) {
+                for (int x = 0; x < SIZE_X; x++) {
+                    result[x + SIZE_X * (y + SIZE_Y * z)] =
+                            state.noise.noise(FREQUENCY * x, FREQUENCY * y, FREQUENCY * z);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public float[] batchGrid3D(NoiseState state) {
+        state.noise.noiseGrid(0, 0, 0, SIZE_X, SIZE_Y, SIZE_Z, 1, FREQUENCY, FREQUENCY, FREQUENCY, state.result3D);
+        return state.result3D;
+    }
+
+    @Benchmark
+    public float[] subSampled2D(NoiseState state) {
+        return state.subSampled.noise(state.area);
+    }
+
+    @State(Scope.Thread)
+    public static class NoiseState {
+        @Param({"simplex", "perlin", "brownianSimplex"})
+        private String type;
+
+        private Noise noise;
+        private SubSampledNoise subSampled;
+        private final BlockArea area = new BlockArea(0, 0, SIZE_X - 1, SIZE_Z - 1);
+        private final float[] result2D = new float[SIZE_X * SIZE_Z];
+        private final float[] result3D = new float[SIZE_X * SIZE_Y * SIZE_Z];
+
+        @Setup
+        public void setup() {
+            switch (type) {
+                case "simplex":
+                    noise = new SimplexNoise(0xCAFE);
+                    break;
+                case "perlin":
+                    noise = new PerlinNoise(0xCAFE);
+                    break;
+                default:
+                    noise = new BrownianNoise(new SimplexNoise(0xCAFE), 8);
+                    break;
+            }
+            subSampled = new SubSampledNoise(noise, new Vector2f(FREQUENCY, FREQUENCY), 4);
+        }
+    }
+}
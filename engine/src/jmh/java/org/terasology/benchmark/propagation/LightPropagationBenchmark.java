@@ -0,0 +1,140 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.propagation;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.engine.world.propagation.BatchPropagator;
+import org.terasology.engine.world.propagation.BlockChange;
+import org.terasology.engine.world.propagation.PackedPositionQueue;
+import org.terasology.engine.world.propagation.PositionQueue;
+import org.terasology.engine.world.propagation.PropagatorWorldView;
+import org.terasology.engine.world.propagation.SetPositionQueue;
+import org.terasology.engine.world.propagation.StandardBatchPropagator;
+import org.terasology.engine.world.propagation.light.LightPropagationRules;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Places and removes light sources in an open area, comparing the position queues used by the propagator.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 1)
+@Fork(1)
+@Measurement(iterations = 1)
+public class LightPropagationBenchmark {
+
+    private static final int SIZE = 64;
+
+    @Benchmark
+    public void placeAndRemoveLight(PropagatorState state) {
+        state.propagator.process(new BlockChange(state.center, state.air, state.light));
+        state.propagator.process(new BlockChange(state.center, state.light, state.air));
+    }
+
+    @Benchmark
+    public void placeAndRemoveManyLights(PropagatorState state) {
+        for (Vector3ic pos : state.scattered) {
+            state.propagator.process(new BlockChange(pos, state.air, state.light));
+        }
+        for (Vector3ic pos : state.scattered) {
+            state.propagator.process(new BlockChange(pos, state.light, state.air));
+        }
+    }
+
+    public enum QueueType {
+        SET(SetPositionQueue::new),
+        PACKED(PackedPositionQueue.factory());
+
+        private final Supplier<PositionQueue> factory;
+
+        QueueType(Supplier<PositionQueue> factory) {
+            this.factory = factory;
+        }
+
+        public Supplier<PositionQueue> factory() {
+            return factory;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PropagatorState {
+        @Param({"SET", "PACKED"})
+        private static QueueType queueType;
+
+        private final Vector3i center = new Vector3i(SIZE / 2, SIZE / 2, SIZE / 2);
+        private final Vector3i[] scattered = new Vector3i[8];
+        private Block air;
+        private Block light;
+        private BatchPropagator propagator;
+
+        @Setup
+        public void setup() {
+            air = new Block();
+            air.setTranslucent(true);
+            light = new Block();
+            light.setTranslucent(true);
+            light.setLuminance(Chunks.MAX_LIGHT);
+
+            for (int i = 0; i < scattered.length; i++) {
+                scattered[i] = new Vector3i(16 + (i & 1) * 32, 16 + (i >> 1 & 1) * 32, 16 + (i >> 2 & 1) * 32);
+            }
+            propagator = new StandardBatchPropagator(new LightPropagationRules(), new ArrayWorldView(air), 1,
+                    queueType.factory());
+        }
+    }
+
+    /**
+     * World view over a cube of a single block type, starting at the origin.
+     */
+    private static class ArrayWorldView implements PropagatorWorldView {
+        private final byte[] values = new byte[SIZE * SIZE * SIZE];
+        private final Block block;
+
+        ArrayWorldView(Block block) {
+            this.block = block;
+        }
+
+        @Override
+        public byte getValueAt(Vector3ic pos) {
+            if (!contains(pos)) {
+                return UNAVAILABLE;
+            }
+            return values[index(pos)];
+        }
+
+        @Override
+        public void setValueAt(Vector3ic pos, byte value) {
+            values[index(pos)] = value;
+        }
+
+        @Override
+        public Block getBlockAt(Vector3ic pos) {
+            return contains(pos) ? block : null;
+        }
+
+        private static boolean contains(Vector3ic pos) {
+            return pos.x() >= 0 && pos.y() >= 0 && pos.z() >= 0 && pos.x() < SIZE && pos.y() < SIZE && pos.z() < SIZE;
+        }
+
+        private static int index(Vector3ic pos) {
+            return pos.x() + SIZE * (pos.y() + SIZE * pos.z());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.reflectFactory;
+
+import com.google.common.collect.ImmutableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.entity.internal.PojoEntityManager;
+import org.terasology.engine.entitySystem.event.Event;
+import org.terasology.engine.entitySystem.event.internal.EventHandlerInvokers;
+import org.terasology.engine.logic.common.DisplayNameComponent;
+import org.terasology.engine.logic.location.LocationComponent;
+import org.terasology.gestalt.entitysystem.component.Component;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares calling an event handler method through {@link EventHandlerInvokers#reflective} with calling it through
+ * the invoker generated by {@link EventHandlerInvokers#create}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 1)
+public class EventHandlerInvokerBenchmark {
+
+    @Benchmark
+    public void reflectiveInvoker(InvokerState state) {
+        state.reflective.invoke(state.entity, state.event);
+    }
+
+    @Benchmark
+    public void generatedInvoker(InvokerState state) {
+        state.generated.invoke(state.entity, state.event);
+    }
+
+    @Benchmark
+    public void directCall(InvokerState state) {
+        state.handler.onEvent(state.event, state.entity, state.entity.getComponent(LocationComponent.class),
+                state.entity.getComponent(DisplayNameComponent.class));
+    }
+
+    @State(Scope.Thread)
+    public static class InvokerState {
+        private final PojoEntityManager entityManager = new PojoEntityManager();
+        private final Handler handler = new Handler();
+        private final BenchmarkEvent event = new BenchmarkEvent();
+        private EntityRef entity;
+        private EventHandlerInvokers.Invoker reflective;
+        private EventHandlerInvokers.Invoker generated;
+
+        @Setup
+        public void setup() throws NoSuchMethodException {
+            entity = entityManager.create(new LocationComponent(), new DisplayNameComponent());
+            Method method = Handler.class.getMethod("onEvent", BenchmarkEvent.class, EntityRef.class,
+                    LocationComponent.class, DisplayNameComponent.class);
+            List<Class<? extends Component>> componentParams =
+                    ImmutableList.of(LocationComponent.class, DisplayNameComponent.class);
+            reflective = EventHandlerInvokers.reflective(handler, method, componentParams);
+            generated = EventHandlerInvokers.create(handler, method, componentParams);
+        }
+    }
+
+    public static class BenchmarkEvent implements Event {
+    }
+
+    public static class Handler {
+        public int received;
+
+        public void onEvent(BenchmarkEvent event, EntityRef entity, LocationComponent location,
+                            DisplayNameComponent displayName) {
+            received++;
+        }
+    }
+}
@@ -0,0 +1,284 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.rendering;
+
+import com.google.common.collect.Maps;
+import org.joml.Vector2f;
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.engine.math.Side;
+import org.terasology.engine.rendering.primitives.BlockMeshGeneratorSingleShape;
+import org.terasology.engine.rendering.primitives.ChunkMesh;
+import org.terasology.engine.rendering.primitives.ChunkTessellator;
+import org.terasology.engine.world.ChunkView;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.block.BlockAppearance;
+import org.terasology.engine.world.block.BlockPart;
+import org.terasology.engine.world.block.BlockRegionc;
+import org.terasology.engine.world.block.BlockUri;
+import org.terasology.engine.world.block.shapes.BlockMeshPart;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.gestalt.assets.ResourceUrn;
+import org.terasology.math.TeraMath;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tessellates a single chunk of generated terrain, with and without merging the faces of cube blocks. Reports the
+ * number of vertices of the resulting mesh along with the time taken.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Fork(1)
+@Measurement(iterations = 1)
+public class ChunkTessellatorBenchmark {
+
+    private static final float TILE_SIZE = 1f / 16;
+
+    @Benchmark
+    public ChunkMesh generateMesh(TessellatorState state, MeshSize meshSize) {
+        ChunkMesh mesh = state.tessellator.generateMesh(state.view);
+        int vertices = 0;
+        for (ChunkMesh.RenderType type : ChunkMesh.RenderType.values()) {
+            vertices += mesh.getVertexElements(type).vertexCount;
+        }
+        meshSize.vertices = vertices;
+        return mesh;
+    }
+
+    public enum Terrain {
+        /**
+         * Flat grass land, the best case for merging faces.
+         */
+        FLAT {
+            @Override
+            int height(int x, int z) {
+                return Chunks.SIZE_Y / 2;
+            }
+        },
+        HILLS {
+            @Override
+            int height(int x, int z) {
+                return Chunks.SIZE_Y / 2 + Math.round(6 * (float) (Math.sin(x * 0.3) + Math.cos(z * 0.2)));
+            }
+        };
+
+        abstract int height(int x, int z);
+    }
+
+    @State(Scope.Thread)
+    public static class TessellatorState {
+        @Param({"false", "true"})
+        private boolean greedyMeshing;
+
+        @Param({"FLAT", "HILLS"})
+        private Terrain terrain;
+
+        private ChunkTessellator tessellator;
+        private TerrainView view;
+
+        @Setup
+        public void setup() {
+            tessellator = new ChunkTessellator();
+            tessellator.setGreedyMeshing(greedyMeshing);
+
+            Block air = new Block();
+            air.setUri(new BlockUri(new ResourceUrn("test:air")));
+            air.setTranslucent(true);
+            air.setShadowCasting(false);
+            air.setPrimaryAppearance(new BlockAppearance());
+            air.setMeshGenerator(new BlockMeshGeneratorSingleShape(air));
+            view = new TerrainView(terrain, air, createCube("test:stone", 0), createCube("test:grass", 1));
+        }
+
+        private static Block createCube(String uri, int tile) {
+            Block block = new Block();
+            block.setUri(new BlockUri(new ResourceUrn(uri)));
+            Map<BlockPart, BlockMeshPart> parts = Maps.newEnumMap(BlockPart.class);
+            Map<BlockPart, Vector2f> atlasPositions = Maps.newEnumMap(BlockPart.class);
+            for (BlockPart part : BlockPart.values()) {
+                atlasPositions.put(part, new Vector2f(tile * TILE_SIZE, 0));
+            }
+            for (Side side : Side.allSides()) {
+                block.setFullSide(side, true);
+                parts.put(BlockPart.fromSide(side), createFace(side).mapTexCoords(new Vector2f(tile * TILE_SIZE, 0),
+                        TILE_SIZE, 1));
+            }
+            block.setPrimaryAppearance(new BlockAppearance(parts, atlasPositions));
+            block.setMeshGenerator(new BlockMeshGeneratorSingleShape(block));
+            return block;
+        }
+
+        private static BlockMeshPart createFace(Side side) {
+            Vector3ic normal = side.direction();
+            int axis = normal.x() != 0 ? 0 : normal.y() != 0 ? 1 : 2;
+            int u = (axis + 1) % 3;
+            int v = (axis + 2) % 3;
+            float[][] corners = {{-0.5f, -0.5f}, {0.5f, -0.5f}, {0.5f, 0.5f}, {-0.5f, 0.5f}};
+            Vector3f[] vertices = new Vector3f[4];
+            Vector3f[] normals = new Vector3f[4];
+            Vector2f[] texCoords = new Vector2f[4];
+            for (int i = 0; i < 4; i++) {
+                vertices[i] = new Vector3f(normal).mul(0.5f);
+                vertices[i].setComponent(u, corners[i][0]);
+                vertices[i].setComponent(v, corners[i][1]);
+                normals[i] = new Vector3f(normal);
+                texCoords[i] = new Vector2f(corners[i][0] + 0.5f, corners[i][1] + 0.5f);
+            }
+            return new BlockMeshPart(vertices, normals, texCoords, new int[]{0, 1, 2, 0, 2, 3});
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class MeshSize {
+        /**
+         * The number of vertices of the last generated mesh.
+         */
+        public int vertices;
+    }
+
+    /**
+     * Chunk view over terrain of stone covered by grass, lit by the sun from above.
+     */
+    private static class TerrainView implements ChunkView {
+        private final Terrain terrain;
+        private final Block air;
+        private final Block stone;
+        private final Block grass;
+
+        TerrainView(Terrain terrain, Block air, Block stone, Block grass) {
+            this.terrain = terrain;
+            this.air = air;
+            this.stone = stone;
+            this.grass = grass;
+        }
+
+        @Override
+        public Block getBlock(float x, float y, float z) {
+            return getBlock(round(x), round(y), round(z));
+        }
+
+        @Override
+        public Block getBlock(Vector3ic pos) {
+            return getBlock(pos.x(), pos.y(), pos.z());
+        }
+
+        @Override
+        public Block getBlock(int x, int y, int z) {
+            int height = terrain.height(x, z);
+            if (y > height) {
+                return air;
+            }
+            return y == height ? grass : stone;
+        }
+
+        @Override
+        public byte getSunlight(float x, float y, float z) {
+            return getSunlight(round(x), round(y), round(z));
+        }
+
+        @Override
+        public byte getSunlight(Vector3i pos) {
+            return getSunlight(pos.x(), pos.y(), pos.z());
+        }
+
+        @Override
+        public byte getSunlight(int x, int y, int z) {
+            return y > terrain.height(x, z) ? Chunks.MAX_SUNLIGHT : 0;
+        }
+
+        @Override
+        public byte getLight(float x, float y, float z) {
+            return 0;
+        }
+
+        @Override
+        public byte getLight(Vector3i pos) {
+            return 0;
+        }
+
+        @Override
+        public byte getLight(int x, int y, int z) {
+            return 0;
+        }
+
+        @Override
+        public void setBlock(Vector3ic pos, Block type) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setBlock(int x, int y, int z, Block type) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int getExtraData(int index, int x, int y, int z) {
+            return 0;
+        }
+
+        @Override
+        public int getExtraData(int index, Vector3ic pos) {
+            return 0;
+        }
+
+        @Override
+        public void setExtraData(int index, int x, int y, int z, int value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setExtraData(int index, Vector3ic pos, int value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Vector3i toWorldPos(Vector3ic localPos) {
+            return new Vector3i(localPos);
+        }
+
+        @Override
+        public BlockRegionc getWorldRegion() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public BlockRegionc getChunkRegion() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setDirtyAround(Vector3ic blockPos) {
+        }
+
+        @Override
+        public void setDirtyAround(BlockRegionc blockRegion) {
+        }
+
+        @Override
+        public boolean isValidView() {
+            return true;
+        }
+
+        private static int round(float value) {
+            return TeraMath.floorToInt(value + 0.5f);
+        }
+    }
+}
@@ -34,6 +34,17 @@ public class NetworkConfig {
      */
     private String masterServer = "meta.terasology.org";
 
+    /**
+     * The maximum number of connections the server authenticates at the same time, further connections are rejected
+     */
+    private int maxConcurrentHandshakes = 32;
+
+    /**
+     * The number of threads verifying handshakes and answering server info requests, or 0 to do so on the network
+     * threads
+     */
+    private int handshakeThreads;
+
     public void clear() {
         servers.clear();
     }
@@ -81,4 +92,20 @@ public String getMasterServer() {
     public void setMasterServer(String masterServer) {
         this.masterServer = masterServer;
     }
+
+    public int getMaxConcurrentHandshakes() {
+        return maxConcurrentHandshakes;
+    }
+
+    public void setMaxConcurrentHandshakes(int maxConcurrentHandshakes) {
+        this.maxConcurrentHandshakes = maxConcurrentHandshakes;
+    }
+
+    public int getHandshakeThreads() {
+        return handshakeThreads;
+    }
+
+    public void setHandshakeThreads(int handshakeThreads) {
+        this.handshakeThreads = handshakeThreads;
+    }
 }
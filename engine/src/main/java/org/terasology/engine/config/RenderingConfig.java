@@ -30,6 +30,7 @@ public class RenderingConfig extends AbstractSubscribable {
     public static final String FLICKERING_LIGHT = "FlickeringLight";
     public static final String ANIMATE_GRASS = "AnimateGrass";
     public static final String ANIMATE_WATER = "AnimateWater";
+    public static final String GREEDY_MESHING = "GreedyMeshing";
     public static final String DYNAMIC_SHADOWS = "DynamicShadows";
     public static final String FIELD_OF_VIEW = "FieldOfView";
     public static final String CAMERA_BOBBING = "CameraBobbing";
@@ -81,6 +82,7 @@ public class RenderingConfig extends AbstractSubscribable {
     private boolean flickeringLight;
     private boolean animateGrass;
     private boolean animateWater;
+    private boolean greedyMeshing;
     private float fieldOfView;
     private boolean cameraBobbing;
     private boolean renderPlacingBox;
@@ -312,6 +314,20 @@ public void setAnimateWater(boolean animateWater) {
         propertyChangeSupport.firePropertyChange(ANIMATE_WATER, oldValue, this.animateWater);
     }
 
+    public boolean isGreedyMeshing() {
+        return greedyMeshing;
+    }
+
+    /**
+     * Merging the faces of chunk meshes into larger quads needs a chunk shader that repeats block textures across them.
+     * Takes effect when a world gets loaded.
+     */
+    public void setGreedyMeshing(boolean greedyMeshing) {
+        boolean oldValue = this.greedyMeshing;
+        this.greedyMeshing = greedyMeshing;
+        propertyChangeSupport.firePropertyChange(GREEDY_MESHING, oldValue, this.greedyMeshing);
+    }
+
     public boolean isDynamicShadows() {
         return dynamicShadows;
     }
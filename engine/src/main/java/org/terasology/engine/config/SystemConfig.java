@@ -79,6 +79,56 @@ public class SystemConfig extends AutoConfig {
             constraint(new NumberRangeConstraint<>(0L, 3600000L, false, false))
     );
 
+    public final Setting<Boolean> incrementalSaving = setting(
+            type(Boolean.class),
+            defaultValue(true),
+            name("Incremental saving")
+    );
+
+    public final Setting<Boolean> fastChunkCompression = setting(
+            type(Boolean.class),
+            defaultValue(false),
+            name("Fast chunk compression (LZ4)")
+    );
+
+    public final Setting<Boolean> parallelWorldGeneration = setting(
+            type(Boolean.class),
+            defaultValue(false),
+            name("Parallel world generation")
+    );
+
+    public final Setting<Boolean> parallelSystemUpdates = setting(
+            type(Boolean.class),
+            defaultValue(false),
+            name("Parallel system updates")
+    );
+
+    public final Setting<Float> behaviorTickBudgetMs = setting(
+            type(Float.class),
+            defaultValue(0f),
+            name("Behavior tick budget (ms, 0 for none)"),
+            constraint(new NumberRangeConstraint<>(0f, 1000f, true, true))
+    );
+
+    public final Setting<Float> behaviorLodDistance = setting(
+            type(Float.class),
+            defaultValue(0f),
+            name("Behavior tick LOD distance (0 for none)"),
+            constraint(new NumberRangeConstraint<>(0f, 10000f, true, true))
+    );
+
+    public final Setting<Boolean> parallelBehaviorTicks = setting(
+            type(Boolean.class),
+            defaultValue(false),
+            name("Parallel behavior ticks")
+    );
+
+    public final Setting<Boolean> compiledBehaviorTrees = setting(
+            type(Boolean.class),
+            defaultValue(false),
+            name("Compiled behavior trees")
+    );
+
     public final Setting<Locale> locale = setting(
             type(Locale.class),
             defaultValue(Locale.getDefault(Category.DISPLAY)),
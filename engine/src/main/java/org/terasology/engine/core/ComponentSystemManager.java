@@ -49,6 +49,7 @@ public class ComponentSystemManager {
 
     private Map<String, ComponentSystem> namedLookup = Maps.newHashMap();
     private List<UpdateSubscriberSystem> updateSubscribers = Lists.newArrayList();
+    private UpdateSubscriberScheduler updateScheduler;
     private List<RenderSystem> renderSubscribers = Lists.newArrayList();
     private List<ComponentSystem> store = Lists.newArrayList();
 
@@ -125,6 +126,7 @@ private void rollbackLoading(ComponentSystem system, String id) {
             // rollback this#register
             if (system instanceof UpdateSubscriberSystem) {
                 updateSubscribers.remove((UpdateSubscriberSystem) system);
+                updateScheduler = null;
             }
             if (system instanceof RenderSystem) {
                 renderSubscribers.remove((RenderSystem) system);
@@ -170,6 +172,7 @@ public void register(ComponentSystem object) {
         store.add(object);
         if (object instanceof UpdateSubscriberSystem) {
             updateSubscribers.add((UpdateSubscriberSystem) object);
+            updateScheduler = null;
         }
         if (object instanceof RenderSystem) {
             renderSubscribers.add((RenderSystem) object);
@@ -230,6 +233,16 @@ public Iterable<UpdateSubscriberSystem> iterateUpdateSubscribers() {
         return updateSubscribers;
     }
 
+    /**
+     * @return a scheduler updating the current update subscribers, in parallel where they allow it
+     */
+    public UpdateSubscriberScheduler getUpdateScheduler() {
+        if (updateScheduler == null) {
+            updateScheduler = new UpdateSubscriberScheduler(updateSubscribers);
+        }
+        return updateScheduler;
+    }
+
     public Iterable<RenderSystem> iterateRenderSubscribers() {
         return renderSubscribers;
     }
@@ -239,6 +252,7 @@ public void shutdown() {
             system.shutdown();
         }
         updateSubscribers.clear();
+        updateScheduler = null;
         renderSubscribers.clear();
     }
 }
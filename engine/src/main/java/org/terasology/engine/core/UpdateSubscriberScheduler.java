@@ -0,0 +1,147 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.core;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.terasology.engine.entitySystem.systems.ComponentAccess;
+import org.terasology.engine.entitySystem.systems.UpdateSubscriberSystem;
+import org.terasology.engine.monitoring.PerformanceMonitor;
+import org.terasology.gestalt.entitysystem.component.Component;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Updates {@link UpdateSubscriberSystem}s, running the updates of systems annotated with {@link ComponentAccess} in
+ * parallel on the fork-join common pool where their components allow it.
+ * <br><br>
+ * The systems are split into stages, which run one after another. A system without {@link ComponentAccess} gets a
+ * stage of its own and is updated on the main thread. Between two such systems, each annotated system is put in the
+ * stage after the last one holding a system it conflicts with, so conflicting systems keep their order. The systems of
+ * a stage run at the same time.
+ * <br><br>
+ * Updates are timed as {@link PerformanceMonitor} activities named after the system, like when updating them one by
+ * one. The stages running in parallel are timed as a whole as well.
+ */
+public class UpdateSubscriberScheduler {
+    private static final String PARALLEL_ACTIVITY = "Parallel Update Subscribers";
+
+    private final List<Stage> stages = Lists.newArrayList();
+
+    public UpdateSubscriberScheduler(Iterable<? extends UpdateSubscriberSystem> systems) {
+        List<ParallelSystem> group = Lists.newArrayList();
+        for (UpdateSubscriberSystem system : systems) {
+            ComponentAccess access = system.getClass().getAnnotation(ComponentAccess.class);
+            if (access != null) {
+                group.add(new ParallelSystem(system, access));
+            } else {
+                addParallelStages(group);
+                group.clear();
+                stages.add(new Stage(Collections.singletonList(system)));
+            }
+        }
+        addParallelStages(group);
+    }
+
+    private void addParallelStages(List<ParallelSystem> group) {
+        int[] stageIndices = new int[group.size()];
+        List<List<UpdateSubscriberSystem>> groupStages = Lists.newArrayList();
+        for (int i = 0; i < group.size(); i++) {
+            int stage = 0;
+            for (int j = 0; j < i; j++) {
+                if (stageIndices[j] >= stage && group.get(j).conflictsWith(group.get(i))) {
+                    stage = stageIndices[j] + 1;
+                }
+            }
+            stageIndices[i] = stage;
+            if (stage == groupStages.size()) {
+                groupStages.add(Lists.newArrayList());
+            }
+            groupStages.get(stage).add(group.get(i).system);
+        }
+        for (List<UpdateSubscriberSystem> systems : groupStages) {
+            stages.add(new Stage(systems));
+        }
+    }
+
+    /**
+     * @return the systems of each stage, in the order the stages run
+     */
+    List<List<UpdateSubscriberSystem>> getStages() {
+        List<List<UpdateSubscriberSystem>> result = Lists.newArrayList();
+        for (Stage stage : stages) {
+            result.add(Arrays.asList(stage.systems));
+        }
+        return result;
+    }
+
+    /**
+     * Updates all systems. Returns once every update has finished.
+     *
+     * @param delta The time (in seconds) since the last engine update.
+     */
+    public void update(float delta) {
+        for (Stage stage : stages) {
+            if (stage.systems.length == 1) {
+                UpdateSubscriberSystem system = stage.systems[0];
+                PerformanceMonitor.startActivity(system.getClass().getSimpleName());
+                system.update(delta);
+                PerformanceMonitor.endActivity();
+            } else {
+                stage.update(delta);
+            }
+        }
+    }
+
+    private static final class Stage {
+        private final UpdateSubscriberSystem[] systems;
+        private final long[] nanos;
+
+        private Stage(List<UpdateSubscriberSystem> systems) {
+            this.systems = systems.toArray(new UpdateSubscriberSystem[0]);
+            this.nanos = new long[this.systems.length];
+        }
+
+        private void update(float delta) {
+            PerformanceMonitor.startActivity(PARALLEL_ACTIVITY);
+            List<ForkJoinTask<?>> tasks = Lists.newArrayListWithCapacity(systems.length);
+            for (int i = 0; i < systems.length; i++) {
+                int index = i;
+                tasks.add(ForkJoinTask.adapt(() -> {
+                    long start = System.nanoTime();
+                    systems[index].update(delta);
+                    nanos[index] = System.nanoTime() - start;
+                }));
+            }
+            ForkJoinTask.invokeAll(tasks);
+            PerformanceMonitor.endActivity();
+
+            for (int i = 0; i < systems.length; i++) {
+                PerformanceMonitor.recordActivity(systems[i].getClass().getSimpleName(),
+                        TimeUnit.NANOSECONDS.toMillis(nanos[i]));
+            }
+        }
+    }
+
+    private static final class ParallelSystem {
+        private final UpdateSubscriberSystem system;
+        private final Set<Class<? extends Component>> reads;
+        private final Set<Class<? extends Component>> writes;
+
+        private ParallelSystem(UpdateSubscriberSystem system, ComponentAccess access) {
+            this.system = system;
+            this.reads = Sets.newHashSet(access.reads());
+            this.writes = Sets.newHashSet(access.writes());
+        }
+
+        private boolean conflictsWith(ParallelSystem other) {
+            return !Collections.disjoint(writes, other.writes) || !Collections.disjoint(writes, other.reads)
+                    || !Collections.disjoint(reads, other.writes);
+        }
+    }
+}
@@ -4,6 +4,7 @@
 
 import org.terasology.engine.audio.AudioManager;
 import org.terasology.engine.config.Config;
+import org.terasology.engine.config.SystemConfig;
 import org.terasology.engine.context.Context;
 import org.terasology.engine.core.ComponentSystemManager;
 import org.terasology.engine.core.GameEngine;
@@ -51,6 +52,7 @@
 public class StateIngame implements GameState {
 
     private ComponentSystemManager componentSystemManager;
+    private SystemConfig systemConfig;
     private EventSystem eventSystem;
     private NUIManager nuiManager;
     private WorldRenderer worldRenderer;
@@ -81,6 +83,7 @@ public void init(GameEngine engine) {
         worldRenderer = context.get(WorldRenderer.class);
         eventSystem = context.get(EventSystem.class);
         componentSystemManager = context.get(ComponentSystemManager.class);
+        systemConfig = context.get(SystemConfig.class);
         entityManager = context.get(EngineEntityManager.class);
         cameraTargetSystem = context.get(CameraTargetSystem.class);
         if (nuiManager != null) {
@@ -182,10 +185,14 @@ public void update(float delta) {
 
         eventSystem.process();
 
-        for (UpdateSubscriberSystem system : componentSystemManager.iterateUpdateSubscribers()) {
-            PerformanceMonitor.startActivity(system.getClass().getSimpleName());
-            system.update(delta);
-            PerformanceMonitor.endActivity();
+        if (systemConfig.parallelSystemUpdates.get()) {
+            componentSystemManager.getUpdateScheduler().update(delta);
+        } else {
+            for (UpdateSubscriberSystem system : componentSystemManager.iterateUpdateSubscribers()) {
+                PerformanceMonitor.startActivity(system.getClass().getSimpleName());
+                system.update(delta);
+                PerformanceMonitor.endActivity();
+            }
         }
 
         if (worldRenderer != null && shouldUpdateWorld()) {
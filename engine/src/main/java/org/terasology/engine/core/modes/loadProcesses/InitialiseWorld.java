@@ -40,6 +40,7 @@
 import org.terasology.engine.world.chunks.blockdata.ExtraBlockDataManager;
 import org.terasology.engine.world.chunks.localChunkProvider.LocalChunkProvider;
 import org.terasology.engine.world.chunks.localChunkProvider.RelevanceSystem;
+import org.terasology.engine.world.generation.BaseFacetedWorldGenerator;
 import org.terasology.engine.world.generator.UnresolvedWorldGeneratorException;
 import org.terasology.engine.world.generator.WorldGenerator;
 import org.terasology.engine.world.generator.internal.WorldGeneratorManager;
@@ -100,6 +101,10 @@ public boolean step() {
             worldGenerator = WorldGeneratorManager.createGenerator(worldInfo.getWorldGenerator(), context);
             // setting the world seed will create the world builder
             worldGenerator.setWorldSeed(worldInfo.getSeed());
+            if (worldGenerator instanceof BaseFacetedWorldGenerator) {
+                ((BaseFacetedWorldGenerator) worldGenerator).setParallelGeneration(
+                        context.get(SystemConfig.class).parallelWorldGeneration.get());
+            }
             context.put(WorldGenerator.class, worldGenerator);
         } catch (UnresolvedWorldGeneratorException e) {
             logger.error("Unable to load world generator {}. Available world generators: {}",
@@ -130,6 +130,12 @@ public final class ExternalApiWhitelist {
     public static final Set<Class<?>> CLASSES = new ImmutableSet.Builder<Class<?>>()
             .addAll(NUI_CLASSES)
             .add(com.esotericsoftware.reflectasm.MethodAccess.class)
+            // Implemented by the classes generated to invoke event handler methods
+            .add(org.terasology.engine.entitySystem.event.internal.EventHandlerInvokers.Arity0.class)
+            .add(org.terasology.engine.entitySystem.event.internal.EventHandlerInvokers.Arity1.class)
+            .add(org.terasology.engine.entitySystem.event.internal.EventHandlerInvokers.Arity2.class)
+            .add(org.terasology.engine.entitySystem.event.internal.EventHandlerInvokers.Arity3.class)
+            .add(org.terasology.engine.entitySystem.event.internal.EventHandlerInvokers.Arity4.class)
             .add(InvocationTargetException.class)
             .add(LoggerFactory.class)
             .add(Logger.class)
@@ -0,0 +1,401 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.entitySystem.entity.internal;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import gnu.trove.iterator.TLongIterator;
+import gnu.trove.iterator.TLongObjectIterator;
+import gnu.trove.list.array.TLongArrayList;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.TObjectIntMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import gnu.trove.map.hash.TObjectIntHashMap;
+import org.terasology.gestalt.entitysystem.component.Component;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * A component table which groups entities by archetype, the exact set of component types they have.
+ * <br><br>
+ * Each archetype stores its entities in parallel arrays, one per component type. Looking up entities with a given set
+ * of components checks each archetype once and then copies its ids, without a hash lookup per entity. Adding or
+ * removing a component moves the entity to another archetype, which makes those operations more expensive than in
+ * {@link ComponentTable}.
+ * <br><br>
+ * Like {@link ComponentTable}, this table is not safe for concurrent modification.
+ */
+public class ArchetypeComponentTable extends ComponentTable {
+    private static final int NO_TYPE = -1;
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final TObjectIntMap<Class<?>> typeIndices = new TObjectIntHashMap<>(64, 0.5f, NO_TYPE);
+    private final Map<BitSet, Archetype> archetypes = Maps.newHashMap();
+    private final List<Archetype> archetypeList = Lists.newArrayList();
+    private final TLongObjectMap<Location> locations = new TLongObjectHashMap<>();
+    private Archetype root = new Archetype(new BitSet(), new int[0]);
+
+    @Override
+    public <T extends Component> T get(long entityId, Class<T> componentClass) {
+        Location location = locations.get(entityId);
+        if (location == null) {
+            return null;
+        }
+        int column = location.archetype.columnOf(typeIndices.get(componentClass));
+        if (column == NO_TYPE) {
+            return null;
+        }
+        return componentClass.cast(location.archetype.columns[column][location.row]);
+    }
+
+    @Override
+    public Component put(long entityId, Component component) {
+        Class<?> type = component.getClass();
+        int typeIndex = typeIndices.get(type);
+        if (typeIndex == NO_TYPE) {
+            typeIndex = typeIndices.size();
+            typeIndices.put(type, typeIndex);
+        }
+
+        Location location = locations.get(entityId);
+        if (location == null) {
+            location = new Location();
+            Archetype target = root.with(typeIndex, this);
+            location.archetype = target;
+            location.row = target.add(entityId);
+            locations.put(entityId, location);
+        } else {
+            int column = location.archetype.columnOf(typeIndex);
+            if (column != NO_TYPE) {
+                Component old = location.archetype.columns[column][location.row];
+                location.archetype.columns[column][location.row] = component;
+                return old;
+            }
+            move(entityId, location, location.archetype.with(typeIndex, this));
+        }
+        location.archetype.columns[location.archetype.columnOf(typeIndex)][location.row] = component;
+        markModified();
+        return null;
+    }
+
+    @Override
+    public <T extends Component> Component remove(long entityId, Class<T> componentClass) {
+        Location location = locations.get(entityId);
+        if (location == null) {
+            return null;
+        }
+        int typeIndex = typeIndices.get(componentClass);
+        int column = location.archetype.columnOf(typeIndex);
+        if (column == NO_TYPE) {
+            return null;
+        }
+        Component removed = location.archetype.columns[column][location.row];
+        if (location.archetype.typeIndices.length == 1) {
+            removeEntity(entityId, location);
+        } else {
+            move(entityId, location, location.archetype.without(typeIndex, this));
+        }
+        markModified();
+        return removed;
+    }
+
+    @Override
+    public List<Component> removeAndReturnComponentsOf(long entityId) {
+        List<Component> components = getComponentsInNewList(entityId);
+        remove(entityId);
+        return components;
+    }
+
+    @Override
+    public void remove(long entityId) {
+        Location location = locations.get(entityId);
+        if (location != null) {
+            removeEntity(entityId, location);
+            markModified();
+        }
+    }
+
+    @Override
+    public void clear() {
+        typeIndices.clear();
+        archetypes.clear();
+        archetypeList.clear();
+        locations.clear();
+        root = new Archetype(new BitSet(), new int[0]);
+        markModified();
+    }
+
+    @Override
+    public int getComponentCount(Class<? extends Component> componentClass) {
+        int typeIndex = typeIndices.get(componentClass);
+        if (typeIndex == NO_TYPE) {
+            return 0;
+        }
+        int count = 0;
+        for (Archetype archetype : archetypeList) {
+            if (archetype.columnOf(typeIndex) != NO_TYPE) {
+                count += archetype.size;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public Iterable<Component> iterateComponents(long entityId) {
+        return getComponentsInNewList(entityId);
+    }
+
+    @Override
+    public List<Component> getComponentsInNewList(long entityId) {
+        Location location = locations.get(entityId);
+        if (location == null) {
+            return Lists.newArrayList();
+        }
+        Component[][] columns = location.archetype.columns;
+        List<Component> components = Lists.newArrayListWithCapacity(columns.length);
+        for (Component[] column : columns) {
+            components.add(column[location.row]);
+        }
+        return components;
+    }
+
+    @Override
+    public <T extends Component> TLongObjectIterator<T> componentIterator(Class<T> componentClass) {
+        int typeIndex = typeIndices.get(componentClass);
+        if (typeIndex == NO_TYPE) {
+            return null;
+        }
+        int count = getComponentCount(componentClass);
+        long[] ids = new long[count];
+        Component[] components = new Component[count];
+        int size = 0;
+        for (Archetype archetype : archetypeList) {
+            int column = archetype.columnOf(typeIndex);
+            if (column != NO_TYPE) {
+                System.arraycopy(archetype.ids, 0, ids, size, archetype.size);
+                System.arraycopy(archetype.columns[column], 0, components, size, archetype.size);
+                size += archetype.size;
+            }
+        }
+        return new ComponentIterator<>(ids, components, componentClass);
+    }
+
+    @Override
+    public TLongIterator entityIdIterator() {
+        return TLongArrayList.wrap(locations.keys()).iterator();
+    }
+
+    @Override
+    public TLongIterator entityIdIterator(Class<? extends Component>[] componentClasses) {
+        if (componentClasses.length == 0) {
+            return entityIdIterator();
+        }
+        int[] required = new int[componentClasses.length];
+        for (int i = 0; i < componentClasses.length; i++) {
+            required[i] = typeIndices.get(componentClasses[i]);
+            if (required[i] == NO_TYPE) {
+                return matchingIdIterator(new long[0], 0, componentClasses);
+            }
+        }
+
+        List<Archetype> matching = Lists.newArrayList();
+        int count = 0;
+        for (Archetype archetype : archetypeList) {
+            if (archetype.size > 0 && archetype.hasAll(required)) {
+                matching.add(archetype);
+                count += archetype.size;
+            }
+        }
+        long[] ids = new long[count];
+        int size = 0;
+        for (Archetype archetype : matching) {
+            System.arraycopy(archetype.ids, 0, ids, size, archetype.size);
+            size += archetype.size;
+        }
+        return matchingIdIterator(ids, size, componentClasses);
+    }
+
+    @Override
+    public int numEntities() {
+        return locations.size();
+    }
+
+    /**
+     * @return the number of distinct component sets currently known to the table, including empty ones.
+     */
+    public int getArchetypeCount() {
+        return archetypeList.size();
+    }
+
+    private void move(long entityId, Location location, Archetype target) {
+        Archetype source = location.archetype;
+        int sourceRow = location.row;
+        int targetRow = target.add(entityId);
+        for (int column = 0; column < source.typeIndices.length; column++) {
+            int targetColumn = target.columnOf(source.typeIndices[column]);
+            if (targetColumn != NO_TYPE) {
+                target.columns[targetColumn][targetRow] = source.columns[column][sourceRow];
+            }
+        }
+        removeRow(source, sourceRow);
+        location.archetype = target;
+        location.row = targetRow;
+    }
+
+    private void removeEntity(long entityId, Location location) {
+        removeRow(location.archetype, location.row);
+        locations.remove(entityId);
+    }
+
+    private void removeRow(Archetype archetype, int row) {
+        if (archetype.removeRow(row)) {
+            locations.get(archetype.ids[row]).row = row;
+        }
+    }
+
+    private Archetype archetypeFor(BitSet types) {
+        Archetype archetype = archetypes.get(types);
+        if (archetype == null) {
+            archetype = new Archetype(types, types.stream().toArray());
+            archetypes.put(types, archetype);
+            archetypeList.add(archetype);
+        }
+        return archetype;
+    }
+
+    private static final class Location {
+        private Archetype archetype;
+        private int row;
+    }
+
+    /**
+     * The entities sharing one set of component types, stored column by column.
+     */
+    private static final class Archetype {
+        private final BitSet types;
+        private final int[] typeIndices;
+        private final int[] columnByType;
+        private final Component[][] columns;
+        private final Map<Integer, Archetype> withEdges = Maps.newHashMap();
+        private final Map<Integer, Archetype> withoutEdges = Maps.newHashMap();
+        private long[] ids = new long[INITIAL_CAPACITY];
+        private int size;
+
+        Archetype(BitSet types, int[] typeIndices) {
+            this.types = types;
+            this.typeIndices = typeIndices;
+            this.columnByType = new int[types.length()];
+            Arrays.fill(columnByType, NO_TYPE);
+            for (int column = 0; column < typeIndices.length; column++) {
+                columnByType[typeIndices[column]] = column;
+            }
+            this.columns = new Component[typeIndices.length][INITIAL_CAPACITY];
+        }
+
+        int columnOf(int typeIndex) {
+            return typeIndex >= 0 && typeIndex < columnByType.length ? columnByType[typeIndex] : NO_TYPE;
+        }
+
+        boolean hasAll(int[] required) {
+            for (int typeIndex : required) {
+                if (columnOf(typeIndex) == NO_TYPE) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        Archetype with(int typeIndex, ArchetypeComponentTable table) {
+            return withEdges.computeIfAbsent(typeIndex, index -> {
+                BitSet newTypes = (BitSet) types.clone();
+                newTypes.set(index);
+                return table.archetypeFor(newTypes);
+            });
+        }
+
+        Archetype without(int typeIndex, ArchetypeComponentTable table) {
+            return withoutEdges.computeIfAbsent(typeIndex, index -> {
+                BitSet newTypes = (BitSet) types.clone();
+                newTypes.clear(index);
+                return table.archetypeFor(newTypes);
+            });
+        }
+
+        int add(long entityId) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                for (int column = 0; column < columns.length; column++) {
+                    columns[column] = Arrays.copyOf(columns[column], capacity);
+                }
+            }
+            ids[size] = entityId;
+            return size++;
+        }
+
+        /**
+         * Removes a row by moving the last row into its place.
+         *
+         * @return whether another entity was moved into the row
+         */
+        boolean removeRow(int row) {
+            int last = --size;
+            for (Component[] column : columns) {
+                column[row] = column[last];
+                column[last] = null;
+            }
+            ids[row] = ids[last];
+            return row != last;
+        }
+    }
+
+    private static final class ComponentIterator<T extends Component> implements TLongObjectIterator<T> {
+        private final long[] ids;
+        private final Component[] components;
+        private final Class<T> componentClass;
+        private int index = -1;
+
+        ComponentIterator(long[] ids, Component[] components, Class<T> componentClass) {
+            this.ids = ids;
+            this.components = components;
+            this.componentClass = componentClass;
+        }
+
+        @Override
+        public long key() {
+            return ids[index];
+        }
+
+        @Override
+        public T value() {
+            return componentClass.cast(components[index]);
+        }
+
+        @Override
+        public T setValue(T val) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void advance() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            index++;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index + 1 < ids.length;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.entitySystem.entity.internal;
+
+import java.util.function.Supplier;
+
+/**
+ * The storage backends an {@link EngineEntityManager} can keep the components of its entity pools in.
+ */
+public enum ComponentStoreType {
+    /**
+     * One hash map per component type, see {@link ComponentTable}.
+     */
+    HASHED(ComponentTable::new),
+    /**
+     * Entities grouped by their set of component types, see {@link ArchetypeComponentTable}.
+     */
+    ARCHETYPE(ArchetypeComponentTable::new);
+
+    private final Supplier<ComponentTable> factory;
+
+    ComponentStoreType(Supplier<ComponentTable> factory) {
+        this.factory = factory;
+    }
+
+    public ComponentTable create() {
+        return factory.get();
+    }
+}
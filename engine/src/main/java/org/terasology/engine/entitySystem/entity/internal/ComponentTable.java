@@ -14,6 +14,7 @@
 
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 
 /**
  * A table for storing entities and components. Focused on allowing iteration across a components of a given type
@@ -21,6 +22,7 @@
  */
 public class ComponentTable {
     private Map<Class<?>, TLongObjectMap<Component>> store = Maps.newConcurrentMap();
+    private int modCount;
 
     public <T extends Component> T get(long entityId, Class<T> componentClass) {
         TLongObjectMap<Component> entityMap = store.get(componentClass);
@@ -36,7 +38,11 @@ public Component put(long entityId, Component component) {
             entityMap = new TLongObjectHashMap<>();
             store.put(component.getClass(), entityMap);
         }
-        return entityMap.put(entityId, component);
+        Component old = entityMap.put(entityId, component);
+        if (old == null) {
+            markModified();
+        }
+        return old;
     }
 
     /**
@@ -47,7 +53,11 @@ public Component put(long entityId, Component component) {
     public <T extends Component> Component remove(long entityId, Class<T> componentClass) {
         TLongObjectMap<Component> entityMap = store.get(componentClass);
         if (entityMap != null) {
-            return entityMap.remove(entityId);
+            Component removed = entityMap.remove(entityId);
+            if (removed != null) {
+                markModified();
+            }
+            return removed;
         }
         return null;
     }
@@ -61,6 +71,7 @@ public List<Component> removeAndReturnComponentsOf(long entityId) {
                 componentList.add(component);
             }
         }
+        markModified();
         return componentList;
     }
 
@@ -68,10 +79,12 @@ public void remove(long entityId) {
         for (TLongObjectMap<Component> entityMap : store.values()) {
             entityMap.remove(entityId);
         }
+        markModified();
     }
 
     public void clear() {
         store.clear();
+        markModified();
     }
 
     public int getComponentCount(Class<? extends Component> componentClass) {
@@ -128,6 +141,42 @@ public TLongIterator entityIdIterator() {
         return idSet.iterator();
     }
 
+    /**
+     * Produces an iterator over the ids of all entities which have every one of the given components.
+     * <br><br>
+     * The ids are collected when this method is called. Entities which lose one of the components while iterating are
+     * skipped, entities which gain them are not included.
+     *
+     * @param componentClasses the components the entities must have, at least one
+     * @return An iterator over the matching entity ids.
+     */
+    public TLongIterator entityIdIterator(Class<? extends Component>[] componentClasses) {
+        TLongObjectMap<Component> smallest = null;
+        for (Class<? extends Component> componentClass : componentClasses) {
+            TLongObjectMap<Component> entityMap = store.get(componentClass);
+            if (entityMap == null) {
+                return matchingIdIterator(new long[0], 0, componentClasses);
+            }
+            if (smallest == null || entityMap.size() < smallest.size()) {
+                smallest = entityMap;
+            }
+        }
+        if (smallest == null) {
+            return entityIdIterator();
+        }
+
+        long[] ids = new long[smallest.size()];
+        int size = 0;
+        TLongIterator iterator = smallest.keySet().iterator();
+        while (iterator.hasNext()) {
+            long id = iterator.next();
+            if (hasComponents(id, componentClasses)) {
+                ids[size++] = id;
+            }
+        }
+        return matchingIdIterator(ids, size, componentClasses);
+    }
+
     public int numEntities() {
         TLongSet idSet = new TLongHashSet();
         for (TLongObjectMap<Component> componentMap : store.values()) {
@@ -136,4 +185,72 @@ public int numEntities() {
         return idSet.size();
     }
 
+    /**
+     * Must be called by implementations whenever a component is added to or removed from an entity, so that iterators
+     * returned by {@link #entityIdIterator(Class[])} can detect stale ids.
+     */
+    protected void markModified() {
+        modCount++;
+    }
+
+    protected boolean hasComponents(long entityId, Class<? extends Component>[] componentClasses) {
+        for (Class<? extends Component> componentClass : componentClasses) {
+            if (get(entityId, componentClass) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return an iterator over the first {@code size} ids, which skips entities that no longer have all of the
+     *         components once the table has been modified.
+     */
+    protected TLongIterator matchingIdIterator(long[] ids, int size, Class<? extends Component>[] componentClasses) {
+        return new MatchingIdIterator(ids, size, componentClasses);
+    }
+
+    private final class MatchingIdIterator implements TLongIterator {
+        private final long[] ids;
+        private final int size;
+        private final Class<? extends Component>[] componentClasses;
+        private final int expectedModCount;
+        private int index;
+        private boolean hasNext;
+        private long next;
+
+        MatchingIdIterator(long[] ids, int size, Class<? extends Component>[] componentClasses) {
+            this.ids = ids;
+            this.size = size;
+            this.componentClasses = componentClasses;
+            this.expectedModCount = modCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!hasNext && index < size) {
+                long id = ids[index++];
+                if (modCount == expectedModCount || hasComponents(id, componentClasses)) {
+                    next = id;
+                    hasNext = true;
+                }
+            }
+            return hasNext;
+        }
+
+        @Override
+        public long next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            hasNext = false;
+            return next;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
 }
@@ -16,6 +16,16 @@ public interface EngineEntityManager extends LowLevelEntityManager, EngineEntity
 
     RefStrategy getEntityRefStrategy();
 
+    /**
+     * Switches the backend used to store components. Components already stored in the entity pools are moved to the
+     * new backend, and pools created later use it as well.
+     *
+     * @param type the backend to use
+     */
+    void setComponentStoreType(ComponentStoreType type);
+
+    ComponentStoreType getComponentStoreType();
+
     /**
      * Destroys an entity without sending lifecycle events.
      * <br><br>
@@ -52,7 +52,8 @@ public class PojoEntityManager implements EngineEntityManager {
     private long nextEntityId = 1;
     private TLongSet loadedIds = new TLongHashSet();
 
-    private EngineEntityPool globalPool = new PojoEntityPool(this);
+    private ComponentStoreType componentStoreType = ComponentStoreType.HASHED;
+    private EngineEntityPool globalPool = new PojoEntityPool(this, componentStoreType.create());
     private PojoSectorManager sectorManager = new PojoSectorManager(this);
     private Map<Long, EngineEntityPool> poolMap = new MapMaker().initialCapacity(1000).makeMap();
     private List<EngineEntityPool> worldPools = Lists.newArrayList();
@@ -80,6 +81,24 @@ public void setEntityRefStrategy(RefStrategy strategy) {
         this.refStrategy = strategy;
     }
 
+    @Override
+    public ComponentStoreType getComponentStoreType() {
+        return componentStoreType;
+    }
+
+    @Override
+    public void setComponentStoreType(ComponentStoreType type) {
+        if (type == componentStoreType) {
+            return;
+        }
+        this.componentStoreType = type;
+        ((PojoEntityPool) globalPool).setComponentStore(type.create());
+        for (EngineEntityPool pool : worldPools) {
+            ((PojoEntityPool) pool).setComponentStore(type.create());
+        }
+        sectorManager.setComponentStoreType(type);
+    }
+
     @Override
     public EngineEntityPool getGlobalPool() {
         return globalPool;
@@ -144,7 +163,7 @@ public void createWorldPools(GameManifest game) {
         Map<String, WorldInfo> worldInfoMap = gameManifest.getWorldInfoMap();
         worldManager = new WorldManager(gameManifest.getWorldInfo(TerasologyConstants.MAIN_WORLD));
         for (Map.Entry<String, WorldInfo> worldInfoEntry : worldInfoMap.entrySet()) {
-            EngineEntityPool pool = new PojoEntityPool(this);
+            EngineEntityPool pool = new PojoEntityPool(this, componentStoreType.create());
             //pool.create();
             worldPools.add(pool);
             worldManager.addWorldPool(worldInfoEntry.getValue(), pool);
@@ -4,6 +4,7 @@
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.MapMaker;
+import gnu.trove.iterator.TLongIterator;
 import org.joml.Quaternionfc;
 import org.joml.Vector3fc;
 import org.slf4j.Logger;
@@ -31,10 +32,15 @@ public class PojoEntityPool implements EngineEntityPool {
     private PojoEntityManager entityManager;
 
     private Map<Long, BaseEntityRef> entityStore = new MapMaker().weakValues().concurrencyLevel(4).initialCapacity(1000).makeMap();
-    private ComponentTable componentStore = new ComponentTable();
+    private ComponentTable componentStore;
 
     public PojoEntityPool(PojoEntityManager entityManager) {
+        this(entityManager, new ComponentTable());
+    }
+
+    public PojoEntityPool(PojoEntityManager entityManager, ComponentTable componentStore) {
         this.entityManager = entityManager;
+        this.componentStore = componentStore;
     }
 
     @Override
@@ -261,6 +267,22 @@ public ComponentTable getComponentStore() {
         return componentStore;
     }
 
+    /**
+     * Replaces the component store of this pool, moving all stored components into the new one.
+     *
+     * @param newStore the empty store to use from now on
+     */
+    void setComponentStore(ComponentTable newStore) {
+        TLongIterator ids = componentStore.entityIdIterator();
+        while (ids.hasNext()) {
+            long id = ids.next();
+            for (Component component : componentStore.iterateComponents(id)) {
+                newStore.put(id, component);
+            }
+        }
+        componentStore = newStore;
+    }
+
     @Override
     public EntityRef getEntity(long entityId) {
         if (entityId == NULL_ID || !entityManager.isExistingEntity(entityId)) {
@@ -285,16 +307,10 @@ public EntityRef getEntity(long entityId) {
     @SafeVarargs
     @Override
     public final Iterable<EntityRef> getEntitiesWith(Class<? extends Component>... componentClasses) {
+        if (componentClasses.length > 0) {
+            return () -> new EntityIterator(componentStore.entityIdIterator(componentClasses), this);
+        }
         return () -> entityStore.keySet().stream()
-                //Keep entities which have all of the required components
-                .filter(id -> {
-                    for (Class<? extends Component> component : componentClasses) {
-                        if (componentStore.get(id, component) == null) {
-                            return false;
-                        }
-                    }
-                    return true;
-                })
                 .map(id -> getEntity(id))
                 .iterator();
     }
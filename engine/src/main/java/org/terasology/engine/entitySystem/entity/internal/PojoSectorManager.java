@@ -24,7 +24,13 @@ public class PojoSectorManager implements EngineSectorManager {
     public PojoSectorManager(PojoEntityManager entityManager) {
         this.entityManager = entityManager;
         pools = new ArrayList<>();
-        pools.add(new PojoEntityPool(entityManager));
+        pools.add(new PojoEntityPool(entityManager, entityManager.getComponentStoreType().create()));
+    }
+
+    void setComponentStoreType(ComponentStoreType type) {
+        for (EngineEntityPool pool : pools) {
+            ((PojoEntityPool) pool).setComponentStore(type.create());
+        }
     }
 
     @Override
@@ -0,0 +1,81 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.entitySystem.event.internal;
+
+import com.google.common.collect.Maps;
+import gnu.trove.map.TObjectIntMap;
+import gnu.trove.map.hash.TObjectIntHashMap;
+import org.terasology.engine.entitySystem.event.Event;
+
+import java.util.Map;
+
+/**
+ * Counts the events dispatched by an {@link EventSystemImpl} and how often their handlers were found in its dispatch
+ * cache.
+ * <br><br>
+ * Like event dispatch itself, this is intended to be used from the main thread only.
+ */
+public class EventDispatchMetrics {
+    private long cacheHits;
+    private long cacheMisses;
+    private TObjectIntMap<Class<? extends Event>> dispatched = new TObjectIntHashMap<>();
+    private long lastRateCall = System.nanoTime();
+
+    void recordCacheHit() {
+        cacheHits++;
+    }
+
+    void recordCacheMiss() {
+        cacheMisses++;
+    }
+
+    void recordDispatch(Class<? extends Event> eventType) {
+        dispatched.adjustOrPutValue(eventType, 1, 1);
+    }
+
+    /**
+     * @return The number of dispatches whose handlers were taken from the cache
+     */
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    /**
+     * @return The number of dispatches for which the handlers had to be selected and sorted
+     */
+    public long getCacheMisses() {
+        return cacheMisses;
+    }
+
+    /**
+     * @return The fraction of dispatches served from the cache, between 0 and 1
+     */
+    public double getCacheHitRate() {
+        long total = cacheHits + cacheMisses;
+        return (total == 0) ? 0 : (double) cacheHits / total;
+    }
+
+    /**
+     * @return The number of events dispatched per second for each event type, since the last time this method was
+     *         called
+     */
+    public Map<Class<? extends Event>, Double> getDispatchRatesSinceLastCall() {
+        long now = System.nanoTime();
+        double seconds = Math.max(now - lastRateCall, 1) / 1e9;
+        Map<Class<? extends Event>, Double> rates = Maps.newHashMapWithExpectedSize(dispatched.size());
+        dispatched.forEachEntry((type, count) -> {
+            rates.put(type, count / seconds);
+            return true;
+        });
+        dispatched.clear();
+        lastRateCall = now;
+        return rates;
+    }
+
+    public void reset() {
+        cacheHits = 0;
+        cacheMisses = 0;
+        dispatched.clear();
+        lastRateCall = System.nanoTime();
+    }
+}
@@ -0,0 +1,162 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.entitySystem.event.internal;
+
+import com.esotericsoftware.reflectasm.MethodAccess;
+import com.google.common.collect.ImmutableList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.event.Event;
+import org.terasology.gestalt.entitysystem.component.Component;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Creates invokers for the event handler methods of component systems.
+ * <br><br>
+ * Handler methods with up to {@link #MAX_GENERATED_COMPONENTS} component parameters are called through a class
+ * generated by {@link LambdaMetafactory}, which calls the method directly and fetches each component parameter by its
+ * pre-resolved class. Other methods, or methods for which no class can be generated, are called through a
+ * {@link MethodAccess}.
+ * <br><br>
+ * The generated classes are defined next to the class declaring the handler method and implement one of the
+ * {@code ArityN} interfaces, so those have to be accessible to modules.
+ */
+public final class EventHandlerInvokers {
+    public static final int MAX_GENERATED_COMPONENTS = 4;
+
+    private static final Logger logger = LoggerFactory.getLogger(EventHandlerInvokers.class);
+
+    private static final Class<?>[] ARITY_TYPES = {
+            Arity0.class, Arity1.class, Arity2.class, Arity3.class, Arity4.class
+    };
+
+    private EventHandlerInvokers() {
+    }
+
+    /**
+     * Calls a handler method for an entity, fetching the components it takes as parameters from the entity.
+     */
+    @FunctionalInterface
+    public interface Invoker {
+        void invoke(EntityRef entity, Event event);
+    }
+
+    @FunctionalInterface
+    public interface Arity0 {
+        void invoke(Object event, Object entity);
+    }
+
+    @FunctionalInterface
+    public interface Arity1 {
+        void invoke(Object event, Object entity, Object component1);
+    }
+
+    @FunctionalInterface
+    public interface Arity2 {
+        void invoke(Object event, Object entity, Object component1, Object component2);
+    }
+
+    @FunctionalInterface
+    public interface Arity3 {
+        void invoke(Object event, Object entity, Object component1, Object component2, Object component3);
+    }
+
+    @FunctionalInterface
+    public interface Arity4 {
+        void invoke(Object event, Object entity, Object component1, Object component2, Object component3,
+                    Object component4);
+    }
+
+    /**
+     * @param handler the object to call the method on
+     * @param method a public method taking the event, the entity and then the given component parameters
+     * @param componentParams the component types of the remaining parameters of the method
+     * @return an invoker calling the method through a generated class where possible
+     */
+    public static Invoker create(Object handler, Method method, List<Class<? extends Component>> componentParams) {
+        if (componentParams.size() <= MAX_GENERATED_COMPONENTS) {
+            try {
+                return generate(handler, method, componentParams);
+            } catch (Throwable e) {
+                logger.debug("Unable to generate invoker for {}, falling back to reflection", method, e);
+            }
+        }
+        return reflective(handler, method, componentParams);
+    }
+
+    /**
+     * @return an invoker calling the method through a {@link MethodAccess}, building the parameter array on every call
+     */
+    public static Invoker reflective(Object handler, Method method, List<Class<? extends Component>> componentParams) {
+        MethodAccess methodAccess = MethodAccess.get(handler.getClass());
+        int methodIndex = methodAccess.getIndex(method.getName(), method.getParameterTypes());
+        List<Class<? extends Component>> components = ImmutableList.copyOf(componentParams);
+        return (entity, event) -> {
+            Object[] params = new Object[2 + components.size()];
+            params[0] = event;
+            params[1] = entity;
+            for (int i = 0; i < components.size(); ++i) {
+                params[i + 2] = entity.getComponent(components.get(i));
+            }
+            methodAccess.invoke(handler, methodIndex, params);
+        };
+    }
+
+    private static Invoker generate(Object handler, Method method, List<Class<? extends Component>> componentParams)
+            throws Throwable {
+        int arity = componentParams.size();
+        Class<?> declaringClass = method.getDeclaringClass();
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+        MethodHandle target = lookup.unreflect(method);
+
+        Class<?> functionType = ARITY_TYPES[arity];
+        MethodType erasedType = MethodType.genericMethodType(arity + 2).changeReturnType(void.class);
+        MethodType instantiatedType = target.type().dropParameterTypes(0, 1).changeReturnType(void.class);
+        CallSite site = LambdaMetafactory.metafactory(lookup, "invoke",
+                MethodType.methodType(functionType, declaringClass), erasedType, target, instantiatedType);
+        Object function = site.getTarget().invoke(handler);
+
+        switch (arity) {
+            case 0: {
+                Arity0 f = (Arity0) function;
+                return (entity, event) -> f.invoke(event, entity);
+            }
+            case 1: {
+                Arity1 f = (Arity1) function;
+                Class<? extends Component> c1 = componentParams.get(0);
+                return (entity, event) -> f.invoke(event, entity, entity.getComponent(c1));
+            }
+            case 2: {
+                Arity2 f = (Arity2) function;
+                Class<? extends Component> c1 = componentParams.get(0);
+                Class<? extends Component> c2 = componentParams.get(1);
+                return (entity, event) -> f.invoke(event, entity, entity.getComponent(c1), entity.getComponent(c2));
+            }
+            case 3: {
+                Arity3 f = (Arity3) function;
+                Class<? extends Component> c1 = componentParams.get(0);
+                Class<? extends Component> c2 = componentParams.get(1);
+                Class<? extends Component> c3 = componentParams.get(2);
+                return (entity, event) -> f.invoke(event, entity, entity.getComponent(c1), entity.getComponent(c2),
+                        entity.getComponent(c3));
+            }
+            default: {
+                Arity4 f = (Arity4) function;
+                Class<? extends Component> c1 = componentParams.get(0);
+                Class<? extends Component> c2 = componentParams.get(1);
+                Class<? extends Component> c3 = componentParams.get(2);
+                Class<? extends Component> c4 = componentParams.get(3);
+                return (entity, event) -> f.invoke(event, entity, entity.getComponent(c1), entity.getComponent(c2),
+                        entity.getComponent(c3), entity.getComponent(c4));
+            }
+        }
+    }
+}
@@ -2,7 +2,6 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.terasology.engine.entitySystem.event.internal;
 
-import com.esotericsoftware.reflectasm.MethodAccess;
 import com.google.common.base.Objects;
 import com.google.common.base.Predicates;
 import com.google.common.collect.BiMap;
@@ -14,6 +13,8 @@
 import com.google.common.collect.Queues;
 import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Sets;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
 import org.reflections.ReflectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,6 +34,7 @@
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
@@ -52,6 +54,12 @@ public class EventSystemImpl implements EventSystem {
     private SetMultimap<Class<? extends Event>, EventHandlerInfo> generalHandlers = HashMultimap.create();
     private Comparator<EventHandlerInfo> priorityComparator = new EventHandlerPriorityComparator();
 
+    // Sorted handlers, cached per event type and the entity's relevant components. Cleared whenever handlers change.
+    private Map<Class<? extends Event>, DispatchTable> dispatchCache = Maps.newHashMap();
+    private Map<Class<? extends Event>, Map<Class<? extends Component>, EventHandlerInfo[]>> componentDispatchCache =
+            Maps.newHashMap();
+    private EventDispatchMetrics dispatchMetrics = new EventDispatchMetrics();
+
     // Event metadata
     private BiMap<ResourceUrn, Class<? extends Event>> eventIdMap = HashBiMap.create();
     private SetMultimap<Class<? extends Event>, Class<? extends Event>> childEvents = HashMultimap.create();
@@ -85,6 +93,7 @@ public void registerEvent(ResourceUrn uri, Class<? extends Event> eventType) {
                 childEvents.put(parent, eventType);
             }
         }
+        invalidateDispatchCache();
     }
 
     @Override
@@ -152,6 +161,7 @@ public void unregisterEventHandler(ComponentSystem handler) {
                 eventHandlerIterator.remove();
             }
         }
+        invalidateDispatchCache();
     }
 
     private void addEventHandler(Class<? extends Event> type, EventHandlerInfo handler, Collection<Class<?
@@ -169,6 +179,7 @@ private void addEventHandler(Class<? extends Event> type, EventHandlerInfo handl
                 }
             }
         }
+        invalidateDispatchCache();
     }
 
     private void addToComponentSpecificHandlers(Class<? extends Event> type, EventHandlerInfo handlerInfo, Class<?
@@ -218,6 +229,7 @@ public <T extends Event> void unregisterEventReceiver(EventReceiver<T> eventRece
                 }
             }
         }
+        invalidateDispatchCache();
     }
 
     @Override
@@ -225,9 +237,8 @@ public void send(EntityRef entity, Event event) {
         if (Thread.currentThread() != mainThread) {
             pendingEvents.offer(new PendingEvent(entity, event));
         } else {
-            Set<EventHandlerInfo> selectedHandlersSet = selectEventHandlers(event.getClass(), entity);
-            List<EventHandlerInfo> selectedHandlers = Lists.newArrayList(selectedHandlersSet);
-            selectedHandlers.sort(priorityComparator);
+            EventHandlerInfo[] selectedHandlers = getEventHandlers(event.getClass(), entity);
+            dispatchMetrics.recordDispatch(event.getClass());
 
             if (event instanceof ConsumableEvent) {
                 sendConsumableEvent(entity, event, selectedHandlers);
@@ -237,7 +248,7 @@ public void send(EntityRef entity, Event event) {
         }
     }
 
-    private void sendStandardEvent(EntityRef entity, Event event, List<EventHandlerInfo> selectedHandlers) {
+    private void sendStandardEvent(EntityRef entity, Event event, EventHandlerInfo[] selectedHandlers) {
         for (EventHandlerInfo handler : selectedHandlers) {
             // Check isValid at each stage in case components were removed.
             if (handler.isValidFor(entity)) {
@@ -246,7 +257,7 @@ private void sendStandardEvent(EntityRef entity, Event event, List<EventHandlerI
         }
     }
 
-    private void sendConsumableEvent(EntityRef entity, Event event, List<EventHandlerInfo> selectedHandlers) {
+    private void sendConsumableEvent(EntityRef entity, Event event, EventHandlerInfo[] selectedHandlers) {
         ConsumableEvent consumableEvent = (ConsumableEvent) event;
         for (EventHandlerInfo handler : selectedHandlers) {
             // Check isValid at each stage in case components were removed.
@@ -264,20 +275,88 @@ public void send(EntityRef entity, Event event, Component component) {
         if (Thread.currentThread() != mainThread) {
             pendingEvents.offer(new PendingEvent(entity, event, component));
         } else {
-            SetMultimap<Class<? extends Component>, EventHandlerInfo> handlers =
-                    componentSpecificHandlers.get(event.getClass());
-            if (handlers != null) {
-                List<EventHandlerInfo> eventHandlers = Lists.newArrayList(handlers.get(component.getClass()));
-                eventHandlers.sort(priorityComparator);
-                for (EventHandlerInfo eventHandler : eventHandlers) {
-                    if (eventHandler.isValidFor(entity)) {
-                        eventHandler.invoke(entity, event);
-                    }
+            dispatchMetrics.recordDispatch(event.getClass());
+            for (EventHandlerInfo eventHandler : getEventHandlers(event.getClass(), component.getClass())) {
+                if (eventHandler.isValidFor(entity)) {
+                    eventHandler.invoke(entity, event);
                 }
             }
         }
     }
 
+    /**
+     * @return the handlers for an event sent to the entity, sorted by priority
+     */
+    private EventHandlerInfo[] getEventHandlers(Class<? extends Event> eventType, EntityRef entity) {
+        DispatchTable table = dispatchCache.computeIfAbsent(eventType, this::createDispatchTable);
+        if (table == null) {
+            dispatchMetrics.recordCacheMiss();
+            return sortHandlers(selectEventHandlers(eventType, entity));
+        }
+        long signature = table.signatureOf(entity);
+        EventHandlerInfo[] handlers = table.handlersBySignature.get(signature);
+        if (handlers == null) {
+            dispatchMetrics.recordCacheMiss();
+            handlers = sortHandlers(selectEventHandlers(eventType, entity));
+            table.handlersBySignature.put(signature, handlers);
+        } else {
+            dispatchMetrics.recordCacheHit();
+        }
+        return handlers;
+    }
+
+    /**
+     * @return the handlers for an event sent to a specific component, sorted by priority
+     */
+    private EventHandlerInfo[] getEventHandlers(Class<? extends Event> eventType,
+                                                Class<? extends Component> componentType) {
+        Map<Class<? extends Component>, EventHandlerInfo[]> componentHandlers =
+                componentDispatchCache.computeIfAbsent(eventType, type -> Maps.newHashMap());
+        EventHandlerInfo[] handlers = componentHandlers.get(componentType);
+        if (handlers == null) {
+            dispatchMetrics.recordCacheMiss();
+            SetMultimap<Class<? extends Component>, EventHandlerInfo> handlerMap =
+                    componentSpecificHandlers.get(eventType);
+            handlers = sortHandlers(handlerMap != null ? handlerMap.get(componentType) : Collections.emptySet());
+            componentHandlers.put(componentType, handlers);
+        } else {
+            dispatchMetrics.recordCacheHit();
+        }
+        return handlers;
+    }
+
+    private EventHandlerInfo[] sortHandlers(Collection<EventHandlerInfo> handlers) {
+        EventHandlerInfo[] result = handlers.toArray(new EventHandlerInfo[0]);
+        Arrays.sort(result, priorityComparator);
+        return result;
+    }
+
+    /**
+     * @return a dispatch table for the event type, or null if it depends on too many components to be cached
+     */
+    private DispatchTable createDispatchTable(Class<? extends Event> eventType) {
+        SetMultimap<Class<? extends Component>, EventHandlerInfo> handlers = componentSpecificHandlers.get(eventType);
+        if (handlers == null) {
+            return new DispatchTable(Collections.emptySet());
+        }
+        if (handlers.keySet().size() > Long.SIZE) {
+            return null;
+        }
+        return new DispatchTable(handlers.keySet());
+    }
+
+    private void invalidateDispatchCache() {
+        dispatchCache.clear();
+        componentDispatchCache.clear();
+    }
+
+    /**
+     * @return statistics about event dispatch and the dispatch cache
+     */
+    public EventDispatchMetrics getDispatchMetrics() {
+        return dispatchMetrics;
+    }
+
     private Set<EventHandlerInfo> selectEventHandlers(Class<? extends Event> eventType, EntityRef entity) {
         Set<EventHandlerInfo> result = Sets.newHashSet();
         result.addAll(generalHandlers.get(eventType));
@@ -303,6 +382,28 @@ public void setToCurrentThread() {
         mainThread = Thread.currentThread();
     }
 
+    /**
+     * The sorted handlers of one event type, by which of the components relevant to that event an entity has.
+     */
+    private static final class DispatchTable {
+        private final Class<? extends Component>[] components;
+        private final TLongObjectMap<EventHandlerInfo[]> handlersBySignature = new TLongObjectHashMap<>();
+
+        DispatchTable(Collection<Class<? extends Component>> components) {
+            this.components = components.toArray(new Class[0]);
+        }
+
+        long signatureOf(EntityRef entity) {
+            long signature = 0;
+            for (int i = 0; i < components.length; i++) {
+                if (entity.hasComponent(components[i])) {
+                    signature |= 1L << i;
+                }
+            }
+            return signature;
+        }
+    }
+
     private interface EventHandlerInfo {
         boolean isValidFor(EntityRef entity);
 
@@ -324,10 +425,8 @@ public int compare(EventHandlerInfo o1, EventHandlerInfo o2) {
     private static class ByteCodeEventHandlerInfo implements EventHandlerInfo {
         private ComponentSystem handler;
         private String activity;
-        private MethodAccess methodAccess;
-        private int methodIndex;
+        private EventHandlerInvokers.Invoker invoker;
         private ImmutableList<Class<? extends Component>> filterComponents;
-        private ImmutableList<Class<? extends Component>> componentParams;
         private int priority;
 
         ByteCodeEventHandlerInfo(ComponentSystem handler,
@@ -340,10 +439,8 @@ private static class ByteCodeEventHandlerInfo implements EventHandlerInfo {
 
             this.handler = handler;
             this.activity = activity;
-            this.methodAccess = MethodAccess.get(handler.getClass());
-            methodIndex = methodAccess.getIndex(method.getName(), method.getParameterTypes());
+            this.invoker = EventHandlerInvokers.create(handler, method, ImmutableList.copyOf(componentParams));
             this.filterComponents = ImmutableList.copyOf(filterComponents);
-            this.componentParams = ImmutableList.copyOf(componentParams);
             this.priority = priority;
         }
 
@@ -364,19 +461,11 @@ public void invoke(EntityRef entity, Event event) {
             //
             // There might be specific events that can be safely handled here. In that case, we should add the try-catch
             // back in for the most specific exception type as possible.
-            Object[] params = new Object[2 + componentParams.size()];
-            params[0] = event;
-            params[1] = entity;
-            for (int i = 0; i < componentParams.size(); ++i) {
-                params[i + 2] = entity.getComponent(componentParams.get(i));
-            }
-
-
             if (!activity.isEmpty()) {
                 PerformanceMonitor.startActivity(activity);
             }
             try {
-                methodAccess.invoke(handler, methodIndex, params);
+                invoker.invoke(entity, event);
             } finally {
                 if (!activity.isEmpty()) {
                     PerformanceMonitor.endActivity();
@@ -0,0 +1,40 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.entitySystem.systems;
+
+import org.terasology.gestalt.entitysystem.component.Component;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the components the {@link UpdateSubscriberSystem#update(float)} of a system reads and writes, so that it may
+ * run in parallel with the updates of other systems when parallel system updates are enabled.
+ * <br><br>
+ * <code>@RegisterSystem</code><br>
+ * <code>@ComponentAccess(reads = LocationComponent.class, writes = LightComponent.class)</code>
+ * <br><br>
+ * Updates of systems whose declared components conflict - one writes a component the other reads or writes - still run
+ * one after another, in the order the systems were registered. Systems without this annotation are always updated on
+ * the main thread, on their own.
+ * <br><br>
+ * By declaring its components, a system promises that its update only touches the fields of those components and its
+ * own state. It must not create or destroy entities, add or remove components, send events or use other engine
+ * systems that are not thread safe.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ComponentAccess {
+
+    /**
+     * @return the components the update reads but does not change
+     */
+    Class<? extends Component>[] reads() default {};
+
+    /**
+     * @return the components the update changes
+     */
+    Class<? extends Component>[] writes() default {};
+}
@@ -19,4 +19,10 @@
     String name();
 
     boolean isDecorator() default false;
+
+    /**
+     * Whether the action may run on other threads than the main thread, at the same time as the actions of other
+     * actors. Behavior trees made only of thread safe actions may be ticked in parallel by the {@link BehaviorSystem}.
+     */
+    boolean isThreadSafe() default false;
 }
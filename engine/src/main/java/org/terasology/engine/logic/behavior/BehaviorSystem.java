@@ -3,11 +3,14 @@
 package org.terasology.engine.logic.behavior;
 
 import com.google.common.collect.Lists;
+import org.joml.Vector3f;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.terasology.engine.config.SystemConfig;
 import org.terasology.engine.core.PathManager;
 import org.terasology.engine.entitySystem.entity.EntityManager;
 import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.entity.lifecycleEvents.BeforeDeactivateComponent;
 import org.terasology.engine.entitySystem.entity.lifecycleEvents.OnActivatedComponent;
 import org.terasology.engine.entitySystem.entity.lifecycleEvents.OnAddedComponent;
 import org.terasology.engine.entitySystem.event.ReceiveEvent;
@@ -21,6 +24,8 @@
 import org.terasology.engine.logic.behavior.asset.BehaviorTreeFormat;
 import org.terasology.engine.logic.behavior.core.Actor;
 import org.terasology.engine.logic.behavior.core.BehaviorNode;
+import org.terasology.engine.logic.location.LocationComponent;
+import org.terasology.engine.logic.players.PlayerCharacterComponent;
 import org.terasology.engine.registry.In;
 import org.terasology.engine.registry.Share;
 import org.terasology.gestalt.assets.ResourceUrn;
@@ -42,6 +47,9 @@
  * loaded and an interpreter is started.
  * <p/>
  * Modifications made to a behavior tree will reflect to all entities using this tree.
+ * <p/>
+ * How many interpreters are ticked in each update can be limited through the {@link SystemConfig}, see
+ * {@link BehaviorTickScheduler}.
  */
 @RegisterSystem(RegisterMode.AUTHORITY)
 @Share(BehaviorSystem.class)
@@ -55,8 +63,13 @@ public class BehaviorSystem extends BaseComponentSystem implements UpdateSubscri
     private PrefabManager prefabManager;
     @In
     private AssetManager assetManager;
+    @In
+    private SystemConfig systemConfig;
 
     private List<BehaviorTree> trees = Lists.newArrayList();
+    private final BehaviorTickScheduler scheduler = new BehaviorTickScheduler();
+    private final List<Vector3f> playerPositions = Lists.newArrayList();
+    private boolean compiledTrees;
 
     @Override
     public void initialise() {
@@ -81,19 +94,39 @@ public void onBehaviorActivated(OnActivatedComponent event, EntityRef entityRef,
         addEntity(entityRef, behaviorComponent);
     }
 
+    @ReceiveEvent
+    public void onBehaviorDeactivated(BeforeDeactivateComponent event, EntityRef entityRef,
+                                      BehaviorComponent behaviorComponent) {
+        scheduler.remove(entityRef);
+    }
+
     @Override
     public void update(float delta) {
-        Iterable<EntityRef> entities = entityManager.getEntitiesWith(BehaviorComponent.class);
-        for (EntityRef entity : entities) {
+        playerPositions.clear();
+        if (systemConfig != null) {
+            scheduler.setBudgetNanos((long) (systemConfig.behaviorTickBudgetMs.get() * 1.0e6f));
+            scheduler.setLodDistance(systemConfig.behaviorLodDistance.get());
+            scheduler.setParallel(systemConfig.parallelBehaviorTicks.get());
+            if (systemConfig.compiledBehaviorTrees.get() != compiledTrees) {
+                setCompiledTrees(systemConfig.compiledBehaviorTrees.get());
+            }
+            if (systemConfig.behaviorLodDistance.get() > 0) {
+                for (EntityRef player : entityManager.getEntitiesWith(PlayerCharacterComponent.class,
+                        LocationComponent.class)) {
+                    playerPositions.add(player.getComponent(LocationComponent.class).getWorldPosition(new Vector3f()));
+                }
+            }
+        }
+        scheduler.update(delta, playerPositions);
+    }
+
+    private void setCompiledTrees(boolean compiled) {
+        compiledTrees = compiled;
+        for (EntityRef entity : entityManager.getEntitiesWith(BehaviorComponent.class)) {
             BehaviorComponent behaviorComponent = entity.getComponent(BehaviorComponent.class);
-            if (behaviorComponent.interpreter == null) {
-                // NPE observed in the past, suspected to be about loss of behavior state. Hopefully one skip is OK then
-                // resume next tick?
-                // TODO: Highlight this log entry to the telemetry system to gather better data over time
-                logger.warn("Found a null interpreter during tick updates, skipping for entity {}", entity);
-                continue;
+            if (behaviorComponent.interpreter != null) {
+                behaviorComponent.interpreter.setCompiled(compiled);
             }
-            behaviorComponent.interpreter.tick(delta);
         }
     }
 
@@ -146,12 +179,14 @@ public List<Interpreter> getInterpreters() {
     }
 
     public void treeModified(BehaviorTree tree) {
+        tree.invalidateCompiledTree();
         for (EntityRef entity : entityManager.getEntitiesWith(BehaviorComponent.class)) {
             BehaviorComponent behaviorComponent = entity.getComponent(BehaviorComponent.class);
             if (behaviorComponent.tree == tree) {
                 behaviorComponent.interpreter.reset();
             }
         }
+        scheduler.treeModified();
         save(tree);
     }
 
@@ -163,6 +198,8 @@ private void addEntity(EntityRef entityRef, BehaviorComponent behaviorComponent)
                 behaviorComponent.interpreter.setTree(tree);
             }
         }
+        behaviorComponent.interpreter.setCompiled(compiledTrees);
+        scheduler.add(entityRef);
     }
 
 }
@@ -0,0 +1,249 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.logic.behavior;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.logic.behavior.asset.BehaviorTree;
+import org.terasology.engine.logic.behavior.core.ActionNode;
+import org.terasology.engine.logic.behavior.core.BehaviorNode;
+import org.terasology.engine.logic.location.LocationComponent;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decides which behavior interpreters the {@link BehaviorSystem} ticks in each update.
+ * <br><br>
+ * The interpreters are visited round-robin, continuing where the previous update stopped, until each has been visited
+ * once or the time budget of the update is spent. An interpreter gets the time passed since its last tick as delta, so
+ * interpreters left out of an update catch up in the next one.
+ * <br><br>
+ * Interpreters farther than the LOD distance from the nearest player are ticked less often: each further LOD distance
+ * adds {@link #LOD_TICK_INTERVAL} seconds between their ticks, up to {@link #MAX_TICK_INTERVAL}.
+ * <br><br>
+ * If parallel ticks are enabled, interpreters whose behavior tree only contains actions marked as
+ * {@link BehaviorAction#isThreadSafe() thread safe}, and which have no callback, are ticked in batches on the fork-join
+ * common pool. Their tree runners are created on the main thread beforehand, as creating a runner reads the shared
+ * nodes of the tree asset.
+ */
+final class BehaviorTickScheduler {
+    static final float LOD_TICK_INTERVAL = 0.1f;
+    static final float MAX_TICK_INTERVAL = 1f;
+    private static final int PARALLEL_BATCH_SIZE = 64;
+
+    private static final Logger logger = LoggerFactory.getLogger(BehaviorTickScheduler.class);
+
+    private final List<Entry> entries = Lists.newArrayList();
+    private final Map<EntityRef, Entry> entryLookup = Maps.newHashMap();
+    private final List<Entry> parallelBatch = Lists.newArrayListWithCapacity(PARALLEL_BATCH_SIZE);
+    private final Map<BehaviorNode, Boolean> threadSafeTrees = new IdentityHashMap<>();
+    private final Vector3f position = new Vector3f();
+
+    private long budgetNanos;
+    private float lodDistance;
+    private boolean parallel;
+
+    private int cursor;
+    private double time;
+
+    /**
+     * @param budgetNanos the time an update may spend ticking interpreters, or 0 to tick all of them in every update
+     */
+    void setBudgetNanos(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+    }
+
+    /**
+     * @param lodDistance the distance from the nearest player beyond which interpreters are ticked less often, or 0
+     *         to tick them regardless of their distance
+     */
+    void setLodDistance(float lodDistance) {
+        this.lodDistance = lodDistance;
+    }
+
+    void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    void add(EntityRef entity) {
+        if (!entryLookup.containsKey(entity)) {
+            Entry entry = new Entry(entity, entries.size(), time);
+            entries.add(entry);
+            entryLookup.put(entity, entry);
+        }
+    }
+
+    /**
+     * Removes the entity by moving the last entry into its place. May be called while an update ticks interpreters, as
+     * ticking can destroy entities.
+     */
+    void remove(EntityRef entity) {
+        Entry entry = entryLookup.remove(entity);
+        if (entry == null) {
+            return;
+        }
+        int hole = entry.index;
+        if (hole < cursor) {
+            // the last entry is yet to be visited in this round, so rather than moving it behind the cursor, where it
+            // would be skipped until the next round, fill the hole with the entry before the cursor
+            cursor--;
+            move(entries.get(cursor), hole);
+            hole = cursor;
+        }
+        Entry last = entries.remove(entries.size() - 1);
+        if (hole < entries.size()) {
+            move(last, hole);
+        }
+    }
+
+    private void move(Entry entry, int index) {
+        entries.set(index, entry);
+        entry.index = index;
+    }
+
+    /**
+     * Forgets which behavior trees are thread safe, as a tree may have been edited.
+     */
+    void treeModified() {
+        threadSafeTrees.clear();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Ticks the interpreters that are due, as far as the budget allows.
+     *
+     * @param delta the time (in seconds) since the last update
+     * @param playerPositions the positions of all players, used for the LOD distance
+     */
+    void update(float delta, List<? extends Vector3fc> playerPositions) {
+        time += delta;
+        int count = entries.size();
+        long deadline = budgetNanos > 0 ? System.nanoTime() + budgetNanos : Long.MAX_VALUE;
+        // ticking may destroy entities and so remove entries, which leaves fewer to visit
+        for (int visited = 0; visited < Math.min(count, entries.size()) && !entries.isEmpty()
+                && (visited == 0 || System.nanoTime() < deadline); visited++) {
+            if (cursor >= entries.size()) {
+                cursor = 0;
+            }
+            Entry entry = entries.get(cursor++);
+            float elapsed = (float) (time - entry.lastTick);
+            if (elapsed <= 0 || elapsed < tickInterval(entry.entity, playerPositions)) {
+                continue;
+            }
+            BehaviorComponent behaviorComponent = entry.entity.getComponent(BehaviorComponent.class);
+            if (behaviorComponent == null || behaviorComponent.interpreter == null) {
+                // NPE observed in the past, suspected to be about loss of behavior state. Hopefully one skip is OK then
+                // resume next tick?
+                // TODO: Highlight this log entry to the telemetry system to gather better data over time
+                logger.warn("Found a null interpreter during tick updates, skipping for entity {}", entry.entity);
+                continue;
+            }
+            entry.lastTick = time;
+            Interpreter interpreter = behaviorComponent.interpreter;
+            // callbacks, like the one of the behavior editor, expect to be called on the main thread
+            if (parallel && !interpreter.hasCallback() && isThreadSafe(interpreter.getTree())) {
+                interpreter.createTreeRunner();
+                entry.interpreter = interpreter;
+                entry.delta = elapsed;
+                parallelBatch.add(entry);
+                if (parallelBatch.size() == PARALLEL_BATCH_SIZE) {
+                    tickParallelBatch();
+                }
+            } else {
+                interpreter.tick(elapsed);
+            }
+        }
+        tickParallelBatch();
+    }
+
+    private void tickParallelBatch() {
+        // entities ticked on the main thread may have destroyed ones waiting in the batch
+        parallelBatch.removeIf(entry -> entryLookup.get(entry.entity) != entry);
+        if (parallelBatch.isEmpty()) {
+            return;
+        }
+        parallelBatch.parallelStream().forEach(entry -> entry.interpreter.tick(entry.delta));
+        for (Entry entry : parallelBatch) {
+            entry.interpreter = null;
+        }
+        parallelBatch.clear();
+    }
+
+    /**
+     * @return the least time (in seconds) between two ticks of the entity
+     */
+    private float tickInterval(EntityRef entity, List<? extends Vector3fc> playerPositions) {
+        if (lodDistance <= 0 || playerPositions.isEmpty()) {
+            return 0;
+        }
+        LocationComponent location = entity.getComponent(LocationComponent.class);
+        if (location == null || !location.getWorldPosition(position).isFinite()) {
+            return 0;
+        }
+        float distanceSquared = Float.POSITIVE_INFINITY;
+        for (Vector3fc playerPosition : playerPositions) {
+            distanceSquared = Math.min(distanceSquared, position.distanceSquared(playerPosition));
+        }
+        int lodLevel = (int) (Math.sqrt(distanceSquared) / lodDistance);
+        return Math.min(MAX_TICK_INTERVAL, lodLevel * LOD_TICK_INTERVAL);
+    }
+
+    private boolean isThreadSafe(BehaviorTree tree) {
+        if (tree == null) {
+            return true;
+        }
+        BehaviorNode root = tree.getRoot();
+        return root == null || threadSafeTrees.computeIfAbsent(root, BehaviorTickScheduler::isThreadSafe);
+    }
+
+    /**
+     * @return whether the node and its children only use thread safe actions, or no actions
+     */
+    static boolean isThreadSafe(BehaviorNode node) {
+        if (node instanceof ActionNode) {
+            ActionNode actionNode = (ActionNode) node;
+            if (actionNode.getAction() != null) {
+                BehaviorAction annotation = actionNode.getAction().getClass().getAnnotation(BehaviorAction.class);
+                if (annotation == null || !annotation.isThreadSafe()) {
+                    return false;
+                }
+            }
+        } else if (node.getClass().getPackage() != BehaviorNode.class.getPackage()) {
+            // only the composite nodes of the engine are known to keep their state at the actor
+            return false;
+        }
+        for (int i = 0; i < node.getChildrenCount(); i++) {
+            if (!isThreadSafe(node.getChild(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Entry {
+        private final EntityRef entity;
+        private int index;
+        private double lastTick;
+        /**
+         * The interpreter and delta of a tick waiting in the parallel batch.
+         */
+        private Interpreter interpreter;
+        private float delta;
+
+        private Entry(EntityRef entity, int index, double lastTick) {
+            this.entity = entity;
+            this.index = index;
+            this.lastTick = lastTick;
+        }
+    }
+}
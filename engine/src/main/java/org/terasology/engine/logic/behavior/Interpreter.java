@@ -5,6 +5,7 @@
 import org.terasology.engine.logic.behavior.asset.BehaviorTree;
 import org.terasology.engine.logic.behavior.core.Actor;
 import org.terasology.engine.logic.behavior.core.BehaviorTreeRunner;
+import org.terasology.engine.logic.behavior.core.CompiledBehaviorTreeRunner;
 import org.terasology.engine.logic.common.DisplayNameComponent;
 import org.terasology.gestalt.module.sandbox.API;
 
@@ -20,6 +21,7 @@ public class Interpreter {
     private BehaviorTreeRunner treeRunner;
     private BehaviorTree tree;
     private DefaultBehaviorTreeRunner.Callback callback;
+    private boolean compiled;
 
     public Interpreter(Actor actor) {
         this.actor = actor;
@@ -34,6 +36,7 @@ public Interpreter(Interpreter interpreter) {
         this.treeRunner = interpreter.treeRunner;
         this.tree = interpreter.tree;
         this.callback = interpreter.callback;
+        this.compiled = interpreter.compiled;
     }
 
     public void setCallback(DefaultBehaviorTreeRunner.Callback callback) {
@@ -41,6 +44,28 @@ public void setCallback(DefaultBehaviorTreeRunner.Callback callback) {
         reset();
     }
 
+    /**
+     * @return whether a callback, like the one of the behavior editor, follows the execution of the tree
+     */
+    public boolean hasCallback() {
+        return callback != null;
+    }
+
+    /**
+     * Runs the tree with a {@link CompiledBehaviorTreeRunner} if possible, which needs less memory per actor. Trees
+     * using nodes unknown to the compiler and interpreters with a callback still run on copies of the nodes.
+     */
+    public void setCompiled(boolean compiled) {
+        if (this.compiled != compiled) {
+            this.compiled = compiled;
+            reset();
+        }
+    }
+
+    public boolean isCompiled() {
+        return compiled;
+    }
+
     public Actor actor() {
         return actor;
     }
@@ -51,16 +76,26 @@ public void reset() {
 
     public void tick(float delta) {
         actor.setDelta(delta);
-        if (treeRunner == null && tree != null) {
-            treeRunner = new DefaultBehaviorTreeRunner(tree, actor, callback);
-            //        Assembler assembler = new Assembler("Test", tree.getRoot());
-            //        treeRunner = assembler.createInstance(actor);
-        }
+        createTreeRunner();
         if (treeRunner != null) {
             treeRunner.step();
         }
     }
 
+    /**
+     * Creates the runner of the tree, unless there already is one. Creating a runner reads the nodes of the tree asset,
+     * which is why the {@link BehaviorTickScheduler} does it on the main thread before ticking in parallel.
+     */
+    void createTreeRunner() {
+        if (treeRunner == null && tree != null) {
+            if (compiled && callback == null && tree.getCompiledTree() != null) {
+                treeRunner = new CompiledBehaviorTreeRunner(tree, actor);
+            } else {
+                treeRunner = new DefaultBehaviorTreeRunner(tree, actor, callback);
+            }
+        }
+    }
+
     public void run() {
     }
 
@@ -14,7 +14,7 @@
  * Can be used without specifying a child as a simple 'wait' action.
  */
 @API
-@BehaviorAction(name = "counter", isDecorator = true)
+@BehaviorAction(name = "counter", isDecorator = true, isThreadSafe = true)
 public class CounterAction extends BaseAction {
     @Range(min = 0, max = 100)
     private int count;
@@ -14,7 +14,7 @@
  * then returns with SUCCESS.
  */
 @API
-@BehaviorAction(name = "sleep")
+@BehaviorAction(name = "sleep", isThreadSafe = true)
 public class SleepAction extends BaseAction {
     @Range(min = 0, max = 20)
     private float time;
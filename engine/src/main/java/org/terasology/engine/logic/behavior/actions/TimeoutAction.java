@@ -17,7 +17,7 @@
  * or returns FAILURE if child doesn't finish in time.
  */
 @API
-@BehaviorAction(name = "timeout", isDecorator = true)
+@BehaviorAction(name = "timeout", isDecorator = true, isThreadSafe = true)
 public class TimeoutAction extends BaseAction {
     private static final Logger logger = LoggerFactory.getLogger(TimeoutAction.class);
 
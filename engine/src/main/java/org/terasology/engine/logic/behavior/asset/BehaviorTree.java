@@ -6,6 +6,8 @@
 import org.terasology.gestalt.assets.AssetType;
 import org.terasology.gestalt.assets.ResourceUrn;
 import org.terasology.engine.logic.behavior.core.BehaviorNode;
+import org.terasology.engine.logic.behavior.core.BehaviorTreeCompiler;
+import org.terasology.engine.logic.behavior.core.CompiledBehaviorTree;
 import org.terasology.gestalt.module.sandbox.API;
 
 /**
@@ -16,6 +18,8 @@
 @API
 public class BehaviorTree extends Asset<BehaviorTreeData> {
     private BehaviorTreeData data;
+    private CompiledBehaviorTree compiledTree;
+    private boolean compiled;
 
     /**
      * The constructor for an asset. It is suggested that implementing classes provide a constructor taking both the urn,
@@ -33,6 +37,29 @@ public BehaviorNode getRoot() {
         return data.getRoot();
     }
 
+    /**
+     * Compiles the tree on first use, so its actors can share the result.
+     *
+     * @return the compiled tree, or null if the tree contains nodes the {@link BehaviorTreeCompiler} does not know
+     */
+    public synchronized CompiledBehaviorTree getCompiledTree() {
+        if (!compiled) {
+            BehaviorNode root = getRoot();
+            compiledTree = root != null && BehaviorTreeCompiler.isCompilable(root)
+                    ? BehaviorTreeCompiler.compile(root) : null;
+            compiled = true;
+        }
+        return compiledTree;
+    }
+
+    /**
+     * Drops the compiled tree, to be called after changing the nodes of the tree.
+     */
+    public synchronized void invalidateCompiledTree() {
+        compiledTree = null;
+        compiled = false;
+    }
+
     public BehaviorTreeData getData() {
         return data;
     }
@@ -45,6 +72,7 @@ public String toString() {
     @Override
     protected void doReload(BehaviorTreeData newData) {
         this.data = newData;
+        invalidateCompiledTree();
     }
 
     }
@@ -0,0 +1,128 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.logic.behavior.core;
+
+import com.google.common.collect.Lists;
+
+import java.util.List;
+
+/**
+ * Flattens behavior trees into {@link CompiledBehaviorTree}s.
+ * <br><br>
+ * Only the nodes of this package are known to the compiler, as it has to reproduce what they do. Trees using other
+ * nodes, or subclasses of these, need to be run by a {@link BehaviorTreeRunner} working on the nodes instead.
+ */
+public final class BehaviorTreeCompiler {
+
+    private BehaviorTreeCompiler() {
+    }
+
+    /**
+     * @return whether the tree below the given node only contains nodes the compiler knows
+     */
+    public static boolean isCompilable(BehaviorNode node) {
+        if (opcode(node) < 0) {
+            return false;
+        }
+        for (int i = 0; i < node.getChildrenCount(); i++) {
+            if (!isCompilable(node.getChild(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param root the root of the tree to compile. Later changes to the tree are not reflected by the result.
+     * @throws IllegalArgumentException if the tree contains nodes the compiler does not know
+     */
+    public static CompiledBehaviorTree compile(BehaviorNode root) {
+        Builder builder = new Builder();
+        builder.add(root);
+        return builder.build();
+    }
+
+    private static int opcode(BehaviorNode node) {
+        Class<?> type = node.getClass();
+        if (type == SuccessNode.class) {
+            return CompiledBehaviorTree.SUCCESS;
+        } else if (type == FailureNode.class) {
+            return CompiledBehaviorTree.FAILURE;
+        } else if (type == RunningNode.class) {
+            return CompiledBehaviorTree.RUNNING;
+        } else if (type == ActionNode.class) {
+            return CompiledBehaviorTree.ACTION;
+        } else if (type == DecoratorNode.class) {
+            return CompiledBehaviorTree.DECORATOR;
+        } else if (type == SequenceNode.class) {
+            return CompiledBehaviorTree.SEQUENCE;
+        } else if (type == SelectorNode.class) {
+            return CompiledBehaviorTree.SELECTOR;
+        } else if (type == ParallelNode.class) {
+            return ((ParallelNode) node).requiresAll()
+                    ? CompiledBehaviorTree.PARALLEL_REQUIRE_ALL : CompiledBehaviorTree.PARALLEL_REQUIRE_ONE;
+        } else if (type == DynamicSelectorNode.class) {
+            return CompiledBehaviorTree.DYNAMIC_SELECTOR;
+        }
+        return -1;
+    }
+
+    /**
+     * @return the number of ints of state a node with the given opcode keeps for an actor
+     */
+    private static int stateSize(int opcode, int childCount) {
+        switch (opcode) {
+            case CompiledBehaviorTree.DECORATOR:
+            case CompiledBehaviorTree.SEQUENCE:
+            case CompiledBehaviorTree.SELECTOR:
+                return 1;
+            case CompiledBehaviorTree.DYNAMIC_SELECTOR:
+                return childCount;
+            default:
+                return 0;
+        }
+    }
+
+    private static final class Builder {
+        private final List<BehaviorNode> nodes = Lists.newArrayList();
+        private final List<Integer> subtreeEnds = Lists.newArrayList();
+        private int stateSize;
+
+        private void add(BehaviorNode node) {
+            int index = nodes.size();
+            nodes.add(node);
+            subtreeEnds.add(index + 1);
+            for (int i = 0; i < node.getChildrenCount(); i++) {
+                add(node.getChild(i));
+            }
+            subtreeEnds.set(index, nodes.size());
+        }
+
+        private CompiledBehaviorTree build() {
+            int count = nodes.size();
+            byte[] opcodes = new byte[count];
+            int[] ends = new int[count];
+            int[] childCounts = new int[count];
+            int[] stateIndices = new int[count];
+            Action[] actions = new Action[count];
+            for (int i = 0; i < count; i++) {
+                BehaviorNode node = nodes.get(i);
+                int opcode = opcode(node);
+                if (opcode < 0) {
+                    throw new IllegalArgumentException("Cannot compile behavior node " + node.getName() + " of type "
+                            + node.getClass().getName());
+                }
+                opcodes[i] = (byte) opcode;
+                ends[i] = subtreeEnds.get(i);
+                childCounts[i] = node.getChildrenCount();
+                if (node instanceof ActionNode) {
+                    actions[i] = ((ActionNode) node).getAction();
+                }
+                int nodeStateSize = stateSize(opcode, childCounts[i]);
+                stateIndices[i] = nodeStateSize > 0 ? stateSize : CompiledBehaviorTree.NO_STATE;
+                stateSize += nodeStateSize;
+            }
+            return new CompiledBehaviorTree(opcodes, ends, childCounts, stateIndices, actions, stateSize);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.logic.behavior.core;
+
+/**
+ * A behavior tree flattened by the {@link BehaviorTreeCompiler}, run by {@link CompiledBehaviorTreeRunner}s.
+ * <br><br>
+ * The nodes are stored in depth-first order, so the first child of a node directly follows it and the next sibling of
+ * a node follows its last descendant. Each node is described by an opcode and, where needed, the index of the state it
+ * keeps for an actor. The program is immutable and shared by all actors running the tree; the state of an actor is a
+ * plain int array of {@link #getStateSize()} elements.
+ */
+public final class CompiledBehaviorTree {
+    static final byte SUCCESS = 0;
+    static final byte FAILURE = 1;
+    static final byte RUNNING = 2;
+    static final byte ACTION = 3;
+    static final byte DECORATOR = 4;
+    static final byte SEQUENCE = 5;
+    static final byte SELECTOR = 6;
+    static final byte PARALLEL_REQUIRE_ONE = 7;
+    static final byte PARALLEL_REQUIRE_ALL = 8;
+    static final byte DYNAMIC_SELECTOR = 9;
+
+    /**
+     * Marks nodes without state.
+     */
+    static final int NO_STATE = -1;
+
+    final byte[] opcodes;
+    /**
+     * The index of the node following the subtree of each node.
+     */
+    final int[] subtreeEnds;
+    final int[] childCounts;
+    final int[] stateIndices;
+    final Action[] actions;
+    final int stateSize;
+
+    CompiledBehaviorTree(byte[] opcodes, int[] subtreeEnds, int[] childCounts, int[] stateIndices, Action[] actions,
+                         int stateSize) {
+        this.opcodes = opcodes;
+        this.subtreeEnds = subtreeEnds;
+        this.childCounts = childCounts;
+        this.stateIndices = stateIndices;
+        this.actions = actions;
+        this.stateSize = stateSize;
+    }
+
+    public int getNodeCount() {
+        return opcodes.length;
+    }
+
+    /**
+     * @return the number of ints of state an actor running this tree needs
+     */
+    public int getStateSize() {
+        return stateSize;
+    }
+}
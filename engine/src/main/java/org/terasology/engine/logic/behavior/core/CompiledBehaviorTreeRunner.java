@@ -0,0 +1,286 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.logic.behavior.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.engine.logic.behavior.asset.BehaviorTree;
+
+/**
+ * Tree runner, that runs a {@link CompiledBehaviorTree}. Behaves like running the nodes of the tree, but without a copy
+ * of the nodes per actor: the state of the nodes is kept in a single int array.
+ * <br><br>
+ * The state of a sequence or selector is the index of its current child, or 0 if there is none (the root is no child).
+ * The state of a decorator is the ordinal of the last state of its child, and a dynamic selector keeps one flag per
+ * child telling whether the child is constructed.
+ */
+public class CompiledBehaviorTreeRunner implements BehaviorTreeRunner {
+    private static final Logger logger = LoggerFactory.getLogger(CompiledBehaviorTreeRunner.class);
+    private static final BehaviorState[] STATES = BehaviorState.values();
+
+    private final BehaviorTree tree;
+    private final CompiledBehaviorTree program;
+    private final int[] nodeStates;
+    private Actor actor;
+    private BehaviorState state = BehaviorState.UNDEFINED;
+
+    public CompiledBehaviorTreeRunner(CompiledBehaviorTree program, Actor actor) {
+        this(null, program, actor);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the tree cannot be compiled
+     */
+    public CompiledBehaviorTreeRunner(BehaviorTree tree, Actor actor) {
+        this(tree, tree.getCompiledTree(), actor);
+    }
+
+    private CompiledBehaviorTreeRunner(BehaviorTree tree, CompiledBehaviorTree program, Actor actor) {
+        if (program == null) {
+            throw new IllegalArgumentException("Behavior tree " + tree + " cannot be compiled");
+        }
+        this.tree = tree;
+        this.program = program;
+        this.nodeStates = new int[program.stateSize];
+        this.actor = actor;
+    }
+
+    @Override
+    public BehaviorTree getTree() {
+        return tree;
+    }
+
+    @Override
+    public BehaviorState step() {
+        if (state != BehaviorState.RUNNING) {
+            construct(0);
+        }
+
+        state = execute(0);
+        if (state != BehaviorState.RUNNING) {
+            destruct(0);
+        }
+
+        return state;
+    }
+
+    @Override
+    public Actor getActor() {
+        return actor;
+    }
+
+    @Override
+    public void setActor(Actor actor) {
+        this.actor = actor;
+    }
+
+    private void construct(int node) {
+        switch (program.opcodes[node]) {
+            case CompiledBehaviorTree.ACTION:
+            case CompiledBehaviorTree.DECORATOR:
+                constructAction(node);
+                break;
+            case CompiledBehaviorTree.SEQUENCE:
+            case CompiledBehaviorTree.SELECTOR:
+                nextChild(node, node + 1);
+                break;
+            case CompiledBehaviorTree.PARALLEL_REQUIRE_ONE:
+            case CompiledBehaviorTree.PARALLEL_REQUIRE_ALL:
+                for (int child = node + 1; child < program.subtreeEnds[node]; child = program.subtreeEnds[child]) {
+                    construct(child);
+                }
+                break;
+            case CompiledBehaviorTree.DYNAMIC_SELECTOR:
+                int stateIndex = program.stateIndices[node];
+                for (int i = 0; i < program.childCounts[node]; i++) {
+                    nodeStates[stateIndex + i] = 0;
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private BehaviorState execute(int node) {
+        switch (program.opcodes[node]) {
+            case CompiledBehaviorTree.SUCCESS:
+                return BehaviorState.SUCCESS;
+            case CompiledBehaviorTree.FAILURE:
+                return BehaviorState.FAILURE;
+            case CompiledBehaviorTree.RUNNING:
+                return BehaviorState.RUNNING;
+            case CompiledBehaviorTree.ACTION:
+                return executeAction(node);
+            case CompiledBehaviorTree.DECORATOR:
+                return executeDecorator(node);
+            case CompiledBehaviorTree.SEQUENCE:
+                return executeSequence(node, BehaviorState.FAILURE);
+            case CompiledBehaviorTree.SELECTOR:
+                return executeSequence(node, BehaviorState.SUCCESS);
+            case CompiledBehaviorTree.PARALLEL_REQUIRE_ONE:
+            case CompiledBehaviorTree.PARALLEL_REQUIRE_ALL:
+                return executeParallel(node);
+            case CompiledBehaviorTree.DYNAMIC_SELECTOR:
+                return executeDynamicSelector(node);
+            default:
+                throw new IllegalStateException("Unknown opcode " + program.opcodes[node]);
+        }
+    }
+
+    private void destruct(int node) {
+        switch (program.opcodes[node]) {
+            case CompiledBehaviorTree.ACTION:
+            case CompiledBehaviorTree.DECORATOR:
+                Action action = program.actions[node];
+                if (action != null) {
+                    action.destruct(actor);
+                }
+                break;
+            case CompiledBehaviorTree.PARALLEL_REQUIRE_ONE:
+            case CompiledBehaviorTree.PARALLEL_REQUIRE_ALL:
+                for (int child = node + 1; child < program.subtreeEnds[node]; child = program.subtreeEnds[child]) {
+                    destruct(child);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void constructAction(int node) {
+        Action action = program.actions[node];
+        if (action != null) {
+            try {
+                action.construct(actor);
+            } catch (Exception e) {
+                logger.debug("Exception while running construct() of action {} from entity {}: {}", action,
+                        actor.getEntity(), e.getMessage());
+            }
+        }
+    }
+
+    private BehaviorState executeAction(int node) {
+        Action action = program.actions[node];
+        if (action != null) {
+            try {
+                return action.modify(actor, BehaviorState.UNDEFINED);
+            } catch (Exception e) {
+                logger.debug("Exception while running action {} from entity {}: ", action, actor.getEntity(), e);
+                return BehaviorState.FAILURE;
+            }
+        }
+        return BehaviorState.UNDEFINED;
+    }
+
+    private BehaviorState executeDecorator(int node) {
+        Action action = program.actions[node];
+        int stateIndex = program.stateIndices[node];
+        if (action == null) {
+            runDecoratedChild(node, stateIndex);
+            return STATES[nodeStates[stateIndex]];
+        }
+        if (!action.prune(actor)) {
+            runDecoratedChild(node, stateIndex);
+        }
+        BehaviorState lastState = STATES[nodeStates[stateIndex]];
+        BehaviorState modifiedState;
+        try {
+            modifiedState = action.modify(actor, lastState);
+        } catch (Exception e) {
+            logger.info("Exception while running action {} from entity {}: {}", action, actor.getEntity(),
+                    e.getStackTrace());
+            return BehaviorState.FAILURE;
+        }
+        if (modifiedState != BehaviorState.RUNNING && lastState == BehaviorState.RUNNING) {
+            destruct(node + 1);
+        }
+        return modifiedState;
+    }
+
+    private void runDecoratedChild(int node, int stateIndex) {
+        if (program.childCounts[node] == 0) {
+            return;
+        }
+        int child = node + 1;
+        if (nodeStates[stateIndex] != BehaviorState.RUNNING.ordinal()) {
+            construct(child);
+        }
+        BehaviorState result = execute(child);
+        nodeStates[stateIndex] = result.ordinal();
+        if (result != BehaviorState.RUNNING) {
+            destruct(child);
+        }
+    }
+
+    /**
+     * Runs the children of a sequence or selector one after another, until one of them is running or returns the
+     * given result.
+     */
+    private BehaviorState executeSequence(int node, BehaviorState stopResult) {
+        int current = nodeStates[program.stateIndices[node]];
+        while (current != 0) {
+            BehaviorState result = execute(current);
+            if (result == BehaviorState.RUNNING) {
+                return BehaviorState.RUNNING;
+            }
+            destruct(current);
+            if (result == stopResult) {
+                return stopResult;
+            }
+            current = nextChild(node, program.subtreeEnds[current]);
+        }
+        return stopResult == BehaviorState.FAILURE ? BehaviorState.SUCCESS : BehaviorState.FAILURE;
+    }
+
+    /**
+     * Makes the given child the current child of the sequence or selector, and constructs it.
+     *
+     * @return the new current child, or 0 if the given index is past the last child
+     */
+    private int nextChild(int node, int child) {
+        int current = child < program.subtreeEnds[node] ? child : 0;
+        nodeStates[program.stateIndices[node]] = current;
+        if (current != 0) {
+            construct(current);
+        }
+        return current;
+    }
+
+    private BehaviorState executeParallel(int node) {
+        int successCounter = 0;
+        for (int child = node + 1; child < program.subtreeEnds[node]; child = program.subtreeEnds[child]) {
+            BehaviorState result = execute(child);
+            if (result == BehaviorState.FAILURE) {
+                return BehaviorState.FAILURE;
+            }
+            if (result == BehaviorState.SUCCESS) {
+                successCounter++;
+            }
+        }
+        if (program.opcodes[node] == CompiledBehaviorTree.PARALLEL_REQUIRE_ALL) {
+            return successCounter == program.childCounts[node] ? BehaviorState.SUCCESS : BehaviorState.RUNNING;
+        }
+        return successCounter > 0 ? BehaviorState.SUCCESS : BehaviorState.RUNNING;
+    }
+
+    private BehaviorState executeDynamicSelector(int node) {
+        int constructed = program.stateIndices[node];
+        int child = node + 1;
+        for (int i = 0; i < program.childCounts[node]; i++, child = program.subtreeEnds[child]) {
+            if (nodeStates[constructed + i] == 0) {
+                construct(child);
+                nodeStates[constructed + i] = 1;
+            }
+            BehaviorState result = execute(child);
+            if (result == BehaviorState.RUNNING) {
+                return BehaviorState.RUNNING;
+            }
+            destruct(child);
+            nodeStates[constructed + i] = 0;
+            if (result == BehaviorState.SUCCESS) {
+                return BehaviorState.SUCCESS;
+            }
+        }
+        return BehaviorState.FAILURE;
+    }
+}
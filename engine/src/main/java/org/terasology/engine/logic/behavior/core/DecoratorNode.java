@@ -38,7 +38,9 @@ public <T> T visit(T item, Visitor<T> visitor) {
     public BehaviorNode deepCopy() {
         DecoratorNode node = new DecoratorNode();
         node.setAction(action);
-        node.child = child;
+        if (child != null) {
+            node.child = child.deepCopy();
+        }
         return node;
     }
 
@@ -49,6 +49,13 @@ public BehaviorState execute(Actor actor) {
         return checkSuccess(successCounter);
     }
 
+    /**
+     * @return whether all children need to succeed for this node to succeed, instead of one of them
+     */
+    boolean requiresAll() {
+        return policy == Policy.REQUIRE_ALL;
+    }
+
     public BehaviorState checkSuccess(int successCounter) {
         if (policy == Policy.REQUIRE_ALL && successCounter == children.size()) {
             return BehaviorState.SUCCESS;
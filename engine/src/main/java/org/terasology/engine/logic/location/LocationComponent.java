@@ -25,6 +25,11 @@
  * Component represent the location and facing of an entity in the world
  */
 public final class LocationComponent implements Component<LocationComponent>, ReplicationCheck {
+    /**
+     * Positions are sent over the network with a precision of 1/1024 block.
+     */
+    private static final float POSITION_QUANTIZATION = 1f / 1024;
+    private static final float ROTATION_QUANTIZATION = 1f / 4096;
 
     public boolean replicateChanges = true;
 
@@ -34,16 +39,16 @@ public final class LocationComponent implements Component<LocationComponent>, Re
     @Replicate
     List<EntityRef> children = Lists.newArrayList();
     // Standard position/rotation
-    @Replicate
+    @Replicate(quantization = POSITION_QUANTIZATION)
     @TextField
     final Vector3f position = new Vector3f();
-    @Replicate
+    @Replicate(quantization = ROTATION_QUANTIZATION)
     Quaternionf rotation = new Quaternionf();
     @Replicate
     float scale = 1.0f;
-    @Replicate
+    @Replicate(quantization = POSITION_QUANTIZATION)
     Vector3f lastPosition = new Vector3f();
-    @Replicate
+    @Replicate(quantization = ROTATION_QUANTIZATION)
     Quaternionf lastRotation = new Quaternionf();
     private boolean isDirty = false;
 
@@ -3,6 +3,7 @@
 package org.terasology.engine.monitoring;
 
 import gnu.trove.map.TObjectDoubleMap;
+import gnu.trove.map.TObjectLongMap;
 import org.terasology.engine.monitoring.impl.NullPerformanceMonitor;
 import org.terasology.engine.monitoring.impl.PerformanceMonitorImpl;
 import org.terasology.engine.monitoring.impl.PerformanceMonitorInternal;
@@ -76,6 +77,17 @@ public static void endActivity() {
         instance.endActivity();
     }
 
+    /**
+     * Adds the execution time of an activity that was measured by the caller, such as work done on other threads on
+     * behalf of the main thread. Like other activities, it is only recorded when called from the main thread.
+     *
+     * @param activityName the name of the activity
+     * @param timeMs the time spent on the activity, in milliseconds
+     */
+    public static void recordActivity(String activityName, long timeMs) {
+        instance.recordActivity(activityName, timeMs);
+    }
+
     /**
      * Drops old information and updates the metrics. Should be called once per frame.
      */
@@ -127,6 +139,24 @@ public static TObjectDoubleMap<String> getAllocationMean() {
         return instance.getAllocationMean();
     }
 
+    /**
+     * Adds to a counter, such as the number of hits of a cache. Unlike activities, counters may be incremented from
+     * any thread.
+     *
+     * @param counter the name of the counter
+     * @param amount the amount to add to the counter
+     */
+    public static void incrementCounter(String counter, long amount) {
+        instance.incrementCounter(counter, amount);
+    }
+
+    /**
+     * @return a mapping from the name of each counter to its current value.
+     */
+    public static TObjectLongMap<String> getCounters() {
+        return instance.getCounters();
+    }
+
     /**
      * Enables or disables the Performance Monitoring system.
      * <br><br>
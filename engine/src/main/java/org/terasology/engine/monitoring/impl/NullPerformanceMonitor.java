@@ -3,12 +3,15 @@
 package org.terasology.engine.monitoring.impl;
 
 import gnu.trove.map.TObjectDoubleMap;
+import gnu.trove.map.TObjectLongMap;
 import gnu.trove.map.hash.TObjectDoubleHashMap;
+import gnu.trove.map.hash.TObjectLongHashMap;
 import org.terasology.engine.monitoring.Activity;
 
 public class NullPerformanceMonitor implements PerformanceMonitorInternal {
     private static final NullActivity NULL_ACTIVITY = new NullActivity();
     private TObjectDoubleMap<String> metrics = new TObjectDoubleHashMap<>();
+    private TObjectLongMap<String> counters = new TObjectLongHashMap<>();
 
     @Override
     public void rollCycle() {
@@ -23,6 +26,10 @@ public Activity startActivity(String activity) {
     public void endActivity() {
     }
 
+    @Override
+    public void recordActivity(String activity, long timeMs) {
+    }
+
     @Override
     public TObjectDoubleMap<String> getRunningMean() {
         return metrics;
@@ -38,4 +45,13 @@ public TObjectDoubleMap<String> getAllocationMean() {
         return metrics;
     }
 
+    @Override
+    public void incrementCounter(String counter, long amount) {
+    }
+
+    @Override
+    public TObjectLongMap<String> getCounters() {
+        return counters;
+    }
+
 }
@@ -17,6 +17,9 @@
 
 import java.util.Deque;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Active implementation of Performance Monitor
@@ -44,6 +47,8 @@ public class PerformanceMonitorImpl implements PerformanceMonitorInternal {
     private final TObjectLongMap<String> runningExecutionTotals;
     private final TObjectLongMap<String> runningAllocationTotals;
     private final TObjectDoubleMap<String> spikeData;
+    // Unlike activities, counters may be incremented from any thread
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
 
     private final TObjectDoubleProcedure<String> decayLargestExecutionTime;
     private final TObjectLongProcedure<String> updateExecutionTimeTotalAndSpikeData;
@@ -152,6 +157,14 @@ public void endActivity() {
         }
     }
 
+    @Override
+    public void recordActivity(String activityName, long timeMs) {
+        if (Thread.currentThread() != mainThread) {
+            return;
+        }
+        currentExecutionData.adjustOrPutValue(activityName, timeMs, timeMs);
+    }
+
     @Override
     public TObjectDoubleMap<String> getRunningMean() {
         TObjectDoubleMap<String> activityToMeanMap = new TObjectDoubleHashMap<>();
@@ -179,6 +192,18 @@ public TObjectDoubleMap<String> getAllocationMean() {
         return activityToMeanMap;
     }
 
+    @Override
+    public void incrementCounter(String counter, long amount) {
+        counters.computeIfAbsent(counter, k -> new LongAdder()).add(amount);
+    }
+
+    @Override
+    public TObjectLongMap<String> getCounters() {
+        TObjectLongMap<String> result = new TObjectLongHashMap<>();
+        counters.forEach((counter, value) -> result.put(counter, value.sum()));
+        return result;
+    }
+
     private class ActivityInfo {
         public String name;
         public long startTime;
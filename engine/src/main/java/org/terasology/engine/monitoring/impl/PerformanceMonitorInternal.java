@@ -3,6 +3,7 @@
 package org.terasology.engine.monitoring.impl;
 
 import gnu.trove.map.TObjectDoubleMap;
+import gnu.trove.map.TObjectLongMap;
 import org.terasology.engine.monitoring.Activity;
 
 /**
@@ -16,9 +17,15 @@ public interface PerformanceMonitorInternal {
 
     void endActivity();
 
+    void recordActivity(String activity, long timeMs);
+
     TObjectDoubleMap<String> getRunningMean();
 
     TObjectDoubleMap<String> getDecayingSpikes();
 
     TObjectDoubleMap<String> getAllocationMean();
+
+    void incrementCounter(String counter, long amount);
+
+    TObjectLongMap<String> getCounters();
 }
@@ -24,4 +24,13 @@
      * @return Whether the field should only be replicated when the entity initially becomes relevant to a client
      */
     boolean initialOnly() default false;
+
+    /**
+     * Allows sending the floats of the field, e.g. the components of a vector, rounded to a multiple of the given step
+     * as integers, which are smaller on the wire and don't change with the tiniest movements. Only supported for fields
+     * serialized as floats.
+     *
+     * @return The step the floats of the field are rounded to when sent over the network, or 0 to send them exactly
+     */
+    float quantization() default 0;
 }
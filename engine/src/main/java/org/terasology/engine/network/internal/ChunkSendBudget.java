@@ -0,0 +1,34 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.network.internal;
+
+/**
+ * The bytes of chunk data that may be sent to a client, refilled every network tick from the client's share of the
+ * bandwidth.
+ * <br><br>
+ * A chunk may be sent as long as the budget is positive, even if it is bigger than what is left. The overspend is
+ * carried over as debt, which the following ticks pay off before the next chunk goes out. So chunks bigger than the
+ * budget of one tick are sent less often than once per tick. Unused budget does not pile up beyond one tick.
+ */
+class ChunkSendBudget {
+    private float bytes;
+
+    /**
+     * Adds the budget of a new tick.
+     *
+     * @param tickBudget the bytes the client may be sent per tick
+     * @param chunksWaiting whether there are chunks to send. Without any, the budget only pays off debt.
+     */
+    void refill(float tickBudget, boolean chunksWaiting) {
+        bytes = Math.min(bytes + tickBudget, chunksWaiting ? tickBudget : 0);
+    }
+
+    boolean canSend() {
+        return bytes > 0;
+    }
+
+    void spend(int size) {
+        bytes -= size;
+    }
+}
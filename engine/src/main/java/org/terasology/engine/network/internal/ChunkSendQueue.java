@@ -0,0 +1,102 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.network.internal;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.engine.world.chunks.Chunk;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The chunks waiting to be sent to a client, ordered by their distance to the client's character.
+ * <br><br>
+ * Chunks are kept in buckets of whole chunk distances to the center, so finding the nearest chunk doesn't need to
+ * look at all of them. Chunks in the same bucket are sent in the order they became ready. The buckets only get
+ * rebuilt when the center moves to another chunk.
+ */
+class ChunkSendQueue {
+    private final Map<Vector3i, Chunk> chunks = Maps.newHashMap();
+    private final List<Set<Vector3i>> buckets = Lists.newArrayList();
+    private final Vector3i center = new Vector3i();
+    /**
+     * All buckets before this one are empty.
+     */
+    private int firstBucket;
+
+    void put(Vector3ic chunkPos, Chunk chunk) {
+        Vector3i key = new Vector3i(chunkPos);
+        if (chunks.put(key, chunk) == null) {
+            addToBucket(key);
+        }
+    }
+
+    /**
+     * @return the chunk that was waiting at the given position, or null if there was none
+     */
+    Chunk remove(Vector3ic chunkPos) {
+        Chunk chunk = chunks.remove(chunkPos);
+        if (chunk != null) {
+            buckets.get(getBucket(chunkPos)).remove(chunkPos);
+        }
+        return chunk;
+    }
+
+    /**
+     * @return the position of the chunk nearest to the center, or null if no chunk is waiting
+     */
+    Vector3ic peekNearest() {
+        if (chunks.isEmpty()) {
+            return null;
+        }
+        while (buckets.get(firstBucket).isEmpty()) {
+            firstBucket++;
+        }
+        return buckets.get(firstBucket).iterator().next();
+    }
+
+    /**
+     * Moves the position the distances of the chunks are measured from, usually the chunk containing the client's
+     * character.
+     */
+    void setCenter(Vector3ic newCenter) {
+        if (center.equals(newCenter)) {
+            return;
+        }
+        center.set(newCenter);
+        for (Set<Vector3i> bucket : buckets) {
+            bucket.clear();
+        }
+        firstBucket = 0;
+        for (Vector3i chunkPos : chunks.keySet()) {
+            addToBucket(chunkPos);
+        }
+    }
+
+    boolean isEmpty() {
+        return chunks.isEmpty();
+    }
+
+    int size() {
+        return chunks.size();
+    }
+
+    private void addToBucket(Vector3i chunkPos) {
+        int bucket = getBucket(chunkPos);
+        while (buckets.size() <= bucket) {
+            buckets.add(Sets.newLinkedHashSet());
+        }
+        buckets.get(bucket).add(chunkPos);
+        firstBucket = Math.min(firstBucket, bucket);
+    }
+
+    private int getBucket(Vector3ic chunkPos) {
+        return (int) Math.sqrt(center.distanceSquared(chunkPos));
+    }
+}
@@ -0,0 +1,128 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.network.internal;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.engine.world.WorldChangeListener;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.chunks.Chunk;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.protobuf.EntityData;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the encoded form of chunks recently sent to clients, so a chunk sent to several clients only gets encoded
+ * once.
+ * <br><br>
+ * The cached messages are immutable and shared by all {@link NetClient}s. An entry is dropped as soon as a block or
+ * the extra data of its chunk changes, or when the chunk at its position got replaced by another chunk instance,
+ * e.g. after being unloaded and loaded again. The least recently used entries are evicted once the cache is full.
+ */
+class EncodedChunkCache implements WorldChangeListener {
+    /**
+     * The default number of encoded chunks to keep, enough for several clients spawning at the same place.
+     */
+    static final int DEFAULT_CAPACITY = 512;
+
+    private final Map<Vector3i, Entry> entries;
+    /**
+     * Counts the invalidations, so chunks that changed while being encoded don't get cached.
+     */
+    private long modifications;
+    private int hits;
+    private int misses;
+
+    EncodedChunkCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    EncodedChunkCache(int capacity) {
+        this.entries = new LinkedHashMap<Vector3i, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Vector3i, Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * @return the encoded form of the given chunk, encoding it only if there is no up-to-date cached version
+     */
+    EntityData.ChunkStore getEncoded(Vector3ic chunkPos, Chunk chunk) {
+        long modificationsBefore;
+        synchronized (entries) {
+            Entry entry = entries.get(chunkPos);
+            if (entry != null && entry.chunk == chunk) {
+                hits++;
+                return entry.encoded;
+            }
+            misses++;
+            modificationsBefore = modifications;
+        }
+        EntityData.ChunkStore encoded = chunk.encode().build();
+        synchronized (entries) {
+            if (modifications == modificationsBefore) {
+                entries.put(new Vector3i(chunkPos), new Entry(chunk, encoded));
+            }
+        }
+        return encoded;
+    }
+
+    /**
+     * Drops the cached version of the chunk at the given position.
+     */
+    void invalidate(Vector3ic chunkPos) {
+        synchronized (entries) {
+            modifications++;
+            entries.remove(chunkPos);
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    int getHits() {
+        synchronized (entries) {
+            return hits;
+        }
+    }
+
+    int getMisses() {
+        synchronized (entries) {
+            return misses;
+        }
+    }
+
+    void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    @Override
+    public void onBlockChanged(Vector3ic pos, Block newBlock, Block originalBlock) {
+        invalidate(Chunks.toChunkPos(pos, new Vector3i()));
+    }
+
+    @Override
+    public void onExtraDataChanged(int i, Vector3ic pos, int newData, int oldData) {
+        invalidate(Chunks.toChunkPos(pos, new Vector3i()));
+    }
+
+    private static final class Entry {
+        private final Chunk chunk;
+        private final EntityData.ChunkStore encoded;
+
+        private Entry(Chunk chunk, EntityData.ChunkStore encoded) {
+            this.chunk = chunk;
+            this.encoded = encoded;
+        }
+    }
+}
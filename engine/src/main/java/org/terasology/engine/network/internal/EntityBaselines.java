@@ -0,0 +1,101 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.network.internal;
+
+import com.google.common.primitives.UnsignedBytes;
+import com.google.protobuf.ByteString;
+import gnu.trove.map.TByteObjectMap;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TByteObjectHashMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import org.terasology.protobuf.EntityData;
+
+/**
+ * Remembers the field values of the net entities a client got, so entity updates only need to contain the fields
+ * that changed since.
+ * <br><br>
+ * Messages to a client are delivered reliably and in order, so the values sent last are the ones the client has
+ * once it processes the update. Fields without a known value, e.g. those of components the initial entity message
+ * left out because they matched the prefab, are always sent.
+ */
+class EntityBaselines {
+    /**
+     * The last sent value of each field, by net id, component id and field id.
+     */
+    private final TIntObjectMap<TIntObjectMap<TByteObjectMap<EntityData.Value>>> baselines = new TIntObjectHashMap<>();
+
+    /**
+     * Replaces the known values of an entity by those of the message creating it on the client.
+     */
+    void setInitial(int netId, EntityData.PackedEntity entityData) {
+        baselines.remove(netId);
+        update(netId, entityData, false);
+    }
+
+    /**
+     * Records the values of an entity update and drops the fields whose values the client already has.
+     *
+     * @param removeUnchanged whether to drop unchanged fields, or only record the values
+     * @return the update to send, or null if nothing is left to send
+     */
+    EntityData.PackedEntity update(int netId, EntityData.PackedEntity entityData, boolean removeUnchanged) {
+        TIntObjectMap<TByteObjectMap<EntityData.Value>> entityBaseline = baselines.get(netId);
+        if (entityBaseline == null) {
+            entityBaseline = new TIntObjectHashMap<>();
+            baselines.put(netId, entityBaseline);
+        }
+        EntityData.PackedEntity.Builder result = removeUnchanged ? EntityData.PackedEntity.newBuilder() : null;
+        ByteString.Output fieldIds = removeUnchanged ? ByteString.newOutput() : null;
+        ByteString.Output componentFieldCounts = removeUnchanged ? ByteString.newOutput() : null;
+
+        int fieldPos = 0;
+        for (int componentIndex = 0; componentIndex < entityData.getComponentIdCount(); componentIndex++) {
+            int componentId = entityData.getComponentId(componentIndex);
+            int fieldCount = UnsignedBytes.toInt(entityData.getComponentFieldCounts().byteAt(componentIndex));
+            TByteObjectMap<EntityData.Value> componentBaseline = entityBaseline.get(componentId);
+            // components the client may not have yet are always sent, even without any fields
+            boolean knownComponent = componentBaseline != null;
+            if (componentBaseline == null) {
+                componentBaseline = new TByteObjectHashMap<>();
+                entityBaseline.put(componentId, componentBaseline);
+            }
+            int changedFieldCount = 0;
+            for (int i = 0; i < fieldCount; i++, fieldPos++) {
+                byte fieldId = entityData.getFieldIds().byteAt(fieldPos);
+                EntityData.Value value = entityData.getFieldValue(fieldPos);
+                EntityData.Value previous = componentBaseline.put(fieldId, value);
+                if (removeUnchanged && !value.equals(previous)) {
+                    fieldIds.write(fieldId);
+                    result.addFieldValue(value);
+                    changedFieldCount++;
+                }
+            }
+            if (removeUnchanged && (changedFieldCount > 0 || !knownComponent)) {
+                result.addComponentId(componentId);
+                componentFieldCounts.write(changedFieldCount);
+            }
+        }
+        for (int componentId : entityData.getRemovedComponentList()) {
+            entityBaseline.remove(componentId);
+        }
+
+        if (!removeUnchanged) {
+            return entityData;
+        }
+        result.setFieldIds(fieldIds.toByteString());
+        result.setComponentFieldCounts(componentFieldCounts.toByteString());
+        result.addAllRemovedComponent(entityData.getRemovedComponentList());
+        if (result.getComponentIdCount() == 0 && result.getRemovedComponentCount() == 0) {
+            return null;
+        }
+        return result.build();
+    }
+
+    /**
+     * Forgets the values of an entity that is no longer replicated to the client.
+     */
+    void remove(int netId) {
+        baselines.remove(netId);
+    }
+}
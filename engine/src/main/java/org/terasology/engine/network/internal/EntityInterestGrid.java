@@ -0,0 +1,112 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.network.internal;
+
+import gnu.trove.map.TIntLongMap;
+import gnu.trove.map.hash.TIntLongHashMap;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.logic.location.LocationComponent;
+
+/**
+ * Sorts the located net entities into a uniform grid of cells, to decide how often a client gets their updates.
+ * <br><br>
+ * Updates of entities within {@link #FULL_RATE_RADIUS} cells of a client's character are sent every network tick,
+ * updates of entities within the interest radius of the client every {@link #NEAR_INTERVAL} ticks and updates of all
+ * other entities every {@link #FAR_INTERVAL} ticks. Entities that are not in the grid, e.g. because their location
+ * is relative to a parent entity, are always updated at full rate.
+ */
+class EntityInterestGrid {
+    /**
+     * The edge length of a cell in blocks.
+     */
+    static final int CELL_SIZE = 16;
+    /**
+     * The distance in cells up to which entities are updated every network tick.
+     */
+    static final int FULL_RATE_RADIUS = 2;
+    static final int NEAR_INTERVAL = 4;
+    static final int FAR_INTERVAL = 20;
+
+    private static final long NO_CELL = Long.MIN_VALUE;
+    private static final int COORDINATE_BITS = 21;
+    private static final long COORDINATE_MASK = (1L << COORDINATE_BITS) - 1;
+
+    private final TIntLongMap cells = new TIntLongHashMap(16, 0.5f, 0, NO_CELL);
+
+    /**
+     * Moves an entity to the cell of its current location, or removes it from the grid if it has no own location.
+     */
+    void update(int netId, EntityRef entity) {
+        LocationComponent location = entity.getComponent(LocationComponent.class);
+        if (location == null || location.getParent().exists()) {
+            cells.remove(netId);
+            return;
+        }
+        long cell = getCell(location.getWorldPosition(new Vector3f()));
+        if (cell == NO_CELL) {
+            cells.remove(netId);
+        } else {
+            cells.put(netId, cell);
+        }
+    }
+
+    void remove(int netId) {
+        cells.remove(netId);
+    }
+
+    void clear() {
+        cells.clear();
+    }
+
+    /**
+     * @return the cell of the given entity, or {@link Long#MIN_VALUE} if it is not in the grid
+     */
+    long getCell(int netId) {
+        return cells.get(netId);
+    }
+
+    /**
+     * @return the cell containing the given position, or {@link Long#MIN_VALUE} if the position is not finite
+     */
+    static long getCell(Vector3fc worldPosition) {
+        if (!worldPosition.isFinite()) {
+            return NO_CELL;
+        }
+        long x = Math.floorDiv((int) Math.floor(worldPosition.x()), CELL_SIZE) & COORDINATE_MASK;
+        long y = Math.floorDiv((int) Math.floor(worldPosition.y()), CELL_SIZE) & COORDINATE_MASK;
+        long z = Math.floorDiv((int) Math.floor(worldPosition.z()), CELL_SIZE) & COORDINATE_MASK;
+        return (x << (2 * COORDINATE_BITS)) | (y << COORDINATE_BITS) | z;
+    }
+
+    /**
+     * @param viewerCell the cell of the client's character, or {@link Long#MIN_VALUE} if it is unknown
+     * @param interestRadius the distance in cells within which the client is interested in frequent updates
+     * @return every how many network ticks the given client should get updates of the entity
+     */
+    int getUpdateInterval(int netId, long viewerCell, int interestRadius) {
+        long cell = cells.get(netId);
+        if (cell == NO_CELL || viewerCell == NO_CELL) {
+            return 1;
+        }
+        int distance = Math.max(getDistance(cell, viewerCell, 2 * COORDINATE_BITS),
+                Math.max(getDistance(cell, viewerCell, COORDINATE_BITS), getDistance(cell, viewerCell, 0)));
+        if (distance <= FULL_RATE_RADIUS) {
+            return 1;
+        } else if (distance <= interestRadius) {
+            return NEAR_INTERVAL;
+        }
+        return FAR_INTERVAL;
+    }
+
+    private static int getDistance(long cell, long otherCell, int shift) {
+        return Math.abs(unpack(cell >>> shift) - unpack(otherCell >>> shift));
+    }
+
+    private static int unpack(long coordinate) {
+        // sign extend the coordinate
+        return (int) ((coordinate & COORDINATE_MASK) << (64 - COORDINATE_BITS) >> (64 - COORDINATE_BITS));
+    }
+}
@@ -0,0 +1,100 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.network.internal;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.network.serialization.ServerComponentFieldCheck;
+import org.terasology.engine.persistence.serializers.NetworkEntitySerializer;
+import org.terasology.gestalt.entitysystem.component.Component;
+import org.terasology.protobuf.EntityData;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Shares the serialized updates of dirty entities between the clients during a network tick.
+ * <br><br>
+ * The update a client receives for an entity only depends on whether the client owns the entity and on the components
+ * added, changed and removed since the last update. These are the same for nearly all clients, so each entity usually
+ * gets serialized at most twice per tick: once for its owner and once for everyone else. Cached updates of an entity
+ * are dropped when one of its components changes during the tick, e.g. while processing the messages of a client.
+ */
+class EntityUpdateCache {
+    private static final ServerComponentFieldCheck OWNER_FIELD_CHECK = new ServerComponentFieldCheck(true, false);
+    private static final ServerComponentFieldCheck OBSERVER_FIELD_CHECK = new ServerComponentFieldCheck(false, false);
+
+    private final TIntObjectMap<List<Update>> updates = new TIntObjectHashMap<>();
+    private int serializations;
+
+    /**
+     * @return the update of the given entity, or null if none of the changes are visible to the client
+     */
+    EntityData.PackedEntity getUpdate(NetworkEntitySerializer entitySerializer, int netId, EntityRef entity,
+                                      boolean owned, Set<Class<? extends Component>> added,
+                                      Set<Class<? extends Component>> changed,
+                                      Set<Class<? extends Component>> removed) {
+        List<Update> entityUpdates = updates.get(netId);
+        if (entityUpdates == null) {
+            entityUpdates = Lists.newArrayListWithCapacity(2);
+            updates.put(netId, entityUpdates);
+        }
+        for (Update update : entityUpdates) {
+            if (update.matches(owned, added, changed, removed)) {
+                return update.entityData;
+            }
+        }
+        serializations++;
+        EntityData.PackedEntity entityData = entitySerializer.serialize(entity, added, changed, removed,
+                owned ? OWNER_FIELD_CHECK : OBSERVER_FIELD_CHECK);
+        entityUpdates.add(new Update(owned, ImmutableSet.copyOf(added), ImmutableSet.copyOf(changed),
+                ImmutableSet.copyOf(removed), entityData));
+        return entityData;
+    }
+
+    /**
+     * Drops the cached updates of an entity, so the next client gets its current state.
+     */
+    void invalidate(int netId) {
+        updates.remove(netId);
+    }
+
+    /**
+     * @return the number of times an entity has been serialized since this cache got created
+     */
+    int getSerializations() {
+        return serializations;
+    }
+
+    void clear() {
+        updates.clear();
+    }
+
+    private static final class Update {
+        private final boolean owned;
+        private final Set<Class<? extends Component>> added;
+        private final Set<Class<? extends Component>> changed;
+        private final Set<Class<? extends Component>> removed;
+        private final EntityData.PackedEntity entityData;
+
+        private Update(boolean owned, Set<Class<? extends Component>> added, Set<Class<? extends Component>> changed,
+                       Set<Class<? extends Component>> removed, EntityData.PackedEntity entityData) {
+            this.owned = owned;
+            this.added = added;
+            this.changed = changed;
+            this.removed = removed;
+            this.entityData = entityData;
+        }
+
+        private boolean matches(boolean otherOwned, Set<Class<? extends Component>> otherAdded,
+                                Set<Class<? extends Component>> otherChanged,
+                                Set<Class<? extends Component>> otherRemoved) {
+            return owned == otherOwned && added.equals(otherAdded) && changed.equals(otherChanged)
+                    && removed.equals(otherRemoved);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.network.internal;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admits new connections to the handshake through a {@link HandshakeLimiter}, and closes those that don't finish it
+ * in time. Sits at the front of the server pipeline until the client is authenticated.
+ */
+public class HandshakeAdmissionHandler extends ChannelInboundHandlerAdapter {
+    private static final Logger logger = LoggerFactory.getLogger(HandshakeAdmissionHandler.class);
+    private static final long HANDSHAKE_TIMEOUT_SECONDS = 30;
+
+    private final HandshakeLimiter limiter;
+    private boolean admitted;
+    private ScheduledFuture<?> timeout;
+
+    public HandshakeAdmissionHandler(HandshakeLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) throws Exception {
+        if (!limiter.tryAcquire()) {
+            logger.debug("Too many concurrent handshakes, rejecting connection from {}", ctx.channel().remoteAddress());
+            ctx.channel().close();
+            return;
+        }
+        admitted = true;
+        timeout = ctx.executor().schedule(() -> {
+            logger.warn("Handshake with {} timed out, ending connection attempt", ctx.channel().remoteAddress());
+            ctx.channel().close();
+        }, HANDSHAKE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        super.channelActive(ctx);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        release();
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        release();
+        super.handlerRemoved(ctx);
+    }
+
+    private void release() {
+        if (admitted) {
+            admitted = false;
+            timeout.cancel(false);
+            limiter.release();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.network.internal;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.netty.channel.ChannelHandlerContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Bounds the number of connections the server authenticates at the same time, and runs the expensive parts of their
+ * handshakes.
+ * <br><br>
+ * Certificate verification and server info requests can run on a separate pool of threads, so a burst of joining or
+ * pinging clients doesn't hold up the network threads serving the connected players. Connections beyond the limit
+ * are closed right away, before any work is done for them.
+ */
+public class HandshakeLimiter {
+    private static final Logger logger = LoggerFactory.getLogger(HandshakeLimiter.class);
+
+    private final Semaphore handshakes;
+    private final ExecutorService executor;
+
+    /**
+     * @param maxConcurrentHandshakes the number of connections that may be in their handshake at the same time
+     * @param threads the number of threads for handshake work, or 0 to do it on the network threads
+     */
+    public HandshakeLimiter(int maxConcurrentHandshakes, int threads) {
+        this.handshakes = new Semaphore(Math.max(1, maxConcurrentHandshakes));
+        if (threads > 0) {
+            this.executor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+                    .setNameFormat("Handshake-%d")
+                    .setDaemon(true)
+                    .build());
+        } else {
+            this.executor = null;
+        }
+    }
+
+    /**
+     * @return whether a new connection may start its handshake, in which case {@link #release()} has to be called
+     *         once it is done
+     */
+    public boolean tryAcquire() {
+        return handshakes.tryAcquire();
+    }
+
+    public void release() {
+        handshakes.release();
+    }
+
+    /**
+     * @return the number of further connections that may start their handshake right now
+     */
+    public int getAvailableHandshakes() {
+        return handshakes.availablePermits();
+    }
+
+    /**
+     * Runs handshake work of a connection, on the handshake threads if there are any. The connection is closed if
+     * the work fails.
+     */
+    public void execute(ChannelHandlerContext ctx, Runnable task) {
+        if (executor == null) {
+            task.run();
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    logger.error("Error during handshake, ending connection attempt", e);
+                    ctx.channel().close();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            ctx.channel().close();
+        }
+    }
+
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.network.internal;
+
+import com.google.common.collect.ImmutableBiMap;
+import org.terasology.engine.entitySystem.event.Event;
+import org.terasology.engine.entitySystem.metadata.EventLibrary;
+import org.terasology.engine.entitySystem.metadata.EventMetadata;
+import org.terasology.engine.entitySystem.metadata.ReplicatedFieldMetadata;
+import org.terasology.engine.persistence.serializers.EventSerializer;
+import org.terasology.persistence.typeHandling.TypeHandlerLibrary;
+import org.terasology.protobuf.EntityData;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deserializes the events sent by clients on the network threads, as soon as their messages arrive, so the game
+ * thread only has to send them.
+ * <br><br>
+ * Only events consisting of plain values, like the movement input of a character, are decoded here. Events referring
+ * to entities need the entity system to be resolved and are still deserialized on the game thread. The decoder uses
+ * its own copy of the type handlers, as those cache serializers without synchronization.
+ */
+class IncomingEventDecoder {
+    private final EventLibrary eventLibrary;
+    private final EventSerializer eventSerializer;
+    private final Map<Integer, Class<? extends Event>> eventClasses;
+    private final Map<Class<? extends Event>, Boolean> decodableEvents = new ConcurrentHashMap<>();
+
+    IncomingEventDecoder(EventLibrary eventLibrary, TypeHandlerLibrary typeHandlerLibrary,
+                         Map<Class<? extends Event>, Integer> eventIdMapping) {
+        this.eventLibrary = eventLibrary;
+        this.eventSerializer = new EventSerializer(eventLibrary, typeHandlerLibrary);
+        eventSerializer.setIdMapping(eventIdMapping);
+        this.eventClasses = ImmutableBiMap.copyOf(eventIdMapping).inverse();
+    }
+
+    /**
+     * @return the deserialized event, or null if it has to be deserialized on the game thread
+     */
+    Event decode(EntityData.Event eventData) {
+        // unknown events are left to the game thread, which reports them
+        Class<? extends Event> eventClass = eventData.hasType() ? eventClasses.get(eventData.getType()) : null;
+        if (eventClass == null || !decodableEvents.computeIfAbsent(eventClass, this::isDecodable)) {
+            return null;
+        }
+        synchronized (eventSerializer) {
+            try {
+                return eventSerializer.deserialize(eventData);
+            } catch (RuntimeException e) {
+                // reported when deserializing it again on the game thread
+                return null;
+            }
+        }
+    }
+
+    private boolean isDecodable(Class<? extends Event> eventClass) {
+        EventMetadata<? extends Event> metadata = eventLibrary.getMetadata(eventClass);
+        if (metadata == null || !metadata.isConstructable()) {
+            return false;
+        }
+        for (ReplicatedFieldMetadata<?, ?> field : metadata.getFields()) {
+            if (field.isReplicated() && !isPlainValue(field.getField().getType())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPlainValue(Class<?> type) {
+        return type.isPrimitive() || type.isEnum() || type == String.class || type == Boolean.class
+                || type == Character.class || Number.class.isAssignableFrom(type) && type.getName().startsWith("java.")
+                || type.getName().startsWith("org.joml.");
+    }
+}
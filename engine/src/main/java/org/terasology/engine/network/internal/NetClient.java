@@ -6,7 +6,6 @@
 import com.google.common.base.Objects;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import com.google.common.collect.Queues;
 import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Sets;
@@ -58,7 +57,6 @@
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -70,6 +68,7 @@
 public class NetClient extends AbstractClient implements WorldChangeListener {
     private static final Logger logger = LoggerFactory.getLogger(NetClient.class);
     private static final float NET_TICK_RATE = 0.05f;
+    private static final float BYTES_PER_KILOBIT = 1000 / 8f;
 
     private Time time;
     private NetworkSystemImpl networkSystem;
@@ -90,13 +89,16 @@ public class NetClient extends AbstractClient implements WorldChangeListener {
     private SetMultimap<Integer, Class<? extends Component>> dirtyComponents = LinkedHashMultimap.create();
     private SetMultimap<Integer, Class<? extends Component>> addedComponents = LinkedHashMultimap.create();
     private SetMultimap<Integer, Class<? extends Component>> removedComponents = LinkedHashMultimap.create();
+    private EntityBaselines entityBaselines = new EntityBaselines();
 
     private String preferredName = "Player";
     private long lastReceivedTime;
     private ViewDistance viewDistance = ViewDistance.NEAR;
-    private float chunkSendCounter = 1.0f;
-
-    private float chunkSendRate = 0.05469f;
+    /**
+     * The bytes of chunk data that may still be sent to this client, or the debt of the last chunks sent.
+     */
+    private final ChunkSendBudget chunkSendBudget = new ChunkSendBudget();
+    private int netTickCount;
 
     private PublicIdentityCertificate identity;
 
@@ -106,12 +108,12 @@ public class NetClient extends AbstractClient implements WorldChangeListener {
     private List<NetData.EventMessage> queuedOutgoingEvents = Lists.newArrayList();
     private final List<BlockFamily> newlyRegisteredFamilies = Lists.newArrayList();
 
-    private Map<Vector3i, Chunk> readyChunks = Maps.newLinkedHashMap();
+    private ChunkSendQueue readyChunks = new ChunkSendQueue();
     private Set<Vector3i> invalidatedChunks = Sets.newLinkedHashSet();
 
 
     // Incoming messages
-    private BlockingQueue<NetData.NetMessage> queuedIncomingMessage = Queues.newLinkedBlockingQueue();
+    private BlockingQueue<ReceivedMessage> queuedIncomingMessage = Queues.newLinkedBlockingQueue();
 
     // Metrics
     private AtomicInteger receivedMessages = new AtomicInteger();
@@ -234,34 +236,29 @@ private void sendRegisteredBlocks(NetData.NetMessage.Builder message) {
     }
 
     private void sendNewChunks(NetData.NetMessage.Builder message) {
-        if (!readyChunks.isEmpty()) {
-            chunkSendCounter += chunkSendRate * NET_TICK_RATE * networkSystem.getBandwidthPerClient();
-            if (chunkSendCounter > 1.0f) {
-                chunkSendCounter -= 1.0f;
-                Vector3i center = new Vector3i();
-                LocationComponent loc = getEntity().getComponent(ClientComponent.class).character.getComponent(LocationComponent.class);
-                if (loc != null) {
-                    Vector3f target = loc.getWorldPosition(new Vector3f());
-                    if (target.isFinite()) {
-                        center.set(target, RoundingMode.HALF_UP); // use center as temporary variable
-                        Chunks.toChunkPos(center, center); // update center to chunkPos
-                    }
-                }
-                Vector3i pos = null;
-                long distance = Integer.MAX_VALUE;
-                for (Vector3i chunkPos : readyChunks.keySet()) {
-                    long chunkDistance = chunkPos.distanceSquared(center);
-                    if (pos == null || chunkDistance < distance) {
-                        pos = chunkPos;
-                        distance = chunkDistance;
-                    }
+        float tickBudget = NET_TICK_RATE * networkSystem.getBandwidthPerClient() * BYTES_PER_KILOBIT;
+        chunkSendBudget.refill(tickBudget, !readyChunks.isEmpty());
+        if (!readyChunks.isEmpty() && chunkSendBudget.canSend()) {
+            LocationComponent loc = getEntity().getComponent(ClientComponent.class).character.getComponent(LocationComponent.class);
+            if (loc != null) {
+                Vector3f target = loc.getWorldPosition(new Vector3f());
+                if (target.isFinite()) {
+                    Vector3i center = new Vector3i(target, RoundingMode.HALF_UP);
+                    readyChunks.setCenter(Chunks.toChunkPos(center, center));
                 }
+            }
+            EncodedChunkCache encodedChunkCache = networkSystem.getEncodedChunkCache();
+            // a chunk bigger than the remaining budget still gets sent, the following ticks pay off the overspend
+            while (chunkSendBudget.canSend() && !readyChunks.isEmpty()) {
+                Vector3i pos = new Vector3i(readyChunks.peekNearest());
                 Chunk chunk = readyChunks.remove(pos);
                 relevantChunks.add(pos);
-                message.addChunkInfo(chunk.encode());
+                EntityData.ChunkStore chunkStore = encodedChunkCache != null
+                        ? encodedChunkCache.getEncoded(pos, chunk)
+                        : chunk.encode().build();
+                message.addChunkInfo(chunkStore);
+                chunkSendBudget.spend(chunkStore.getSerializedSize());
             }
-        } else {
-            chunkSendCounter = 1.0f;
         }
     }
 
@@ -289,6 +286,7 @@ public void setNetRemoved(int netId) {
         removedComponents.keySet().remove(netId);
         netDirty.remove(netId);
         netRelevant.remove(netId);
+        entityBaselines.remove(netId);
     }
 
     public void setComponentAdded(int networkId, Class<? extends Component> component) {
@@ -411,14 +409,15 @@ public void onExtraDataChanged(int i, Vector3ic pos, int newData, int oldData) {
 
 
     private void processReceivedMessages() {
-        List<NetData.NetMessage> messages = Lists.newArrayListWithExpectedSize(queuedIncomingMessage.size());
+        List<ReceivedMessage> messages = Lists.newArrayListWithExpectedSize(queuedIncomingMessage.size());
         queuedIncomingMessage.drainTo(messages);
-        for (NetData.NetMessage message : messages) {
+        for (ReceivedMessage receivedMessage : messages) {
+            NetData.NetMessage message = receivedMessage.message;
             if (message.hasTime() && message.getTime() > lastReceivedTime) {
                 lastReceivedTime = message.getTime();
             }
             processEntityUpdates(message);
-            processEvents(message);
+            processEvents(message, receivedMessage.decodedEvents);
 
         }
     }
@@ -448,6 +447,10 @@ private void processEntityUpdates(NetData.NetMessage message) {
     }
 
     private void sendDirtyEntities(NetData.NetMessage.Builder message) {
+        netTickCount++;
+        EntityInterestGrid interestGrid = networkSystem.getEntityInterestGrid();
+        long viewerCell = getCharacterCell();
+        int interestRadius = getInterestRadius();
         TIntIterator dirtyIterator = netDirty.iterator();
         while (dirtyIterator.hasNext()) {
             int netId = dirtyIterator.next();
@@ -456,17 +459,52 @@ private void sendDirtyEntities(NetData.NetMessage.Builder message) {
                 logger.error("Sending non-existent entity update for netId {}", netId);
             }
             boolean isOwner = networkSystem.getOwner(entity) == this;
-            EntityData.PackedEntity entityData = entitySerializer.serialize(entity, addedComponents.get(netId),
-                    dirtyComponents.get(netId), removedComponents.get(netId),
-                    new ServerComponentFieldCheck(isOwner, false));
+            if (!isOwner) {
+                // spread the updates of distant entities over the ticks instead of sending them all at once
+                int updateInterval = interestGrid.getUpdateInterval(netId, viewerCell, interestRadius);
+                if ((netTickCount + netId) % updateInterval != 0) {
+                    continue;
+                }
+            }
+            EntityData.PackedEntity entityData = networkSystem.getEntityUpdateCache().getUpdate(entitySerializer,
+                    netId, entity, isOwner, addedComponents.get(netId), dirtyComponents.get(netId),
+                    removedComponents.get(netId));
+            if (entityData != null) {
+                // the owner gets all dirty fields, as it may have changed them locally, e.g. through prediction
+                entityData = entityBaselines.update(netId, entityData, !isOwner);
+            }
             if (entityData != null) {
                 message.addUpdateEntity(NetData.UpdateEntityMessage.newBuilder().setEntity(entityData).setNetId(netId));
             }
+            dirtyIterator.remove();
+            addedComponents.removeAll(netId);
+            removedComponents.removeAll(netId);
+            dirtyComponents.removeAll(netId);
+        }
+    }
+
+    /**
+     * @return the cell of the {@link EntityInterestGrid} containing the character of this client, or
+     *         {@link Long#MIN_VALUE} if the character has no location
+     */
+    private long getCharacterCell() {
+        ClientComponent clientComponent = getEntity().getComponent(ClientComponent.class);
+        if (clientComponent != null) {
+            LocationComponent loc = clientComponent.character.getComponent(LocationComponent.class);
+            if (loc != null) {
+                return EntityInterestGrid.getCell(loc.getWorldPosition(new Vector3f()));
+            }
         }
-        netDirty.clear();
-        addedComponents.clear();
-        removedComponents.clear();
-        dirtyComponents.clear();
+        return Long.MIN_VALUE;
+    }
+
+    /**
+     * @return the distance in cells of the {@link EntityInterestGrid} within which this client gets frequent entity
+     *         updates, half of its horizontal view distance
+     */
+    int getInterestRadius() {
+        int viewRadius = viewDistance.getChunkDistance().x() / 2 * Chunks.SIZE_X / EntityInterestGrid.CELL_SIZE;
+        return Math.max(EntityInterestGrid.FULL_RATE_RADIUS, viewRadius);
     }
 
     private void sendRemovedEntities(NetData.NetMessage.Builder message) {
@@ -492,6 +530,7 @@ private void sendInitialEntities(NetData.NetMessage.Builder message) {
             Client owner = networkSystem.getOwner(entity);
             EntityData.PackedEntity entityData = entitySerializer.serialize(entity, true,
                     new ServerComponentFieldCheck(owner == this, true)).build();
+            entityBaselines.setInitial(netId, entityData);
             NetData.CreateEntityMessage.Builder createMessage = NetData.CreateEntityMessage.newBuilder().setEntity(entityData);
             BlockComponent blockComponent = entity.getComponent(BlockComponent.class);
             if (blockComponent != null) {
@@ -502,12 +541,16 @@ private void sendInitialEntities(NetData.NetMessage.Builder message) {
 
     }
 
-    private void processEvents(NetData.NetMessage message) {
+    private void processEvents(NetData.NetMessage message, Event[] decodedEvents) {
         boolean lagCompensated = false;
         PredictionSystem predictionSystem = CoreRegistry.get(PredictionSystem.class);
-        for (NetData.EventMessage eventMessage : message.getEventList()) {
+        for (int i = 0; i < message.getEventCount(); i++) {
+            NetData.EventMessage eventMessage = message.getEvent(i);
             try {
-                Event event = eventSerializer.deserialize(eventMessage.getEvent());
+                Event event = decodedEvents[i];
+                if (event == null) {
+                    event = eventSerializer.deserialize(eventMessage.getEvent());
+                }
                 EventMetadata<?> metadata = eventLibrary.getMetadata(event.getClass());
                 if (metadata.getNetworkEventType() != NetworkEventType.SERVER) {
                     logger.warn("Received non-server event '{}' from client '{}'", metadata, getName());
@@ -541,11 +584,22 @@ private void processEvents(NetData.NetMessage message) {
         }
     }
 
+    /**
+     * Called on a network thread for every message of the client. Decodes what can be decoded without the entity
+     * system right away and queues the message to be processed during the next {@link #update(boolean)}.
+     */
     public void messageReceived(NetData.NetMessage message) {
         int serializedSize = message.getSerializedSize();
         receivedBytes.addAndGet(serializedSize);
         receivedMessages.incrementAndGet();
-        queuedIncomingMessage.offer(message);
+        Event[] decodedEvents = new Event[message.getEventCount()];
+        IncomingEventDecoder eventDecoder = networkSystem.getIncomingEventDecoder();
+        if (eventDecoder != null) {
+            for (int i = 0; i < decodedEvents.length; i++) {
+                decodedEvents[i] = eventDecoder.decode(message.getEvent(i).getEvent());
+            }
+        }
+        queuedIncomingMessage.offer(new ReceivedMessage(message, decodedEvents));
     }
 
     public NetMetricSource getMetrics() {
@@ -564,4 +618,20 @@ public void blockFamilyRegistered(BlockFamily family) {
     }
 
 
+
+    /**
+     * A message of the client, together with its events deserialized on the network thread.
+     */
+    private static final class ReceivedMessage {
+        private final NetData.NetMessage message;
+        /**
+         * The events of the message in order, null for those that still need to be deserialized.
+         */
+        private final Event[] decodedEvents;
+
+        private ReceivedMessage(NetData.NetMessage message, Event[] decodedEvents) {
+            this.message = message;
+            this.decodedEvents = decodedEvents;
+        }
+    }
 }
@@ -45,6 +45,7 @@
 import org.terasology.engine.entitySystem.metadata.ComponentMetadata;
 import org.terasology.engine.entitySystem.metadata.EventLibrary;
 import org.terasology.engine.entitySystem.metadata.EventMetadata;
+import org.terasology.engine.logic.location.LocationComponent;
 import org.terasology.engine.monitoring.PerformanceMonitor;
 import org.terasology.engine.network.Client;
 import org.terasology.engine.network.JoinStatus;
@@ -119,6 +120,7 @@ public class NetworkSystemImpl implements EntityChangeSubscriber, NetworkSystem
     private ChannelFuture serverChannelFuture;
     private NioEventLoopGroup bossGroup;
     private NioEventLoopGroup workerGroup;
+    private HandshakeLimiter handshakeLimiter;
 
     private BlockingQueue<NetClient> newClients = Queues.newLinkedBlockingQueue();
     private BlockingQueue<NetClient> disconnectedClients = Queues.newLinkedBlockingQueue();
@@ -127,6 +129,10 @@ public class NetworkSystemImpl implements EntityChangeSubscriber, NetworkSystem
     private Map<EntityRef, EntityRef> ownerLookup = Maps.newHashMap();
     private SetMultimap<EntityRef, EntityRef> ownedLookup = HashMultimap.create();
     private StorageManager storageManager;
+    private EncodedChunkCache encodedChunkCache;
+    private final EntityUpdateCache entityUpdateCache = new EntityUpdateCache();
+    private final EntityInterestGrid entityInterestGrid = new EntityInterestGrid();
+    private volatile IncomingEventDecoder incomingEventDecoder;
 
     // Client only
     private ServerImpl server;
@@ -152,6 +158,8 @@ public void host(int port, boolean dedicatedServer) throws HostingFailedExceptio
                 generateSerializationTables();
 
                 // Configure the server.
+                handshakeLimiter = new HandshakeLimiter(config.getMaxConcurrentHandshakes(),
+                        config.getHandshakeThreads());
                 bossGroup = new NioEventLoopGroup();
                 workerGroup = new NioEventLoopGroup();
                 ServerBootstrap b = new ServerBootstrap();
@@ -261,6 +269,10 @@ public void shutdown() {
             }
 
         }
+        if (handshakeLimiter != null) {
+            handshakeLimiter.shutdown();
+            handshakeLimiter = null;
+        }
         if (clientGroup != null) {
             clientGroup.shutdownGracefully().syncUninterruptibly();
         }
@@ -287,13 +299,23 @@ public void shutdown() {
         componentLibrary = null;
         eventSerializer = null;
         entitySerializer = null;
+        incomingEventDecoder = null;
         clientList.clear();
         netClientList.clear();
         blockManager = null;
         ownerLookup.clear();
         ownedLookup.clear();
+        entityUpdateCache.clear();
+        entityInterestGrid.clear();
         ownershipHelper = null;
         storageManager = null;
+        if (encodedChunkCache != null) {
+            WorldProvider worldProvider = context.get(WorldProvider.class);
+            if (worldProvider != null) {
+                worldProvider.unregisterListener(encodedChunkCache);
+            }
+            encodedChunkCache = null;
+        }
         logger.info("Network shutdown");
     }
 
@@ -322,6 +344,7 @@ public void update() {
                 for (Client client : clientList) {
                     client.update(netTick);
                 }
+                entityUpdateCache.clear();
                 PerformanceMonitor.endActivity();
                 if (server != null) {
                     server.update(netTick);
@@ -377,6 +400,41 @@ public Client getOwner(EntityRef entity) {
         return clientPlayerLookup.get(owner);
     }
 
+    /**
+     * @return the updates of dirty entities shared by all clients during the current network tick
+     */
+    EntityUpdateCache getEntityUpdateCache() {
+        return entityUpdateCache;
+    }
+
+    /**
+     * @return the grid of net entity locations, used to decide how often clients get the updates of an entity
+     */
+    EntityInterestGrid getEntityInterestGrid() {
+        return entityInterestGrid;
+    }
+
+    /**
+     * @return the limiter for connections authenticating with this server, or null if not hosting
+     */
+    public HandshakeLimiter getHandshakeLimiter() {
+        return handshakeLimiter;
+    }
+
+    /**
+     * @return the decoder for events sent by clients, usable from the network threads, or null if not hosting
+     */
+    IncomingEventDecoder getIncomingEventDecoder() {
+        return incomingEventDecoder;
+    }
+
+    /**
+     * @return the encoded chunks shared by all clients, or null if no client has connected yet
+     */
+    EncodedChunkCache getEncodedChunkCache() {
+        return encodedChunkCache;
+    }
+
     NetClient getNetOwner(EntityRef entity) {
         Client owner = getOwner(entity);
         if (owner instanceof NetClient) {
@@ -432,6 +490,7 @@ public void registerNetworkEntity(EntityRef entity) {
             netComponent.setNetworkId(nextNetId++);
             entity.saveComponent(netComponent);
             netIdToEntityId.put(netComponent.getNetworkId(), entity.getId());
+            entityInterestGrid.update(netComponent.getNetworkId(), entity);
             switch (netComponent.replicateMode) {
                 case OWNER:
                     NetClient clientPlayer = getNetOwner(entity);
@@ -525,6 +584,7 @@ public void unregisterNetworkEntity(EntityRef entity) {
             if (netComponent != null) {
                 logger.debug("Unregistering network entity: {} with netId {}", entity, netComponent.getNetworkId());
                 netIdToEntityId.remove(netComponent.getNetworkId());
+                entityInterestGrid.remove(netComponent.getNetworkId());
                 if (mode.isServer()) {
                     for (NetClient client : netClientList) {
                         client.setNetRemoved(netComponent.getNetworkId());
@@ -578,7 +638,11 @@ public void onEntityComponentAdded(EntityRef entity, Class<? extends Component>
         NetworkComponent netComp = entity.getComponent(NetworkComponent.class);
         if (netComp != null && netComp.getNetworkId() != NULL_NET_ID) {
             if (mode.isServer()) {
+                if (component == LocationComponent.class) {
+                    entityInterestGrid.update(netComp.getNetworkId(), entity);
+                }
                 if (metadata.isReplicated()) {
+                    entityUpdateCache.invalidate(netComp.getNetworkId());
                     for (NetClient client : netClientList) {
                         logger.debug("Component {} added to {}", component, entity);
                         client.setComponentAdded(netComp.getNetworkId(), component);
@@ -595,7 +659,11 @@ public void onEntityComponentRemoved(EntityRef entity, Class<? extends Component
         NetworkComponent netComp = entity.getComponent(NetworkComponent.class);
         if (netComp != null && netComp.getNetworkId() != NULL_NET_ID) {
             if (mode.isServer()) {
+                if (component == LocationComponent.class) {
+                    entityInterestGrid.remove(netComp.getNetworkId());
+                }
                 if (metadata.isReplicated()) {
+                    entityUpdateCache.invalidate(netComp.getNetworkId());
                     for (NetClient client : netClientList) {
                         logger.debug("Component {} removed from {}", component, entity);
                         client.setComponentRemoved(netComp.getNetworkId(), component);
@@ -626,7 +694,11 @@ public void onEntityComponentChange(EntityRef entity, Class<? extends Component>
             switch (mode) {
                 case LISTEN_SERVER:
                 case DEDICATED_SERVER:
+                    if (component == LocationComponent.class) {
+                        entityInterestGrid.update(netComp.getNetworkId(), entity);
+                    }
                     if (metadata.isReplicated()) {
+                        entityUpdateCache.invalidate(netComp.getNetworkId());
                         for (NetClient client : netClientList) {
                             client.setComponentDirty(netComp.getNetworkId(), component);
                         }
@@ -827,6 +899,13 @@ private void processNewClient(NetClient client) {
             return;
         }
 
+        if (encodedChunkCache == null) {
+            encodedChunkCache = new EncodedChunkCache();
+            WorldProvider worldProvider = context.get(WorldProvider.class);
+            if (worldProvider != null) {
+                worldProvider.registerListener(encodedChunkCache);
+            }
+        }
         client.connected(entityManager, entitySerializer, eventSerializer, eventLibrary);
         client.send(NetData.NetMessage.newBuilder().setJoinComplete(
                 NetData.JoinCompleteMessage.newBuilder().setClientId(client.getEntity()
@@ -945,6 +1024,8 @@ private void serializeComponentInfo(NetData.ServerInfoMessage.Builder serverInfo
     private void generateSerializationTables() {
         entitySerializer.setIdMapping(generateIds(componentLibrary));
         eventSerializer.setIdMapping(generateIds(eventLibrary));
+        incomingEventDecoder = new IncomingEventDecoder(eventLibrary, entityManager.getTypeSerializerLibrary().copy(),
+                eventSerializer.getIdMapping());
     }
 
     private <T> Map<Class<? extends T>, Integer> generateIds(ClassLibrary<T> classLibrary) {
@@ -50,8 +50,7 @@ public void channelActive(ChannelHandlerContext ctx) throws Exception {
     public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
         NetData.NetMessage message = (NetData.NetMessage) msg;
         if (message.hasServerInfoRequest()) {
-            NetData.ServerInfoMessage serverInfo = networkSystem.getServerInfoMessage();
-            ctx.channel().writeAndFlush(NetData.NetMessage.newBuilder().setServerInfo(serverInfo).setTime(serverInfo.getTime()).build());
+            networkSystem.getHandshakeLimiter().execute(ctx, () -> sendServerInfo(ctx));
         } else if (message.hasJoin()) {
             receivedConnect(message.getJoin());
         } else if (message.getModuleRequestCount() > 0) {
@@ -62,6 +61,14 @@ public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception
         }
     }
 
+    private void sendServerInfo(ChannelHandlerContext ctx) {
+        NetData.ServerInfoMessage serverInfo = networkSystem.getServerInfoMessage();
+        ctx.channel().writeAndFlush(NetData.NetMessage.newBuilder()
+                .setServerInfo(serverInfo)
+                .setTime(serverInfo.getTime())
+                .build());
+    }
+
     public void channelAuthenticated(PublicIdentityCertificate id) {
         this.identity = id;
     }
@@ -26,15 +26,24 @@
 import java.security.SecureRandom;
 
 /**
- * Authentication handler for the server end of the handshake
+ * Authentication handler for the server end of the handshake.
+ * <br><br>
+ * The certificate work runs through the {@link HandshakeLimiter}, possibly on another thread, so the handshake is
+ * completed back on the channel's event loop.
  */
 public class ServerHandshakeHandler extends ChannelInboundHandlerAdapter {
     private static final Logger logger = LoggerFactory.getLogger(ServerHandshakeHandler.class);
 
     private Config config = CoreRegistry.get(Config.class);
+    private final HandshakeLimiter handshakeLimiter;
     private ServerConnectionHandler serverConnectionHandler;
     private byte[] serverRandom = new byte[IdentityConstants.SERVER_CLIENT_RANDOM_LENGTH];
     private NetData.HandshakeHello serverHello;
+    private boolean handshakeReceived;
+
+    public ServerHandshakeHandler(HandshakeLimiter handshakeLimiter) {
+        this.handshakeLimiter = handshakeLimiter;
+    }
 
     @Override
     public void channelActive(ChannelHandlerContext ctx) throws Exception {
@@ -59,10 +68,17 @@ public void channelActive(ChannelHandlerContext ctx) throws Exception {
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
         NetData.NetMessage message = (NetData.NetMessage) msg;
+        if (handshakeReceived) {
+            // the handshake is being processed, anything else the client sends meanwhile is ignored
+            return;
+        }
         if (message.hasNewIdentityRequest()) {
-            processNewIdentityRequest(message.getNewIdentityRequest(), ctx);
+            handshakeReceived = true;
+            handshakeLimiter.execute(ctx, () -> processNewIdentityRequest(message.getNewIdentityRequest(), ctx));
         } else if (message.hasHandshakeHello() && message.hasHandshakeVerification()) {
-            processClientHandshake(message.getHandshakeHello(), message.getHandshakeVerification(), ctx);
+            handshakeReceived = true;
+            handshakeLimiter.execute(ctx, () ->
+                    processClientHandshake(message.getHandshakeHello(), message.getHandshakeVerification(), ctx));
         }
     }
 
@@ -87,13 +103,9 @@ private void processClientHandshake(NetData.HandshakeHello clientHello, NetData.
 
         logger.info("Sending server verification");
         byte[] serverSignature = config.getSecurity().getServerPrivateCertificate().sign(signatureData);
-        ctx.channel().writeAndFlush(NetData.NetMessage.newBuilder()
+        completeHandshake(ctx, NetData.NetMessage.newBuilder()
                 .setHandshakeVerification(NetData.HandshakeVerification.newBuilder()
-                        .setSignature(ByteString.copyFrom(serverSignature))).build());
-
-        // Identity has been established, inform the server handler and withdraw from the pipeline
-        ctx.pipeline().remove(this);
-        serverConnectionHandler.channelAuthenticated(clientCert);
+                        .setSignature(ByteString.copyFrom(serverSignature))).build(), clientCert);
     }
 
     private void processNewIdentityRequest(NetData.NewIdentityRequest newIdentityRequest, ChannelHandlerContext ctx) {
@@ -127,17 +139,30 @@ private void processNewIdentityRequest(NetData.NewIdentityRequest newIdentityReq
                 return;
             }
 
-            ctx.channel().writeAndFlush(NetData.NetMessage.newBuilder()
+            completeHandshake(ctx, NetData.NetMessage.newBuilder()
                     .setProvisionIdentity(NetData.ProvisionIdentity.newBuilder()
                             .setEncryptedCertificates(ByteString.copyFrom(encryptedCert)))
-                    .build());
-
-            // Identity has been established, inform the server handler and withdraw from the pipeline
-            ctx.pipeline().remove(this);
-            serverConnectionHandler.channelAuthenticated(clientCertificates.getPublicCert());
+                    .build(), clientCertificates.getPublicCert());
         } catch (BadEncryptedDataException e) {
             logger.error("Received invalid encrypted pre-master secret, ending connection attempt");
             ctx.channel().close();
         }
     }
+
+    private void completeHandshake(ChannelHandlerContext ctx, NetData.NetMessage response,
+                                   PublicIdentityCertificate clientCert) {
+        if (!ctx.executor().inEventLoop()) {
+            ctx.executor().execute(() -> completeHandshake(ctx, response, clientCert));
+            return;
+        }
+        if (!ctx.channel().isActive()) {
+            return;
+        }
+        ctx.channel().writeAndFlush(response);
+
+        // Identity has been established, inform the server handler and withdraw from the pipeline
+        ctx.pipeline().remove(this);
+        ctx.pipeline().remove(HandshakeAdmissionHandler.class);
+        serverConnectionHandler.channelAuthenticated(clientCert);
+    }
 }
@@ -12,6 +12,7 @@
 import io.netty.handler.codec.compression.Lz4FrameEncoder;
 import io.netty.handler.codec.protobuf.ProtobufDecoder;
 import io.netty.handler.codec.protobuf.ProtobufEncoder;
+import org.terasology.engine.network.internal.HandshakeAdmissionHandler;
 import org.terasology.engine.network.internal.MetricRecordingHandler;
 import org.terasology.engine.network.internal.NetworkSystemImpl;
 import org.terasology.engine.network.internal.ServerConnectionHandler;
@@ -33,6 +34,7 @@ public TerasologyServerPipelineFactory(NetworkSystemImpl networkSystem) {
     @Override
     protected void initChannel(Channel ch) throws Exception {
         ChannelPipeline p = ch.pipeline();
+        p.addLast("admissionHandler", new HandshakeAdmissionHandler(networkSystem.getHandshakeLimiter()));
         p.addLast(MetricRecordingHandler.NAME, new MetricRecordingHandler());
 
         p.addLast("inflateDecoder", new Lz4FrameDecoder());
@@ -43,7 +45,7 @@ protected void initChannel(Channel ch) throws Exception {
         p.addLast("frameLengthEncoder", new LengthFieldPrepender(3));
         p.addLast("protobufEncoder", new ProtobufEncoder());
 
-        p.addLast("authenticationHandler", new ServerHandshakeHandler());
+        p.addLast("authenticationHandler", new ServerHandshakeHandler(networkSystem.getHandshakeLimiter()));
         p.addLast("connectionHandler", new ServerConnectionHandler(networkSystem));
         p.addLast("handler", new ServerHandler(networkSystem));
     }
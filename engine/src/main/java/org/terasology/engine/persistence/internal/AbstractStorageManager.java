@@ -26,7 +26,6 @@
 import org.terasology.engine.world.chunks.blockdata.ExtraBlockDataManager;
 
 import java.io.BufferedInputStream;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.FileSystem;
@@ -35,7 +34,6 @@
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.List;
-import java.util.zip.GZIPInputStream;
 
 /**
  * An abstract implementation of {@link StorageManager} that is able
@@ -55,19 +53,44 @@ public abstract class AbstractStorageManager implements StorageManager {
     private final PrefabSerializer prefabSerializer;
     private final OwnershipHelper helper;
 
-    private boolean storeChunksInZips = true;
+    private final ChunkRegionStore chunkRegionStore;
+
+    private ChunkStorageFormat chunkStorageFormat;
+    /**
+     * Whether the world directory may still contain chunks that are not stored in the configured format, in which
+     * case those get loaded as a fallback.
+     */
+    private volatile boolean legacyChunksPresent;
 
     public AbstractStorageManager(Path savePath, ModuleEnvironment environment, EngineEntityManager entityManager,
                                   BlockManager blockManager, ExtraBlockDataManager extraDataManager, boolean storeChunksInZips) {
+        this(savePath, environment, entityManager, blockManager, extraDataManager,
+                storeChunksInZips ? ChunkStorageFormat.CHUNK_ZIPS : ChunkStorageFormat.CHUNK_FILES, false);
+    }
+
+    public AbstractStorageManager(Path savePath, ModuleEnvironment environment, EngineEntityManager entityManager,
+                                  BlockManager blockManager, ExtraBlockDataManager extraDataManager,
+                                  ChunkStorageFormat chunkStorageFormat, boolean readOnly) {
         this.entityManager = entityManager;
         this.environment = environment;
-        this.storeChunksInZips = storeChunksInZips;
+        this.chunkStorageFormat = chunkStorageFormat;
         this.prefabSerializer = new PrefabSerializer(entityManager.getComponentLibrary(), entityManager.getTypeSerializerLibrary());
         this.blockManager = blockManager;
         this.extraDataManager = extraDataManager;
 
         this.storagePathProvider = new StoragePathProvider(savePath);
+        this.chunkRegionStore = new ChunkRegionStore(storagePathProvider, readOnly);
         this.helper = new OwnershipHelper(entityManager.getComponentLibrary());
+        this.legacyChunksPresent = chunkStorageFormat == ChunkStorageFormat.REGION_FILES && hasChunksToMigrate();
+    }
+
+    private boolean hasChunksToMigrate() {
+        try {
+            return ChunkRegionMigrator.hasChunksToMigrate(storagePathProvider);
+        } catch (IOException e) {
+            logger.error("Failed to look for chunks to migrate", e);
+            return true;
+        }
     }
 
     @Override
@@ -96,9 +119,8 @@ public ChunkStore loadChunkStore(Vector3ic chunkPos) {
         byte[] chunkData = loadCompressedChunk(chunkPos);
         ChunkStore store = null;
         if (chunkData != null) {
-            ByteArrayInputStream bais = new ByteArrayInputStream(chunkData);
-            try (GZIPInputStream gzipIn = new GZIPInputStream(bais)) {
-                EntityData.ChunkStore storeData = EntityData.ChunkStore.parseFrom(gzipIn);
+            try (InputStream in = ChunkCompression.decompress(chunkData)) {
+                EntityData.ChunkStore storeData = EntityData.ChunkStore.parseFrom(in);
                 store = new ChunkStoreInternal(storeData, entityManager, blockManager, extraDataManager);
             } catch (IOException e) {
                 logger.error("Failed to read existing saved chunk {}", chunkPos);
@@ -129,33 +151,69 @@ public void update() {
     }
 
     public boolean isStoreChunksInZips() {
-        return storeChunksInZips;
+        return chunkStorageFormat == ChunkStorageFormat.CHUNK_ZIPS;
+    }
+
+    public ChunkStorageFormat getChunkStorageFormat() {
+        return chunkStorageFormat;
     }
 
     /**
      * For tests only
      */
     void setStoreChunksInZips(boolean storeChunksInZips) {
-        this.storeChunksInZips = storeChunksInZips;
+        this.chunkStorageFormat = storeChunksInZips ? ChunkStorageFormat.CHUNK_ZIPS : ChunkStorageFormat.CHUNK_FILES;
+    }
+
+    /**
+     * For tests only
+     */
+    void setChunkStorageFormat(ChunkStorageFormat chunkStorageFormat) {
+        this.chunkStorageFormat = chunkStorageFormat;
     }
 
     protected byte[] loadCompressedChunk(Vector3ic chunkPos) {
-        if (isStoreChunksInZips()) {
-            return loadChunkZip(chunkPos);
-        } else {
-            Path chunkPath = storagePathProvider.getChunkPath(chunkPos);
-            if (Files.isRegularFile(chunkPath)) {
-                try {
-                    return Files.readAllBytes(chunkPath);
-                } catch (IOException e) {
-                    logger.error("Failed to load chunk {}", chunkPos, e);
+        if (chunkStorageFormat == ChunkStorageFormat.REGION_FILES) {
+            byte[] chunkData = loadChunkRegion(chunkPos);
+            if (chunkData == null && legacyChunksPresent) {
+                chunkData = loadChunkZip(chunkPos);
+                if (chunkData == null) {
+                    chunkData = loadChunkFile(chunkPos);
                 }
             }
+            return chunkData;
+        } else if (isStoreChunksInZips()) {
+            return loadChunkZip(chunkPos);
+        } else {
+            return loadChunkFile(chunkPos);
         }
+    }
+
+    private byte[] loadChunkRegion(Vector3ic chunkPos) {
+        try {
+            return chunkRegionStore.load(chunkPos);
+        } catch (IOException e) {
+            logger.error("Failed to load chunk {} from its region file", chunkPos, e);
+            return null;
+        }
+    }
 
+    private byte[] loadChunkFile(Vector3ic chunkPos) {
+        Path chunkPath = storagePathProvider.getChunkPath(chunkPos);
+        if (Files.isRegularFile(chunkPath)) {
+            try {
+                return Files.readAllBytes(chunkPath);
+            } catch (IOException e) {
+                logger.error("Failed to load chunk {}", chunkPos, e);
+            }
+        }
         return null;
     }
 
+    protected void setLegacyChunksPresent(boolean legacyChunksPresent) {
+        this.legacyChunksPresent = legacyChunksPresent;
+    }
+
     protected EntityData.PlayerStore loadPlayerStoreData(String playerId) {
         Path storePath = storagePathProvider.getPlayerFilePath(playerId);
         if (Files.isRegularFile(storePath)) {
@@ -210,6 +268,10 @@ protected StoragePathProvider getStoragePathProvider() {
         return storagePathProvider;
     }
 
+    ChunkRegionStore getChunkRegionStore() {
+        return chunkRegionStore;
+    }
+
     protected ModuleEnvironment getEnvironment() {
         return environment;
     }
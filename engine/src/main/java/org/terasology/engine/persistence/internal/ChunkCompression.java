@@ -0,0 +1,68 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.persistence.internal;
+
+import net.jpountz.lz4.LZ4FrameInputStream;
+import net.jpountz.lz4.LZ4FrameOutputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The codecs stored chunks can be compressed with. Stored chunks are recognized by the magic number their codec starts
+ * with, so saves may mix chunks compressed with different codecs.
+ */
+public enum ChunkCompression {
+    /**
+     * Compresses best, and can be read by all versions of the game.
+     */
+    GZIP {
+        @Override
+        OutputStream compress(OutputStream out) throws IOException {
+            return new GZIPOutputStream(out);
+        }
+    },
+    /**
+     * The LZ4 frame format, several times faster to compress and decompress, at the cost of larger chunks.
+     */
+    LZ4 {
+        @Override
+        OutputStream compress(OutputStream out) throws IOException {
+            return new LZ4FrameOutputStream(out);
+        }
+    };
+
+    /**
+     * The first bytes of a LZ4 frame, the magic number 0x184D2204 in little endian order.
+     */
+    private static final byte[] LZ4_MAGIC = {0x04, 0x22, 0x4D, 0x18};
+
+    abstract OutputStream compress(OutputStream out) throws IOException;
+
+    /**
+     * @return a stream of the uncompressed data of a stored chunk, compressed with any of the codecs
+     */
+    static InputStream decompress(byte[] data) throws IOException {
+        InputStream in = new ByteArrayInputStream(data);
+        if (isLz4(data)) {
+            return new LZ4FrameInputStream(in);
+        }
+        return new GZIPInputStream(in);
+    }
+
+    private static boolean isLz4(byte[] data) {
+        if (data.length < LZ4_MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < LZ4_MAGIC.length; i++) {
+            if (data[i] != LZ4_MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
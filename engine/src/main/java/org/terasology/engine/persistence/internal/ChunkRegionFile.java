@@ -0,0 +1,240 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.persistence.internal;
+
+import org.joml.Vector3ic;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Stores the encoded chunks of a cube of {@link #REGION_DIM} chunks along each axis in one file.
+ * <br><br>
+ * The file starts with a fixed table holding the location of every chunk of the region, followed by the chunk data,
+ * each chunk occupying a run of {@link #SECTOR_SIZE} byte sectors. The table is memory mapped, the chunk data is
+ * read and written with positional {@link FileChannel} operations, so loading or saving a chunk costs the same no
+ * matter how large the region or the save game is.
+ * <br><br>
+ * Saving a chunk happens in two steps: {@link #write(byte[])} stores the data in free sectors without making it
+ * visible, and {@link #commit(int, long)} then points the table to it. Until the commit, readers keep getting the
+ * previous version of the chunk, and the sectors of the previous version are only reused after it. Data that never
+ * gets committed, e.g. because saving failed, is released with {@link #discard(int, long)}.
+ */
+final class ChunkRegionFile implements Closeable {
+    /**
+     * The number of chunks a region spans along each axis.
+     */
+    static final int REGION_DIM = 32;
+    static final int SECTOR_SIZE = 4096;
+
+    private static final int CHUNKS_PER_REGION = REGION_DIM * REGION_DIM * REGION_DIM;
+    private static final int HEADER_SIZE = CHUNKS_PER_REGION * Long.BYTES;
+    private static final int HEADER_SECTORS = HEADER_SIZE / SECTOR_SIZE;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final boolean readOnly;
+    /**
+     * The sectors holding the table and the chunks, both committed ones and ones written but not committed yet.
+     */
+    private final BitSet usedSectors = new BitSet();
+    /**
+     * Held for reading while chunk data is read and for writing while the table changes, so the sectors of a chunk
+     * are not released while they are being read.
+     */
+    private final ReadWriteLock tableLock = new ReentrantReadWriteLock();
+
+    private ChunkRegionFile(Path path, FileChannel channel, MappedByteBuffer header, boolean readOnly) {
+        this.path = path;
+        this.channel = channel;
+        this.header = header;
+        this.readOnly = readOnly;
+        usedSectors.set(0, HEADER_SECTORS);
+        for (int index = 0; index < CHUNKS_PER_REGION; index++) {
+            long location = header.getLong(index * Long.BYTES);
+            if (location != 0) {
+                usedSectors.set(getSector(location), getSector(location) + getSectorCount(location));
+            }
+        }
+    }
+
+    /**
+     * Opens a region file, creating it if it does not exist yet and readOnly is false.
+     */
+    static ChunkRegionFile open(Path path, boolean readOnly) throws IOException {
+        FileChannel channel = readOnly
+                ? FileChannel.open(path, StandardOpenOption.READ)
+                : FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        try {
+            if (readOnly && channel.size() < HEADER_SIZE) {
+                throw new IOException("Region file " + path + " is truncated");
+            }
+            FileChannel.MapMode mode = readOnly ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE;
+            MappedByteBuffer header = channel.map(mode, 0, HEADER_SIZE);
+            return new ChunkRegionFile(path, channel, header, readOnly);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the position of the given chunk in the table of its region
+     */
+    static int getIndex(Vector3ic chunkPos) {
+        int x = Math.floorMod(chunkPos.x(), REGION_DIM);
+        int y = Math.floorMod(chunkPos.y(), REGION_DIM);
+        int z = Math.floorMod(chunkPos.z(), REGION_DIM);
+        return x + REGION_DIM * (y + REGION_DIM * z);
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    synchronized boolean contains(int index) {
+        return header.getLong(index * Long.BYTES) != 0;
+    }
+
+    /**
+     * @return the data of the chunk at the given index, or null if it has not been stored
+     */
+    byte[] read(int index) throws IOException {
+        tableLock.readLock().lock();
+        try {
+            long location = header.getLong(index * Long.BYTES);
+            if (location == 0) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(getLength(location));
+            long position = (long) getSector(location) * SECTOR_SIZE;
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position + buffer.position());
+                if (read < 0) {
+                    throw new EOFException("Chunk " + index + " exceeds the end of region file " + path);
+                }
+            }
+            return buffer.array();
+        } finally {
+            tableLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stores chunk data in free sectors, without making it visible to {@link #read(int)} yet.
+     *
+     * @return the location of the data, to be passed to {@link #commit(int, long)}
+     */
+    long write(byte[] data) throws IOException {
+        checkWritable();
+        int sectorCount = Math.max(1, (data.length + SECTOR_SIZE - 1) / SECTOR_SIZE);
+        int sector;
+        synchronized (this) {
+            sector = findFreeSectors(sectorCount);
+            usedSectors.set(sector, sector + sectorCount);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        long position = (long) sector * SECTOR_SIZE;
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, position + buffer.position());
+            }
+        } catch (IOException | RuntimeException e) {
+            synchronized (this) {
+                usedSectors.clear(sector, sector + sectorCount);
+            }
+            throw e;
+        }
+        return ((long) sector << 32) | data.length;
+    }
+
+    /**
+     * Makes previously written data the stored version of a chunk, releasing the sectors of the version it replaces.
+     * Committing the same location twice has no further effect.
+     */
+    void commit(int index, long location) {
+        checkWritable();
+        tableLock.writeLock().lock();
+        try {
+            synchronized (this) {
+                long previous = header.getLong(index * Long.BYTES);
+                if (previous == location) {
+                    return;
+                }
+                header.putLong(index * Long.BYTES, location);
+                if (previous != 0) {
+                    usedSectors.clear(getSector(previous), getSector(previous) + getSectorCount(previous));
+                }
+                usedSectors.set(getSector(location), getSector(location) + getSectorCount(location));
+            }
+        } finally {
+            tableLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Releases the sectors of data written for the chunk at the given index but never committed. Nothing happens if
+     * the location did get committed, so discarding all locations of a failed save is safe.
+     */
+    synchronized void discard(int index, long location) {
+        checkWritable();
+        if (location != 0 && header.getLong(index * Long.BYTES) != location) {
+            usedSectors.clear(getSector(location), getSector(location) + getSectorCount(location));
+        }
+    }
+
+    /**
+     * Writes all written chunk data and the table through to the storage device.
+     */
+    void force() throws IOException {
+        if (!readOnly) {
+            channel.force(false);
+            header.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private int findFreeSectors(int sectorCount) {
+        int start = usedSectors.nextClearBit(HEADER_SECTORS);
+        while (true) {
+            int end = usedSectors.nextSetBit(start);
+            if (end < 0 || end - start >= sectorCount) {
+                return start;
+            }
+            start = usedSectors.nextClearBit(end);
+        }
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new IllegalStateException("Region file " + path + " is opened read only");
+        }
+    }
+
+    private static int getSector(long location) {
+        return (int) (location >>> 32);
+    }
+
+    private static int getLength(long location) {
+        return (int) location;
+    }
+
+    private static int getSectorCount(long location) {
+        return Math.max(1, (getLength(location) + SECTOR_SIZE - 1) / SECTOR_SIZE);
+    }
+}
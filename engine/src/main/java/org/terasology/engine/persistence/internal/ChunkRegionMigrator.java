@@ -0,0 +1,104 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.persistence.internal;
+
+import com.google.common.collect.Lists;
+import org.joml.Vector3i;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Moves the chunks of a save game stored as {@link ChunkStorageFormat#CHUNK_FILES} or
+ * {@link ChunkStorageFormat#CHUNK_ZIPS} into region files.
+ * <br><br>
+ * Old files are only deleted once their chunks are durably stored in the region files, so an interrupted migration
+ * simply continues with the remaining files the next time.
+ */
+final class ChunkRegionMigrator {
+    private static final Logger logger = LoggerFactory.getLogger(ChunkRegionMigrator.class);
+
+    private ChunkRegionMigrator() {
+    }
+
+    /**
+     * @return whether the world directory contains chunks that are not stored in region files
+     */
+    static boolean hasChunksToMigrate(StoragePathProvider storagePathProvider) throws IOException {
+        return !findChunkFiles(storagePathProvider).isEmpty();
+    }
+
+    /**
+     * The write lock of the world directory has to be held while this method runs.
+     *
+     * @return the number of migrated chunks
+     */
+    static int migrate(StoragePathProvider storagePathProvider, ChunkRegionStore chunkRegionStore) throws IOException {
+        List<Path> chunkFiles = findChunkFiles(storagePathProvider);
+        if (chunkFiles.isEmpty()) {
+            return 0;
+        }
+        logger.info("Migrating {} chunk files to region files", chunkFiles.size());
+        int migrated = 0;
+        for (Path path : chunkFiles) {
+            String filename = path.getFileName().toString();
+            if (storagePathProvider.isChunkZipFilename(filename)) {
+                try (FileSystem chunkZip = FileSystems.newFileSystem(path, (ClassLoader) null)) {
+                    for (Path root : chunkZip.getRootDirectories()) {
+                        try (DirectoryStream<Path> entries = Files.newDirectoryStream(root)) {
+                            for (Path entry : entries) {
+                                migrated += migrateChunk(storagePathProvider, chunkRegionStore, entry);
+                            }
+                        }
+                    }
+                }
+            } else {
+                migrated += migrateChunk(storagePathProvider, chunkRegionStore, path);
+            }
+            chunkRegionStore.force();
+            Files.delete(path);
+        }
+        logger.info("Migrated {} chunks to region files", migrated);
+        return migrated;
+    }
+
+    private static int migrateChunk(StoragePathProvider storagePathProvider, ChunkRegionStore chunkRegionStore,
+                                    Path chunkFile) throws IOException {
+        Vector3i chunkPos = storagePathProvider.parseChunkFilename(chunkFile.getFileName().toString());
+        if (chunkPos == null || !Files.isRegularFile(chunkFile)) {
+            logger.warn("Skipping unexpected file {} in the world directory", chunkFile);
+            return 0;
+        }
+        if (chunkRegionStore.contains(chunkPos)) {
+            // the version in the region file got saved after the old one
+            return 0;
+        }
+        chunkRegionStore.store(chunkPos, Files.readAllBytes(chunkFile));
+        return 1;
+    }
+
+    private static List<Path> findChunkFiles(StoragePathProvider storagePathProvider) throws IOException {
+        List<Path> result = Lists.newArrayList();
+        Path worldPath = storagePathProvider.getWorldPath();
+        if (!Files.isDirectory(worldPath)) {
+            return result;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(worldPath)) {
+            for (Path file : files) {
+                String filename = file.getFileName().toString();
+                if (storagePathProvider.isChunkZipFilename(filename)
+                        || storagePathProvider.parseChunkFilename(filename) != null) {
+                    result.add(file);
+                }
+            }
+        }
+        return result;
+    }
+}
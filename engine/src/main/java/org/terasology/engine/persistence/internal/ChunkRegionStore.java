@@ -0,0 +1,165 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.persistence.internal;
+
+import org.joml.Vector3ic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the {@link ChunkRegionFile}s of a save game open and maps chunk positions to them.
+ * <br><br>
+ * Chunks saved by a {@link SaveTransaction} are written into their region files right away, while the table entries
+ * pointing to them go into one journal per region. The journals are part of the save transaction directory and get
+ * applied to the region files when the transaction gets merged, see {@link SaveTransactionHelper#mergeChanges()}.
+ */
+class ChunkRegionStore {
+    private static final Logger logger = LoggerFactory.getLogger(ChunkRegionStore.class);
+
+    private final StoragePathProvider storagePathProvider;
+    private final boolean readOnly;
+    private final Map<Path, ChunkRegionFile> openFiles = new ConcurrentHashMap<>();
+
+    ChunkRegionStore(StoragePathProvider storagePathProvider, boolean readOnly) {
+        this.storagePathProvider = storagePathProvider;
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * @return the stored data of the given chunk, or null if its region file does not contain it
+     */
+    byte[] load(Vector3ic chunkPos) throws IOException {
+        Path path = getRegionPath(chunkPos);
+        if (!openFiles.containsKey(path) && !Files.isRegularFile(path)) {
+            return null;
+        }
+        return getRegionFile(path).read(ChunkRegionFile.getIndex(chunkPos));
+    }
+
+    boolean contains(Vector3ic chunkPos) throws IOException {
+        Path path = getRegionPath(chunkPos);
+        if (!openFiles.containsKey(path) && !Files.isRegularFile(path)) {
+            return false;
+        }
+        return getRegionFile(path).contains(ChunkRegionFile.getIndex(chunkPos));
+    }
+
+    /**
+     * Stores the data of a chunk and makes it visible immediately. Used when there is no save transaction to keep
+     * consistent with, e.g. when migrating old save games.
+     */
+    void store(Vector3ic chunkPos, byte[] data) throws IOException {
+        ChunkRegionFile regionFile = getRegionFile(chunkPos);
+        int index = ChunkRegionFile.getIndex(chunkPos);
+        long location = regionFile.write(data);
+        try {
+            regionFile.commit(index, location);
+        } catch (RuntimeException e) {
+            regionFile.discard(index, location);
+            throw e;
+        }
+    }
+
+    ChunkRegionFile getRegionFile(Vector3ic chunkPos) throws IOException {
+        return getRegionFile(getRegionPath(chunkPos));
+    }
+
+    ChunkRegionFile getRegionFile(Path path) throws IOException {
+        try {
+            return openFiles.computeIfAbsent(path, key -> {
+                try {
+                    return ChunkRegionFile.open(key, readOnly);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Path getRegionPath(Vector3ic chunkPos) {
+        return storagePathProvider.getChunkRegionPath(storagePathProvider.getChunkRegionPosition(chunkPos));
+    }
+
+    /**
+     * Writes the table entries of chunks written to a region file but not committed yet.
+     *
+     * @param journalPath where to write the journal
+     * @param entries the indices of the chunks in the region, each followed by the location returned by
+     *                {@link ChunkRegionFile#write(byte[])}
+     */
+    static void writeJournal(Path journalPath, Map<Integer, Long> entries) throws IOException {
+        try (DataOutputStream out =
+                     new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(journalPath)))) {
+            out.writeInt(entries.size());
+            for (Map.Entry<Integer, Long> entry : entries.entrySet()) {
+                out.writeInt(entry.getKey());
+                out.writeLong(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Commits the entries of a journal to the given region file and makes them durable. Applying a journal again,
+     * e.g. after the game got interrupted while merging a save transaction, has no further effect.
+     */
+    void applyJournal(Path journalPath, Path regionPath) throws IOException {
+        ChunkRegionFile regionFile = getRegionFile(regionPath);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(journalPath)))) {
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                int index = in.readInt();
+                regionFile.commit(index, in.readLong());
+            }
+        }
+        regionFile.force();
+    }
+
+    /**
+     * Releases chunk data written to a region file for a save that failed before its journal could be applied.
+     *
+     * @param entries the indices of the chunks in the region, each followed by the location returned by
+     *                {@link ChunkRegionFile#write(byte[])}
+     */
+    void discard(Path regionPath, Map<Integer, Long> entries) throws IOException {
+        ChunkRegionFile regionFile = getRegionFile(regionPath);
+        for (Map.Entry<Integer, Long> entry : entries.entrySet()) {
+            regionFile.discard(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Writes the data and tables of all open region files through to the storage device.
+     */
+    void force() throws IOException {
+        for (ChunkRegionFile regionFile : openFiles.values()) {
+            regionFile.force();
+        }
+    }
+
+    /**
+     * Closes all open region files. They get opened again when accessed the next time.
+     */
+    void close() {
+        for (ChunkRegionFile regionFile : openFiles.values()) {
+            try {
+                regionFile.close();
+            } catch (IOException e) {
+                logger.error("Failed to close region file {}", regionFile.getPath(), e);
+            }
+        }
+        openFiles.clear();
+    }
+}
@@ -0,0 +1,70 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.persistence.internal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The time a {@link SaveTransaction} spent in each phase of saving chunks. Phases running on several threads at once
+ * report the time summed over all of them.
+ */
+class ChunkSaveMetrics {
+
+    enum Phase {
+        /**
+         * Storing the entities of the chunk and taking a snapshot of its blocks.
+         */
+        SNAPSHOT,
+        /**
+         * Serializing the snapshot and the entities.
+         */
+        ENCODE,
+        COMPRESS,
+        /**
+         * Writing the compressed chunk to disk.
+         */
+        WRITE
+    }
+
+    private final LongAdder[] nanos = new LongAdder[Phase.values().length];
+    private final LongAdder chunks = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+
+    ChunkSaveMetrics() {
+        for (int i = 0; i < nanos.length; i++) {
+            nanos[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Adds the time passed since the given {@link System#nanoTime()} to a phase.
+     */
+    void record(Phase phase, long startNanos) {
+        nanos[phase.ordinal()].add(System.nanoTime() - startNanos);
+    }
+
+    void chunkWritten(int size) {
+        chunks.increment();
+        bytes.add(size);
+    }
+
+    long getMillis(Phase phase) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos[phase.ordinal()].sum());
+    }
+
+    long getChunkCount() {
+        return chunks.sum();
+    }
+
+    long getByteCount() {
+        return bytes.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d chunks, %d KiB - snapshot %d ms, encode %d ms, compress %d ms, write %d ms",
+                getChunkCount(), getByteCount() / 1024, getMillis(Phase.SNAPSHOT), getMillis(Phase.ENCODE),
+                getMillis(Phase.COMPRESS), getMillis(Phase.WRITE));
+    }
+}
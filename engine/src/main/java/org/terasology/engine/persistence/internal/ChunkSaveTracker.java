@@ -0,0 +1,135 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.persistence.internal;
+
+import com.google.common.collect.Sets;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.world.WorldChangeListener;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.chunks.Chunks;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of the loaded chunks whose stored version is still up to date, so a {@link SaveTransaction} only has to
+ * write the chunks that changed since the last save.
+ * <br><br>
+ * Block changes get reported on the main thread, by listening to the world. The entities stored with a chunk are only
+ * known to the save thread, which compares them to the entity changes of each save. A chunk gets skipped when neither
+ * changed. Only chunks written during this session are tracked, so the first save writes all loaded chunks.
+ */
+class ChunkSaveTracker implements WorldChangeListener {
+    /**
+     * Chunks without block changes since they got added to a save transaction.
+     */
+    private final Set<Vector3i> unmodifiedChunks = Sets.newConcurrentHashSet();
+    /**
+     * The entities stored with each chunk by the save that wrote it last, by the save thread.
+     */
+    private final Map<Vector3i, SavedEntities> savedEntities = new ConcurrentHashMap<>();
+
+    /**
+     * Called on the main thread when a loaded chunk gets added to a save transaction.
+     *
+     * @return whether the blocks of the chunk did not change since it got saved the last time
+     */
+    boolean markSaved(Vector3ic chunkPos) {
+        return !unmodifiedChunks.add(new Vector3i(chunkPos));
+    }
+
+    /**
+     * Called when a chunk gets unloaded, as it then gets saved through its unloaded version.
+     */
+    void forget(Vector3ic chunkPos) {
+        unmodifiedChunks.remove(chunkPos);
+    }
+
+    /**
+     * @param entitiesInChunk the entities that would be stored with the chunk now
+     * @param changedEntityIds the entities that changed since the last save
+     * @return whether the entities stored with the chunk by the last save are still up to date
+     */
+    boolean areEntitiesUnchanged(Vector3ic chunkPos, Collection<EntityRef> entitiesInChunk,
+                                 TLongSet changedEntityIds) {
+        SavedEntities saved = savedEntities.get(chunkPos);
+        if (saved == null || saved.entitiesInChunk.size() != entitiesInChunk.size()) {
+            return false;
+        }
+        for (EntityRef entity : entitiesInChunk) {
+            if (!saved.entitiesInChunk.contains(entity.getId())) {
+                return false;
+            }
+        }
+        TLongSet storedEntities = saved.storedEntities;
+        return changedEntityIds.forEach(id -> !storedEntities.contains(id));
+    }
+
+    /**
+     * @return the ids of all entities stored with the chunk, including owned ones, or null if it was not saved
+     */
+    TLongSet getSavedEntityIds(Vector3ic chunkPos) {
+        SavedEntities saved = savedEntities.get(chunkPos);
+        return saved != null ? saved.storedEntities : null;
+    }
+
+    /**
+     * Remembers which entities got stored with a chunk that has been saved.
+     */
+    void recordSavedEntities(Vector3ic chunkPos, Collection<EntityRef> entitiesInChunk,
+                             Collection<EntityRef> storedEntities) {
+        savedEntities.put(new Vector3i(chunkPos), new SavedEntities(toIds(entitiesInChunk), toIds(storedEntities)));
+    }
+
+    void forgetSavedEntities(Vector3ic chunkPos) {
+        savedEntities.remove(chunkPos);
+    }
+
+    /**
+     * Forgets about all saved chunks, e.g. after a failed save, so the next save writes all of them again.
+     */
+    void reset() {
+        unmodifiedChunks.clear();
+        savedEntities.clear();
+    }
+
+    @Override
+    public void onBlockChanged(Vector3ic pos, Block newBlock, Block originalBlock) {
+        unmodifiedChunks.remove(Chunks.toChunkPos(pos, new Vector3i()));
+    }
+
+    @Override
+    public void onExtraDataChanged(int i, Vector3ic pos, int newData, int oldData) {
+        unmodifiedChunks.remove(Chunks.toChunkPos(pos, new Vector3i()));
+    }
+
+    private static TLongSet toIds(Collection<EntityRef> entities) {
+        TLongSet ids = new TLongHashSet(entities.size());
+        for (EntityRef entity : entities) {
+            ids.add(entity.getId());
+        }
+        return ids;
+    }
+
+    private static final class SavedEntities {
+        /**
+         * The entities that got stored because of their location in the chunk.
+         */
+        private final TLongSet entitiesInChunk;
+        /**
+         * The entities in the chunk and all entities owned by them.
+         */
+        private final TLongSet storedEntities;
+
+        private SavedEntities(TLongSet entitiesInChunk, TLongSet storedEntities) {
+            this.entitiesInChunk = entitiesInChunk;
+            this.storedEntities = storedEntities;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.persistence.internal;
+
+/**
+ * The ways the chunks of a save game can be laid out on disk.
+ */
+public enum ChunkStorageFormat {
+    /**
+     * One file per chunk.
+     */
+    CHUNK_FILES,
+    /**
+     * One zip file per cube of 32x32x32 chunks, rewritten completely whenever one of its chunks gets saved.
+     */
+    CHUNK_ZIPS,
+    /**
+     * One {@link ChunkRegionFile} per cube of 32x32x32 chunks, updated in place. Chunks stored in one of the other
+     * formats get migrated to it when a save game gets loaded for writing.
+     */
+    REGION_FILES
+}
@@ -9,9 +9,9 @@
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Collection;
 import java.util.Set;
-import java.util.zip.GZIPOutputStream;
 
 /**
  * Provides an easy to get a compressed version of a chunk. Either the chunk most have a snapshot of it's state
@@ -22,7 +22,8 @@ public class CompressedChunkBuilder {
     private EntityData.EntityStore entityStore;
     private ChunkImpl chunk;
     private boolean viaSnapshot;
-    private byte[] result;
+    private final ChunkCompression compression;
+    private volatile byte[] result;
     private Set<EntityRef> storedEntities;
 
     /**
@@ -35,6 +36,17 @@ public class CompressedChunkBuilder {
     public CompressedChunkBuilder(EngineEntityManager entityManager, ChunkImpl chunk,
                                   Collection<EntityRef> entitiesToSave,
                                   boolean chunkUnloaded) {
+        this(entityManager, chunk, entitiesToSave, chunkUnloaded, ChunkCompression.GZIP);
+    }
+
+    /**
+     * @param compression the codec to compress the chunk with
+     * @see #CompressedChunkBuilder(EngineEntityManager, ChunkImpl, Collection, boolean)
+     */
+    public CompressedChunkBuilder(EngineEntityManager entityManager, ChunkImpl chunk,
+                                  Collection<EntityRef> entitiesToSave,
+                                  boolean chunkUnloaded, ChunkCompression compression) {
+        this.compression = compression;
         EntityStorer storer = new EntityStorer(entityManager);
         entitiesToSave.stream().filter(EntityRef::isPersistent).forEach(storer::store);
         storedEntities = storer.getStoredEntities();
@@ -57,28 +69,55 @@ public CompressedChunkBuilder(EntityData.EntityStore entityStore, ChunkImpl chun
         this.entityStore = entityStore;
         this.chunk = chunk;
         this.viaSnapshot = viaSnapshot;
+        this.compression = ChunkCompression.GZIP;
     }
 
-    public synchronized byte[] buildEncodedChunk() {
-        if (result == null) {
+    public byte[] buildEncodedChunk() {
+        return buildEncodedChunk(null);
+    }
 
-            EntityData.ChunkStore.Builder encoded;
-            if (viaSnapshot) {
-                encoded = chunk.encodeAndReleaseSnapshot();
-            } else {
-                encoded = chunk.encode();
+    /**
+     * Encodes and compresses the chunk when called the first time, later calls return the same data. Only the first
+     * call for each builder has to wait for the other, so different chunks can be built on several threads at once.
+     *
+     * @param metrics where to record the time spent encoding and compressing, or null
+     */
+    byte[] buildEncodedChunk(ChunkSaveMetrics metrics) {
+        byte[] encodedChunk = result;
+        if (encodedChunk != null) {
+            return encodedChunk;
+        }
+        synchronized (this) {
+            if (result == null) {
+                long startTime = System.nanoTime();
+                EntityData.ChunkStore.Builder encoded;
+                if (viaSnapshot) {
+                    encoded = chunk.encodeAndReleaseSnapshot();
+                } else {
+                    encoded = chunk.encode();
+                }
+                encoded.setStore(entityStore);
+                EntityData.ChunkStore store = encoded.build();
+                if (metrics != null) {
+                    metrics.record(ChunkSaveMetrics.Phase.ENCODE, startTime);
+                    startTime = System.nanoTime();
+                }
+                result = compressChunkStore(store);
+                if (metrics != null) {
+                    metrics.record(ChunkSaveMetrics.Phase.COMPRESS, startTime);
+                }
+                // only the result is needed from now on
+                chunk = null;
+                entityStore = null;
             }
-            encoded.setStore(entityStore);
-            EntityData.ChunkStore store = encoded.build();
-            result = compressChunkStore(store);
+            return result;
         }
-        return result;
     }
 
     private byte[] compressChunkStore(EntityData.ChunkStore store) {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        try (GZIPOutputStream gzipOut = new GZIPOutputStream(baos)) {
-            store.writeTo(gzipOut);
+        try (OutputStream out = compression.compress(baos)) {
+            store.writeTo(out);
         } catch (IOException e) {
             // as no real IO is involved this should not happen
             throw new RuntimeException(e);
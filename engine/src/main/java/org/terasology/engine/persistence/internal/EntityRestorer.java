@@ -7,6 +7,7 @@
 import org.terasology.engine.entitySystem.entity.internal.EngineEntityManager;
 import org.terasology.engine.entitySystem.metadata.ComponentMetadata;
 import org.terasology.engine.persistence.serializers.EntitySerializer;
+import org.terasology.engine.persistence.serializers.PackedEntityReader;
 import org.terasology.engine.persistence.serializers.PersistenceComponentSerializeCheck;
 import org.terasology.gestalt.entitysystem.component.Component;
 import org.terasology.protobuf.EntityData;
@@ -22,6 +23,25 @@ final class EntityRestorer {
     }
 
     public Map<String, EntityRef> restore(EntityData.EntityStore store) {
+        if (store.hasPackedEntities()) {
+            PackedEntityReader reader = new PackedEntityReader(entityManager);
+            reader.setComponentSerializeCheck(new PersistenceComponentSerializeCheck());
+            reader.read(store.getComponentSchemaList(), store.getPackedEntities());
+        } else {
+            restoreEntityList(store);
+        }
+
+        Map<String, EntityRef> namedEntities = Maps.newHashMap();
+        for (int i = 0; i < store.getEntityNameCount() && i < store.getEntityNamedCount(); ++i) {
+            namedEntities.put(store.getEntityName(i), entityManager.getEntity(store.getEntityNamed(i)));
+        }
+        return namedEntities;
+    }
+
+    /**
+     * Restores the entities of stores written before entities got packed.
+     */
+    private void restoreEntityList(EntityData.EntityStore store) {
         EntitySerializer serializer = new EntitySerializer(entityManager);
         serializer.setComponentSerializeCheck(new PersistenceComponentSerializeCheck());
         Map<Class<? extends Component>, Integer> idMap = Maps.newHashMap();
@@ -33,11 +53,5 @@ public Map<String, EntityRef> restore(EntityData.EntityStore store) {
         }
         serializer.setComponentIdMapping(idMap);
         store.getEntityList().forEach(serializer::deserialize);
-
-        Map<String, EntityRef> namedEntities = Maps.newHashMap();
-        for (int i = 0; i < store.getEntityNameCount() && i < store.getEntityNamedCount(); ++i) {
-            namedEntities.put(store.getEntityName(i), entityManager.getEntity(store.getEntityNamed(i)));
-        }
-        return namedEntities;
     }
 }
@@ -2,19 +2,14 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.terasology.engine.persistence.internal;
 
-import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import org.terasology.engine.entitySystem.entity.EntityRef;
 import org.terasology.engine.entitySystem.entity.internal.EngineEntityManager;
 import org.terasology.engine.entitySystem.entity.internal.OwnershipHelper;
-import org.terasology.engine.entitySystem.metadata.ComponentMetadata;
-import org.terasology.engine.persistence.serializers.EntitySerializer;
-import org.terasology.engine.persistence.serializers.FieldSerializeCheck;
+import org.terasology.engine.persistence.serializers.PackedEntityWriter;
 import org.terasology.engine.persistence.serializers.PersistenceComponentSerializeCheck;
-import org.terasology.gestalt.entitysystem.component.Component;
 import org.terasology.protobuf.EntityData;
 
-import java.util.Map;
 import java.util.Set;
 
 /**
@@ -23,24 +18,16 @@
  */
 final class EntityStorer {
 
-    private final EntitySerializer serializer;
+    private final PackedEntityWriter writer;
     private final EntityData.EntityStore.Builder entityStoreBuilder;
     private final OwnershipHelper helper;
     private Set<EntityRef> storedEntities = Sets.newHashSet();
 
     EntityStorer(EngineEntityManager entityManager) {
         this.entityStoreBuilder = EntityData.EntityStore.newBuilder();
-        this.serializer = new EntitySerializer(entityManager);
-        this.serializer.setComponentSerializeCheck(new PersistenceComponentSerializeCheck());
+        this.writer = new PackedEntityWriter(entityManager);
+        this.writer.setComponentSerializeCheck(new PersistenceComponentSerializeCheck());
         this.helper = new OwnershipHelper(entityManager.getComponentLibrary());
-
-        Map<Class<? extends Component>, Integer> componentIds = Maps.newHashMap();
-
-        for (ComponentMetadata<?> componentMetadata : entityManager.getComponentLibrary().iterateComponentMetadata()) {
-            entityStoreBuilder.addComponentClass(componentMetadata.getId().toString());
-            componentIds.put(componentMetadata.getType(), componentIds.size());
-        }
-        serializer.setComponentIdMapping(componentIds);
     }
     public void store(EntityRef entity) {
         store(entity, "");
@@ -53,17 +40,18 @@ public void store(EntityRef entity, String name) {
                     store(ownedEntity);
                 }
             }
-            EntityData.Entity entityData = serializer.serialize(entity, true, FieldSerializeCheck.NullCheck.<Component>newInstance());
-            entityStoreBuilder.addEntity(entityData);
+            writer.write(entity);
             if (!name.isEmpty()) {
                 entityStoreBuilder.addEntityName(name);
-                entityStoreBuilder.addEntityNamed(entityData.getId());
+                entityStoreBuilder.addEntityNamed(entity.getId());
             }
             storedEntities.add(entity);
         }
     }
 
     public EntityData.EntityStore finaliseStore() {
+        entityStoreBuilder.addAllComponentSchema(writer.getComponentSchemas());
+        entityStoreBuilder.setPackedEntities(writer.getPackedEntities());
         return entityStoreBuilder.build();
     }
 
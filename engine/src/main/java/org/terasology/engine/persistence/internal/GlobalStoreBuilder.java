@@ -7,7 +7,7 @@
 import org.terasology.engine.entitySystem.entity.internal.EngineEntityManager;
 import org.terasology.engine.entitySystem.metadata.ComponentMetadata;
 import org.terasology.engine.entitySystem.prefab.Prefab;
-import org.terasology.engine.persistence.serializers.EntitySerializer;
+import org.terasology.engine.persistence.serializers.PackedEntityWriter;
 import org.terasology.engine.persistence.serializers.PersistenceComponentSerializeCheck;
 import org.terasology.engine.persistence.serializers.PrefabSerializer;
 import org.terasology.gestalt.entitysystem.component.Component;
@@ -51,14 +51,15 @@ public EntityData.GlobalStore build(EngineEntityManager entityManager, Iterable<
             store.addPrefab(prefabSerializer.serialize(prefab));
         }
 
-        EntitySerializer entitySerializer = new EntitySerializer(entityManager);
-        entitySerializer.setComponentSerializeCheck(new PersistenceComponentSerializeCheck());
-        entitySerializer.setComponentIdMapping(componentIdTable);
+        PackedEntityWriter entityWriter = new PackedEntityWriter(entityManager);
+        entityWriter.setComponentSerializeCheck(new PersistenceComponentSerializeCheck());
         for (EntityRef entity: entities) {
             if (entity.isPersistent()) {
-                store.addEntity(entitySerializer.serialize(entity));
+                entityWriter.write(entity);
             }
         }
+        store.addAllComponentSchema(entityWriter.getComponentSchemas());
+        store.setPackedEntities(entityWriter.getPackedEntities());
         store.setNextEntityId(nextEntityId);
         return store.build();
     }
@@ -14,6 +14,7 @@
 import org.terasology.engine.entitySystem.prefab.PrefabData;
 import org.terasology.engine.entitySystem.prefab.PrefabManager;
 import org.terasology.engine.persistence.serializers.EntitySerializer;
+import org.terasology.engine.persistence.serializers.PackedEntityReader;
 import org.terasology.engine.persistence.serializers.PersistenceComponentSerializeCheck;
 import org.terasology.engine.persistence.serializers.PrefabSerializer;
 import org.terasology.engine.utilities.Assets;
@@ -54,8 +55,14 @@ public void load(EntityData.GlobalStore globalStore) {
         loadComponentMapping(globalStore);
         loadMissingPrefabs(globalStore);
 
-        for (EntityData.Entity entityData : globalStore.getEntityList()) {
-            entitySerializer.deserialize(entityData);
+        if (globalStore.hasPackedEntities()) {
+            PackedEntityReader entityReader = new PackedEntityReader(entityManager);
+            entityReader.setComponentSerializeCheck(new PersistenceComponentSerializeCheck());
+            entityReader.read(globalStore.getComponentSchemaList(), globalStore.getPackedEntities());
+        } else {
+            for (EntityData.Entity entityData : globalStore.getEntityList()) {
+                entitySerializer.deserialize(entityData);
+            }
         }
     }
 
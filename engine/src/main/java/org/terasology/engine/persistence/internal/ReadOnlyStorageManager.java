@@ -23,7 +23,8 @@ public final class ReadOnlyStorageManager extends AbstractStorageManager {
 
     public ReadOnlyStorageManager(Path savePath, ModuleEnvironment environment, EngineEntityManager entityManager,
                                   BlockManager blockManager, ExtraBlockDataManager extraDataManager) {
-        this(savePath, environment, entityManager, blockManager, extraDataManager, true);
+        super(savePath, environment, entityManager, blockManager, extraDataManager, ChunkStorageFormat.REGION_FILES,
+                true);
     }
 
     public ReadOnlyStorageManager(Path savePath, ModuleEnvironment environment, EngineEntityManager entityManager,
@@ -33,7 +34,7 @@ public ReadOnlyStorageManager(Path savePath, ModuleEnvironment environment, Engi
 
     @Override
     public void finishSavingAndShutdown() {
-        // don't care
+        getChunkRegionStore().close();
     }
 
     @Override
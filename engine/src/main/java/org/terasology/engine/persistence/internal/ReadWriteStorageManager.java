@@ -4,6 +4,7 @@
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.joml.Vector3f;
 import org.joml.Vector3i;
 import org.joml.Vector3ic;
@@ -40,6 +41,7 @@
 import org.terasology.engine.utilities.concurrency.ShutdownTask;
 import org.terasology.engine.utilities.concurrency.Task;
 import org.terasology.engine.utilities.concurrency.TaskMaster;
+import org.terasology.engine.world.WorldProvider;
 import org.terasology.engine.world.block.BlockManager;
 import org.terasology.engine.world.block.family.BlockFamily;
 import org.terasology.engine.world.chunks.Chunk;
@@ -63,6 +65,8 @@
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -72,6 +76,14 @@ public final class ReadWriteStorageManager extends AbstractStorageManager
     private static final Logger logger = LoggerFactory.getLogger(ReadWriteStorageManager.class);
 
     private final TaskMaster<Task> saveThreadManager;
+    /**
+     * The threads compressing the chunks of the save transactions, kept for all saves of the game.
+     */
+    private final ExecutorService compressionThreads = Executors.newFixedThreadPool(
+            SaveTransaction.COMPRESSION_THREADS, new ThreadFactoryBuilder()
+                    .setNameFormat("Saving-Compression-%d")
+                    .setDaemon(true)
+                    .build());
     private final SaveTransactionHelper saveTransactionHelper;
 
     /**
@@ -87,6 +99,11 @@ public final class ReadWriteStorageManager extends AbstractStorageManager
     private final Lock worldDirectoryReadLock = worldDirectoryLock.readLock();
     private final Lock worldDirectoryWriteLock = worldDirectoryLock.writeLock();
     private SaveTransaction saveTransaction;
+    private final ChunkSaveTracker chunkSaveTracker = new ChunkSaveTracker();
+    /**
+     * The world the {@link #chunkSaveTracker} listens to, or null if saves are not incremental yet.
+     */
+    private WorldProvider trackedWorld;
     private Config config;
     private SystemConfig systemConfig;
 
@@ -117,21 +134,32 @@ public ReadWriteStorageManager(Path savePath, ModuleEnvironment environment, Eng
                                    RecordAndReplayUtils recordAndReplayUtils, RecordAndReplayCurrentStatus recordAndReplayCurrentStatus)
             throws IOException {
         this(savePath, environment, entityManager, blockManager, extraDataManager,
-            true, recordAndReplaySerializer, recordAndReplayUtils, recordAndReplayCurrentStatus);
+            ChunkStorageFormat.REGION_FILES, recordAndReplaySerializer, recordAndReplayUtils,
+            recordAndReplayCurrentStatus);
     }
 
     ReadWriteStorageManager(Path savePath, ModuleEnvironment environment, EngineEntityManager entityManager,
                                    BlockManager blockManager, ExtraBlockDataManager extraDataManager, boolean storeChunksInZips,
                                    RecordAndReplaySerializer recordAndReplaySerializer, RecordAndReplayUtils recordAndReplayUtils,
                             RecordAndReplayCurrentStatus recordAndReplayCurrentStatus) throws IOException {
-        super(savePath, environment, entityManager, blockManager, extraDataManager, storeChunksInZips);
+        this(savePath, environment, entityManager, blockManager, extraDataManager,
+                storeChunksInZips ? ChunkStorageFormat.CHUNK_ZIPS : ChunkStorageFormat.CHUNK_FILES,
+                recordAndReplaySerializer, recordAndReplayUtils, recordAndReplayCurrentStatus);
+    }
+
+    ReadWriteStorageManager(Path savePath, ModuleEnvironment environment, EngineEntityManager entityManager,
+                            BlockManager blockManager, ExtraBlockDataManager extraDataManager,
+                            ChunkStorageFormat chunkStorageFormat, RecordAndReplaySerializer recordAndReplaySerializer,
+                            RecordAndReplayUtils recordAndReplayUtils,
+                            RecordAndReplayCurrentStatus recordAndReplayCurrentStatus) throws IOException {
+        super(savePath, environment, entityManager, blockManager, extraDataManager, chunkStorageFormat, false);
 
         entityManager.subscribeForDestruction(this);
         entityManager.subscribeForChanges(this);
         // TODO Ensure that the component library and the type serializer library are thread save (e.g. immutable)
         this.privateEntityManager = createPrivateEntityManager(entityManager.getComponentLibrary());
         Files.createDirectories(getStoragePathProvider().getStoragePathDirectory());
-        this.saveTransactionHelper = new SaveTransactionHelper(getStoragePathProvider());
+        this.saveTransactionHelper = new SaveTransactionHelper(getStoragePathProvider(), getChunkRegionStore());
         this.saveThreadManager = TaskMaster.createFIFOTaskMaster("Saving", 1);
         this.config = CoreRegistry.get(Config.class);
         this.systemConfig = CoreRegistry.get((SystemConfig.class));
@@ -157,7 +185,10 @@ public void finishSavingAndShutdown() {
             recordAndReplayUtils.setShutdownRequested(true);
         }
         saveThreadManager.shutdown(new ShutdownTask(), true);
+        compressionThreads.shutdown();
+        stopTrackingChunkChanges();
         checkSaveTransactionAndClearUpIfItIsDone();
+        getChunkRegionStore().close();
     }
 
     private void checkSaveTransactionAndClearUpIfItIsDone() {
@@ -166,6 +197,8 @@ private void checkSaveTransactionAndClearUpIfItIsDone() {
             if (result != null) {
                 Throwable t = saveTransaction.getResult().getCatchedThrowable();
                 if (t != null) {
+                    // the chunks recorded as saved might not have made it to disk
+                    chunkSaveTracker.reset();
                     throw new RuntimeException("Saving failed", t);
                 }
                 saveTransaction = null;
@@ -222,11 +255,20 @@ private void addChunksToSaveTransaction(SaveTransactionBuilder saveTransactionBu
             unsavedEntryIterator.remove();
         }
 
+        saveTransactionBuilder.setChunkCompression(getChunkCompression());
+        boolean incremental = startTrackingChunkChanges();
+        if (incremental) {
+            saveTransactionBuilder.setChunkSaveTracker(chunkSaveTracker);
+        }
         chunkProvider.getAllChunks().stream().filter(Chunk::isReady).forEach(chunk -> {
             // If there is a newer undisposed version of the chunk,we don't need to save the disposed version:
             unloadedAndSavingChunkMap.remove(chunk.getPosition(new Vector3i()));
             ChunkImpl chunkImpl = (ChunkImpl) chunk;  // this storage manager can only work with ChunkImpls
-            saveTransactionBuilder.addLoadedChunk(chunk.getPosition(), chunkImpl);
+            if (incremental && chunkSaveTracker.markSaved(chunk.getPosition())) {
+                saveTransactionBuilder.addUnmodifiedChunk(chunk.getPosition(), chunkImpl);
+            } else {
+                saveTransactionBuilder.addLoadedChunk(chunk.getPosition(), chunkImpl);
+            }
         });
 
         for (Map.Entry<Vector3ic, CompressedChunkBuilder> entry : unloadedAndSavingChunkMap.entrySet()) {
@@ -234,6 +276,41 @@ private void addChunksToSaveTransaction(SaveTransactionBuilder saveTransactionBu
         }
     }
 
+    /**
+     * Starts listening to block changes, if incremental saving is enabled and there is a world to listen to.
+     *
+     * @return whether the next save can skip the chunks that did not change
+     */
+    private boolean startTrackingChunkChanges() {
+        if (systemConfig == null || !systemConfig.incrementalSaving.get()) {
+            stopTrackingChunkChanges();
+            return false;
+        }
+        if (trackedWorld == null) {
+            trackedWorld = CoreRegistry.get(WorldProvider.class);
+            if (trackedWorld == null) {
+                return false;
+            }
+            trackedWorld.registerListener(chunkSaveTracker);
+        }
+        return true;
+    }
+
+    private ChunkCompression getChunkCompression() {
+        if (systemConfig != null && systemConfig.fastChunkCompression.get()) {
+            return ChunkCompression.LZ4;
+        }
+        return ChunkCompression.GZIP;
+    }
+
+    private void stopTrackingChunkChanges() {
+        if (trackedWorld != null) {
+            trackedWorld.unregisterListener(chunkSaveTracker);
+            trackedWorld = null;
+        }
+        chunkSaveTracker.reset();
+    }
+
     @Override
     public void requestSaving() {
         this.saveRequested = true;
@@ -258,8 +335,9 @@ private void waitForCompletionOfPreviousSave() {
 
     private SaveTransaction createSaveTransaction() {
         SaveTransactionBuilder saveTransactionBuilder = new SaveTransactionBuilder(privateEntityManager,
-                entitySetDeltaRecorder, isStoreChunksInZips(), getStoragePathProvider(), worldDirectoryWriteLock,
-                recordAndReplaySerializer, recordAndReplayUtils, recordAndReplayCurrentStatus);
+                entitySetDeltaRecorder, getChunkStorageFormat(), getChunkRegionStore(), compressionThreads,
+                getStoragePathProvider(), worldDirectoryWriteLock, recordAndReplaySerializer, recordAndReplayUtils,
+                recordAndReplayCurrentStatus);
 
         ChunkProvider chunkProvider = CoreRegistry.get(ChunkProvider.class);
         NetworkSystem networkSystem = CoreRegistry.get(NetworkSystem.class);
@@ -321,8 +399,9 @@ private PlayerStoreBuilder createPlayerStore(Client client, EntityRef character)
     public void deactivateChunk(Chunk chunk) {
         Collection<EntityRef> entitiesOfChunk = getEntitiesOfChunk(chunk);
         ChunkImpl chunkImpl = (ChunkImpl) chunk; // storage manager only works with ChunkImpl
+        chunkSaveTracker.forget(chunk.getPosition());
         unloadedAndUnsavedChunkMap.put(chunk.getPosition(new Vector3i()), new CompressedChunkBuilder(getEntityManager(), chunkImpl,
-                entitiesOfChunk, true));
+                entitiesOfChunk, true, getChunkCompression()));
 
         entitiesOfChunk.forEach(this::deactivateOrDestroyEntityRecursive);
     }
@@ -493,6 +572,15 @@ public void checkAndRepairSaveIfNecessary() throws IOException {
         if (Files.exists(getStoragePathProvider().getUnmergedChangesPath())) {
             saveTransactionHelper.mergeChanges();
         }
+        if (getChunkStorageFormat() == ChunkStorageFormat.REGION_FILES) {
+            worldDirectoryWriteLock.lock();
+            try {
+                ChunkRegionMigrator.migrate(getStoragePathProvider(), getChunkRegionStore());
+                setLegacyChunksPresent(false);
+            } finally {
+                worldDirectoryWriteLock.unlock();
+            }
+        }
     }
 
 
@@ -503,7 +591,10 @@ public void deleteWorld() {
         unloadedAndSavingChunkMap.clear();
         unloadedAndUnsavedPlayerMap.clear();
         unloadedAndSavingPlayerMap.clear();
+        stopTrackingChunkChanges();
 
+        getChunkRegionStore().close();
+        setLegacyChunksPresent(false);
         try {
             FilesUtil.recursiveDelete(getStoragePathProvider().getWorldPath());
         } catch (IOException e) {
@@ -2,9 +2,12 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.terasology.engine.persistence.internal;
 
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
 import org.joml.Vector3f;
 import org.joml.Vector3i;
 import org.slf4j.Logger;
@@ -14,6 +17,8 @@
 import org.terasology.engine.entitySystem.entity.internal.EngineEntityManager;
 import org.terasology.engine.game.GameManifest;
 import org.terasology.engine.logic.location.LocationComponent;
+import org.terasology.engine.monitoring.ThreadActivity;
+import org.terasology.engine.monitoring.ThreadMonitor;
 import org.terasology.engine.network.ClientComponent;
 import org.terasology.engine.recording.RecordAndReplayCurrentStatus;
 import org.terasology.engine.recording.RecordAndReplaySerializer;
@@ -27,6 +32,7 @@
 
 import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.net.URI;
 import java.nio.file.AccessDeniedException;
@@ -39,12 +45,18 @@
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.locks.Lock;
 
 /**
@@ -57,6 +69,14 @@ public class SaveTransaction extends AbstractTask {
     private static final Logger logger = LoggerFactory.getLogger(SaveTransaction.class);
 
     private static final ImmutableMap<String, String> CREATE_ZIP_OPTIONS = ImmutableMap.of("create", "true", "encoding", "UTF-8");
+    /**
+     * How many chunks each compression thread may compress ahead of the writer.
+     */
+    private static final int COMPRESSED_CHUNKS_AHEAD_PER_THREAD = 4;
+    /**
+     * The number of threads of the compression pool, which the {@link ReadWriteStorageManager} creates.
+     */
+    static final int COMPRESSION_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
     private final GameManifest gameManifest;
     private final Lock worldDirectoryWriteLock;
     private final EngineEntityManager privateEntityManager;
@@ -68,6 +88,7 @@ public class SaveTransaction extends AbstractTask {
     private final Map<String, PlayerStoreBuilder> loadedPlayers;
     private final Map<Vector3i, CompressedChunkBuilder> unloadedChunks;
     private final Map<Vector3i, ChunkImpl> loadedChunks;
+    private final Set<Vector3i> unmodifiedChunks;
     private final GlobalStoreBuilder globalStoreBuilder;
 
     // processed data:
@@ -77,7 +98,16 @@ public class SaveTransaction extends AbstractTask {
 
 
     // Save parameters:
-    private final boolean storeChunksInZips;
+    private final ChunkStorageFormat chunkStorageFormat;
+    private final ChunkRegionStore chunkRegionStore;
+    private final ChunkSaveTracker chunkSaveTracker;
+    private final ChunkCompression chunkCompression;
+    private final ExecutorService compressionThreads;
+    private final ChunkSaveMetrics chunkSaveMetrics = new ChunkSaveMetrics();
+    /**
+     * The chunks written to region files by this transaction, by region position and index in the region.
+     */
+    private final Map<Vector3i, Map<Integer, Long>> chunkRegionJournals = Maps.newHashMap();
 
     // utility classes for saving:
     private final StoragePathProvider storagePathProvider;
@@ -93,8 +123,11 @@ public SaveTransaction(EngineEntityManager privateEntityManager, EntitySetDeltaR
                            Map<String, EntityData.PlayerStore> unloadedPlayers,
                            Map<String, PlayerStoreBuilder> loadedPlayers, GlobalStoreBuilder globalStoreBuilder,
                            Map<Vector3i, CompressedChunkBuilder> unloadedChunks, Map<Vector3i, ChunkImpl> loadedChunks,
-                           GameManifest gameManifest, boolean storeChunksInZips,
-                           StoragePathProvider storagePathProvider, Lock worldDirectoryWriteLock,
+                           Set<Vector3i> unmodifiedChunks, ChunkSaveTracker chunkSaveTracker,
+                           ChunkCompression chunkCompression, ExecutorService compressionThreads,
+                           GameManifest gameManifest, ChunkStorageFormat chunkStorageFormat,
+                           ChunkRegionStore chunkRegionStore, StoragePathProvider storagePathProvider,
+                           Lock worldDirectoryWriteLock,
                            RecordAndReplaySerializer recordAndReplaySerializer,
                            RecordAndReplayUtils recordAndReplayUtils,
                            RecordAndReplayCurrentStatus recordAndReplayCurrentStatus) {
@@ -104,11 +137,16 @@ public SaveTransaction(EngineEntityManager privateEntityManager, EntitySetDeltaR
         this.loadedPlayers = loadedPlayers;
         this.unloadedChunks = unloadedChunks;
         this.loadedChunks = loadedChunks;
+        this.unmodifiedChunks = unmodifiedChunks;
+        this.chunkSaveTracker = chunkSaveTracker;
+        this.chunkCompression = chunkCompression;
+        this.compressionThreads = compressionThreads;
         this.globalStoreBuilder = globalStoreBuilder;
         this.gameManifest = gameManifest;
-        this.storeChunksInZips = storeChunksInZips;
+        this.chunkStorageFormat = chunkStorageFormat;
+        this.chunkRegionStore = chunkRegionStore;
         this.storagePathProvider = storagePathProvider;
-        this.saveTransactionHelper = new SaveTransactionHelper(storagePathProvider);
+        this.saveTransactionHelper = new SaveTransactionHelper(storagePathProvider, chunkRegionStore);
         this.worldDirectoryWriteLock = worldDirectoryWriteLock;
         this.recordAndReplaySerializer = recordAndReplaySerializer;
         this.recordAndReplayUtils = recordAndReplayUtils;
@@ -143,14 +181,33 @@ public void run() {
             perpareChangesForMerge();
             mergeChanges();
             result = SaveTransactionResult.createSuccessResult();
-            logger.info("Save game finished");
+            logger.info("Save game finished, saved {}", chunkSaveMetrics);
             saveRecordingData();
         } catch (IOException | RuntimeException t) {
             logger.error("Save game creation failed", t);
+            discardChunkRegionWrites();
             result = SaveTransactionResult.createFailureResult(t);
         }
     }
 
+    /**
+     * Releases the region file sectors written by this transaction, unless its changes are waiting to be merged and
+     * still need them. Committed chunks are kept.
+     */
+    private void discardChunkRegionWrites() {
+        if (Files.exists(storagePathProvider.getUnmergedChangesPath())) {
+            return;
+        }
+        for (Map.Entry<Vector3i, Map<Integer, Long>> journal : chunkRegionJournals.entrySet()) {
+            try {
+                chunkRegionStore.discard(storagePathProvider.getChunkRegionPath(journal.getKey()), journal.getValue());
+            } catch (IOException | RuntimeException e) {
+                logger.error("Failed to release the chunks written to region {}", journal.getKey(), e);
+            }
+        }
+        chunkRegionJournals.clear();
+    }
+
     private void createPreviewImagesFolder() throws IOException {
         Files.createDirectories(storagePathProvider.getPreviewsPath());
     }
@@ -206,21 +263,54 @@ private void prepareChunksPlayersAndGlobalStore() {
      */
     private void prepareCompressedChunkBuilders(Set<EntityRef> unsavedEntities) {
         Map<Vector3i, Collection<EntityRef>> chunkPosToEntitiesMap = createChunkPosToUnsavedOwnerLessEntitiesMap();
+        TLongSet changedEntityIds = getChangedEntityIds();
 
         allChunks = Maps.newHashMap();
         allChunks.putAll(unloadedChunks);
+        int unchangedChunkCount = 0;
         for (Map.Entry<Vector3i, ChunkImpl> chunkEntry : loadedChunks.entrySet()) {
-            Collection<EntityRef> entitiesToStore = chunkPosToEntitiesMap.get(chunkEntry.getKey());
+            Vector3i chunkPos = chunkEntry.getKey();
+            Collection<EntityRef> entitiesToStore = chunkPosToEntitiesMap.get(chunkPos);
             if (entitiesToStore == null) {
                 entitiesToStore = Collections.emptySet();
             }
-            ChunkImpl chunk = chunkEntry.getValue();
             unsavedEntities.removeAll(entitiesToStore);
+            if (chunkSaveTracker != null && unmodifiedChunks.contains(chunkPos)
+                    && chunkSaveTracker.areEntitiesUnchanged(chunkPos, entitiesToStore, changedEntityIds)) {
+                // the stored version of the chunk is still up to date, including its owned entities
+                chunkSaveTracker.getSavedEntityIds(chunkPos).forEach(entityId -> {
+                    unsavedEntities.remove(privateEntityManager.getEntity(entityId));
+                    return true;
+                });
+                unchangedChunkCount++;
+                continue;
+            }
+            ChunkImpl chunk = chunkEntry.getValue();
+            long startTime = System.nanoTime();
             CompressedChunkBuilder compressedChunkBuilder = new CompressedChunkBuilder(privateEntityManager, chunk,
-                    entitiesToStore, false);
+                    entitiesToStore, false, chunkCompression);
+            chunkSaveMetrics.record(ChunkSaveMetrics.Phase.SNAPSHOT, startTime);
             unsavedEntities.removeAll(compressedChunkBuilder.getStoredEntities());
-            allChunks.put(chunkEntry.getKey(), compressedChunkBuilder);
+            allChunks.put(chunkPos, compressedChunkBuilder);
+            if (chunkSaveTracker != null) {
+                chunkSaveTracker.recordSavedEntities(chunkPos, entitiesToStore,
+                        compressedChunkBuilder.getStoredEntities());
+            }
+        }
+        if (chunkSaveTracker != null) {
+            unloadedChunks.keySet().forEach(chunkSaveTracker::forgetSavedEntities);
         }
+        logger.info("Saving {} chunks, {} loaded chunks are unchanged", allChunks.size(), unchangedChunkCount);
+    }
+
+    /**
+     * @return the ids of the entities that got changed, destroyed or deactivated since the last save
+     */
+    private TLongSet getChangedEntityIds() {
+        TLongSet changedEntityIds = new TLongHashSet(deltaToSave.getEntityDeltas().keySet());
+        changedEntityIds.addAll(deltaToSave.getDestroyedEntities());
+        changedEntityIds.addAll(deltaToSave.getDeactivatedEntities());
+        return changedEntityIds;
     }
 
     /**
@@ -389,10 +479,11 @@ private void writeGlobalStore() throws IOException {
     private void writeChunkStores() throws IOException {
         Path chunksPath = storagePathProvider.getWorldTempPath();
         Files.createDirectories(chunksPath);
-        if (storeChunksInZips) {
+        if (chunkStorageFormat == ChunkStorageFormat.REGION_FILES) {
+            writeChunkRegions();
+        } else if (chunkStorageFormat == ChunkStorageFormat.CHUNK_ZIPS) {
             Map<Vector3i, FileSystem> newChunkZips = Maps.newHashMap();
-            for (Map.Entry<Vector3i, CompressedChunkBuilder> entry : allChunks.entrySet()) {
-                Vector3i chunkPos = entry.getKey();
+            forEachCompressedChunk((chunkPos, compressedChunk) -> {
                 Vector3i chunkZipPos = storagePathProvider.getChunkZipPosition(chunkPos);
                 FileSystem zip = newChunkZips.get(chunkZipPos);
                 if (zip == null) {
@@ -402,12 +493,10 @@ private void writeChunkStores() throws IOException {
                     newChunkZips.put(chunkZipPos, zip);
                 }
                 Path chunkPath = zip.getPath(storagePathProvider.getChunkFilename(chunkPos));
-                CompressedChunkBuilder compressedChunkBuilder = entry.getValue();
-                byte[] compressedChunk = compressedChunkBuilder.buildEncodedChunk();
                 try (BufferedOutputStream bos = new BufferedOutputStream(Files.newOutputStream(chunkPath))) {
                     bos.write(compressedChunk);
                 }
-            }
+            });
             // Copy existing, unmodified content into the zips and close them
             for (Map.Entry<Vector3i, FileSystem> chunkZipEntry : newChunkZips.entrySet()) {
                 Vector3i chunkZipPos = chunkZipEntry.getKey();
@@ -432,18 +521,87 @@ public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
                 zip.close();
             }
         } else {
-            for (Map.Entry<Vector3i, CompressedChunkBuilder> entry : allChunks.entrySet()) {
-                Vector3i chunkPos = entry.getKey();
-                CompressedChunkBuilder compressedChunkBuilder = entry.getValue();
-                byte[] compressedChunk = compressedChunkBuilder.buildEncodedChunk();
+            forEachCompressedChunk((chunkPos, compressedChunk) -> {
                 Path chunkPath = storagePathProvider.getChunkTempPath(chunkPos);
                 try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(chunkPath))) {
                     out.write(compressedChunk);
                 }
+            });
+        }
+    }
+
+    /**
+     * Writes the chunks into free sectors of their region files, and the table entries pointing to them into journals
+     * that get applied when the changes get merged. Until then, the region files keep serving the previous versions.
+     */
+    private void writeChunkRegions() throws IOException {
+        Files.createDirectories(storagePathProvider.getWorldPath());
+        forEachCompressedChunk((chunkPos, compressedChunk) -> {
+            long location = chunkRegionStore.getRegionFile(chunkPos).write(compressedChunk);
+            chunkRegionJournals.computeIfAbsent(storagePathProvider.getChunkRegionPosition(chunkPos),
+                    k -> Maps.newHashMap()).put(ChunkRegionFile.getIndex(chunkPos), location);
+        });
+        // The chunk data has to be durable before the journals can be merged
+        chunkRegionStore.force();
+        for (Map.Entry<Vector3i, Map<Integer, Long>> journal : chunkRegionJournals.entrySet()) {
+            ChunkRegionStore.writeJournal(storagePathProvider.getChunkRegionJournalTempPath(journal.getKey()),
+                    journal.getValue());
+        }
+    }
+
+    /**
+     * Compresses the chunks to save on the compression threads and passes them to the writer one after another, in the
+     * order they got submitted. The threads only compress a few chunks ahead of the writer, so the compressed chunks
+     * held in memory stay bounded while the writer is busy.
+     */
+    private void forEachCompressedChunk(ChunkWriter writer) throws IOException {
+        Iterator<Map.Entry<Vector3i, CompressedChunkBuilder>> remaining = allChunks.entrySet().iterator();
+        int maxCompressing = COMPRESSION_THREADS * COMPRESSED_CHUNKS_AHEAD_PER_THREAD;
+        Deque<Map.Entry<Vector3i, Future<byte[]>>> compressing = new ArrayDeque<>();
+        try {
+            while (remaining.hasNext() || !compressing.isEmpty()) {
+                while (remaining.hasNext() && compressing.size() < maxCompressing) {
+                    Map.Entry<Vector3i, CompressedChunkBuilder> entry = remaining.next();
+                    // drop the chunk from the transaction, so it can be freed once written
+                    remaining.remove();
+                    CompressedChunkBuilder compressedChunkBuilder = entry.getValue();
+                    compressing.add(Maps.immutableEntry(entry.getKey(), compressionThreads.submit(() -> {
+                        try (ThreadActivity ignored = ThreadMonitor.startThreadActivity("Compressing chunk")) {
+                            return compressedChunkBuilder.buildEncodedChunk(chunkSaveMetrics);
+                        }
+                    })));
+                }
+                Map.Entry<Vector3i, Future<byte[]>> next = compressing.poll();
+                byte[] compressedChunk = getCompressedChunk(next.getValue());
+                long startTime = System.nanoTime();
+                writer.write(next.getKey(), compressedChunk);
+                chunkSaveMetrics.record(ChunkSaveMetrics.Phase.WRITE, startTime);
+                chunkSaveMetrics.chunkWritten(compressedChunk.length);
             }
+        } finally {
+            // the pool outlives the transaction, so drop what is left of a failed save
+            for (Map.Entry<Vector3i, Future<byte[]>> entry : compressing) {
+                entry.getValue().cancel(true);
+            }
+        }
+    }
+
+    private static byte[] getCompressedChunk(Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while compressing chunks");
+        } catch (ExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new IOException("Failed to compress chunk", e.getCause());
         }
     }
 
+    ChunkSaveMetrics getChunkSaveMetrics() {
+        return chunkSaveMetrics;
+    }
+
     /**
      * @return the result if there is one yet or null. This method returns the value of a volatile variable and
      * can thus be used even from another thread.
@@ -470,4 +628,8 @@ private void mergeChanges() throws IOException {
         }
     }
 
+    @FunctionalInterface
+    private interface ChunkWriter {
+        void write(Vector3i chunkPos, byte[] compressedChunk) throws IOException;
+    }
 }
@@ -3,6 +3,7 @@
 package org.terasology.engine.persistence.internal;
 
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import org.joml.Vector3i;
 import org.joml.Vector3ic;
 import org.terasology.engine.entitySystem.entity.internal.EngineEntityManager;
@@ -14,6 +15,8 @@
 import org.terasology.engine.world.chunks.internal.ChunkImpl;
 
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.locks.Lock;
 
 /**
@@ -28,8 +31,13 @@ class SaveTransactionBuilder {
     private Map<String, PlayerStoreBuilder> loadedPlayers = Maps.newHashMap();
     private Map<Vector3i, CompressedChunkBuilder> unloadedChunks = Maps.newHashMap();
     private Map<Vector3i, ChunkImpl> loadedChunks = Maps.newHashMap();
+    private Set<Vector3i> unmodifiedChunks = Sets.newHashSet();
+    private ChunkSaveTracker chunkSaveTracker;
+    private ChunkCompression chunkCompression = ChunkCompression.GZIP;
     private GlobalStoreBuilder globalStoreBuilder;
-    private final boolean storeChunksInZips;
+    private final ChunkStorageFormat chunkStorageFormat;
+    private final ChunkRegionStore chunkRegionStore;
+    private final ExecutorService compressionThreads;
     private final StoragePathProvider storagePathProvider;
     private GameManifest gameManifest;
     private RecordAndReplaySerializer recordAndReplaySerializer;
@@ -37,13 +45,16 @@ class SaveTransactionBuilder {
     private RecordAndReplayCurrentStatus recordAndReplayCurrentStatus;
 
     SaveTransactionBuilder(EngineEntityManager privateEntityManager, EntitySetDeltaRecorder deltaToSave,
-                           boolean storeChunksInZips, StoragePathProvider storagePathProvider,
+                           ChunkStorageFormat chunkStorageFormat, ChunkRegionStore chunkRegionStore,
+                           ExecutorService compressionThreads, StoragePathProvider storagePathProvider,
                            Lock worldDirectoryWriteLock, RecordAndReplaySerializer recordAndReplaySerializer,
                            RecordAndReplayUtils recordAndReplayUtils,
                            RecordAndReplayCurrentStatus recordAndReplayCurrentStatus) {
         this.privateEntityManager = privateEntityManager;
         this.deltaToSave = deltaToSave;
-        this.storeChunksInZips = storeChunksInZips;
+        this.chunkStorageFormat = chunkStorageFormat;
+        this.chunkRegionStore = chunkRegionStore;
+        this.compressionThreads = compressionThreads;
         this.storagePathProvider = storagePathProvider;
         this.worldDirectoryWriteLock = worldDirectoryWriteLock;
         this.recordAndReplaySerializer = recordAndReplaySerializer;
@@ -72,9 +83,30 @@ void addLoadedChunk(final Vector3ic chunkPosition, final ChunkImpl chunk) {
         loadedChunks.put(new Vector3i(chunkPosition), chunk);
     }
 
+    /**
+     * Adds a loaded chunk whose blocks did not change since the last save. It only gets written again if the entities
+     * stored with it changed.
+     */
+    void addUnmodifiedChunk(final Vector3ic chunkPosition, final ChunkImpl chunk) {
+        addLoadedChunk(chunkPosition, chunk);
+        unmodifiedChunks.add(new Vector3i(chunkPosition));
+    }
+
+    /**
+     * Enables incremental saving, see {@link ChunkSaveTracker}.
+     */
+    void setChunkSaveTracker(ChunkSaveTracker chunkSaveTracker) {
+        this.chunkSaveTracker = chunkSaveTracker;
+    }
+
+    void setChunkCompression(ChunkCompression chunkCompression) {
+        this.chunkCompression = chunkCompression;
+    }
+
     public SaveTransaction build() {
         return new SaveTransaction(privateEntityManager, deltaToSave, unloadedPlayers, loadedPlayers, globalStoreBuilder,
-                unloadedChunks, loadedChunks, gameManifest, storeChunksInZips, storagePathProvider,
+                unloadedChunks, loadedChunks, unmodifiedChunks, chunkSaveTracker, chunkCompression, compressionThreads,
+                gameManifest, chunkStorageFormat, chunkRegionStore, storagePathProvider,
                 worldDirectoryWriteLock, recordAndReplaySerializer, recordAndReplayUtils, recordAndReplayCurrentStatus);
 
     }
@@ -22,9 +22,11 @@
 public class SaveTransactionHelper {
     private static final Logger logger = LoggerFactory.getLogger(SaveTransactionHelper.class);
     private final StoragePathProvider storagePathProvider;
+    private final ChunkRegionStore chunkRegionStore;
 
-    public SaveTransactionHelper(StoragePathProvider storagePathProvider) {
+    SaveTransactionHelper(StoragePathProvider storagePathProvider, ChunkRegionStore chunkRegionStore) {
         this.storagePathProvider = storagePathProvider;
+        this.chunkRegionStore = chunkRegionStore;
     }
 
     public void cleanupSaveTransactionDirectory() throws IOException {
@@ -49,7 +51,8 @@ public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOEx
 
     /**
      * Merges all outstanding changes into the save game. If this operation gets interrupted it can be started again
-     * without any file corruption when the file system supports atomic moves.
+     * without any file corruption when the file system supports atomic moves. Journals of region files get applied to
+     * them rather than moved.
      * <br><br>
      * The write lock for the save directory should be acquired before this method gets called.
      */
@@ -72,6 +75,13 @@ public FileVisitResult preVisitDirectory(Path sourceSubDir, BasicFileAttributes
             @Override
             public FileVisitResult visitFile(Path sourcePath, BasicFileAttributes attrs) throws IOException {
                 Path targetPath = targetDirectory.resolve(sourceDirectory.relativize(sourcePath));
+                if (storagePathProvider.isChunkRegionJournalFilename(sourcePath.getFileName().toString())) {
+                    // Region files get updated in place instead of replaced
+                    Path regionPath = storagePathProvider.getChunkRegionPathOfJournal(targetPath);
+                    chunkRegionStore.applyJournal(sourcePath, regionPath);
+                    Files.delete(sourcePath);
+                    return FileVisitResult.CONTINUE;
+                }
                 try {
                     // Delete file, as behavior of atomic move is undefined if target file exists:
                     Files.deleteIfExists(targetPath);
@@ -17,6 +17,10 @@ public class StoragePathProvider {
     private static final String GLOBAL_ENTITY_STORE = "global.dat";
     private static final String UNFINISHED_SAVE_TRANSACTION = "unfinished-save-transaction";
     private static final String UNMERGED_CHANGED = "unmerged-changes";
+    private static final String CHUNK_EXTENSION = ".chunk";
+    private static final String CHUNK_ZIP_EXTENSION = ".chunks.zip";
+    private static final String CHUNK_REGION_EXTENSION = ".region";
+    private static final String JOURNAL_EXTENSION = ".journal";
     private static final int CHUNK_ZIP_DIM = 32;
 
     private final Path storagePathDirectory;
@@ -92,12 +96,64 @@ public Path getGlobalEntityStoreTempPath() {
     }
 
     public String getChunkFilename(Vector3ic pos) {
-        return String.format("%d.%d.%d.chunk", pos.x(), pos.y(), pos.z());
+        return String.format("%d.%d.%d" + CHUNK_EXTENSION, pos.x(), pos.y(), pos.z());
     }
 
+    /**
+     * @return the position of the chunk stored in a file with the given name, or null if the name does not belong to
+     *         a chunk file
+     */
+    public Vector3i parseChunkFilename(String filename) {
+        if (!filename.endsWith(CHUNK_EXTENSION)) {
+            return null;
+        }
+        String[] parts = filename.substring(0, filename.length() - CHUNK_EXTENSION.length()).split("\\.");
+        if (parts.length != 3) {
+            return null;
+        }
+        try {
+            return new Vector3i(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public boolean isChunkZipFilename(String filename) {
+        return filename.endsWith(CHUNK_ZIP_EXTENSION);
+    }
 
     private String getChunkZipFilename(Vector3ic pos) {
-        return String.format("%d.%d.%d.chunks.zip", pos.x(), pos.y(), pos.z());
+        return String.format("%d.%d.%d" + CHUNK_ZIP_EXTENSION, pos.x(), pos.y(), pos.z());
+    }
+
+    private String getChunkRegionFilename(Vector3ic pos) {
+        return String.format("%d.%d.%d" + CHUNK_REGION_EXTENSION, pos.x(), pos.y(), pos.z());
+    }
+
+    public Path getChunkRegionPath(Vector3ic chunkRegionPos) {
+        return worldPath.resolve(getChunkRegionFilename(chunkRegionPos));
+    }
+
+    public Path getChunkRegionJournalTempPath(Vector3ic chunkRegionPos) {
+        return getWorldTempPath().resolve(getChunkRegionFilename(chunkRegionPos) + JOURNAL_EXTENSION);
+    }
+
+    public boolean isChunkRegionJournalFilename(String filename) {
+        return filename.endsWith(CHUNK_REGION_EXTENSION + JOURNAL_EXTENSION);
+    }
+
+    /**
+     * @return the path of the region file the given journal belongs to, in the same directory
+     */
+    public Path getChunkRegionPathOfJournal(Path journalPath) {
+        String filename = journalPath.getFileName().toString();
+        return journalPath.resolveSibling(filename.substring(0, filename.length() - JOURNAL_EXTENSION.length()));
+    }
+
+    public Vector3i getChunkRegionPosition(Vector3ic chunkPos) {
+        return new Vector3i(Math.floorDiv(chunkPos.x(), ChunkRegionFile.REGION_DIM),
+                Math.floorDiv(chunkPos.y(), ChunkRegionFile.REGION_DIM),
+                Math.floorDiv(chunkPos.z(), ChunkRegionFile.REGION_DIM));
     }
 
     public Vector3i getChunkZipPosition(Vector3ic chunkPos) {
@@ -20,6 +20,7 @@
 import org.terasology.engine.entitySystem.metadata.ComponentMetadata;
 import org.terasology.engine.entitySystem.metadata.ReplicatedFieldMetadata;
 import org.terasology.engine.entitySystem.prefab.Prefab;
+import org.terasology.engine.network.Replicate;
 import org.terasology.engine.persistence.typeHandling.protobuf.ProtobufPersistedData;
 import org.terasology.engine.persistence.typeHandling.protobuf.ProtobufPersistedDataSerializer;
 import org.terasology.gestalt.entitysystem.component.Component;
@@ -144,7 +145,7 @@ private void serializeComponentDelta(Component oldComponent, Component newCompon
                     PersistedData data = serializer.serializeValue(field, newValue, serializationContext);
                     if (!data.isNull()) {
                         entityFieldIds.write(field.getId());
-                        entityData.addFieldValue(((ProtobufPersistedData) data).getValue());
+                        entityData.addFieldValue(quantize(field, ((ProtobufPersistedData) data).getValue()));
                         fieldCount++;
                     } else {
                         logger.error("Exception serializing component type: {}, field: {} - returned null", componentMetadata, field);
@@ -176,7 +177,7 @@ private void serializeComponentFull(Component component, boolean ignoreIfNoField
                 PersistedData fieldValue = serializer.serialize(field, component, serializationContext);
                 entityFieldIds.write(field.getId());
 
-                entityData.addFieldValue(((ProtobufPersistedData) fieldValue).getValue());
+                entityData.addFieldValue(quantize(field, ((ProtobufPersistedData) fieldValue).getValue()));
                 fieldCount++;
             }
         }
@@ -187,6 +188,43 @@ private void serializeComponentFull(Component component, boolean ignoreIfNoField
         }
     }
 
+    /**
+     * Replaces the floats of a field with {@link Replicate#quantization()} by the number of quantization steps they
+     * amount to.
+     */
+    private static EntityData.Value quantize(ReplicatedFieldMetadata<?, ?> field, EntityData.Value value) {
+        float step = getQuantization(field);
+        if (step <= 0 || value.getFloatCount() == 0 || value.getIntegerCount() != 0) {
+            return value;
+        }
+        EntityData.Value.Builder result = EntityData.Value.newBuilder();
+        for (int i = 0; i < value.getFloatCount(); i++) {
+            float steps = value.getFloat(i) / step;
+            if (!Float.isFinite(steps) || Math.abs(steps) >= Integer.MAX_VALUE) {
+                return value;
+            }
+            result.addInteger(Math.round(steps));
+        }
+        return result.build();
+    }
+
+    private static EntityData.Value dequantize(ReplicatedFieldMetadata<?, ?> field, EntityData.Value value) {
+        float step = getQuantization(field);
+        if (step <= 0 || value.getIntegerCount() == 0 || value.getFloatCount() != 0) {
+            return value;
+        }
+        EntityData.Value.Builder result = EntityData.Value.newBuilder();
+        for (int i = 0; i < value.getIntegerCount(); i++) {
+            result.addFloat(value.getInteger(i) * step);
+        }
+        return result.build();
+    }
+
+    private static float getQuantization(ReplicatedFieldMetadata<?, ?> field) {
+        Replicate replicationInfo = field.getReplicationInfo();
+        return replicationInfo != null ? replicationInfo.quantization() : 0;
+    }
+
     public void deserializeOnto(MutableComponentContainer entity, EntityData.PackedEntity entityData) {
         deserializeOnto(entity, entityData, FieldSerializeCheck.NullCheck.<Component>newInstance());
     }
@@ -219,7 +257,8 @@ public void deserializeOnto(MutableComponentContainer entity, EntityData.PackedE
                 ReplicatedFieldMetadata fieldMetadata = metadata.getField(fieldId);
                 if (fieldMetadata != null && fieldCheck.shouldDeserialize(metadata, fieldMetadata)) {
                     logger.trace("Deserializing field {} of component {} as value {}", fieldMetadata, metadata, entityData.getFieldValue(fieldPos));
-                    serializer.deserializeOnto(component, fieldMetadata, new ProtobufPersistedData(entityData.getFieldValue(fieldPos)));
+                    EntityData.Value value = dequantize(fieldMetadata, entityData.getFieldValue(fieldPos));
+                    serializer.deserializeOnto(component, fieldMetadata, new ProtobufPersistedData(value));
                 }
                 fieldPos++;
             }
@@ -0,0 +1,237 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.persistence.serializers;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.engine.entitySystem.entity.internal.EngineEntityManager;
+import org.terasology.engine.entitySystem.entity.internal.EntityInfoComponent;
+import org.terasology.engine.entitySystem.entity.internal.EntityScope;
+import org.terasology.engine.entitySystem.metadata.ComponentLibrary;
+import org.terasology.engine.entitySystem.metadata.ComponentMetadata;
+import org.terasology.engine.entitySystem.prefab.Prefab;
+import org.terasology.engine.entitySystem.prefab.PrefabManager;
+import org.terasology.engine.persistence.typeHandling.protobuf.ProtobufPersistedData;
+import org.terasology.gestalt.entitysystem.component.Component;
+import org.terasology.persistence.typeHandling.Serializer;
+import org.terasology.protobuf.EntityData;
+import org.terasology.reflection.metadata.FieldMetadata;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Creates the entities written by a {@link PackedEntityWriter}.
+ * <br><br>
+ * The stored schemas are matched to the current components by class and field name. Components and fields that no
+ * longer exist, or whose type changed, are skipped.
+ */
+public class PackedEntityReader {
+    private static final Logger logger = LoggerFactory.getLogger(PackedEntityReader.class);
+
+    private final EngineEntityManager entityManager;
+    private final ComponentLibrary componentLibrary;
+    private final PrefabManager prefabManager;
+    private ComponentSerializeCheck componentSerializeCheck = ComponentSerializeCheck.NullCheck.create();
+
+    public PackedEntityReader(EngineEntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.componentLibrary = entityManager.getComponentLibrary();
+        this.prefabManager = entityManager.getPrefabManager();
+    }
+
+    public void setComponentSerializeCheck(ComponentSerializeCheck check) {
+        this.componentSerializeCheck = check;
+    }
+
+    /**
+     * Creates the packed entities in the entity manager. Reading stops at the first malformed entity.
+     *
+     * @param schemas the schemas the entities were written with
+     * @param packedEntities the entities, as written by a {@link PackedEntityWriter}
+     */
+    public void read(List<EntityData.ComponentSchema> schemas, ByteString packedEntities) {
+        ComponentLayout[] layouts = new ComponentLayout[schemas.size()];
+        for (int i = 0; i < layouts.length; i++) {
+            layouts[i] = new ComponentLayout(schemas.get(i));
+        }
+        List<Prefab> prefabs = Lists.newArrayList();
+        CodedInputStream in = packedEntities.newCodedInput();
+        try {
+            while (!in.isAtEnd()) {
+                readEntity(in, layouts, prefabs);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to read packed entities", e);
+        }
+    }
+
+    private void readEntity(CodedInputStream in, ComponentLayout[] layouts, List<Prefab> prefabs) throws IOException {
+        long id = in.readInt64();
+        int flags = in.readUInt32();
+        EntityScope scope = toScope(in.readUInt32());
+        Prefab prefab = null;
+        if ((flags & PackedEntityWriter.HAS_PREFAB) != 0) {
+            prefab = readPrefab(in, prefabs);
+        }
+        long ownerId = (flags & PackedEntityWriter.HAS_OWNER) != 0 ? in.readInt64() : 0;
+
+        Set<Class<? extends Component>> removedComponents = Sets.newHashSet();
+        int removedCount = in.readUInt32();
+        for (int i = 0; i < removedCount; i++) {
+            ComponentMetadata<?> metadata = getLayout(layouts, in.readUInt32()).metadata;
+            if (metadata != null) {
+                removedComponents.add(metadata.getType());
+            }
+        }
+
+        Map<Class<? extends Component>, Component> componentMap = Maps.newHashMap();
+        EntityInfoComponent entityInfo;
+        if (prefab != null) {
+            for (Component component : prefab.iterateComponents()) {
+                if (!removedComponents.contains(component.getClass())) {
+                    componentMap.put(component.getClass(), componentLibrary.copy(component));
+                }
+            }
+            entityInfo = new EntityInfoComponent(prefab, true, prefab.isAlwaysRelevant());
+        } else {
+            entityInfo = new EntityInfoComponent();
+        }
+        componentMap.put(EntityInfoComponent.class, entityInfo);
+        if ((flags & PackedEntityWriter.HAS_OWNER) != 0) {
+            entityInfo.owner = entityManager.getEntity(ownerId);
+        }
+        entityInfo.alwaysRelevant = (flags & PackedEntityWriter.ALWAYS_RELEVANT) != 0;
+        entityInfo.scope = scope;
+
+        for (int ref = in.readUInt32(); ref != 0; ref = in.readUInt32()) {
+            ComponentLayout layout = getLayout(layouts, ref - 1);
+            if (layout.metadata == null || !componentSerializeCheck.serialize(layout.metadata)) {
+                layout.readOnto(null, in);
+                continue;
+            }
+            Component component = componentMap.get(layout.metadata.getType());
+            if (component == null) {
+                component = layout.metadata.newInstance();
+                componentMap.put(layout.metadata.getType(), component);
+            }
+            layout.readOnto(component, in);
+        }
+        entityManager.createEntityWithId(id, componentMap.values());
+    }
+
+    /**
+     * @return the prefab, or null if it no longer exists
+     */
+    private Prefab readPrefab(CodedInputStream in, List<Prefab> prefabs) throws IOException {
+        int index = in.readUInt32();
+        if (index < prefabs.size()) {
+            return prefabs.get(index);
+        } else if (index > prefabs.size()) {
+            throw new InvalidProtocolBufferException("Unknown prefab index " + index);
+        }
+        String name = in.readString();
+        Prefab prefab = !name.isEmpty() && prefabManager.exists(name) ? prefabManager.getPrefab(name) : null;
+        if (prefab == null) {
+            logger.warn("Unable to restore the prefab of entities, unknown prefab: {}", name);
+        }
+        prefabs.add(prefab);
+        return prefab;
+    }
+
+    private static ComponentLayout getLayout(ComponentLayout[] layouts, int index) throws IOException {
+        if (index < 0 || index >= layouts.length) {
+            throw new InvalidProtocolBufferException("Unknown component schema index " + index);
+        }
+        return layouts[index];
+    }
+
+    private static EntityScope toScope(int scopeId) {
+        switch (scopeId) {
+            case EntityData.Entity.Scope.SECTOR_VALUE:
+                return EntityScope.SECTOR;
+            case EntityData.Entity.Scope.CHUNK_VALUE:
+                return EntityScope.CHUNK;
+            default:
+                return EntityScope.GLOBAL;
+        }
+    }
+
+    /**
+     * A stored schema, resolved against the current components.
+     */
+    private final class ComponentLayout {
+        /**
+         * The current component, or null if it no longer exists.
+         */
+        private final ComponentMetadata<? extends Component> metadata;
+        private final Serializer serializer;
+        private final PackedFieldType[] types;
+        /**
+         * The current field for each stored field, or null if it got removed or changed its type.
+         */
+        private final FieldMetadata<?, ?>[] fields;
+
+        private ComponentLayout(EntityData.ComponentSchema schema) {
+            this.metadata = componentLibrary.resolve(schema.getComponentClass());
+            this.serializer = metadata != null
+                    ? entityManager.getTypeSerializerLibrary().getSerializerFor(metadata) : null;
+            this.types = new PackedFieldType[schema.getFieldTypeCount()];
+            this.fields = new FieldMetadata<?, ?>[types.length];
+            if (metadata == null) {
+                logger.warn("Unable to deserialize unknown component type: {}", schema.getComponentClass());
+            }
+            for (int i = 0; i < types.length; i++) {
+                types[i] = PackedFieldType.byId(schema.getFieldType(i));
+                if (metadata == null || i >= schema.getFieldNameCount()) {
+                    continue;
+                }
+                FieldMetadata<?, ?> field = metadata.getField(schema.getFieldName(i));
+                if (field != null && serializer.getHandlerFor(field) != null
+                        && PackedFieldType.of(field.getType()) == types[i]) {
+                    fields[i] = field;
+                } else {
+                    logger.warn("Cannot deserialize field '{}' onto '{}'", schema.getFieldName(i), metadata.getId());
+                }
+            }
+        }
+
+        /**
+         * Reads the stored fields of a component, and applies them to the target if there is one.
+         */
+        private void readOnto(Component target, CodedInputStream in) throws IOException {
+            byte[] present = in.readRawBytes(PackedEntityWriter.bitmapLength(types.length));
+            for (int i = 0; i < types.length; i++) {
+                if ((present[i >> 3] & (1 << (i & 7))) == 0) {
+                    continue;
+                }
+                if (types[i] == null) {
+                    throw new InvalidProtocolBufferException("Unknown field type in " + metadata);
+                }
+                Object value = types[i].read(in);
+                FieldMetadata<?, ?> field = fields[i];
+                if (target == null || field == null) {
+                    continue;
+                }
+                switch (types[i]) {
+                    case ENTITY:
+                        field.setValue(target, entityManager.getEntity((Long) value));
+                        break;
+                    case VALUE:
+                        serializer.deserializeOnto(target, field, new ProtobufPersistedData((EntityData.Value) value));
+                        break;
+                    default:
+                        field.setValue(target, value);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,276 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.persistence.serializers;
+
+import com.google.common.base.Objects;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.entity.internal.EngineEntityManager;
+import org.terasology.engine.entitySystem.entity.internal.EntityScope;
+import org.terasology.engine.entitySystem.metadata.ComponentLibrary;
+import org.terasology.engine.entitySystem.metadata.ComponentMetadata;
+import org.terasology.engine.entitySystem.metadata.ReplicatedFieldMetadata;
+import org.terasology.engine.entitySystem.prefab.Prefab;
+import org.terasology.engine.persistence.typeHandling.protobuf.ProtobufPersistedData;
+import org.terasology.engine.persistence.typeHandling.protobuf.ProtobufPersistedDataSerializer;
+import org.terasology.gestalt.entitysystem.component.Component;
+import org.terasology.persistence.typeHandling.PersistedData;
+import org.terasology.persistence.typeHandling.Serializer;
+import org.terasology.persistence.typeHandling.TypeHandlerLibrary;
+import org.terasology.protobuf.EntityData;
+import org.terasology.reflection.metadata.FieldMetadata;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes entities in the packed format, a compact alternative to a list of {@link EntityData.Entity} messages.
+ * <br><br>
+ * Instead of naming every field of every component, the components of each class are described once by a
+ * {@link EntityData.ComponentSchema}, and their fields are written positionally in the order of the schema. Fields of
+ * common types are written directly, without building a {@link PersistedData} for them. Like the
+ * {@link EntitySerializer}, entities with a prefab only store how they differ from it.
+ * <br><br>
+ * Each entity is written as:
+ * <ul>
+ *     <li>its id, its flags and its scope</li>
+ *     <li>the index of its prefab if it has one, followed by the prefab name when it is its first use</li>
+ *     <li>the id of its owner if it has one</li>
+ *     <li>the number of prefab components it lacks, followed by their schema indices</li>
+ *     <li>for each stored component, its schema index plus one, a bitmap of the fields present and their values</li>
+ *     <li>a zero ending the components</li>
+ * </ul>
+ */
+public class PackedEntityWriter {
+    static final int HAS_PREFAB = 1;
+    static final int HAS_OWNER = 2;
+    static final int ALWAYS_RELEVANT = 4;
+
+    private final ComponentLibrary componentLibrary;
+    private final TypeHandlerLibrary typeHandlerLibrary;
+    private final ProtobufPersistedDataSerializer serializationContext = new ProtobufPersistedDataSerializer();
+    private ComponentSerializeCheck componentSerializeCheck = ComponentSerializeCheck.NullCheck.create();
+
+    private final Map<Class<? extends Component>, ComponentLayout> layouts = Maps.newHashMap();
+    private final List<EntityData.ComponentSchema> schemas = Lists.newArrayList();
+    private final Map<String, Integer> prefabIndices = Maps.newHashMap();
+
+    private final ByteString.Output buffer = ByteString.newOutput();
+    private final CodedOutputStream out = CodedOutputStream.newInstance(buffer);
+    private Object[] fieldValues = new Object[0];
+
+    public PackedEntityWriter(EngineEntityManager entityManager) {
+        this.componentLibrary = entityManager.getComponentLibrary();
+        this.typeHandlerLibrary = entityManager.getTypeSerializerLibrary();
+    }
+
+    public void setComponentSerializeCheck(ComponentSerializeCheck check) {
+        this.componentSerializeCheck = check;
+    }
+
+    /**
+     * Appends an entity, as a delta against its prefab if it has one.
+     */
+    public void write(EntityRef entity) {
+        try {
+            writeEntity(entity);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to pack entity " + entity, e);
+        }
+    }
+
+    /**
+     * @return the schemas of all components written so far, to be stored along with the packed entities
+     */
+    public List<EntityData.ComponentSchema> getComponentSchemas() {
+        return schemas;
+    }
+
+    /**
+     * @return the entities written so far
+     */
+    public ByteString getPackedEntities() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to pack entities", e);
+        }
+        return buffer.toByteString();
+    }
+
+    private void writeEntity(EntityRef entity) throws IOException {
+        Prefab prefab = entity.getParentPrefab();
+        EntityRef owner = entity.getOwner();
+        int flags = 0;
+        if (prefab != null) {
+            flags |= HAS_PREFAB;
+        }
+        if (owner.exists()) {
+            flags |= HAS_OWNER;
+        }
+        if (entity.isAlwaysRelevant()) {
+            flags |= ALWAYS_RELEVANT;
+        }
+        out.writeInt64NoTag(entity.getId());
+        out.writeUInt32NoTag(flags);
+        out.writeUInt32NoTag(scopeId(entity.getScope()));
+        if (prefab != null) {
+            writePrefab(prefab);
+        }
+        if (owner.exists()) {
+            out.writeInt64NoTag(owner.getId());
+        }
+
+        if (prefab != null) {
+            List<ComponentLayout> removedComponents = Lists.newArrayList();
+            for (Component prefabComponent : prefab.iterateComponents()) {
+                ComponentMetadata<?> metadata = componentLibrary.getMetadata(prefabComponent.getClass());
+                if (!entity.hasComponent(prefabComponent.getClass()) && componentSerializeCheck.serialize(metadata)) {
+                    removedComponents.add(getLayout(metadata));
+                }
+            }
+            out.writeUInt32NoTag(removedComponents.size());
+            for (ComponentLayout layout : removedComponents) {
+                out.writeUInt32NoTag(layout.index);
+            }
+        } else {
+            out.writeUInt32NoTag(0);
+        }
+
+        for (Component component : entity.iterateComponents()) {
+            ComponentMetadata<?> metadata = componentLibrary.getMetadata(component.getClass());
+            if (componentSerializeCheck.serialize(metadata)) {
+                Component prefabComponent = prefab != null ? prefab.getComponent(component.getClass()) : null;
+                writeComponent(getLayout(metadata), component, prefabComponent);
+            }
+        }
+        out.writeUInt32NoTag(0);
+    }
+
+    private void writePrefab(Prefab prefab) throws IOException {
+        Integer index = prefabIndices.get(prefab.getName());
+        if (index != null) {
+            out.writeUInt32NoTag(index);
+        } else {
+            out.writeUInt32NoTag(prefabIndices.size());
+            out.writeStringNoTag(prefab.getName());
+            prefabIndices.put(prefab.getName(), prefabIndices.size());
+        }
+    }
+
+    /**
+     * Writes the fields of a component, or only those differing from the base component if one is given. Nothing is
+     * written if no field differs from the base component.
+     */
+    private void writeComponent(ComponentLayout layout, Component component, Component base) throws IOException {
+        FieldMetadata<?, ?>[] fields = layout.fields;
+        if (fieldValues.length < fields.length) {
+            fieldValues = new Object[fields.length];
+        }
+        byte[] present = new byte[bitmapLength(fields.length)];
+        boolean anyPresent = false;
+        for (int i = 0; i < fields.length; i++) {
+            Object value = fields[i].getValue(component);
+            if (base != null && Objects.equal(value, fields[i].getValue(base))) {
+                value = null;
+            } else if (value != null) {
+                value = pack(layout, i, value);
+            }
+            fieldValues[i] = value;
+            if (value != null) {
+                present[i >> 3] |= 1 << (i & 7);
+                anyPresent = true;
+            }
+        }
+
+        if (anyPresent || base == null) {
+            out.writeUInt32NoTag(layout.index + 1);
+            out.writeRawBytes(present);
+            for (int i = 0; i < fields.length; i++) {
+                if (fieldValues[i] != null) {
+                    layout.types[i].write(out, fieldValues[i]);
+                }
+            }
+        }
+        Arrays.fill(fieldValues, 0, fields.length, null);
+    }
+
+    /**
+     * @return the value to write for a field, or null if it has none
+     */
+    private Object pack(ComponentLayout layout, int fieldIndex, Object value) {
+        switch (layout.types[fieldIndex]) {
+            case ENTITY:
+                EntityRef entity = (EntityRef) value;
+                return entity.exists() && entity.isPersistent() ? entity.getId() : null;
+            case VALUE:
+                PersistedData data = layout.serializer.serializeValue(layout.fields[fieldIndex], value,
+                        serializationContext);
+                return data.isNull() ? null : ((ProtobufPersistedData) data).getValue();
+            default:
+                return value;
+        }
+    }
+
+    private ComponentLayout getLayout(ComponentMetadata<?> metadata) {
+        ComponentLayout layout = layouts.get(metadata.getType());
+        if (layout == null) {
+            Serializer serializer = typeHandlerLibrary.getSerializerFor(metadata);
+            EntityData.ComponentSchema.Builder schema = EntityData.ComponentSchema.newBuilder();
+            schema.setComponentClass(metadata.getId().toString());
+            List<FieldMetadata<?, ?>> fields = Lists.newArrayList();
+            for (ReplicatedFieldMetadata<?, ?> field : metadata.getFields()) {
+                if (serializer.getHandlerFor(field) != null) {
+                    fields.add(field);
+                    schema.addFieldName(field.getName());
+                    schema.addFieldType(PackedFieldType.of(field.getType()).getId());
+                }
+            }
+            layout = new ComponentLayout(schemas.size(), serializer, fields.toArray(new FieldMetadata<?, ?>[0]));
+            schemas.add(schema.build());
+            layouts.put(metadata.getType(), layout);
+        }
+        return layout;
+    }
+
+    private static int scopeId(EntityScope scope) {
+        if (scope == null) {
+            return EntityData.Entity.Scope.GLOBAL_VALUE;
+        }
+        switch (scope) {
+            case SECTOR:
+                return EntityData.Entity.Scope.SECTOR_VALUE;
+            case CHUNK:
+                return EntityData.Entity.Scope.CHUNK_VALUE;
+            default:
+                return EntityData.Entity.Scope.GLOBAL_VALUE;
+        }
+    }
+
+    static int bitmapLength(int fieldCount) {
+        return (fieldCount + 7) >> 3;
+    }
+
+    private static final class ComponentLayout {
+        private final int index;
+        private final Serializer serializer;
+        private final FieldMetadata<?, ?>[] fields;
+        private final PackedFieldType[] types;
+
+        private ComponentLayout(int index, Serializer serializer, FieldMetadata<?, ?>[] fields) {
+            this.index = index;
+            this.serializer = serializer;
+            this.fields = fields;
+            this.types = new PackedFieldType[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                types[i] = PackedFieldType.of(fields[i].getType());
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.persistence.serializers;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.protobuf.EntityData;
+
+import java.io.IOException;
+
+/**
+ * The encodings of component fields within packed entities. Fields of common types are written directly, all others
+ * are written as the {@link EntityData.Value} their type handler serializes them to.
+ * <br><br>
+ * The ids are stored in the {@link EntityData.ComponentSchema} of saves, so they must never change.
+ */
+enum PackedFieldType {
+    BOOLEAN(0) {
+        @Override
+        void write(CodedOutputStream out, Object value) throws IOException {
+            out.writeBoolNoTag((Boolean) value);
+        }
+
+        @Override
+        Object read(CodedInputStream in) throws IOException {
+            return in.readBool();
+        }
+    },
+    INT(1) {
+        @Override
+        void write(CodedOutputStream out, Object value) throws IOException {
+            out.writeSInt32NoTag((Integer) value);
+        }
+
+        @Override
+        Object read(CodedInputStream in) throws IOException {
+            return in.readSInt32();
+        }
+    },
+    LONG(2) {
+        @Override
+        void write(CodedOutputStream out, Object value) throws IOException {
+            out.writeSInt64NoTag((Long) value);
+        }
+
+        @Override
+        Object read(CodedInputStream in) throws IOException {
+            return in.readSInt64();
+        }
+    },
+    FLOAT(3) {
+        @Override
+        void write(CodedOutputStream out, Object value) throws IOException {
+            out.writeFloatNoTag((Float) value);
+        }
+
+        @Override
+        Object read(CodedInputStream in) throws IOException {
+            return in.readFloat();
+        }
+    },
+    DOUBLE(4) {
+        @Override
+        void write(CodedOutputStream out, Object value) throws IOException {
+            out.writeDoubleNoTag((Double) value);
+        }
+
+        @Override
+        Object read(CodedInputStream in) throws IOException {
+            return in.readDouble();
+        }
+    },
+    STRING(5) {
+        @Override
+        void write(CodedOutputStream out, Object value) throws IOException {
+            out.writeStringNoTag((String) value);
+        }
+
+        @Override
+        Object read(CodedInputStream in) throws IOException {
+            return in.readString();
+        }
+    },
+    /**
+     * The id of the referenced entity, as a {@link Long}.
+     */
+    ENTITY(6) {
+        @Override
+        void write(CodedOutputStream out, Object value) throws IOException {
+            out.writeInt64NoTag((Long) value);
+        }
+
+        @Override
+        Object read(CodedInputStream in) throws IOException {
+            return in.readInt64();
+        }
+    },
+    /**
+     * The {@link EntityData.Value} the type handler of the field serialized it to.
+     */
+    VALUE(7) {
+        @Override
+        void write(CodedOutputStream out, Object value) throws IOException {
+            out.writeMessageNoTag((EntityData.Value) value);
+        }
+
+        @Override
+        Object read(CodedInputStream in) throws IOException {
+            return EntityData.Value.parseFrom(in.readBytes());
+        }
+    };
+
+    private static final PackedFieldType[] BY_ID = new PackedFieldType[values().length];
+
+    static {
+        for (PackedFieldType type : values()) {
+            BY_ID[type.id] = type;
+        }
+    }
+
+    private final int id;
+
+    PackedFieldType(int id) {
+        this.id = id;
+    }
+
+    int getId() {
+        return id;
+    }
+
+    abstract void write(CodedOutputStream out, Object value) throws IOException;
+
+    abstract Object read(CodedInputStream in) throws IOException;
+
+    /**
+     * @return the type with the given id, or null if it is unknown
+     */
+    static PackedFieldType byId(int id) {
+        return id >= 0 && id < BY_ID.length ? BY_ID[id] : null;
+    }
+
+    /**
+     * @return the type fields of the given class are packed as
+     */
+    static PackedFieldType of(Class<?> fieldType) {
+        if (fieldType == boolean.class || fieldType == Boolean.class) {
+            return BOOLEAN;
+        } else if (fieldType == int.class || fieldType == Integer.class) {
+            return INT;
+        } else if (fieldType == long.class || fieldType == Long.class) {
+            return LONG;
+        } else if (fieldType == float.class || fieldType == Float.class) {
+            return FLOAT;
+        } else if (fieldType == double.class || fieldType == Double.class) {
+            return DOUBLE;
+        } else if (fieldType == String.class) {
+            return STRING;
+        } else if (fieldType == EntityRef.class) {
+            return ENTITY;
+        }
+        return VALUE;
+    }
+}
@@ -52,6 +52,15 @@ public int inSize() {
         return inSize;
     }
 
+    /**
+     * the number of bytes the buffer can hold before it has to grow
+     *
+     * @return the capacity of the buffer
+     */
+    public int capacity() {
+        return buffer.capacity();
+    }
+
     /**
      * determines if the buffer is empty
      *
@@ -0,0 +1,43 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.rendering.nui.layers.ingame.metrics;
+
+import gnu.trove.map.TObjectLongMap;
+import org.terasology.engine.monitoring.PerformanceMonitor;
+
+import java.util.Arrays;
+
+final class CountersMode extends MetricsMode {
+
+    CountersMode() {
+        super("\n- Counters -");
+    }
+
+    @Override
+    public String getMetrics() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(getName());
+        builder.append("\n");
+        TObjectLongMap<String> counters = PerformanceMonitor.getCounters();
+        String[] names = counters.keys(new String[counters.size()]);
+        Arrays.sort(names);
+        for (String name : names) {
+            builder.append(name);
+            builder.append(": ");
+            builder.append(counters.get(name));
+            builder.append("\n");
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public boolean isPerformanceManagerMode() {
+        return true;
+    }
+}
@@ -38,6 +38,7 @@ public void initialise() {
         register(new RunningMeansMode());
         register(new SpikesMode());
         register(new AllocationsMode());
+        register(new CountersMode());
         register(new RunningThreadsMode());
         register(new WorldRendererMode());
         register(new HeapAllocationMode());
@@ -130,7 +130,7 @@ private ChunkVertexFlag getChunkVertexFlag(ChunkView view, int x, int y, int z,
      *
      * @return The render process for the block
      */
-    private ChunkMesh.RenderType getRenderType(final Block selfBlock) {
+    static ChunkMesh.RenderType getRenderType(final Block selfBlock) {
         ChunkMesh.RenderType renderType = ChunkMesh.RenderType.TRANSLUCENT;
 
         if (!selfBlock.isTranslucent()) {
@@ -154,7 +154,7 @@ private ChunkMesh.RenderType getRenderType(final Block selfBlock) {
      * @param currentBlock The current block
      * @return True if the side is visible for the given block types
      */
-    private boolean isSideVisibleForBlockTypes(Block blockToCheck, Block currentBlock, Side side) {
+    static boolean isSideVisibleForBlockTypes(Block blockToCheck, Block currentBlock, Side side) {
         // Liquids can be transparent but there should be no visible adjacent faces
         if (currentBlock.isLiquid() && blockToCheck.isLiquid()) {
             return false;
@@ -133,5 +133,24 @@ class VertexElements {
 
             buffer = builder.build();
         }
+
+        /**
+         * Empties the elements so they can be filled again, keeping the capacity of their buffers.
+         */
+        void reset() {
+            buffer.allocateElements(0);
+            indices.allocateElements(0);
+            indices.rewind();
+            position.rewind();
+            normals.rewind();
+            uv0.rewind();
+            color.rewind();
+            flags.rewind();
+            frames.rewind();
+            sunlight.rewind();
+            blockLight.rewind();
+            ambientOcclusion.rewind();
+            vertexCount = 0;
+        }
     }
 }
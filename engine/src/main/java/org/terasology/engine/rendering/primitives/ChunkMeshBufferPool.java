@@ -0,0 +1,76 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.rendering.primitives;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Recycles the vertex and index buffers of chunk meshes once their data has been uploaded, so that re-tessellating
+ * chunks does not allocate new direct buffers each time.
+ * <br><br>
+ * The pool is bounded: it keeps at most a fixed number of {@link ChunkMesh.VertexElements} per render type, and drops
+ * elements whose buffers grew larger than is usual for their render type, so an unusually complex chunk does not pin
+ * its memory for good. Meshes are built on the chunk update threads and uploaded on the main thread, so all methods
+ * are thread safe.
+ */
+public final class ChunkMeshBufferPool {
+    /**
+     * The number of elements kept per render type, enough for a few chunks per chunk update thread.
+     */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    private final BlockingQueue<ChunkMesh.VertexElements>[] pools;
+
+    public ChunkMeshBufferPool() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    @SuppressWarnings("unchecked")
+    public ChunkMeshBufferPool(int capacity) {
+        pools = new BlockingQueue[ChunkMesh.RenderType.values().length];
+        for (int i = 0; i < pools.length; i++) {
+            pools[i] = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+
+    /**
+     * @return empty elements for the render type, reused from the pool if possible
+     */
+    public ChunkMesh.VertexElements acquire(ChunkMesh.RenderType renderType) {
+        ChunkMesh.VertexElements elements = pools[renderType.ordinal()].poll();
+        return elements != null ? elements : new ChunkMesh.VertexElements();
+    }
+
+    /**
+     * Returns elements to the pool. The elements must not be used by the caller afterwards.
+     */
+    public void release(ChunkMesh.RenderType renderType, ChunkMesh.VertexElements elements) {
+        if (elements.buffer.capacity() > maxRetainedVertices(renderType) * elements.buffer.inStride()) {
+            return;
+        }
+        elements.reset();
+        pools[renderType.ordinal()].offer(elements);
+    }
+
+    /**
+     * @return the number of elements currently held by the pool for the render type
+     */
+    public int size(ChunkMesh.RenderType renderType) {
+        return pools[renderType.ordinal()].size();
+    }
+
+    /**
+     * Solid terrain makes up most of a chunk, the other render types usually only hold a few faces.
+     */
+    private static int maxRetainedVertices(ChunkMesh.RenderType renderType) {
+        switch (renderType) {
+            case OPAQUE:
+                return 1 << 16;
+            case WATER_AND_ICE:
+                return 1 << 14;
+            default:
+                return 1 << 13;
+        }
+    }
+}
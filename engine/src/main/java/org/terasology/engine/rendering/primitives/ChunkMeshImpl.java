@@ -21,6 +21,7 @@ public class ChunkMeshImpl implements ChunkMesh {
 
     /* TEMPORARY DATA */
     private VertexElements[] vertexElements = new VertexElements[ChunkMesh.RenderType.values().length];
+    private final ChunkMeshBufferPool bufferPool;
 
     private boolean disposed;
 
@@ -29,8 +30,17 @@ public class ChunkMeshImpl implements ChunkMesh {
     private int timeToGenerateOptimizedBuffers;
 
     public ChunkMeshImpl() {
+        this(null);
+    }
+
+    /**
+     * @param bufferPool the pool to take the vertex data from and to return it to once discarded, or null to
+     *         allocate it for this mesh alone
+     */
+    public ChunkMeshImpl(ChunkMeshBufferPool bufferPool) {
+        this.bufferPool = bufferPool;
         for (ChunkMesh.RenderType type : ChunkMesh.RenderType.values()) {
-            vertexElements[type.ordinal()] = new VertexElements();
+            vertexElements[type.ordinal()] = bufferPool != null ? bufferPool.acquire(type) : new VertexElements();
         }
     }
 
@@ -105,10 +115,18 @@ private void generateVBO(ChunkMesh.RenderType type) {
     /**
      * Save space by removing the data that was used to construct the mesh, but after discardData is called, the mesh can't be serialized,
      * so it shouldn't be used in contexts where that might be necessary.
+     * <p>
+     * The vertex data is returned to the buffer pool of the mesh, if it has one.
      */
     @Override
     public void discardData() {
+        VertexElements[] elements = vertexElements;
         vertexElements = null;
+        if (bufferPool != null && elements != null) {
+            for (ChunkMesh.RenderType type : ChunkMesh.RenderType.values()) {
+                bufferPool.release(type, elements[type.ordinal()]);
+            }
+        }
     }
 
     private void renderVbo(int id) {
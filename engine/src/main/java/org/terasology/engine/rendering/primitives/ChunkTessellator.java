@@ -19,17 +19,39 @@ public final class ChunkTessellator {
 
     private static int statVertexArrayUpdateCount;
 
+    private final ChunkMeshBufferPool bufferPool = new ChunkMeshBufferPool();
+    private volatile boolean greedyMeshing;
+
     public ChunkTessellator() {
 
     }
 
+    /**
+     * Sets whether adjacent faces of full cube blocks get merged into larger quads, see {@link GreedyChunkMesher}.
+     */
+    public void setGreedyMeshing(boolean greedyMeshing) {
+        this.greedyMeshing = greedyMeshing;
+    }
+
+    public boolean isGreedyMeshing() {
+        return greedyMeshing;
+    }
+
+    /**
+     * @return the pool the vertex data of the generated meshes is taken from, and returned to by
+     *         {@link ChunkMesh#discardData()}
+     */
+    public ChunkMeshBufferPool getBufferPool() {
+        return bufferPool;
+    }
+
     public ChunkMesh generateMesh(ChunkView chunkView) {
         return generateMesh(chunkView, 1, 0);
     }
 
     public ChunkMesh generateMesh(ChunkView chunkView, float scale, int border) {
         PerformanceMonitor.startActivity("GenerateMesh");
-        ChunkMeshImpl mesh = new ChunkMeshImpl();
+        ChunkMeshImpl mesh = new ChunkMeshImpl(bufferPool);
 
         final Stopwatch watch = Stopwatch.createStarted();
 
@@ -39,14 +61,22 @@ public ChunkMesh generateMesh(ChunkView chunkView, float scale, int border) {
 
         // The mesh extends into the borders in the horizontal directions, but not vertically upwards, in order to cover
         // gaps between LOD chunks of different scales, but also avoid multiple overlapping ocean surfaces.
+        GreedyChunkMesher greedyMesher = greedyMeshing
+                ? new GreedyChunkMesher(chunkView, mesh, Chunks.SIZE_X, Chunks.SIZE_Y - border * 2, Chunks.SIZE_Z)
+                : null;
         for (int x = 0; x < Chunks.SIZE_X; x++) {
             for (int z = 0; z < Chunks.SIZE_Z; z++) {
                 for (int y = 0; y < Chunks.SIZE_Y - border * 2; y++) {
                     Block block = chunkView.getBlock(x, y, z);
-                    block.getMeshGenerator().generateChunkMesh(chunkView, mesh, x, y, z);
+                    if (greedyMesher == null || !greedyMesher.isMerged(block)) {
+                        block.getMeshGenerator().generateChunkMesh(chunkView, mesh, x, y, z);
+                    }
                 }
             }
         }
+        if (greedyMesher != null) {
+            greedyMesher.generate();
+        }
 
         if (border != 0) {
             float totalScale = scale * Chunks.SIZE_X / (Chunks.SIZE_X - 2 * border);
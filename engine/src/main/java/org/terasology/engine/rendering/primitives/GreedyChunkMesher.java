@@ -0,0 +1,300 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.rendering.primitives;
+
+import org.joml.Vector2f;
+import org.joml.Vector3f;
+import org.joml.Vector3ic;
+import org.terasology.engine.math.Side;
+import org.terasology.engine.world.ChunkView;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.block.BlockAppearance;
+import org.terasology.engine.world.block.BlockPart;
+import org.terasology.engine.world.block.shapes.BlockMeshPart;
+import org.terasology.nui.Color;
+import org.terasology.nui.Colorc;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Tessellates the full cube blocks of a chunk, merging adjacent coplanar faces into larger quads.
+ * <br><br>
+ * Faces get merged when they use the same mesh part, render type, color and vertex flag, and are lit evenly with the
+ * same light. Faces with uneven lighting or ambient occlusion are kept as they are, so the lighting of the mesh does
+ * not change. The texture coordinates of a merged quad continue past the tile of its block as if the tile was repeated
+ * for each block, so the chunk shader has to wrap them back into the tile (see {@code TEXTURE_OFFSET}).
+ */
+final class GreedyChunkMesher {
+    private static final float EPSILON = 1.0e-4f;
+
+    private final ChunkView chunkView;
+    private final ChunkMesh mesh;
+    private final int[] size;
+    private final Map<Block, Boolean> mergeableBlocks = new IdentityHashMap<>();
+    private final Color colorCache = new Color();
+
+    /**
+     * @param sizeY the number of block layers to tessellate, starting at the bottom of the chunk
+     */
+    GreedyChunkMesher(ChunkView chunkView, ChunkMesh mesh, int sizeX, int sizeY, int sizeZ) {
+        this.chunkView = chunkView;
+        this.mesh = mesh;
+        this.size = new int[]{sizeX, sizeY, sizeZ};
+    }
+
+    /**
+     * @return whether the faces of the block are generated by this mesher instead of its mesh generator
+     */
+    boolean isMerged(Block block) {
+        return mergeableBlocks.computeIfAbsent(block, GreedyChunkMesher::isMergeable);
+    }
+
+    /**
+     * Appends the faces of all merged blocks to the mesh.
+     */
+    void generate() {
+        for (Side side : Side.allSides()) {
+            generateSide(side);
+        }
+    }
+
+    private void generateSide(Side side) {
+        Vector3ic normal = side.direction();
+        int axis = normal.x() != 0 ? 0 : normal.y() != 0 ? 1 : 2;
+        int u = (axis + 1) % 3;
+        int v = (axis + 2) % 3;
+        int width = size[u];
+        int height = size[v];
+        Face[] faces = new Face[width * height];
+        int[] pos = new int[3];
+
+        for (int layer = 0; layer < size[axis]; layer++) {
+            pos[axis] = layer;
+            for (int j = 0; j < height; j++) {
+                for (int i = 0; i < width; i++) {
+                    pos[u] = i;
+                    pos[v] = j;
+                    faces[i + j * width] = getFace(side, pos[0], pos[1], pos[2]);
+                }
+            }
+
+            for (int j = 0; j < height; j++) {
+                for (int i = 0; i < width; i++) {
+                    Face face = faces[i + j * width];
+                    if (face == null) {
+                        continue;
+                    }
+                    int quadWidth = 1;
+                    while (i + quadWidth < width && face.canMergeWith(faces[i + quadWidth + j * width])) {
+                        quadWidth++;
+                    }
+                    int quadHeight = 1;
+                    while (j + quadHeight < height
+                            && canMergeRow(face, faces, i + (j + quadHeight) * width, quadWidth)) {
+                        quadHeight++;
+                    }
+                    for (int dj = 0; dj < quadHeight; dj++) {
+                        Arrays.fill(faces, i + (j + dj) * width, i + quadWidth + (j + dj) * width, null);
+                    }
+                    pos[u] = i;
+                    pos[v] = j;
+                    appendQuad(face, pos, u, v, quadWidth, quadHeight);
+                }
+            }
+        }
+    }
+
+    private static boolean canMergeRow(Face face, Face[] faces, int start, int length) {
+        for (int k = start; k < start + length; k++) {
+            if (!face.canMergeWith(faces[k])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the visible face of the block on the given side, or null if it is not visible or not merged
+     */
+    private Face getFace(Side side, int x, int y, int z) {
+        Block block = chunkView.getBlock(x, y, z);
+        if (!isMerged(block)) {
+            return null;
+        }
+        Vector3ic offset = side.direction();
+        Block adjacent = chunkView.getBlock(x + offset.x(), y + offset.y(), z + offset.z());
+        if (!BlockMeshGeneratorSingleShape.isSideVisibleForBlockTypes(adjacent, block, side)) {
+            return null;
+        }
+
+        BlockPart blockPart = BlockPart.fromSide(side);
+        BlockMeshPart part = block.getPrimaryAppearance().getPart(blockPart);
+        Colorc colorOffset = block.getColorOffset(blockPart);
+        Colorc colorSource = block.getColorSource(blockPart).calcColor(chunkView, x, y, z);
+        colorCache.setRed(colorSource.rf() * colorOffset.rf())
+                .setGreen(colorSource.gf() * colorOffset.gf())
+                .setBlue(colorSource.bf() * colorOffset.bf())
+                .setAlpha(colorSource.af() * colorOffset.af());
+        ChunkVertexFlag vertexFlag = block.isGrass() && side != Side.TOP && side != Side.BOTTOM
+                ? ChunkVertexFlag.COLOR_MASK : ChunkVertexFlag.NORMAL;
+
+        float[] lighting = new float[part.size() * 3];
+        Vector3f vertexPos = new Vector3f();
+        for (int i = 0; i < part.size(); i++) {
+            part.getVertex(i).add(x, y, z, vertexPos);
+            float[] vertexLighting = part.calcLightingValuesForVertexPos(chunkView, vertexPos, part.getNormal(i));
+            System.arraycopy(vertexLighting, 0, lighting, i * 3, 3);
+        }
+        return new Face(part, BlockMeshGeneratorSingleShape.getRenderType(block), vertexFlag, colorCache.rgba(),
+                lighting);
+    }
+
+    /**
+     * Appends the face, stretched over the given number of blocks along the u and v axes.
+     */
+    private void appendQuad(Face face, int[] pos, int u, int v, int quadWidth, int quadHeight) {
+        ChunkMesh.VertexElements elements = mesh.getVertexElements(face.renderType);
+        BlockMeshPart part = face.part;
+        Vector2f texCoordPerU = texCoordGradient(part, u, v);
+        Vector2f texCoordPerV = texCoordGradient(part, v, u);
+
+        Vector2f texCoord = new Vector2f();
+        for (int i = 0; i < part.size(); i++) {
+            Vector3f vertex = part.getVertex(i);
+            float extentU = vertex.get(u) > 0 ? quadWidth - 1 : 0;
+            float extentV = vertex.get(v) > 0 ? quadHeight - 1 : 0;
+            elements.uv0.put(texCoord.set(part.getTexCoord(i))
+                    .fma(extentU, texCoordPerU)
+                    .fma(extentV, texCoordPerV));
+        }
+
+        int nextIndex = elements.vertexCount;
+        elements.buffer.reserveElements(nextIndex + part.size());
+        Color color = new Color(face.color);
+        Vector3f position = new Vector3f();
+        for (int i = 0; i < part.size(); i++) {
+            Vector3f vertex = part.getVertex(i);
+            position.set(vertex).add(pos[0], pos[1], pos[2]);
+            if (vertex.get(u) > 0) {
+                position.setComponent(u, position.get(u) + quadWidth - 1);
+            }
+            if (vertex.get(v) > 0) {
+                position.setComponent(v, position.get(v) + quadHeight - 1);
+            }
+            elements.color.put(color);
+            elements.position.put(position);
+            elements.normals.put(part.getNormal(i));
+            elements.flags.put((byte) face.vertexFlag.getValue());
+            elements.frames.put((byte) (part.getTexFrames() - 1));
+            elements.sunlight.put(face.lighting[i * 3]);
+            elements.blockLight.put(face.lighting[i * 3 + 1]);
+            elements.ambientOcclusion.put(face.lighting[i * 3 + 2]);
+        }
+        elements.vertexCount += part.size();
+
+        for (int i = 0; i < part.indicesSize(); i++) {
+            elements.indices.put(part.getIndex(i) + nextIndex);
+        }
+    }
+
+    /**
+     * @return how much the texture coordinates of the quad change per block along the given axis
+     */
+    private static Vector2f texCoordGradient(BlockMeshPart part, int axis, int otherAxis) {
+        for (int a = 0; a < part.size(); a++) {
+            for (int b = 0; b < part.size(); b++) {
+                Vector3f from = part.getVertex(a);
+                Vector3f to = part.getVertex(b);
+                if (from.get(axis) < to.get(axis) && Math.abs(from.get(otherAxis) - to.get(otherAxis)) < EPSILON) {
+                    return new Vector2f(part.getTexCoord(b)).sub(part.getTexCoord(a))
+                            .div(to.get(axis) - from.get(axis));
+                }
+            }
+        }
+        return new Vector2f();
+    }
+
+    /**
+     * Only plain cubes are merged: blocks whose faces are all single quads covering their side of the block, without
+     * liquid, waving or billboard special cases.
+     */
+    private static boolean isMergeable(Block block) {
+        if (!(block.getMeshGenerator() instanceof BlockMeshGeneratorSingleShape)) {
+            return false;
+        }
+        BlockAppearance appearance = block.getPrimaryAppearance();
+        if (!appearance.hasAppearance() || appearance.getPart(BlockPart.CENTER) != null) {
+            return false;
+        }
+        if (block.isLiquid() || block.isWaving() || block.isDoubleSided()) {
+            return false;
+        }
+        for (Side side : Side.allSides()) {
+            if (!block.isFullSide(side) || !isFaceQuad(appearance.getPart(BlockPart.fromSide(side)), side)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return whether the part is a single quad covering the given side of the block
+     */
+    private static boolean isFaceQuad(BlockMeshPart part, Side side) {
+        if (part == null || part.size() != 4 || part.indicesSize() != 6) {
+            return false;
+        }
+        Vector3ic normal = side.direction();
+        for (int i = 0; i < part.size(); i++) {
+            Vector3f vertex = part.getVertex(i);
+            for (int axis = 0; axis < 3; axis++) {
+                float distance = normal.get(axis) != 0
+                        ? vertex.get(axis) - 0.5f * normal.get(axis)
+                        : Math.abs(vertex.get(axis)) - 0.5f;
+                if (Math.abs(distance) > EPSILON) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static final class Face {
+        private final BlockMeshPart part;
+        private final ChunkMesh.RenderType renderType;
+        private final ChunkVertexFlag vertexFlag;
+        private final int color;
+        /**
+         * The sunlight, block light and ambient occlusion of each vertex.
+         */
+        private final float[] lighting;
+        private final boolean evenlyLit;
+
+        private Face(BlockMeshPart part, ChunkMesh.RenderType renderType, ChunkVertexFlag vertexFlag, int color,
+                     float[] lighting) {
+            this.part = part;
+            this.renderType = renderType;
+            this.vertexFlag = vertexFlag;
+            this.color = color;
+            this.lighting = lighting;
+            this.evenlyLit = isEvenlyLit(lighting);
+        }
+
+        private boolean canMergeWith(Face other) {
+            return other != null && evenlyLit && other.evenlyLit && part == other.part
+                    && renderType == other.renderType && vertexFlag == other.vertexFlag && color == other.color
+                    && Arrays.equals(lighting, other.lighting);
+        }
+
+        private static boolean isEvenlyLit(float[] lighting) {
+            for (int i = 3; i < lighting.length; i++) {
+                if (lighting[i] != lighting[i % 3]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -26,6 +26,7 @@
 import java.util.Set;
 import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Provides the mechanism for updating and generating chunk meshes.
@@ -33,6 +34,10 @@
  */
 public final class ChunkMeshUpdateManager {
     private static final int NUM_TASK_THREADS = 8;
+    /**
+     * The weight of the latest chunk in the running means of the build times.
+     */
+    private static final float MEAN_WEIGHT = 0.05f;
 
     private static final Logger logger = LoggerFactory.getLogger(ChunkMeshUpdateManager.class);
 
@@ -41,6 +46,11 @@ public final class ChunkMeshUpdateManager {
 
     private final BlockingDeque<Chunk> chunksComplete = Queues.newLinkedBlockingDeque();
 
+    /* STATS */
+    private final AtomicInteger queuedChunks = new AtomicInteger();
+    private float meanBuildMillis;
+    private float meanLatencyMillis;
+
     private TaskMaster<ChunkTask> chunkUpdater;
 
     private final ChunkTessellator tessellator;
@@ -101,9 +111,11 @@ private void executeChunkUpdate(final Chunk c) {
         chunksProcessing.add(c);
 
         ChunkUpdateTask task = new ChunkUpdateTask(c, tessellator, worldProvider, this);
+        queuedChunks.incrementAndGet();
         try {
             chunkUpdater.put(task);
         } catch (InterruptedException e) {
+            queuedChunks.decrementAndGet();
             logger.error("Failed to enqueue task {}", task, e);
         }
     }
@@ -112,6 +124,35 @@ private void finishedProcessing(Chunk c) {
         chunksComplete.add(c);
     }
 
+    private synchronized void recordBuild(long queuedNanos, long startNanos) {
+        long now = System.nanoTime();
+        float buildMillis = (now - startNanos) / 1.0e6f;
+        float latencyMillis = (now - queuedNanos) / 1.0e6f;
+        meanBuildMillis += (buildMillis - meanBuildMillis) * MEAN_WEIGHT;
+        meanLatencyMillis += (latencyMillis - meanLatencyMillis) * MEAN_WEIGHT;
+    }
+
+    /**
+     * @return the number of chunks waiting for or undergoing a mesh update
+     */
+    public int getQueuedChunkCount() {
+        return queuedChunks.get();
+    }
+
+    /**
+     * @return the running mean of the time taken to tessellate a chunk, in milliseconds
+     */
+    public synchronized float getMeanBuildMillis() {
+        return meanBuildMillis;
+    }
+
+    /**
+     * @return the running mean of the time from queueing a chunk update until its mesh is ready, in milliseconds
+     */
+    public synchronized float getMeanLatencyMillis() {
+        return meanLatencyMillis;
+    }
+
     public void shutdown() {
         chunkUpdater.shutdown(new ShutdownChunkTask(), false);
     }
@@ -123,6 +164,7 @@ private static class ChunkUpdateTask implements ChunkTask {
         private ChunkTessellator tessellator;
         private WorldProvider worldProvider;
         private ChunkMeshUpdateManager chunkMeshUpdateManager;
+        private final long queuedNanos = System.nanoTime();
 
         ChunkUpdateTask(Chunk chunk, ChunkTessellator tessellator, WorldProvider worldProvider, ChunkMeshUpdateManager chunkMeshUpdateManager) {
             this.chunkMeshUpdateManager = chunkMeshUpdateManager;
@@ -153,13 +195,16 @@ public void run() {
                  */
                 c.setDirty(false);
                 if (chunkView.isValidView()) {
+                    long startNanos = System.nanoTime();
                     newMesh = tessellator.generateMesh(chunkView);
 
                     c.setPendingMesh(newMesh);
                     ChunkMonitor.fireChunkTessellated(c.getPosition(new Vector3i()), newMesh);
+                    chunkMeshUpdateManager.recordBuild(queuedNanos, startNanos);
                 }
 
             }
+            chunkMeshUpdateManager.queuedChunks.decrementAndGet();
             chunkMeshUpdateManager.finishedProcessing(c);
             // Clean these up because the task executor holds the object in memory.
             c = null;
@@ -299,6 +299,7 @@ public void generateVBOs() {
 
             } else {
                 if (chunk.hasPendingMesh()) {
+                    chunk.getPendingMesh().discardData();
                     chunk.getPendingMesh().dispose();
                     chunk.setPendingMesh(null);
                 }
@@ -467,9 +468,29 @@ public String getMetrics() {
         stringToReturn += "Visible Chunks: ";
         stringToReturn += statVisibleChunks;
         stringToReturn += "\n";
+        stringToReturn += "Queued Chunk Meshes: ";
+        stringToReturn += chunkMeshUpdateManager.getQueuedChunkCount();
+        stringToReturn += "\n";
+        stringToReturn += "Chunk Mesh Build Time: ";
+        stringToReturn += String.format("%.2f ms", chunkMeshUpdateManager.getMeanBuildMillis());
+        stringToReturn += "\n";
+        stringToReturn += "Chunk Mesh Latency: ";
+        stringToReturn += String.format("%.2f ms", chunkMeshUpdateManager.getMeanLatencyMillis());
+        stringToReturn += "\n";
+        stringToReturn += "Pooled Chunk Mesh Buffers: ";
+        stringToReturn += pooledMeshBuffers();
+        stringToReturn += "\n";
         return stringToReturn;
     }
 
+    private int pooledMeshBuffers() {
+        int count = 0;
+        for (ChunkMesh.RenderType type : ChunkMesh.RenderType.values()) {
+            count += chunkTessellator.getBufferPool().size(type);
+        }
+        return count;
+    }
+
     private static float squaredDistanceToCamera(RenderableChunk chunk, Vector3f cameraPosition) {
         // For performance reasons, to avoid instantiating too many vectors in a frequently called method,
         // comments are in use instead of appropriately named vectors.
@@ -154,7 +154,9 @@ public WorldRendererImpl(Context context) {
         LocalPlayerSystem localPlayerSystem = context.get(LocalPlayerSystem.class);
         localPlayerSystem.setPlayerCamera(playerCamera);
 
-        context.put(ChunkTessellator.class, new ChunkTessellator());
+        ChunkTessellator chunkTessellator = new ChunkTessellator();
+        chunkTessellator.setGreedyMeshing(renderingConfig.isGreedyMeshing());
+        context.put(ChunkTessellator.class, chunkTessellator);
 
         renderableWorld = new RenderableWorldImpl(context, playerCamera);
         renderQueues = renderableWorld.getRenderQueues();
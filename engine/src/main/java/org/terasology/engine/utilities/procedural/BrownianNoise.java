@@ -3,6 +3,8 @@
 
 package org.terasology.engine.utilities.procedural;
 
+import java.util.Arrays;
+
 /**
  * Computes Brownian noise based on some noise generator.
  * Originally, Brown integrates white noise, but using other noises can be sometimes useful, too.
@@ -24,6 +26,8 @@ public class BrownianNoise extends AbstractNoise {
 
     private int octaves;
     private float[] spectralWeights;
+    private float[] offsetsX;           // the random offsets of the 2D octaves
+    private float[] offsetsY;
     private float scale;                // 1/sum of all weights
     private final Noise other;
 
@@ -63,22 +67,51 @@ public double getScale() {
     public float noise(float x, float y) {
         float result = 0.0f;
 
+        float lacunarityf = (float) lacunarity;
         float workingX = x;
         float workingY = y;
-        for (int i = 0; i < getOctaves(); i++) {
+        for (int i = 0; i < octaves; i++) {
             result += other.noise(workingX, workingY) * spectralWeights[i];
 
-            workingX *= (float) getLacunarity();
-            workingY *= (float) getLacunarity();
+            workingX *= lacunarityf;
+            workingY *= lacunarityf;
 
             // Include random offsets so that the origins of all the octaves don't all add up and make a weird feature there.
-            workingX += 10 * other.noise(i + 0.5f, 0.5f);
-            workingY += 10 * other.noise(-i - 0.5f, -0.5f);
+            workingX += offsetsX[i];
+            workingY += offsetsY[i];
         }
 
         return result * scale;
     }
 
+    /**
+     * Computes the Fractional Brownian Motion of a batch of positions, evaluating the base noise one octave of the
+     * whole batch at a time.
+     */
+    @Override
+    public void noise(float[] x, float[] y, float[] result, int count) {
+        float lacunarityf = (float) lacunarity;
+        float[] workingX = Arrays.copyOf(x, count);
+        float[] workingY = Arrays.copyOf(y, count);
+        float[] octave = new float[count];
+        Arrays.fill(result, 0, count, 0.0f);
+        for (int i = 0; i < octaves; i++) {
+            other.noise(workingX, workingY, octave, count);
+
+            float weight = spectralWeights[i];
+            float offsetX = offsetsX[i];
+            float offsetY = offsetsY[i];
+            for (int j = 0; j < count; j++) {
+                result[j] += octave[j] * weight;
+                workingX[j] = workingX[j] * lacunarityf + offsetX;
+                workingY[j] = workingY[j] * lacunarityf + offsetY;
+            }
+        }
+        for (int j = 0; j < count; j++) {
+            result[j] *= scale;
+        }
+    }
+
     /**
      * Returns Fractional Brownian Motion at the given position.
      *
@@ -91,20 +124,49 @@ public float noise(float x, float y) {
     public float noise(float x, float y, float z) {
         float result = 0.0f;
 
+        float lacunarityf = (float) lacunarity;
         float workingX = x;
         float workingY = y;
         float workingZ = z;
-        for (int i = 0; i < getOctaves(); i++) {
+        for (int i = 0; i < octaves; i++) {
             result += other.noise(workingX, workingY, workingZ) * spectralWeights[i];
 
-            workingX *= (float) getLacunarity();
-            workingY *= (float) getLacunarity();
-            workingZ *= (float) getLacunarity();
+            workingX *= lacunarityf;
+            workingY *= lacunarityf;
+            workingZ *= lacunarityf;
         }
 
         return result * scale;
     }
 
+    /**
+     * Computes the Fractional Brownian Motion of a batch of positions, evaluating the base noise one octave of the
+     * whole batch at a time.
+     */
+    @Override
+    public void noise(float[] x, float[] y, float[] z, float[] result, int count) {
+        float lacunarityf = (float) lacunarity;
+        float[] workingX = Arrays.copyOf(x, count);
+        float[] workingY = Arrays.copyOf(y, count);
+        float[] workingZ = Arrays.copyOf(z, count);
+        float[] octave = new float[count];
+        Arrays.fill(result, 0, count, 0.0f);
+        for (int i = 0; i < octaves; i++) {
+            other.noise(workingX, workingY, workingZ, octave, count);
+
+            float weight = spectralWeights[i];
+            for (int j = 0; j < count; j++) {
+                result[j] += octave[j] * weight;
+                workingX[j] *= lacunarityf;
+                workingY[j] *= lacunarityf;
+                workingZ[j] *= lacunarityf;
+            }
+        }
+        for (int j = 0; j < count; j++) {
+            result[j] *= scale;
+        }
+    }
+
     private static float computeScale(float[] spectralWeights) {
         float sum = 0;
         for (float weight : spectralWeights) {
@@ -174,5 +236,13 @@ private void updateWeights() {
         }
 
         scale = computeScale(spectralWeights);
+
+        // the offsets only depend on the number of octaves, so they are computed along with the weights
+        offsetsX = new float[octaves];
+        offsetsY = new float[octaves];
+        for (int i = 0; i < octaves; i++) {
+            offsetsX[i] = 10 * other.noise(i + 0.5f, 0.5f);
+            offsetsY[i] = 10 * other.noise(-i - 0.5f, -0.5f);
+        }
    }
 }
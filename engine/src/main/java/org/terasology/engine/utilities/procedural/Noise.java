@@ -3,6 +3,8 @@
 
 package org.terasology.engine.utilities.procedural;
 
+import java.util.Arrays;
+
 /**
  * Provides or generates noise
  *
@@ -46,4 +48,91 @@ public interface Noise {
      * @return The noise value in the range [-1..1]
      */
     float noise(float x, float y, float z);
+
+    /**
+     * Computes the noise values at a batch of positions, so that {@code result[i] == noise(x[i], y[i])}.
+     * <br><br>
+     * Implementations can override this to keep their lookup tables in registers and run simple loops over the
+     * whole batch, which the JIT compiler can vectorize.
+     *
+     * @param x the positions on the x-axis
+     * @param y the positions on the y-axis
+     * @param result the array to store the noise values in
+     * @param count the number of positions
+     */
+    default void noise(float[] x, float[] y, float[] result, int count) {
+        for (int i = 0; i < count; i++) {
+            result[i] = noise(x[i], y[i]);
+        }
+    }
+
+    /**
+     * Computes the noise values at a batch of positions, so that {@code result[i] == noise(x[i], y[i], z[i])}.
+     *
+     * @param x the positions on the x-axis
+     * @param y the positions on the y-axis
+     * @param z the positions on the z-axis
+     * @param result the array to store the noise values in
+     * @param count the number of positions
+     * @see #noise(float[], float[], float[], int)
+     */
+    default void noise(float[] x, float[] y, float[] z, float[] result, int count) {
+        for (int i = 0; i < count; i++) {
+            result[i] = noise(x[i], y[i], z[i]);
+        }
+    }
+
+    /**
+     * Computes the noise values of a 2D grid of block positions, so that
+     * {@code result[i + sizeX * j] == noise(frequencyX * (minX + i * step), frequencyY * (minY + j * step))}.
+     *
+     * @param minX the first position on the x-axis
+     * @param minY the first position on the y-axis
+     * @param sizeX the number of positions along the x-axis
+     * @param sizeY the number of positions along the y-axis
+     * @param step the distance between two neighbouring positions, in blocks
+     * @param frequencyX the factor to scale positions on the x-axis with
+     * @param frequencyY the factor to scale positions on the y-axis with
+     * @param result the array to store the noise values in
+     */
+    default void noiseGrid(int minX, int minY, int sizeX, int sizeY, int step, float frequencyX, float frequencyY,
+                           float[] result) {
+        float[] x = new float[sizeX];
+        float[] y = new float[sizeX];
+        float[] row = new float[sizeX];
+        for (int i = 0; i < sizeX; i++) {
+            x[i] = frequencyX * (minX + i * step);
+        }
+        for (int j = 0; j < sizeY; j++) {
+            Arrays.fill(y, frequencyY * (minY + j * step));
+            noise(x, y, row, sizeX);
+            System.arraycopy(row, 0, result, j * sizeX, sizeX);
+        }
+    }
+
+    /**
+     * Computes the noise values of a 3D grid of block positions, so that
+     * {@code result[i + sizeX * (j + sizeY * k)] ==
+     * noise(frequencyX * (minX + i * step), frequencyY * (minY + j * step), frequencyZ * (minZ + k * step))}.
+     *
+     * @see #noiseGrid(int, int, int, int, int, float, float, float[])
+     */
+    default void noiseGrid(int minX, int minY, int minZ, int sizeX, int sizeY, int sizeZ, int step,
+                           float frequencyX, float frequencyY, float frequencyZ, float[] result) {
+        float[] x = new float[sizeX];
+        float[] y = new float[sizeX];
+        float[] z = new float[sizeX];
+        float[] row = new float[sizeX];
+        for (int i = 0; i < sizeX; i++) {
+            x[i] = frequencyX * (minX + i * step);
+        }
+        for (int k = 0; k < sizeZ; k++) {
+            Arrays.fill(z, frequencyZ * (minZ + k * step));
+            for (int j = 0; j < sizeY; j++) {
+                Arrays.fill(y, frequencyY * (minY + j * step));
+                noise(x, y, z, row, sizeX);
+                System.arraycopy(row, 0, result, sizeX * (j + sizeY * k), sizeX);
+            }
+        }
+    }
 }
@@ -85,7 +85,28 @@ public PerlinNoise(long seed, int permCount) {
      */
     @Override
     public float noise(float posX, float posY, float posZ) {
+        return noise(posX, posY, posZ, noisePermutations, permCount);
+    }
+
+    @Override
+    public void noise(float[] x, float[] y, float[] result, int count) {
+        int[] permutations = noisePermutations;
+        int size = permCount;
+        for (int i = 0; i < count; i++) {
+            result[i] = noise(x[i], y[i], 0, permutations, size);
+        }
+    }
+
+    @Override
+    public void noise(float[] x, float[] y, float[] z, float[] result, int count) {
+        int[] permutations = noisePermutations;
+        int size = permCount;
+        for (int i = 0; i < count; i++) {
+            result[i] = noise(x[i], y[i], z[i], permutations, size);
+        }
+    }
 
+    private static float noise(float posX, float posY, float posZ, int[] noisePermutations, int permCount) {
         // Domain rotation removes Perlin's characteristic square artifacts from the XZ planes, by pointing Y up the grid's main diagonal.
         // Ordinarily, X can be said to move in the unit vector direction <1, 0, 0>, Y in <0, 1, 0>, and Z in <0, 0, 1>. With this rotation,
         // moving along the input for Y now moves in the unit direction <0.577, 0.577, 0.577> in the noise's internal coordinate space.
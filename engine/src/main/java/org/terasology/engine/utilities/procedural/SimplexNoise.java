@@ -32,10 +32,11 @@ public class SimplexNoise extends AbstractNoise implements Noise2D, Noise3D {
      */
     public static final float TILEABLE1DMAGICNUMBER = 0.5773502691896258f;
 
-    private static Grad[] grad3 = {
-            new Grad(1, 1, 0), new Grad(-1, 1, 0), new Grad(1, -1, 0), new Grad(-1, -1, 0),
-            new Grad(1, 0, 1), new Grad(-1, 0, 1), new Grad(1, 0, -1), new Grad(-1, 0, -1),
-            new Grad(0, 1, 1), new Grad(0, -1, 1), new Grad(0, 1, -1), new Grad(0, -1, -1)};
+    // The gradients of the 2D and 3D noise, (1,1,0), (-1,1,0), (1,-1,0), (-1,-1,0), (1,0,1), (-1,0,1), (1,0,-1),
+    // (-1,0,-1), (0,1,1), (0,-1,1), (0,1,-1) and (0,-1,-1), stored as one array per component
+    private static final float[] GRAD3_X = {1, -1, 1, -1, 1, -1, 1, -1, 0, 0, 0, 0};
+    private static final float[] GRAD3_Y = {1, 1, -1, -1, 0, 0, 0, 0, 1, -1, 1, -1};
+    private static final float[] GRAD3_Z = {0, 0, 0, 0, 1, 1, -1, -1, 1, 1, -1, -1};
 
     private static Grad[] grad4 = {
             new Grad(0, 1, 1, 1), new Grad(0, 1, 1, -1), new Grad(0, 1, -1, 1), new Grad(0, 1, -1, -1),
@@ -104,14 +105,6 @@ public SimplexNoise(long seed, int gridDim) {
         }
     }
 
-    private static float dot(Grad g, float x, float y) {
-        return g.x * x + g.y * y;
-    }
-
-    private static float dot(Grad g, float x, float y, float z) {
-        return g.x * x + g.y * y + g.z * z;
-    }
-
     private static float dot(Grad g, float x, float y, float z, float w) {
         return g.x * x + g.y * y + g.z * z + g.w * w;
     }
@@ -125,10 +118,20 @@ private static float dot(Grad g, float x, float y, float z, float w) {
      */
     @Override
     public float noise(float xin, float yin) {
-        float n0;
-        float n1;
-        float n2; // Noise contributions from the three corners
+        return noise2D(xin, yin, perm, permMod12, permCount);
+    }
 
+    @Override
+    public void noise(float[] x, float[] y, float[] result, int count) {
+        short[] permutations = perm;
+        short[] permutationsMod12 = permMod12;
+        int size = permCount;
+        for (int i = 0; i < count; i++) {
+            result[i] = noise2D(x[i], y[i], permutations, permutationsMod12, size);
+        }
+    }
+
+    private static float noise2D(float xin, float yin, short[] perm, short[] permMod12, int permCount) {
         // Skew the input space to determine which simplex cell we're in
         float s = (xin + yin) * F2; // Hairy factor for 2D
         int i = TeraMath.floorToInt(xin + s);
@@ -140,16 +143,10 @@ public float noise(float xin, float yin) {
         float y0 = yin - yo0;
 
         // For the 2D case, the simplex shape is an equilateral triangle.
-        // Determine which simplex we are in.
-        int i1; // Offsets for second (middle) corner of simplex in (i,j) coords
-        int j1;
-        if (x0 > y0) { // lower triangle, XY order: (0,0)->(1,0)->(1,1)
-            i1 = 1;
-            j1 = 0;
-        } else { // upper triangle, YX order: (0,0)->(0,1)->(1,1)
-            i1 = 0;
-            j1 = 1;
-        }
+        // Determine which simplex we are in: the lower triangle, XY order: (0,0)->(1,0)->(1,1),
+        // or the upper triangle, YX order: (0,0)->(0,1)->(1,1)
+        int i1 = (x0 > y0) ? 1 : 0; // Offsets for second (middle) corner of simplex in (i,j) coords
+        int j1 = 1 - i1;
 
         // A step of (1,0) in (i,j) means a step of (1-c,-c) in (x,y), and
         // a step of (0,1) in (i,j) means a step of (-c,1-c) in (x,y), where
@@ -166,28 +163,17 @@ public float noise(float xin, float yin) {
         int gi1 = permMod12[ii + i1 + perm[jj + j1]];
         int gi2 = permMod12[ii + 1 + perm[jj + 1]];
 
-        // Calculate the contribution from the three corners
-        float t0 = 0.5f - x0 * x0 - y0 * y0;
-        if (t0 < 0) {
-            n0 = 0.0f;
-        } else {
-            t0 *= t0;
-            n0 = t0 * t0 * dot(grad3[gi0], x0, y0); // (x,y) of grad3 used for 2D gradient
-        }
-        float t1 = 0.5f - x1 * x1 - y1 * y1;
-        if (t1 < 0) {
-            n1 = 0.0f;
-        } else {
-            t1 *= t1;
-            n1 = t1 * t1 * dot(grad3[gi1], x1, y1);
-        }
-        float t2 = 0.5f - x2 * x2 - y2 * y2;
-        if (t2 < 0) {
-            n2 = 0.0f;
-        } else {
-            t2 *= t2;
-            n2 = t2 * t2 * dot(grad3[gi2], x2, y2);
-        }
+        // Calculate the contribution from the three corners. Corners too far away contribute nothing, which is
+        // computed without branching by clamping their falloff to 0.
+        float t0 = Math.max(0.5f - x0 * x0 - y0 * y0, 0.0f);
+        t0 *= t0;
+        float n0 = t0 * t0 * (GRAD3_X[gi0] * x0 + GRAD3_Y[gi0] * y0); // (x,y) of grad3 used for 2D gradient
+        float t1 = Math.max(0.5f - x1 * x1 - y1 * y1, 0.0f);
+        t1 *= t1;
+        float n1 = t1 * t1 * (GRAD3_X[gi1] * x1 + GRAD3_Y[gi1] * y1);
+        float t2 = Math.max(0.5f - x2 * x2 - y2 * y2, 0.0f);
+        t2 *= t2;
+        float n2 = t2 * t2 * (GRAD3_X[gi2] * x2 + GRAD3_Y[gi2] * y2);
 
         // Add contributions from each corner to get the final noise value.
         // The result is scaled to return values in the interval [-1,1].
@@ -204,11 +190,20 @@ public float noise(float xin, float yin) {
      */
     @Override
     public float noise(float xin, float yin, float zin) {
-        float n0;
-        float n1;
-        float n2;
-        float n3; // Noise contributions from the four corners
+        return noise3D(xin, yin, zin, perm, permMod12, permCount);
+    }
+
+    @Override
+    public void noise(float[] x, float[] y, float[] z, float[] result, int count) {
+        short[] permutations = perm;
+        short[] permutationsMod12 = permMod12;
+        int size = permCount;
+        for (int i = 0; i < count; i++) {
+            result[i] = noise3D(x[i], y[i], z[i], permutations, permutationsMod12, size);
+        }
+    }
 
+    private static float noise3D(float xin, float yin, float zin, short[] perm, short[] permMod12, int permCount) {
         // Skew the input space to determine which simplex cell we're in
         float s = (xin + yin + zin) * F3; // Very nice and simple skew factor for 3D
         int i = TeraMath.floorToInt(xin + s);
@@ -302,35 +297,19 @@ public float noise(float xin, float yin, float zin) {
         int gi2 = permMod12[ii + i2 + perm[jj + j2 + perm[kk + k2]]];
         int gi3 = permMod12[ii + 1 + perm[jj + 1 + perm[kk + 1]]];
 
-        // Calculate the contribution from the four corners
-        float t0 = 0.6f - x0 * x0 - y0 * y0 - z0 * z0;
-        if (t0 < 0) {
-            n0 = 0.0f;
-        } else {
-            t0 *= t0;
-            n0 = t0 * t0 * dot(grad3[gi0], x0, y0, z0);
-        }
-        float t1 = 0.6f - x1 * x1 - y1 * y1 - z1 * z1;
-        if (t1 < 0) {
-            n1 = 0.0f;
-        } else {
-            t1 *= t1;
-            n1 = t1 * t1 * dot(grad3[gi1], x1, y1, z1);
-        }
-        float t2 = 0.6f - x2 * x2 - y2 * y2 - z2 * z2;
-        if (t2 < 0) {
-            n2 = 0.0f;
-        } else {
-            t2 *= t2;
-            n2 = t2 * t2 * dot(grad3[gi2], x2, y2, z2);
-        }
-        float t3 = 0.6f - x3 * x3 - y3 * y3 - z3 * z3;
-        if (t3 < 0) {
-            n3 = 0.0f;
-        } else {
-            t3 *= t3;
-            n3 = t3 * t3 * dot(grad3[gi3], x3, y3, z3);
-        }
+        // Calculate the contribution from the four corners, clamping the falloff of far away corners to 0
+        float t0 = Math.max(0.6f - x0 * x0 - y0 * y0 - z0 * z0, 0.0f);
+        t0 *= t0;
+        float n0 = t0 * t0 * (GRAD3_X[gi0] * x0 + GRAD3_Y[gi0] * y0 + GRAD3_Z[gi0] * z0);
+        float t1 = Math.max(0.6f - x1 * x1 - y1 * y1 - z1 * z1, 0.0f);
+        t1 *= t1;
+        float n1 = t1 * t1 * (GRAD3_X[gi1] * x1 + GRAD3_Y[gi1] * y1 + GRAD3_Z[gi1] * z1);
+        float t2 = Math.max(0.6f - x2 * x2 - y2 * y2 - z2 * z2, 0.0f);
+        t2 *= t2;
+        float n2 = t2 * t2 * (GRAD3_X[gi2] * x2 + GRAD3_Y[gi2] * y2 + GRAD3_Z[gi2] * z2);
+        float t3 = Math.max(0.6f - x3 * x3 - y3 * y3 - z3 * z3, 0.0f);
+        t3 *= t3;
+        float n3 = t3 * t3 * (GRAD3_X[gi3] * x3 + GRAD3_Y[gi3] * y3 + GRAD3_Z[gi3] * z3);
 
         // Add contributions from each corner to get the final noise value.
         // The result is scaled to stay just inside [-1,1]
@@ -514,20 +493,13 @@ public float noise(float xin, float yin, float zin, float win) {
         return 27.0f * (n0 + n1 + n2 + n3 + n4);
     }
 
-    // Inner class to speed up gradient computations
-    // (array access is a lot slower than member access)
+    // Inner class for the gradients of the 4D noise
     private static class Grad {
         float x;
         float y;
         float z;
         float w;
 
-        Grad(float x, float y, float z) {
-            this.x = x;
-            this.y = y;
-            this.z = z;
-        }
-
         Grad(float x, float y, float z, float w) {
             this.x = x;
             this.y = y;
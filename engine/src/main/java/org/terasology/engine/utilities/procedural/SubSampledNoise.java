@@ -101,14 +101,8 @@ private float[] getKeyValues(BlockAreac fullRegion, float scale) {
         int xDim = fullRegion.getSizeX() / sampleRate + 1;
         int yDim = fullRegion.getSizeY() / sampleRate + 1;
         float[] fullData = new float[xDim * yDim];
-        for (int y = 0; y < yDim; y++) {
-            for (int x = 0; x < xDim; x++) {
-                int actualX = x * sampleRate + fullRegion.minX();
-                int actualY = y * sampleRate + fullRegion.minY();
-                fullData[x + y * xDim] = source.noise(zoom.x * scale * actualX, zoom.y * scale * actualY);
-            }
-        }
-
+        source.noiseGrid(fullRegion.minX(), fullRegion.minY(), xDim, yDim, sampleRate, zoom.x * scale,
+                zoom.y * scale, fullData);
         return fullData;
     }
 
@@ -214,18 +208,8 @@ private float[] getKeyValues(BlockRegion fullRegion, float scale) {
         int yDim = fullRegion.getSizeY() / sampleRate + 1;
         int zDim = fullRegion.getSizeZ() / sampleRate + 1;
         float[] fullData = new float[xDim * yDim * zDim];
-        for (int z = 0; z < zDim; z++) {
-            for (int y = 0; y < yDim; y++) {
-                for (int x = 0; x < xDim; x++) {
-                    int actualX = x * sampleRate + fullRegion.minX();
-                    int actualY = y * sampleRate + fullRegion.minY();
-                    int actualZ = z * sampleRate + fullRegion.minZ();
-                    fullData[x + xDim * (y + yDim * z)] = source.noise(zoom.x * scale * actualX,
-                            zoom.y * scale * actualY,
-                            zoom.z * scale * actualZ);
-                }
-            }
-        }
+        source.noiseGrid(fullRegion.minX(), fullRegion.minY(), fullRegion.minZ(), xDim, yDim, zDim, sampleRate,
+                zoom.x * scale, zoom.y * scale, zoom.z * scale, fullData);
         return fullData;
     }
 
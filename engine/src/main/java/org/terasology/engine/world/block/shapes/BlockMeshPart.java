@@ -122,7 +122,10 @@ public BlockMeshPart rotate(Quaternionf rotation) {
         return new BlockMeshPart(newVertices, newNormals, texCoords, indices, texFrames);
     }
 
-    private float[] calcLightingValuesForVertexPos(ChunkView chunkView, Vector3f vertexPos, Vector3f normal) {
+    /**
+     * @return the sunlight, block light and ambient occlusion of a vertex at the given position in the chunk view
+     */
+    public float[] calcLightingValuesForVertexPos(ChunkView chunkView, Vector3f vertexPos, Vector3f normal) {
         PerformanceMonitor.startActivity("calcLighting");
         float[] lights = new float[8];
         float[] blockLights = new float[8];
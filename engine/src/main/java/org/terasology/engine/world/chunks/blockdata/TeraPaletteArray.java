@@ -0,0 +1,355 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.world.chunks.blockdata;
+
+import com.google.common.base.Preconditions;
+import gnu.trove.map.TShortIntMap;
+import gnu.trove.map.hash.TShortIntHashMap;
+import org.terasology.engine.world.chunks.deflate.TeraVisitingDeflator;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+
+/**
+ * TeraPaletteArray implements a dense array with elements of 16 bit size, which stores a small palette of the distinct
+ * values in use and packs per-element palette indices into longs.
+ * Its elements are in the range -32'768 through +32'767, like those of {@link TeraDenseArray16Bit}.
+ * <p>
+ * The number of bits per packed index is 0, 1, 2, 4, 8 or 16 and grows automatically as new values are added to the
+ * palette. An array containing a single value does not allocate any index storage at all. Unused palette entries are
+ * only removed when the array gets deflated.
+ */
+public class TeraPaletteArray extends TeraDenseArray {
+
+    private static final int LINEAR_SEARCH_LIMIT = 16;
+    private static final int NO_ENTRY = -1;
+
+    /**
+     * The packed indices and the palette they refer to. Mesh generation reads chunks on other threads while the main
+     * thread sets blocks, so growing the index width builds a complete new state before publishing it at once.
+     */
+    private volatile PackedState state;
+    protected int paletteSize;
+
+    private TShortIntMap paletteIndex;
+
+    public TeraPaletteArray() {
+        super();
+    }
+
+    public TeraPaletteArray(int sizeX, int sizeY, int sizeZ) {
+        super(sizeX, sizeY, sizeZ, true);
+    }
+
+    public TeraPaletteArray(int sizeX, int sizeY, int sizeZ, short[] palette, int paletteSize, long[] data) {
+        super(sizeX, sizeY, sizeZ, false);
+        Preconditions.checkNotNull(palette);
+        Preconditions.checkArgument(paletteSize > 0 && paletteSize <= palette.length,
+                "The parameter 'paletteSize' has to be in the range 1 to " + palette.length + " but is " + paletteSize);
+        int bits = bitsFor(paletteSize);
+        if (bits == 0) {
+            data = null;
+        } else {
+            Preconditions.checkNotNull(data);
+            Preconditions.checkArgument(data.length == wordCount(bits),
+                    "The length of parameter 'data' has to be " + wordCount(bits) + " but is " + data.length);
+        }
+        this.paletteSize = paletteSize;
+        this.state = new PackedState(bits, Arrays.copyOf(palette, paletteCapacity(bits)), data);
+        rebuildPaletteIndex();
+    }
+
+    public TeraPaletteArray(TeraArray in) {
+        super(in);
+    }
+
+    @Override
+    protected void initialize() {
+        this.paletteSize = 1;
+        this.paletteIndex = null;
+        this.state = new PackedState(0, new short[1], null);
+    }
+
+    /**
+     * @return the number of distinct values currently held in the palette, including entries no longer in use.
+     */
+    public int getPaletteSize() {
+        return paletteSize;
+    }
+
+    /**
+     * @return the number of bits currently used to store the palette index of a single element.
+     */
+    public int getBitsPerEntry() {
+        return state.bitsPerEntry;
+    }
+
+    @Override
+    public TeraArray copy() {
+        PackedState current = state;
+        long[] tmp = current.data == null ? null : Arrays.copyOf(current.data, current.data.length);
+        return new TeraPaletteArray(getSizeX(), getSizeY(), getSizeZ(), current.palette, paletteSize, tmp);
+    }
+
+    @Override
+    public TeraArray deflate(TeraVisitingDeflator deflator) {
+        PackedState current = state;
+        return Preconditions.checkNotNull(deflator).deflatePaletteArray(current.palette, paletteSize, current.data,
+                current.bitsPerEntry, getSizeX(), getSizeY(), getSizeZ());
+    }
+
+    @Override
+    public int getEstimatedMemoryConsumptionInBytes() {
+        PackedState current = state;
+        if (current == null) {
+            return 4;
+        }
+        int result = 32 + current.palette.length * 2;
+        if (current.data != null) {
+            result += 16 + current.data.length * 8;
+        }
+        if (paletteIndex != null) {
+            result += 48 + paletteIndex.capacity() * 7;
+        }
+        return result;
+    }
+
+    @Override
+    public int getElementSizeInBits() {
+        return 16;
+    }
+
+    @Override
+    public int get(int x, int y, int z) {
+        PackedState current = state;
+        if (current.bitsPerEntry == 0) {
+            return current.palette[0];
+        }
+        return current.palette[current.readIndex(pos(x, y, z))];
+    }
+
+    @Override
+    public int set(int x, int y, int z, int value) {
+        int index = indexOf((short) value);
+        if (index == NO_ENTRY) {
+            index = addToPalette((short) value);
+        }
+        PackedState current = state;
+        if (current.bitsPerEntry == 0) {
+            return current.palette[0];
+        }
+        int pos = pos(x, y, z);
+        int old = current.palette[current.readIndex(pos)];
+        current.writeIndex(pos, index);
+        return old;
+    }
+
+    @Override
+    public boolean set(int x, int y, int z, int value, int expected) {
+        if (get(x, y, z) == expected) {
+            set(x, y, z, value);
+            return true;
+        }
+        return false;
+    }
+
+    private int indexOf(short value) {
+        if (paletteIndex != null) {
+            return paletteIndex.get(value);
+        }
+        short[] palette = state.palette;
+        for (int i = 0; i < paletteSize; i++) {
+            if (palette[i] == value) {
+                return i;
+            }
+        }
+        return NO_ENTRY;
+    }
+
+    private int addToPalette(short value) {
+        int index = paletteSize;
+        int requiredBits = bitsFor(paletteSize + 1);
+        if (requiredBits != state.bitsPerEntry) {
+            repack(requiredBits);
+        }
+        // the palette has room for every index the current width can address, so readers never index past its end
+        state.palette[index] = value;
+        paletteSize++;
+        if (paletteIndex != null) {
+            paletteIndex.put(value, index);
+        } else if (paletteSize > LINEAR_SEARCH_LIMIT) {
+            rebuildPaletteIndex();
+        }
+        return index;
+    }
+
+    private void repack(int newBitsPerEntry) {
+        PackedState old = state;
+        PackedState repacked = new PackedState(newBitsPerEntry,
+                Arrays.copyOf(old.palette, paletteCapacity(newBitsPerEntry)), new long[wordCount(newBitsPerEntry)]);
+        if (old.bitsPerEntry > 0) {
+            for (int pos = 0; pos < getSizeXYZ(); pos++) {
+                int index = old.readIndex(pos);
+                if (index != 0) {
+                    repacked.writeIndex(pos, index);
+                }
+            }
+        }
+        state = repacked;
+    }
+
+    private void rebuildPaletteIndex() {
+        if (paletteSize > LINEAR_SEARCH_LIMIT) {
+            short[] palette = state.palette;
+            paletteIndex = new TShortIntHashMap(paletteSize * 2, 0.5f, (short) 0, NO_ENTRY);
+            for (int i = 0; i < paletteSize; i++) {
+                paletteIndex.put(palette[i], i);
+            }
+        } else {
+            paletteIndex = null;
+        }
+    }
+
+    private int wordCount(int bits) {
+        int entriesPerWord = Long.SIZE / bits;
+        return (getSizeXYZ() + entriesPerWord - 1) / entriesPerWord;
+    }
+
+    private static int paletteCapacity(int bits) {
+        return 1 << bits;
+    }
+
+    /**
+     * @return the smallest supported number of bits per packed index which can address the given palette size.
+     */
+    public static int bitsFor(int paletteSize) {
+        if (paletteSize <= 1) {
+            return 0;
+        } else if (paletteSize <= 2) {
+            return 1;
+        } else if (paletteSize <= 4) {
+            return 2;
+        } else if (paletteSize <= 16) {
+            return 4;
+        } else if (paletteSize <= 256) {
+            return 8;
+        }
+        return 16;
+    }
+
+    /**
+     * The packed indices along with their width and the palette they refer to. Only the entries of the palette and the
+     * words of the indices change after creation; the palette has room for every index the width can address.
+     */
+    private static final class PackedState {
+        private final int bitsPerEntry;
+        private final int entriesPerWordShift;
+        private final long entryMask;
+        private final short[] palette;
+        private final long[] data;
+
+        private PackedState(int bitsPerEntry, short[] palette, long[] data) {
+            this.bitsPerEntry = bitsPerEntry;
+            this.entriesPerWordShift = bitsPerEntry == 0 ? 0 : Integer.numberOfTrailingZeros(Long.SIZE / bitsPerEntry);
+            this.entryMask = bitsPerEntry == 0 ? 0 : (1L << bitsPerEntry) - 1;
+            this.palette = palette;
+            this.data = data;
+        }
+
+        private int readIndex(int pos) {
+            long word = data[pos >>> entriesPerWordShift];
+            int shift = (pos & ((1 << entriesPerWordShift) - 1)) * bitsPerEntry;
+            return (int) ((word >>> shift) & entryMask);
+        }
+
+        private void writeIndex(int pos, int index) {
+            int wordPos = pos >>> entriesPerWordShift;
+            int shift = (pos & ((1 << entriesPerWordShift) - 1)) * bitsPerEntry;
+            data[wordPos] = (data[wordPos] & ~(entryMask << shift)) | ((long) index << shift);
+        }
+    }
+
+    public static class SerializationHandler extends TeraArray.BasicSerializationHandler<TeraPaletteArray> {
+
+        @Override
+        public boolean canHandle(Class<?> clazz) {
+            return TeraPaletteArray.class.equals(clazz);
+        }
+
+        @Override
+        protected int internalComputeMinimumBufferSize(TeraPaletteArray array) {
+            final long[] data = array.state.data;
+            int result = 8 + array.paletteSize * 2;
+            if (data != null) {
+                result += data.length * 8;
+            }
+            return result;
+        }
+
+        @Override
+        protected void internalSerialize(TeraPaletteArray array, ByteBuffer buffer) {
+            final PackedState state = array.state;
+            buffer.putInt(array.paletteSize);
+            for (int i = 0; i < array.paletteSize; i++) {
+                buffer.putShort(state.palette[i]);
+            }
+            final long[] data = state.data;
+            if (data == null) {
+                buffer.putInt(0);
+            } else {
+                buffer.putInt(data.length);
+                final LongBuffer lbuffer = buffer.asLongBuffer();
+                lbuffer.put(data);
+                buffer.position(buffer.position() + data.length * 8);
+            }
+        }
+
+        @Override
+        protected TeraPaletteArray internalDeserialize(int sizeX, int sizeY, int sizeZ, ByteBuffer buffer) {
+            final int paletteSize = buffer.getInt();
+            if (paletteSize == 0) {
+                buffer.getInt();
+                return new TeraPaletteArray(sizeX, sizeY, sizeZ);
+            }
+            final short[] palette = new short[paletteSize];
+            for (int i = 0; i < paletteSize; i++) {
+                palette[i] = buffer.getShort();
+            }
+            final int length = buffer.getInt();
+            long[] data = null;
+            if (length > 0) {
+                data = new long[length];
+                final LongBuffer lbuffer = buffer.asLongBuffer();
+                lbuffer.get(data, 0, length);
+                buffer.position(buffer.position() + length * 8);
+            }
+            return new TeraPaletteArray(sizeX, sizeY, sizeZ, palette, paletteSize, data);
+        }
+    }
+
+    public static class Factory implements TeraArray.Factory<TeraPaletteArray> {
+
+        @Override
+        public Class<TeraPaletteArray> getArrayClass() {
+            return TeraPaletteArray.class;
+        }
+
+        @Override
+        public SerializationHandler createSerializationHandler() {
+            return new SerializationHandler();
+        }
+
+        @Override
+        public TeraPaletteArray create() {
+            return new TeraPaletteArray();
+        }
+
+        @Override
+        public TeraPaletteArray create(int sizeX, int sizeY, int sizeZ) {
+            return new TeraPaletteArray(sizeX, sizeY, sizeZ);
+        }
+    }
+
+}
@@ -4,12 +4,14 @@
 package org.terasology.engine.world.chunks.deflate;
 
 import org.terasology.engine.world.chunks.blockdata.TeraArray;
+import org.terasology.engine.world.chunks.blockdata.TeraPaletteArray;
 import org.terasology.engine.world.chunks.blockdata.TeraSparseArray16Bit;
 import org.terasology.engine.world.chunks.blockdata.TeraSparseArray4Bit;
 import org.terasology.engine.world.chunks.blockdata.TeraSparseArray8Bit;
 
 /**
- * TeraStandardDeflator implements a simple deflation algorithm for 4, 8 and 16-bit dense and sparse arrays.<br>
+ * TeraStandardDeflator implements a simple deflation algorithm for 4, 8 and 16-bit dense and sparse arrays.
+ * Palette arrays are deflated by dropping palette entries which are no longer referenced.<br>
  * <b>NOTE:</b> Currently it is optimized for chunks of size 16x256x16 blocks.<br>
  * TODO: Implement deflation for sparse array 4bit.
  */
@@ -292,4 +294,54 @@ public TeraArray deflateSparseArray4Bit(final byte[][] inflated,
         return null;
     }
 
+    @Override
+    public TeraArray deflatePaletteArray(final short[] palette,
+                                         final int paletteSize,
+                                         final long[] data,
+                                         final int bitsPerEntry,
+                                         final int sizeX,
+                                         final int sizeY,
+                                         final int sizeZ) {
+        if (bitsPerEntry == 0) {
+            return null;
+        }
+        final int entriesPerWord = Long.SIZE / bitsPerEntry;
+        final long mask = (1L << bitsPerEntry) - 1;
+        final int sizeXYZ = sizeX * sizeY * sizeZ;
+        final boolean[] used = new boolean[paletteSize];
+        int usedCount = 0;
+        for (int pos = 0; pos < sizeXYZ && usedCount < paletteSize; pos++) {
+            int index = (int) ((data[pos / entriesPerWord] >>> ((pos % entriesPerWord) * bitsPerEntry)) & mask);
+            if (!used[index]) {
+                used[index] = true;
+                usedCount++;
+            }
+        }
+        if (usedCount == paletteSize) {
+            return null;
+        }
+
+        final short[] newPalette = new short[usedCount];
+        final int[] remap = new int[paletteSize];
+        int newPaletteSize = 0;
+        for (int index = 0; index < paletteSize; index++) {
+            if (used[index]) {
+                remap[index] = newPaletteSize;
+                newPalette[newPaletteSize++] = palette[index];
+            }
+        }
+        final int newBitsPerEntry = TeraPaletteArray.bitsFor(usedCount);
+        long[] newData = null;
+        if (newBitsPerEntry > 0) {
+            final int newEntriesPerWord = Long.SIZE / newBitsPerEntry;
+            newData = new long[(sizeXYZ + newEntriesPerWord - 1) / newEntriesPerWord];
+            for (int pos = 0; pos < sizeXYZ; pos++) {
+                int index = (int) ((data[pos / entriesPerWord] >>> ((pos % entriesPerWord) * bitsPerEntry)) & mask);
+                newData[pos / newEntriesPerWord] |=
+                        (long) remap[index] << ((pos % newEntriesPerWord) * newBitsPerEntry);
+            }
+        }
+        return new TeraPaletteArray(sizeX, sizeY, sizeZ, newPalette, usedCount, newData);
+    }
+
 }
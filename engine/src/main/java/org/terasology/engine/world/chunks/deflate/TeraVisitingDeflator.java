@@ -38,4 +38,6 @@ public final TeraArray deflate(TeraArray in) {
 
     public abstract TeraArray deflateSparseArray4Bit(byte[][] inflated, byte[] deflated, byte fill, int rowSize, int sizeX, int sizeY, int sizeZ);
 
+    public abstract TeraArray deflatePaletteArray(short[] palette, int paletteSize, long[] data, int bitsPerEntry, int sizeX, int sizeY, int sizeZ);
+
 }
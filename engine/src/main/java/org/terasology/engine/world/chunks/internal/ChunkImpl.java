@@ -10,8 +10,8 @@
 import org.slf4j.LoggerFactory;
 import org.terasology.engine.world.chunks.blockdata.ExtraBlockDataManager;
 import org.terasology.engine.world.chunks.blockdata.TeraArray;
-import org.terasology.engine.world.chunks.blockdata.TeraDenseArray16Bit;
 import org.terasology.engine.world.chunks.blockdata.TeraDenseArray8Bit;
+import org.terasology.engine.world.chunks.blockdata.TeraPaletteArray;
 import org.terasology.engine.world.chunks.blockdata.TeraSparseArray8Bit;
 import org.terasology.joml.geom.AABBf;
 import org.terasology.joml.geom.AABBfc;
@@ -74,7 +74,7 @@ public ChunkImpl(int x, int y, int z, BlockManager blockManager, ExtraBlockDataM
 
     public ChunkImpl(Vector3ic chunkPos, BlockManager blockManager, ExtraBlockDataManager extraDataManager) {
         this(chunkPos,
-            new TeraDenseArray16Bit(Chunks.SIZE_X, Chunks.SIZE_Y, Chunks.SIZE_Z),
+            new TeraPaletteArray(Chunks.SIZE_X, Chunks.SIZE_Y, Chunks.SIZE_Z),
             extraDataManager.makeDataArrays(Chunks.SIZE_X, Chunks.SIZE_Y, Chunks.SIZE_Z),
             blockManager);
     }
@@ -148,6 +148,9 @@ public final Block getBlock(int x, int y, int z) {
     @Override
     public Block setBlock(int x, int y, int z, Block block) {
         if (blockData == blockDataSnapshot) {
+            if (blockData.get(x, y, z) == block.getId()) {
+                return blockManager.getBlock(block.getId());
+            }
             blockData = blockData.copy();
         }
         int oldValue = blockData.set(x, y, z, block.getId());
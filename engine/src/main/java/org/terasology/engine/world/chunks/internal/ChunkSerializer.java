@@ -10,8 +10,8 @@
 import org.joml.Vector3ic;
 import org.terasology.engine.world.chunks.blockdata.ExtraBlockDataManager;
 import org.terasology.engine.world.chunks.blockdata.TeraArray;
-import org.terasology.engine.world.chunks.blockdata.TeraDenseArray16Bit;
 import org.terasology.engine.world.chunks.blockdata.TeraDenseArray8Bit;
+import org.terasology.engine.world.chunks.blockdata.TeraPaletteArray;
 import org.terasology.protobuf.EntityData;
 import org.terasology.engine.world.block.BlockManager;
 import org.terasology.engine.world.chunks.Chunk;
@@ -42,7 +42,10 @@ public static Chunk decode(EntityData.ChunkStore message, BlockManager blockMana
             throw new IllegalArgumentException("Ill-formed protobuf message. Missing block data.");
         }
 
-        final TeraArray blockData = runLengthDecode(message.getBlockData());
+        Preconditions.checkState(message.getBlockData().getValuesCount() == message.getBlockData().getRunLengthsCount(),
+            "Expected same number of values as runs");
+        final TeraArray blockData = new TeraPaletteArray(Chunks.SIZE_X, Chunks.SIZE_Y, Chunks.SIZE_Z);
+        runLengthDecode(message.getBlockData(), blockData);
         final TeraArray[] extraData = extraDataManager.makeDataArrays(Chunks.SIZE_X, Chunks.SIZE_Y, Chunks.SIZE_Z);
         for (int i = 0; i < extraData.length; i++) {
             runLengthDecode(message.getExtraData(i), extraData[i]);
@@ -104,20 +107,6 @@ private static EntityData.RunLengthEncoding8 runLengthEncode8(TeraArray array) {
         return builder.build();
     }
 
-    private static TeraArray runLengthDecode(EntityData.RunLengthEncoding16 data) {
-        Preconditions.checkState(data.getValuesCount() == data.getRunLengthsCount(), "Expected same number of values as runs");
-        short[] decodedData = new short[Chunks.SIZE_X * Chunks.SIZE_Y * Chunks.SIZE_Z];
-        int index = 0;
-        for (int pos = 0; pos < data.getValuesCount(); ++pos) {
-            int length = data.getRunLengths(pos);
-            short value = (short) data.getValues(pos);
-            for (int i = 0; i < length; ++i) {
-                decodedData[index++] = value;
-            }
-        }
-        return new TeraDenseArray16Bit(Chunks.SIZE_X, Chunks.SIZE_Y, Chunks.SIZE_Z, decodedData);
-    }
-
     private static TeraArray runLengthDecode(EntityData.RunLengthEncoding8 data) {
         Preconditions.checkState(data.getValues().size() == data.getRunLengthsCount(), "Expected same number of values as runs");
         byte[] decodedData = new byte[Chunks.SIZE_X * Chunks.SIZE_Y * Chunks.SIZE_Z];
@@ -134,6 +134,13 @@ protected ListenableFuture<Chunk> createOrLoadChunk(Vector3ic chunkPos) {
             });
     }
 
+    /**
+     * Re-sort queued chunk tasks after relevance regions have moved.
+     */
+    void reprioritizeLoading() {
+        loadingPipeline.reprioritize();
+    }
+
     public void setBlockEntityRegistry(BlockEntityRegistry value) {
         this.registry = value;
     }
@@ -164,6 +171,7 @@ private void processReadyChunk(final Chunk chunk) {
         }
         chunkCache.put(new Vector3i(chunkPos), chunk);
         chunk.markReady();
+        loadingPipeline.notifyChunkAvailable(chunkPos);
         //TODO, it is not clear if the activate/addedBlocks event logic is correct.
         //See https://github.com/MovingBlocks/Terasology/issues/3244
         ChunkStore store = this.storageManager.loadChunkStore(chunkPos);
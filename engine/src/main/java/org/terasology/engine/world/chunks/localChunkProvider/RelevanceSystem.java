@@ -124,9 +124,11 @@ public void removeRelevanceEntity(EntityRef entity) {
      */
     private void updateRelevance() {
         try (Activity activity = PerformanceMonitor.startActivity("Update relevance")) {
+            boolean regionsChanged = false;
             for (ChunkRelevanceRegion chunkRelevanceRegion : regions.values()) {
                 chunkRelevanceRegion.update();
                 if (chunkRelevanceRegion.isDirty()) {
+                    regionsChanged = true;
                     for (Vector3i pos : chunkRelevanceRegion.getNeededChunks()) {
                         Chunk chunk = chunkProvider.getChunk(pos);
                         if (chunk != null) {
@@ -138,6 +140,9 @@ private void updateRelevance() {
                     chunkRelevanceRegion.setUpToDate();
                 }
             }
+            if (regionsChanged) {
+                chunkProvider.reprioritizeLoading();
+            }
         }
     }
 
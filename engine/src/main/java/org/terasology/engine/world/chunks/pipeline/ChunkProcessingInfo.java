@@ -16,11 +16,12 @@ public final class ChunkProcessingInfo {
     private final Vector3ic position;
     private final SettableFuture<Chunk> externalFuture;
 
-    private Chunk chunk;
-    private ChunkTaskProvider chunkTaskProvider;
+    private volatile Chunk chunk;
+    private volatile ChunkTaskProvider chunkTaskProvider;
 
-    private Future<Chunk> currentFuture;
-    private org.terasology.engine.world.chunks.pipeline.stages.ChunkTask chunkTask;
+    private volatile Future<Chunk> currentFuture;
+    private volatile org.terasology.engine.world.chunks.pipeline.stages.ChunkTask chunkTask;
+    private volatile Vector3ic waitingFor;
 
     public ChunkProcessingInfo(Vector3ic position, SettableFuture<Chunk> externalFuture) {
         this.position = position;
@@ -67,6 +68,17 @@ public void setChunkTask(ChunkTask chunkTask) {
         this.chunkTask = chunkTask;
     }
 
+    /**
+     * @return the position of the chunk the current task is waiting for, or null if it is not waiting.
+     */
+    Vector3ic getWaitingFor() {
+        return waitingFor;
+    }
+
+    void setWaitingFor(Vector3ic waitingFor) {
+        this.waitingFor = waitingFor;
+    }
+
     boolean hasNextStage(List<ChunkTaskProvider> stages) {
         if (chunkTaskProvider == null) {
             return true;
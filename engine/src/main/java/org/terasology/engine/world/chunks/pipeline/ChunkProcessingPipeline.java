@@ -8,12 +8,12 @@
 import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
+import org.joml.Vector3i;
 import org.joml.Vector3ic;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.engine.monitoring.ThreadActivity;
 import org.terasology.engine.monitoring.ThreadMonitor;
-import org.terasology.engine.utilities.ReflectionUtil;
 import org.terasology.engine.world.chunks.Chunk;
 import org.terasology.engine.world.chunks.pipeline.stages.ChunkTask;
 import org.terasology.engine.world.chunks.pipeline.stages.ChunkTaskProvider;
@@ -21,14 +21,15 @@
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
-import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.PriorityBlockingQueue;
-import java.util.concurrent.RunnableFuture;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
@@ -38,18 +39,21 @@
  * Manages execution of chunk processing.
  * <p>
  * {@link Chunk}s will processing on stages {@link ChunkProcessingPipeline#addStage}
+ * <p>
+ * Tasks are run on a pool sized to the number of available cores and ordered by the supplied comparator. There is no
+ * central reactor thread: the worker which finishes a stage advances that chunk to its next stage and wakes only the
+ * tasks which were waiting for that chunk to satisfy their requirements.
  */
 public class ChunkProcessingPipeline {
 
-    private static final int NUM_TASK_THREADS = 4;
+    private static final int NUM_TASK_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors());
     private static final Logger logger = LoggerFactory.getLogger(ChunkProcessingPipeline.class);
 
     private final List<ChunkTaskProvider> stages = Lists.newArrayList();
-    private final Thread reactor;
-    private final CompletionService<Chunk> chunkProcessor;
     private final ThreadPoolExecutor executor;
     private final Function<Vector3ic, Chunk> chunkProvider;
     private final Map<Vector3ic, ChunkProcessingInfo> chunkProcessingInfoMap = Maps.newConcurrentMap();
+    private final Map<Vector3ic, Set<ChunkProcessingInfo>> waitingTasks = Maps.newConcurrentMap();
     private int threadIndex;
 
     /**
@@ -62,111 +66,131 @@ public ChunkProcessingPipeline(Function<Vector3ic, Chunk> chunkProvider, Compara
                 NUM_TASK_THREADS,
                 NUM_TASK_THREADS, 0L,
                 TimeUnit.MILLISECONDS,
-                new PriorityBlockingQueue(800, unwrappingComporator(comparable)),
+                new PriorityBlockingQueue<>(800, futureComparator(comparable)),
                 this::threadFactory,
-                this::rejectQueueHandler) {
-            @Override
-            protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
-                RunnableFuture<T> newTaskFor = super.newTaskFor(callable);
-                return new PositionFuture<>(newTaskFor, ((PositionalCallable) callable).getPosition());
-            }
-        };
-        chunkProcessor = new ExecutorCompletionService<>(executor,
-                new PriorityBlockingQueue<>(800, comparable));
-        reactor = new Thread(this::chunkTaskHandler);
-        reactor.setDaemon(true);
-        reactor.setName("Chunk-Processing-Reactor");
-        reactor.start();
+                this::rejectQueueHandler);
+        executor.prestartAllCoreThreads();
     }
 
     /**
-     * BlackMagic method: {@link ExecutorCompletionService} wraps task with QueueingFuture (private access)
-     * there takes wrapped task for comparing in {@link ThreadPoolExecutor}
+     * Tasks are handed to the executor as {@link PositionFuture}s directly, so the queue can compare them without
+     * unwrapping.
      */
-    private Comparator unwrappingComporator(Comparator<Future<Chunk>> comparable) {
-        return (o1, o2) -> {
-                Object unwrapped1 = ReflectionUtil.readField(o1, "task");
-                Object unwrapped2 = ReflectionUtil.readField(o2, "task");
-                return comparable.compare((Future<Chunk>) unwrapped1, (Future<Chunk>) unwrapped2);
-        };
+    @SuppressWarnings("unchecked")
+    private static Comparator<Runnable> futureComparator(Comparator<Future<Chunk>> comparable) {
+        return (o1, o2) -> comparable.compare((Future<Chunk>) o1, (Future<Chunk>) o2);
     }
 
     /**
-     * Reactor thread. Handles all ChunkTask dependency logic and running.
+     * Called on the worker thread which ran the task. Moves the chunk to its next stage and wakes up tasks waiting on
+     * it.
      */
-    private void chunkTaskHandler() {
-        try {
-            while (!executor.isTerminated()) {
-                PositionFuture<Chunk> future = (PositionFuture<Chunk>) chunkProcessor.take();
-                ChunkProcessingInfo chunkProcessingInfo = chunkProcessingInfoMap.get(future.getPosition());
-                if (chunkProcessingInfo == null) {
-                    continue; // chunk processing was cancelled.
-                }
-                onStageDone(future, chunkProcessingInfo);
+    private void onStageDone(PipelineTask future) {
+        ChunkProcessingInfo chunkProcessingInfo = chunkProcessingInfoMap.get(future.getPosition());
+        if (chunkProcessingInfo == null) {
+            return; // chunk processing was cancelled.
+        }
+        synchronized (chunkProcessingInfo) {
+            if (chunkProcessingInfo.getCurrentFuture() != future) {
+                return; // chunk processing was restarted in the meantime.
             }
-        } catch (InterruptedException e) {
-            if (!executor.isTerminated()) {
-                logger.error("Reactor thread was interrupted", e);
+            try {
+                Chunk chunk = future.get();
+                chunkProcessingInfo.resetTaskState();
+                chunkProcessingInfo.setChunk(chunk);
+
+                //Move by stage.
+                if (chunkProcessingInfo.hasNextStage(stages)) {
+                    chunkProcessingInfo.nextStage(stages);
+                    chunkProcessingInfo.makeChunkTask();
+                } else {
+                    // haven't next stage
+                    chunkProcessingInfo.endProcessing();
+                    cleanup(chunkProcessingInfo);
+                }
+            } catch (ExecutionException e) {
+                String stageName =
+                        chunkProcessingInfo.getChunkTaskProvider() == null
+                                ? "Generation or Loading"
+                                : chunkProcessingInfo.getChunkTaskProvider().getName();
+                logger.error(
+                        String.format("ChunkTask at position %s and stage [%s] catch error: ",
+                                chunkProcessingInfo.getPosition(), stageName),
+                        e);
+                chunkProcessingInfo.getExternalFuture().setException(e);
+                return;
+            } catch (CancellationException ignored) {
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
             }
-            reactor.interrupt();
         }
+        processChunkInfo(chunkProcessingInfo);
+        wakeWaitingTasks(chunkProcessingInfo.getPosition());
     }
 
-    private void onStageDone(PositionFuture<Chunk> future, ChunkProcessingInfo chunkProcessingInfo) throws InterruptedException {
-        try {
-            chunkProcessingInfo.resetTaskState();
-            chunkProcessingInfo.setChunk(future.get());
-
-            //Move by stage.
-            if (chunkProcessingInfo.hasNextStage(stages)) {
-                chunkProcessingInfo.nextStage(stages);
-                chunkProcessingInfo.makeChunkTask();
-            } else {
-                // haven't next stage
-                chunkProcessingInfo.endProcessing();
-                cleanup(chunkProcessingInfo);
-            }
-            processChunkTasks();
-
-        } catch (ExecutionException e) {
-            String stageName =
-                    chunkProcessingInfo.getChunkTaskProvider() == null
-                            ? "Generation or Loading"
-                            : chunkProcessingInfo.getChunkTaskProvider().getName();
-            logger.error(
-                    String.format("ChunkTask at position %s and stage [%s] catch error: ",
-                            chunkProcessingInfo.getPosition(), stageName),
-                    e);
-            chunkProcessingInfo.getExternalFuture().setException(e);
-        } catch (CancellationException ignored) {
+    private void wakeWaitingTasks(Vector3ic position) {
+        Set<ChunkProcessingInfo> waiting = waitingTasks.remove(position);
+        if (waiting == null) {
+            return;
         }
-    }
-
-    private void processChunkTasks() {
-        for (ChunkProcessingInfo info : chunkProcessingInfoMap.values()) {
+        for (ChunkProcessingInfo info : waiting) {
             processChunkInfo(info);
         }
     }
 
     private void processChunkInfo(ChunkProcessingInfo info) {
-        if (info.getChunkTask() == null) {
-            return;
-        }
-        if (info.getCurrentFuture() != null) {
-            return;
-        }
-        ChunkTask chunkTask = info.getChunkTask();
-        List<Vector3ic> requirements = chunkTask.getRequirements();
-        List<Chunk> requiredChunks = Lists.newArrayListWithCapacity(requirements.size());
-        for (Vector3ic pos : requirements) {
-            Chunk chunk = getChunkBy(info.getChunkTaskProvider(), pos);
-            if (chunk != null) {
-                requiredChunks.add(chunk);
-            } else {
+        synchronized (info) {
+            if (info.getChunkTask() == null) {
+                return;
+            }
+            if (info.getCurrentFuture() != null) {
                 return;
             }
+            if (chunkProcessingInfoMap.get(info.getPosition()) != info) {
+                return; // chunk processing was cancelled.
+            }
+            ChunkTask chunkTask = info.getChunkTask();
+            List<Vector3ic> requirements = chunkTask.getRequirements();
+            List<Chunk> requiredChunks = Lists.newArrayListWithCapacity(requirements.size());
+            for (Vector3ic pos : requirements) {
+                Chunk chunk = getChunkBy(info.getChunkTaskProvider(), pos);
+                if (chunk == null) {
+                    // register first and check again, so a stage finishing in between cannot be missed.
+                    waitFor(info, pos);
+                    chunk = getChunkBy(info.getChunkTaskProvider(), pos);
+                    if (chunk == null) {
+                        return;
+                    }
+                    stopWaiting(info);
+                }
+                requiredChunks.add(chunk);
+            }
+            runTask(info, chunkTask, requiredChunks);
         }
-        info.setCurrentFuture(runTask(chunkTask, requiredChunks));
+    }
+
+    private void waitFor(ChunkProcessingInfo info, Vector3ic position) {
+        Vector3ic key = new Vector3i(position);
+        info.setWaitingFor(key);
+        waitingTasks.compute(key, (k, waiting) -> {
+            Set<ChunkProcessingInfo> result = waiting == null ? ConcurrentHashMap.newKeySet() : waiting;
+            result.add(info);
+            return result;
+        });
+    }
+
+    private void stopWaiting(ChunkProcessingInfo info) {
+        Vector3ic position = info.getWaitingFor();
+        if (position == null) {
+            return;
+        }
+        info.setWaitingFor(null);
+        waitingTasks.computeIfPresent(position, (k, waiting) -> {
+            waiting.remove(info);
+            return waiting.isEmpty() ? null : waiting;
+        });
     }
 
     private Chunk getChunkBy(ChunkTaskProvider requiredStage, Vector3ic position) {
@@ -184,12 +208,18 @@ private Chunk getChunkBy(ChunkTaskProvider requiredStage, Vector3ic position) {
         return chunk;
     }
 
-    private Future<Chunk> runTask(ChunkTask task, List<Chunk> chunks) {
-        return chunkProcessor.submit(new PositionalCallable(() -> {
+    private void runTask(ChunkProcessingInfo info, ChunkTask task, List<Chunk> chunks) {
+        submit(info, () -> {
             try (ThreadActivity ignored = ThreadMonitor.startThreadActivity(task.getName())) {
                 return task.apply(chunks);
             }
-        }, task.getPosition()));
+        }, task.getPosition());
+    }
+
+    private void submit(ChunkProcessingInfo info, Callable<Chunk> callable, Vector3ic position) {
+        PipelineTask task = new PipelineTask(callable, position);
+        info.setCurrentFuture(task);
+        executor.execute(task);
     }
 
     private Thread threadFactory(Runnable runnable) {
@@ -231,8 +261,7 @@ public ListenableFuture<Chunk> invokeGeneratorTask(Vector3ic position, Supplier<
             SettableFuture<Chunk> exitFuture = SettableFuture.create();
             chunkProcessingInfo = new ChunkProcessingInfo(position, exitFuture);
             chunkProcessingInfoMap.put(position, chunkProcessingInfo);
-            chunkProcessingInfo.setCurrentFuture(chunkProcessor.submit(new PositionalCallable(generatorTask::get,
-                    position)));
+            submit(chunkProcessingInfo, generatorTask::get, position);
             return exitFuture;
         }
     }
@@ -251,16 +280,37 @@ public void shutdown() {
         executor.shutdown();
         chunkProcessingInfoMap.keySet().forEach(this::stopProcessingAt);
         chunkProcessingInfoMap.clear();
+        waitingTasks.clear();
         executor.getQueue().clear();
-        reactor.interrupt();
     }
 
     public void restart() {
         chunkProcessingInfoMap.clear();
+        waitingTasks.clear();
         executor.getQueue().clear();
         chunkProcessingInfoMap.keySet().forEach(this::stopProcessingAt);
     }
 
+    /**
+     * Re-sort queued tasks with the pipeline's comparator. Should be called when the values the comparator depends
+     * on change, e.g. when relevance regions move.
+     */
+    public void reprioritize() {
+        BlockingQueue<Runnable> queue = executor.getQueue();
+        List<Runnable> pending = Lists.newArrayListWithCapacity(queue.size());
+        queue.drainTo(pending);
+        queue.addAll(pending);
+    }
+
+    /**
+     * Notify the pipeline that a chunk became available through the chunk provider, so tasks requiring it can run.
+     *
+     * @param pos position of the chunk which became available.
+     */
+    public void notifyChunkAvailable(Vector3ic pos) {
+        wakeWaitingTasks(pos);
+    }
+
     /**
      * Stop processing chunk at position.
      *
@@ -273,6 +323,7 @@ public void stopProcessingAt(Vector3ic pos) {
         }
 
         removed.getExternalFuture().cancel(true);
+        stopWaiting(removed);
 
         Future<Chunk> currentFuture = removed.getCurrentFuture();
         if (currentFuture != null) {
@@ -314,24 +365,18 @@ public Iterable<Vector3ic> getProcessingPosition() {
     }
 
     /**
-     * Dummy callable for passthru position for {@link java.util.concurrent.ThreadPoolExecutor}#newTaskFor
+     * Chunk task as handed to the executor. Reports its completion back to the pipeline on the worker thread.
      */
-    private static final class PositionalCallable implements Callable<Chunk> {
-        private final Callable<Chunk> callable;
-        private final Vector3ic position;
-
-        private PositionalCallable(Callable<Chunk> callable, Vector3ic position) {
-            this.callable = callable;
-            this.position = position;
-        }
+    private final class PipelineTask extends PositionFuture<Chunk> {
 
-        public Vector3ic getPosition() {
-            return position;
+        private PipelineTask(Callable<Chunk> callable, Vector3ic position) {
+            super(new FutureTask<>(callable), position);
         }
 
         @Override
-        public Chunk call() throws Exception {
-            return callable.call();
+        public void run() {
+            super.run();
+            onStageDone(this);
         }
     }
 }
@@ -104,6 +104,7 @@ public void update() {
                 oldChunk.dispose();
             }
             chunk.markReady();
+            loadingPipeline.notifyChunkAvailable(chunk.getPosition());
             if (listener != null) {
                 listener.onChunkReady(chunk.getPosition(new Vector3i()));
             }
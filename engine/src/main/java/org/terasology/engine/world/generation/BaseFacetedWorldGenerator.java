@@ -68,6 +68,16 @@ public void createChunk(Chunk chunk, float scale) {
         world.rasterizeChunk(chunk, scale);
     }
 
+    /**
+     * Sets whether chunks are generated in parallel, see {@link WorldImpl#setParallelGeneration(boolean)}.
+     */
+    public void setParallelGeneration(boolean parallelGeneration) {
+        getWorldBuilder().setParallelGeneration(parallelGeneration);
+        if (world instanceof WorldImpl) {
+            ((WorldImpl) world).setParallelGeneration(parallelGeneration);
+        }
+    }
+
     @Override
     public WorldConfigurator getConfigurator() {
         if (configurator == null) {
@@ -0,0 +1,194 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.world.generation;
+
+import com.google.common.collect.ListMultimap;
+import org.terasology.engine.monitoring.PerformanceMonitor;
+import org.terasology.engine.world.block.BlockRegionc;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shares 2D facets between the regions of a {@link World} that cover the same column, so that the chunks stacked in
+ * one column compute them once.
+ * <br><br>
+ * Only facets whose whole provider chain reads and writes 2D facets alone are cached, since anything else may depend
+ * on the vertical extent of the region. A cache entry holds every facet written by that chain, so using it is
+ * equivalent to running the chain. Entries are evicted least recently used first.
+ */
+public class FacetCache {
+    public static final String HITS_COUNTER = "World Generation - Facet Cache Hits";
+    public static final String MISSES_COUNTER = "World Generation - Facet Cache Misses";
+
+    public static final int DEFAULT_CAPACITY = 512;
+
+    private final ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains;
+    /**
+     * Maps each cacheable facet to all facets written by its chain.
+     */
+    private final Map<Class<? extends WorldFacet>, Set<Class<? extends WorldFacet>>> cacheableFacets;
+    private final Map<Key, Map<Class<? extends WorldFacet>, WorldFacet>> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public FacetCache(ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains, int capacity) {
+        this.facetProviderChains = facetProviderChains;
+        this.cacheableFacets = findCacheableFacets(facetProviderChains);
+        this.entries = new LinkedHashMap<Key, Map<Class<? extends WorldFacet>, WorldFacet>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Map<Class<? extends WorldFacet>, WorldFacet>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public boolean isCacheable(Class<? extends WorldFacet> facet) {
+        return cacheableFacets.containsKey(facet);
+    }
+
+    /**
+     * @return the providers that would have run to produce the given facet, which a cache hit replaces
+     */
+    List<FacetProvider> getChain(Class<? extends WorldFacet> facet) {
+        return facetProviderChains.get(facet);
+    }
+
+    /**
+     * @return the facets written by the chain of the given facet for the column of the region, or null if they are
+     *         not cached
+     */
+    Map<Class<? extends WorldFacet>, WorldFacet> get(Class<? extends WorldFacet> facet, BlockRegionc region,
+                                                     float scale) {
+        Map<Class<? extends WorldFacet>, WorldFacet> result;
+        synchronized (entries) {
+            result = entries.get(new Key(facet, region, scale));
+        }
+        if (result != null) {
+            hits.increment();
+            PerformanceMonitor.incrementCounter(HITS_COUNTER, 1);
+        } else {
+            misses.increment();
+            PerformanceMonitor.incrementCounter(MISSES_COUNTER, 1);
+        }
+        return result;
+    }
+
+    /**
+     * Stores the facets written by the chain of the given facet, taking them from a region that has run it.
+     */
+    void put(Class<? extends WorldFacet> facet, GeneratingRegion region, float scale) {
+        Map<Class<? extends WorldFacet>, WorldFacet> written = new HashMap<>();
+        for (Class<? extends WorldFacet> type : cacheableFacets.get(facet)) {
+            WorldFacet value = region.getRegionFacet(type);
+            if (value != null) {
+                written.put(type, value);
+            }
+        }
+        synchronized (entries) {
+            entries.put(new Key(facet, region.getRegion(), scale), Collections.unmodifiableMap(written));
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private static Map<Class<? extends WorldFacet>, Set<Class<? extends WorldFacet>>> findCacheableFacets(
+            ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains) {
+        Map<Class<? extends WorldFacet>, Set<Class<? extends WorldFacet>>> result = new HashMap<>();
+        for (Class<? extends WorldFacet> facet : facetProviderChains.keySet()) {
+            Set<Class<? extends WorldFacet>> written = writtenFacets(facetProviderChains, facet);
+            if (written != null) {
+                result.put(facet, written);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the facets written by the chain of the given facet, or null if that chain touches 3D facets or some of
+     *         the facets it writes are also written by providers outside of it
+     */
+    private static Set<Class<? extends WorldFacet>> writtenFacets(
+            ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains,
+            Class<? extends WorldFacet> facet) {
+        if (!WorldFacet2D.class.isAssignableFrom(facet)) {
+            return null;
+        }
+        List<FacetProvider> chain = facetProviderChains.get(facet);
+        Set<Class<? extends WorldFacet>> written = new LinkedHashSet<>();
+        for (FacetProvider provider : chain) {
+            for (Class<? extends WorldFacet> touched : FacetProviderGraph.touchedFacets(provider)) {
+                if (!WorldFacet2D.class.isAssignableFrom(touched)) {
+                    return null;
+                }
+                if (FacetProviderGraph.writes(provider, touched)) {
+                    written.add(touched);
+                }
+            }
+        }
+        for (Class<? extends WorldFacet> type : written) {
+            for (FacetProvider provider : facetProviderChains.get(type)) {
+                if (FacetProviderGraph.writes(provider, type) && !chain.contains(provider)) {
+                    return null;
+                }
+            }
+        }
+        return written;
+    }
+
+    private static final class Key {
+        private final Class<? extends WorldFacet> facet;
+        private final int minX;
+        private final int minZ;
+        private final int maxX;
+        private final int maxZ;
+        private final float scale;
+
+        Key(Class<? extends WorldFacet> facet, BlockRegionc region, float scale) {
+            this.facet = facet;
+            this.minX = region.minX();
+            this.minZ = region.minZ();
+            this.maxX = region.maxX();
+            this.maxZ = region.maxZ();
+            this.scale = scale;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return facet == other.facet && minX == other.minX && minZ == other.minZ && maxX == other.maxX
+                    && maxZ == other.maxZ && scale == other.scale;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(facet, minX, minZ, maxX, maxZ, scale);
+        }
+    }
+}
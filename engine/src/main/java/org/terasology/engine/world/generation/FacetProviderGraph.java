@@ -0,0 +1,193 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.world.generation;
+
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The facet providers needed to generate a set of facets, together with which of them have to run before which.
+ * <br><br>
+ * The order is derived from the {@link Produces}, {@link Updates} and {@link Requires} annotations, the same way
+ * {@link WorldBuilder} orders its provider chains: on every facet its producers run first, then its updaters by
+ * decreasing priority. Providers only reading a facet run after all updaters with a higher priority than their own.
+ * Providers with no path between them in this graph can process a region concurrently.
+ */
+final class FacetProviderGraph {
+
+    private static final int PRODUCER = Integer.MAX_VALUE;
+
+    /**
+     * The providers in a topological order, each mapped to the providers that have to finish before it.
+     */
+    private final Map<FacetProvider, Set<FacetProvider>> predecessors;
+    private final Set<Class<? extends WorldFacet>> facets;
+
+    private FacetProviderGraph(Map<FacetProvider, Set<FacetProvider>> predecessors,
+                               Set<Class<? extends WorldFacet>> facets) {
+        this.predecessors = predecessors;
+        this.facets = facets;
+    }
+
+    /**
+     * @param providerChains the provider chains, as built by {@link WorldBuilder}
+     * @param facets the facets to generate
+     * @return the graph of the providers needed for the given facets
+     * @throws IllegalStateException if the annotations of the providers contradict each other
+     */
+    static FacetProviderGraph build(ListMultimap<Class<? extends WorldFacet>, FacetProvider> providerChains,
+                                    Collection<Class<? extends WorldFacet>> facets) {
+        Set<FacetProvider> providers = new LinkedHashSet<>();
+        for (Class<? extends WorldFacet> facet : facets) {
+            providers.addAll(providerChains.get(facet));
+        }
+        List<FacetProvider> chainOrder = new ArrayList<>(providers);
+
+        Map<FacetProvider, Set<FacetProvider>> edges = Maps.newHashMap();
+        for (FacetProvider provider : chainOrder) {
+            edges.put(provider, Sets.newLinkedHashSet());
+        }
+        Map<Class<? extends WorldFacet>, List<FacetProvider>> providersByFacet = new LinkedHashMap<>();
+        for (FacetProvider provider : chainOrder) {
+            for (Class<? extends WorldFacet> facet : touchedFacets(provider)) {
+                providersByFacet.computeIfAbsent(facet, k -> new ArrayList<>()).add(provider);
+            }
+        }
+        for (Map.Entry<Class<? extends WorldFacet>, List<FacetProvider>> entry : providersByFacet.entrySet()) {
+            Class<? extends WorldFacet> facet = entry.getKey();
+            List<FacetProvider> touching = entry.getValue();
+            for (int i = 0; i < touching.size(); i++) {
+                FacetProvider first = touching.get(i);
+                for (int j = 0; j < touching.size(); j++) {
+                    FacetProvider second = touching.get(j);
+                    if (i != j && runsBefore(first, i, second, j, facet)) {
+                        edges.get(second).add(first);
+                    }
+                }
+            }
+        }
+        return new FacetProviderGraph(sortTopologically(chainOrder, edges), new LinkedHashSet<>(facets));
+    }
+
+    /**
+     * @return the facets this graph was built for
+     */
+    Set<Class<? extends WorldFacet>> getFacets() {
+        return Collections.unmodifiableSet(facets);
+    }
+
+    /**
+     * @return the providers in this graph, in an order in which every provider comes after its predecessors
+     */
+    Collection<FacetProvider> getProviders() {
+        return Collections.unmodifiableSet(predecessors.keySet());
+    }
+
+    /**
+     * @return the providers that have to finish before the given one can run
+     */
+    Set<FacetProvider> getPredecessors(FacetProvider provider) {
+        return Collections.unmodifiableSet(predecessors.get(provider));
+    }
+
+    private static boolean runsBefore(FacetProvider first, int firstIndex, FacetProvider second, int secondIndex,
+                                      Class<? extends WorldFacet> facet) {
+        if (!writes(first, facet) && !writes(second, facet)) {
+            return false;
+        }
+        int firstRank = rank(first, facet);
+        int secondRank = rank(second, facet);
+        if (firstRank != secondRank) {
+            return firstRank > secondRank;
+        }
+        return firstIndex < secondIndex;
+    }
+
+    /**
+     * The position of a provider in the chain of a facet, higher ranks running first. This matches the priorities
+     * {@link WorldBuilder} uses to order its chains.
+     */
+    private static int rank(FacetProvider provider, Class<? extends WorldFacet> facet) {
+        Produces produces = provider.getClass().getAnnotation(Produces.class);
+        if (produces != null && Arrays.asList(produces.value()).contains(facet)) {
+            return PRODUCER;
+        }
+        Updates updates = provider.getClass().getAnnotation(Updates.class);
+        if (updates != null) {
+            return updates.priority();
+        }
+        return UpdatePriority.PRIORITY_REQUIRES;
+    }
+
+    static boolean writes(FacetProvider provider, Class<? extends WorldFacet> facet) {
+        Produces produces = provider.getClass().getAnnotation(Produces.class);
+        if (produces != null && Arrays.asList(produces.value()).contains(facet)) {
+            return true;
+        }
+        Updates updates = provider.getClass().getAnnotation(Updates.class);
+        if (updates != null) {
+            for (Facet updated : updates.value()) {
+                if (updated.value() == facet) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static Set<Class<? extends WorldFacet>> touchedFacets(FacetProvider provider) {
+        Set<Class<? extends WorldFacet>> facets = new LinkedHashSet<>();
+        Produces produces = provider.getClass().getAnnotation(Produces.class);
+        if (produces != null) {
+            facets.addAll(Arrays.asList(produces.value()));
+        }
+        Updates updates = provider.getClass().getAnnotation(Updates.class);
+        if (updates != null) {
+            for (Facet facet : updates.value()) {
+                facets.add(facet.value());
+            }
+        }
+        Requires requires = provider.getClass().getAnnotation(Requires.class);
+        if (requires != null) {
+            for (Facet facet : requires.value()) {
+                facets.add(facet.value());
+            }
+        }
+        return facets;
+    }
+
+    private static Map<FacetProvider, Set<FacetProvider>> sortTopologically(
+            List<FacetProvider> providers, Map<FacetProvider, Set<FacetProvider>> edges) {
+        Map<FacetProvider, Set<FacetProvider>> sorted = new LinkedHashMap<>();
+        while (sorted.size() < providers.size()) {
+            boolean progress = false;
+            for (FacetProvider provider : providers) {
+                if (!sorted.containsKey(provider) && sorted.keySet().containsAll(edges.get(provider))) {
+                    sorted.put(provider, edges.get(provider));
+                    progress = true;
+                }
+            }
+            if (!progress) {
+                List<String> remaining = new ArrayList<>();
+                for (FacetProvider provider : providers) {
+                    if (!sorted.containsKey(provider)) {
+                        remaining.add(provider.getClass().getSimpleName());
+                    }
+                }
+                throw new IllegalStateException("Facet providers depend on each other circularly: " + remaining);
+            }
+        }
+        return sorted;
+    }
+}
@@ -8,8 +8,15 @@
 import com.google.common.collect.Sets;
 import org.terasology.engine.world.block.BlockRegion;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 public class RegionImpl implements Region, GeneratingRegion {
 
@@ -17,32 +24,52 @@ public class RegionImpl implements Region, GeneratingRegion {
     private final ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains;
     private final Map<Class<? extends WorldFacet>, Border3D> borders;
     private final float scale;
+    private final WorldGenerationTimings timings;
+    private final FacetCache facetCache;
 
-    private final ClassToInstanceMap<WorldFacet> generatingFacets = MutableClassToInstanceMap.create();
+    // Facet providers may fill this in from several threads, see generateFacets
+    private final ClassToInstanceMap<WorldFacet> generatingFacets =
+            MutableClassToInstanceMap.create(Collections.synchronizedMap(new HashMap<>()));
     private final Set<FacetProvider> processedProviders = Sets.newHashSet();
     private final ClassToInstanceMap<WorldFacet> generatedFacets = MutableClassToInstanceMap.create();
 
     public RegionImpl(BlockRegion region,
                       ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains, Map<Class<?
             extends WorldFacet>, Border3D> borders, float scale) {
+        this(region, facetProviderChains, borders, scale, null, null);
+    }
+
+    /**
+     * @param timings where to record the time spent by each facet provider, or null
+     * @param facetCache the cache to share facets with other regions of the same world, built from the same provider
+     *                   chains, or null
+     */
+    public RegionImpl(BlockRegion region,
+                      ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains, Map<Class<?
+            extends WorldFacet>, Border3D> borders, float scale, WorldGenerationTimings timings,
+                      FacetCache facetCache) {
         this.region = region;
         this.facetProviderChains = facetProviderChains;
         this.borders = borders;
         this.scale = scale;
+        this.timings = timings;
+        this.facetCache = facetCache;
     }
 
     @Override
-    public <T extends WorldFacet> T getFacet(Class<T> dataType) {
+    public synchronized <T extends WorldFacet> T getFacet(Class<T> dataType) {
         T facet = generatedFacets.getInstance(dataType);
         if (facet == null) {
-            for (FacetProvider provider : facetProviderChains.get(dataType)) {
-                if (!processedProviders.contains(provider)) {
-                    if (scale == 1) {
-                        provider.process(this);
-                    } else {
-                        ((ScalableFacetProvider) provider).process(this, scale);
+            boolean cacheable = isCacheable(dataType);
+            if (!cacheable || !loadCachedFacets(dataType)) {
+                for (FacetProvider provider : facetProviderChains.get(dataType)) {
+                    if (!processedProviders.contains(provider)) {
+                        process(provider);
+                        processedProviders.add(provider);
                     }
-                    processedProviders.add(provider);
+                }
+                if (cacheable) {
+                    facetCache.put(dataType, this, scale);
                 }
             }
             facet = generatingFacets.getInstance(dataType);
@@ -51,6 +78,108 @@ public <T extends WorldFacet> T getFacet(Class<T> dataType) {
         return facet;
     }
 
+    /**
+     * Runs all providers of the given graph on this region, running providers that do not depend on each other
+     * concurrently. The facets they produce are afterwards returned by {@link #getFacet} without processing them
+     * again.
+     *
+     * @param graph the facet providers to run, which must have been built from this region's provider chains
+     * @param executor the executor to run the facet providers on
+     */
+    void generateFacets(FacetProviderGraph graph, Executor executor) {
+        List<Class<? extends WorldFacet>> facetsToCache = new ArrayList<>();
+        Set<FacetProvider> alreadyProcessed;
+        synchronized (this) {
+            for (Class<? extends WorldFacet> facet : graph.getFacets()) {
+                if (isCacheable(facet) && !loadCachedFacets(facet)) {
+                    facetsToCache.add(facet);
+                }
+            }
+            alreadyProcessed = Sets.newHashSet(processedProviders);
+        }
+
+        Map<FacetProvider, CompletableFuture<Void>> tasks = new HashMap<>();
+        for (FacetProvider provider : graph.getProviders()) {
+            CompletableFuture<Void> task;
+            if (alreadyProcessed.contains(provider)) {
+                task = CompletableFuture.completedFuture(null);
+            } else {
+                CompletableFuture<?>[] predecessors = graph.getPredecessors(provider).stream()
+                        .map(tasks::get)
+                        .toArray(CompletableFuture[]::new);
+                task = CompletableFuture.allOf(predecessors).thenRunAsync(() -> process(provider), executor);
+            }
+            tasks.put(provider, task);
+        }
+        join(CompletableFuture.allOf(tasks.values().toArray(new CompletableFuture[0])));
+
+        synchronized (this) {
+            processedProviders.addAll(graph.getProviders());
+            for (Class<? extends WorldFacet> facet : facetsToCache) {
+                facetCache.put(facet, this, scale);
+            }
+        }
+    }
+
+    /**
+     * @return whether the chain of the facet can be taken from the cache, which requires none of its providers to
+     *         have run on this region yet
+     */
+    private boolean isCacheable(Class<? extends WorldFacet> facet) {
+        if (facetCache == null || !facetCache.isCacheable(facet)) {
+            return false;
+        }
+        for (FacetProvider provider : facetCache.getChain(facet)) {
+            if (processedProviders.contains(provider)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Takes the facets written by the chain of the given facet from the cache, if they are cached for this column.
+     *
+     * @return whether the chain has been replaced by the cached facets
+     */
+    private boolean loadCachedFacets(Class<? extends WorldFacet> facet) {
+        Map<Class<? extends WorldFacet>, WorldFacet> cached = facetCache.get(facet, region, scale);
+        if (cached == null) {
+            return false;
+        }
+        generatingFacets.putAll(cached);
+        processedProviders.addAll(facetCache.getChain(facet));
+        return true;
+    }
+
+    /**
+     * Waits for a generation task, rethrowing whatever it failed with.
+     */
+    static void join(CompletableFuture<?> task) {
+        try {
+            task.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private void process(FacetProvider provider) {
+        long start = System.nanoTime();
+        if (scale == 1) {
+            provider.process(this);
+        } else {
+            ((ScalableFacetProvider) provider).process(this, scale);
+        }
+        if (timings != null) {
+            timings.record(provider, System.nanoTime() - start);
+        }
+    }
+
     @Override
     public BlockRegion getRegion() {
         return region;
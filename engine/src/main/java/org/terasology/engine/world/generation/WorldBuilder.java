@@ -34,6 +34,7 @@ public class WorldBuilder extends ProviderStore {
     private final List<WorldRasterizer> rasterizers = Lists.newArrayList();
     private final List<EntityProvider> entityProviders = new ArrayList<>();
     private int seaLevel = 32;
+    private boolean parallelGeneration;
 
     // Used for detecting circular dependencies
     private final Map<Class<? extends WorldFacet>, FacetProvider> requiredBy = new HashMap<>();
@@ -83,6 +84,16 @@ public WorldBuilder setSeaLevel(int level) {
         return this;
     }
 
+    /**
+     * @param parallelGeneration whether the built world computes independent facets concurrently, see
+     *                           {@link WorldImpl#setParallelGeneration(boolean)}
+     * @return this
+     */
+    public WorldBuilder setParallelGeneration(boolean parallelGeneration) {
+        this.parallelGeneration = parallelGeneration;
+        return this;
+    }
+
     public World build() {
         // TODO: ensure the required providers are present
 
@@ -96,7 +107,7 @@ public World build() {
         ListMultimap<Class<? extends WorldFacet>, FacetProvider> scalableProviderChains = determineProviderChains(true);
         List<WorldRasterizer> orderedRasterizers = ensureRasterizerOrdering(providerChains, false);
         List<WorldRasterizer> scalableRasterizers = ensureRasterizerOrdering(scalableProviderChains, true);
-        return new WorldImpl(
+        WorldImpl world = new WorldImpl(
                 providerChains,
                 scalableProviderChains,
                 orderedRasterizers,
@@ -105,6 +116,8 @@ public World build() {
                 determineBorders(providerChains, orderedRasterizers),
                 seaLevel
         );
+        world.setParallelGeneration(parallelGeneration);
+        return world;
     }
 
     private Map<Class<? extends WorldFacet>, Border3D> determineBorders(ListMultimap<Class<? extends WorldFacet>,
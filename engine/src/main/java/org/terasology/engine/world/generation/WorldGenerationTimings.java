@@ -0,0 +1,72 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.world.generation;
+
+import org.terasology.engine.monitoring.PerformanceMonitor;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates the time spent by each facet provider, world rasterizer and entity provider of a {@link World}.
+ * <br><br>
+ * Chunks are generated on several threads at once, so this may be updated concurrently. The time of each generator
+ * is also reported as a {@link PerformanceMonitor} counter, in microseconds.
+ */
+public class WorldGenerationTimings {
+    static final String COUNTER_PREFIX = "World Generation - ";
+
+    private final Map<Class<?>, Entry> entries = new ConcurrentHashMap<>();
+
+    void record(Object generator, long nanos) {
+        Entry entry = entries.computeIfAbsent(generator.getClass(), Entry::new);
+        entry.add(nanos);
+        PerformanceMonitor.incrementCounter(entry.counter, nanos / 1000);
+    }
+
+    /**
+     * @return the timings of every generator that ran since the last reset, by generator class
+     */
+    public Map<Class<?>, Entry> getEntries() {
+        return Collections.unmodifiableMap(entries);
+    }
+
+    public void reset() {
+        entries.clear();
+    }
+
+    public static class Entry {
+        private final String counter;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+
+        Entry(Class<?> generator) {
+            this.counter = COUNTER_PREFIX + generator.getSimpleName() + " Time (us)";
+        }
+
+        void add(long nanos) {
+            calls.increment();
+            totalNanos.add(nanos);
+        }
+
+        public long getCalls() {
+            return calls.sum();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        public double getAverageNanos() {
+            long count = calls.sum();
+            return (count == 0) ? 0 : (double) totalNanos.sum() / count;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d calls, %.3f ms average", getCalls(), getAverageNanos() / 1e6);
+        }
+    }
+}
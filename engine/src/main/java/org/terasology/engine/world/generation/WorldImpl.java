@@ -2,8 +2,12 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.terasology.engine.world.generation;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Sets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.terasology.engine.world.block.BlockRegion;
 import org.terasology.engine.world.chunks.Chunk;
 
@@ -11,9 +15,15 @@
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 public class WorldImpl implements World {
+    private static final Logger logger = LoggerFactory.getLogger(WorldImpl.class);
+
     private final ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains;
     private final ListMultimap<Class<? extends WorldFacet>, FacetProvider> scalableFacetProviderChains;
     private final List<WorldRasterizer> worldRasterizers;
@@ -22,6 +32,14 @@ public class WorldImpl implements World {
     private final Map<Class<? extends WorldFacet>, Border3D> borders;
     private final int seaLevel;
 
+    private final WorldGenerationTimings timings = new WorldGenerationTimings();
+    private final FacetCache facetCache;
+    private final FacetCache scalableFacetCache;
+    private final Supplier<Optional<FacetProviderGraph>> facetProviderGraph;
+    private final Supplier<Optional<FacetProviderGraph>> scalableFacetProviderGraph;
+    private final Executor executor = ForkJoinPool.commonPool();
+    private volatile boolean parallelGeneration;
+
     public WorldImpl(ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains,
                      ListMultimap<Class<? extends WorldFacet>, FacetProvider> scalableFacetProviderChains,
                      List<WorldRasterizer> worldRasterizers,
@@ -36,11 +54,19 @@ public WorldImpl(ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetP
         this.entityProviders = entityProviders;
         this.borders = borders;
         this.seaLevel = seaLevel;
+        this.facetCache = new FacetCache(facetProviderChains, FacetCache.DEFAULT_CAPACITY);
+        this.scalableFacetCache = new FacetCache(scalableFacetProviderChains, FacetCache.DEFAULT_CAPACITY);
+
+        Set<Class<? extends WorldFacet>> requiredFacets = requiredFacets(worldRasterizers);
+        requiredFacets.addAll(requiredFacets(entityProviders));
+        this.facetProviderGraph = Suppliers.memoize(() -> buildGraph(facetProviderChains, requiredFacets));
+        this.scalableFacetProviderGraph = Suppliers.memoize(() ->
+                buildGraph(scalableFacetProviderChains, requiredFacets(scalableWorldRasterizers)));
     }
 
     @Override
     public Region getWorldData(BlockRegion region, float scale) {
-        return new RegionImpl(region, scale == 1 ? facetProviderChains : scalableFacetProviderChains, borders, scale);
+        return createRegion(region, scale);
     }
 
     @Override
@@ -50,20 +76,29 @@ public int getSeaLevel() {
 
     @Override
     public void rasterizeChunk(Chunk chunk, EntityBuffer buffer) {
-        Region chunkRegion = getWorldData(new BlockRegion(chunk.getRegion()), 1);
-        for (WorldRasterizer rasterizer : worldRasterizers) {
-            rasterizer.generateChunk(chunk, chunkRegion);
-        }
-        for (EntityProvider entityProvider : entityProviders) {
-            entityProvider.process(chunkRegion, buffer);
+        RegionImpl chunkRegion = createRegion(new BlockRegion(chunk.getRegion()), 1);
+        if (parallelGeneration) {
+            facetProviderGraph.get().ifPresent(graph -> chunkRegion.generateFacets(graph, executor));
+            CompletableFuture<Void> entities =
+                    CompletableFuture.runAsync(() -> provideEntities(chunkRegion, buffer), executor);
+            rasterize(chunk, chunkRegion);
+            RegionImpl.join(entities);
+        } else {
+            rasterize(chunk, chunkRegion);
+            provideEntities(chunkRegion, buffer);
         }
     }
 
     @Override
     public void rasterizeChunk(Chunk chunk, float scale) {
-        Region chunkRegion = getWorldData(new BlockRegion(chunk.getRegion()), scale);
+        RegionImpl chunkRegion = createRegion(new BlockRegion(chunk.getRegion()), scale);
+        if (parallelGeneration) {
+            scalableFacetProviderGraph.get().ifPresent(graph -> chunkRegion.generateFacets(graph, executor));
+        }
         for (WorldRasterizer rasterizer : scalableWorldRasterizers) {
+            long start = System.nanoTime();
             ((ScalableWorldRasterizer) rasterizer).generateChunk(chunk, chunkRegion, scale);
+            record(rasterizer, start);
         }
     }
 
@@ -83,4 +118,89 @@ public void initialize() {
 
         entityProviders.forEach(EntityProvider::initialize);
     }
+
+    /**
+     * Sets whether chunks are generated in parallel. If they are, the facets required by the rasterizers and entity
+     * providers are computed up front, running facet providers that do not depend on each other concurrently, and the
+     * entity providers run alongside the rasterizers. Rasterizers still run one after the other, as later ones may
+     * overwrite the blocks placed by earlier ones.
+     */
+    public void setParallelGeneration(boolean parallelGeneration) {
+        this.parallelGeneration = parallelGeneration;
+    }
+
+    public boolean isParallelGeneration() {
+        return parallelGeneration;
+    }
+
+    /**
+     * The timings are only collected while generating chunks in parallel, and are reported as
+     * {@link org.terasology.engine.monitoring.PerformanceMonitor} counters as well.
+     *
+     * @return the time spent by each facet provider, rasterizer and entity provider of this world
+     */
+    public WorldGenerationTimings getTimings() {
+        return timings;
+    }
+
+    /**
+     * @return the cache sharing 2D facets between the chunks of a column
+     */
+    public FacetCache getFacetCache() {
+        return facetCache;
+    }
+
+    private RegionImpl createRegion(BlockRegion region, float scale) {
+        WorldGenerationTimings regionTimings = parallelGeneration ? timings : null;
+        if (scale == 1) {
+            return new RegionImpl(region, facetProviderChains, borders, scale, regionTimings, facetCache);
+        }
+        return new RegionImpl(region, scalableFacetProviderChains, borders, scale, regionTimings, scalableFacetCache);
+    }
+
+    private void rasterize(Chunk chunk, Region chunkRegion) {
+        for (WorldRasterizer rasterizer : worldRasterizers) {
+            long start = System.nanoTime();
+            rasterizer.generateChunk(chunk, chunkRegion);
+            record(rasterizer, start);
+        }
+    }
+
+    private void provideEntities(Region chunkRegion, EntityBuffer buffer) {
+        for (EntityProvider entityProvider : entityProviders) {
+            long start = System.nanoTime();
+            entityProvider.process(chunkRegion, buffer);
+            record(entityProvider, start);
+        }
+    }
+
+    private void record(Object generator, long start) {
+        if (parallelGeneration) {
+            timings.record(generator, System.nanoTime() - start);
+        }
+    }
+
+    private static Set<Class<? extends WorldFacet>> requiredFacets(Collection<?> generators) {
+        Set<Class<? extends WorldFacet>> facets = new LinkedHashSet<>();
+        for (Object generator : generators) {
+            Requires requires = generator.getClass().getAnnotation(Requires.class);
+            if (requires != null) {
+                for (Facet facet : requires.value()) {
+                    facets.add(facet.value());
+                }
+            }
+        }
+        return facets;
+    }
+
+    private static Optional<FacetProviderGraph> buildGraph(
+            ListMultimap<Class<? extends WorldFacet>, FacetProvider> providerChains,
+            Collection<Class<? extends WorldFacet>> facets) {
+        try {
+            return Optional.of(FacetProviderGraph.build(providerChains, facets));
+        } catch (IllegalStateException e) {
+            logger.warn("Unable to order facet providers for parallel generation, computing facets sequentially", e);
+            return Optional.empty();
+        }
+    }
 }
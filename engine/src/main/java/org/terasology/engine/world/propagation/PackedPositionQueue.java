@@ -0,0 +1,225 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.world.propagation;
+
+import gnu.trove.map.TObjectIntMap;
+import gnu.trove.map.hash.TObjectIntHashMap;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.engine.world.chunks.Chunks;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Position queue which stores positions as packed ints and de-duplicates them with a bitset per chunk, so queueing a
+ * position does not allocate.
+ * <p>
+ * Each entry is made of a chunk slot and the block index inside that chunk. Chunk slots are shared by all queues
+ * created by the same {@link #factory()}, and are released once all of those queues are empty. Removal only clears
+ * the bit of a position; its stale entry is skipped when the queue is drained.
+ */
+public class PackedPositionQueue implements PositionQueue {
+
+    private static final int LOCAL_BITS = Chunks.POWER_X + Chunks.POWER_Y + Chunks.POWER_Z;
+    private static final int LOCAL_MASK = (1 << LOCAL_BITS) - 1;
+    private static final int WORDS_PER_CHUNK = Math.max(1, (1 << LOCAL_BITS) / Long.SIZE);
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final ChunkSlots slots;
+    private final Vector3i visited = new Vector3i();
+
+    private long[][] queued = new long[0][];
+    private int[] entries = new int[INITIAL_CAPACITY];
+    private int[] spare = new int[INITIAL_CAPACITY];
+    private int size;
+    private int count;
+
+    PackedPositionQueue(ChunkSlots slots) {
+        this.slots = slots;
+    }
+
+    /**
+     * @return a factory for queues which share their chunk slots. Use one factory per propagator.
+     */
+    public static Supplier<PositionQueue> factory() {
+        ChunkSlots slots = new ChunkSlots();
+        return () -> new PackedPositionQueue(slots);
+    }
+
+    @Override
+    public boolean add(Vector3ic pos) {
+        int slot = slots.obtain(pos.x() >> Chunks.POWER_X, pos.y() >> Chunks.POWER_Y, pos.z() >> Chunks.POWER_Z);
+        int local = localIndex(pos);
+        long[] bits = bitsFor(slot);
+        long mask = 1L << local;
+        int word = local >>> 6;
+        if ((bits[word] & mask) != 0) {
+            return false;
+        }
+        bits[word] |= mask;
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size * 2);
+        }
+        entries[size++] = (slot << LOCAL_BITS) | local;
+        count++;
+        slots.live++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(Vector3ic pos) {
+        if (count == 0) {
+            return false;
+        }
+        int slot = slots.find(pos.x() >> Chunks.POWER_X, pos.y() >> Chunks.POWER_Y, pos.z() >> Chunks.POWER_Z);
+        if (slot < 0 || slot >= queued.length || queued[slot] == null) {
+            return false;
+        }
+        int local = localIndex(pos);
+        long mask = 1L << local;
+        int word = local >>> 6;
+        if ((queued[slot][word] & mask) == 0) {
+            return false;
+        }
+        queued[slot][word] &= ~mask;
+        count--;
+        slots.live--;
+        return true;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            int entry = entries[i];
+            queued[entry >>> LOCAL_BITS][(entry & LOCAL_MASK) >>> 6] = 0;
+        }
+        slots.live -= count;
+        count = 0;
+        size = 0;
+    }
+
+    @Override
+    public void drain(Consumer<Vector3ic> visitor) {
+        int[] batch = entries;
+        int batchSize = size;
+        entries = spare;
+        size = 0;
+
+        // drop removed and duplicate entries, so positions added while visiting are accepted again
+        int kept = 0;
+        for (int i = 0; i < batchSize; i++) {
+            int entry = batch[i];
+            long[] bits = queued[entry >>> LOCAL_BITS];
+            long mask = 1L << entry;
+            int word = (entry & LOCAL_MASK) >>> 6;
+            if ((bits[word] & mask) != 0) {
+                bits[word] &= ~mask;
+                batch[kept++] = entry;
+            }
+        }
+        slots.live -= kept;
+        count = 0;
+
+        slots.draining++;
+        try {
+            for (int i = 0; i < kept; i++) {
+                int entry = batch[i];
+                slots.toPosition(entry >>> LOCAL_BITS, entry & LOCAL_MASK, visited);
+                visitor.accept(visited);
+            }
+        } finally {
+            slots.draining--;
+            spare = batch;
+        }
+    }
+
+    private long[] bitsFor(int slot) {
+        if (slot >= queued.length) {
+            queued = Arrays.copyOf(queued, Math.max(slot + 1, queued.length * 2));
+        }
+        long[] bits = queued[slot];
+        if (bits == null) {
+            bits = new long[WORDS_PER_CHUNK];
+            queued[slot] = bits;
+        }
+        return bits;
+    }
+
+    private static int localIndex(Vector3ic pos) {
+        return (pos.x() & Chunks.INNER_CHUNK_POS_FILTER_X)
+                | (pos.z() & Chunks.INNER_CHUNK_POS_FILTER_Z) << Chunks.POWER_X
+                | (pos.y() & Chunks.INNER_CHUNK_POS_FILTER_Y) << (Chunks.POWER_X + Chunks.POWER_Z);
+    }
+
+    /**
+     * Assigns small slot numbers to the chunks positions are queued in.
+     */
+    static final class ChunkSlots {
+        private static final int MAX_SLOTS = 1 << (Integer.SIZE - 1 - LOCAL_BITS);
+        private static final int NO_SLOT = -1;
+
+        private final TObjectIntMap<Vector3ic> slotByChunk = new TObjectIntHashMap<>(16, 0.5f, NO_SLOT);
+        private final Vector3i lookup = new Vector3i();
+        private int[] chunkX = new int[16];
+        private int[] chunkY = new int[16];
+        private int[] chunkZ = new int[16];
+        private int slotCount;
+        private int lastSlot = NO_SLOT;
+
+        /** Number of positions queued across all queues using these slots. */
+        private int live;
+        /** Number of drains in progress, during which slots must not be reassigned. */
+        private int draining;
+
+        int find(int x, int y, int z) {
+            if (lastSlot != NO_SLOT && chunkX[lastSlot] == x && chunkY[lastSlot] == y && chunkZ[lastSlot] == z) {
+                return lastSlot;
+            }
+            int slot = slotByChunk.get(lookup.set(x, y, z));
+            if (slot != NO_SLOT) {
+                lastSlot = slot;
+            }
+            return slot;
+        }
+
+        int obtain(int x, int y, int z) {
+            if (live == 0 && draining == 0 && slotCount > 0) {
+                slotByChunk.clear();
+                slotCount = 0;
+                lastSlot = NO_SLOT;
+            }
+            int slot = find(x, y, z);
+            if (slot == NO_SLOT) {
+                if (slotCount == MAX_SLOTS) {
+                    throw new IllegalStateException("Too many chunks with queued positions: " + slotCount);
+                }
+                slot = slotCount++;
+                if (slot == chunkX.length) {
+                    chunkX = Arrays.copyOf(chunkX, slot * 2);
+                    chunkY = Arrays.copyOf(chunkY, slot * 2);
+                    chunkZ = Arrays.copyOf(chunkZ, slot * 2);
+                }
+                chunkX[slot] = x;
+                chunkY[slot] = y;
+                chunkZ[slot] = z;
+                slotByChunk.put(new Vector3i(x, y, z), slot);
+                lastSlot = slot;
+            }
+            return slot;
+        }
+
+        void toPosition(int slot, int local, Vector3i dest) {
+            dest.set(
+                    (chunkX[slot] << Chunks.POWER_X) | (local & Chunks.INNER_CHUNK_POS_FILTER_X),
+                    (chunkY[slot] << Chunks.POWER_Y) | (local >>> (Chunks.POWER_X + Chunks.POWER_Z)),
+                    (chunkZ[slot] << Chunks.POWER_Z) | ((local >>> Chunks.POWER_X) & Chunks.INNER_CHUNK_POS_FILTER_Z));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.world.propagation;
+
+import org.joml.Vector3ic;
+
+import java.util.function.Consumer;
+
+/**
+ * A queue of block positions waiting to be processed by a {@link BatchPropagator}. Each position is held at most once.
+ *
+ * @see SetPositionQueue
+ * @see PackedPositionQueue
+ */
+public interface PositionQueue {
+
+    /**
+     * @param pos The position to queue. Implementations copy the position, so the caller may reuse it.
+     * @return true if the position was not queued before
+     */
+    boolean add(Vector3ic pos);
+
+    /**
+     * @param pos The position to remove
+     * @return true if the position was queued
+     */
+    boolean remove(Vector3ic pos);
+
+    boolean isEmpty();
+
+    void clear();
+
+    /**
+     * Removes all queued positions and passes them to the visitor in the order they were queued.
+     * Positions added while visiting are queued again, to be handled by the next call.
+     * <p>
+     * The position passed to the visitor is only valid for the duration of the call.
+     *
+     * @param visitor Handles each position
+     */
+    void drain(Consumer<Vector3ic> visitor);
+}
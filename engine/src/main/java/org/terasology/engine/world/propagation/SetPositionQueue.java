@@ -0,0 +1,45 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.world.propagation;
+
+import com.google.common.collect.Sets;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Position queue backed by a {@link java.util.LinkedHashSet}, storing a copy of each position as an object.
+ */
+public class SetPositionQueue implements PositionQueue {
+
+    private Set<Vector3ic> positions = Sets.newLinkedHashSet();
+
+    @Override
+    public boolean add(Vector3ic pos) {
+        return positions.add(new Vector3i(pos));
+    }
+
+    @Override
+    public boolean remove(Vector3ic pos) {
+        return positions.remove(pos);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return positions.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        positions.clear();
+    }
+
+    @Override
+    public void drain(Consumer<Vector3ic> visitor) {
+        Set<Vector3ic> toProcess = positions;
+        positions = Sets.newLinkedHashSetWithExpectedSize(toProcess.size());
+        toProcess.forEach(visitor);
+    }
+}
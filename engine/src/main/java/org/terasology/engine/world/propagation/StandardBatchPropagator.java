@@ -3,7 +3,6 @@
 package org.terasology.engine.world.propagation;
 
 import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
 import org.joml.Vector3i;
 import org.joml.Vector3ic;
 import org.terasology.engine.math.Side;
@@ -15,8 +14,8 @@
 
 import java.util.Arrays;
 import java.util.Map;
-import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Batch propagator that works on a set of changed blocks Works for a single given propagation ruleset
@@ -30,8 +29,8 @@ public class StandardBatchPropagator implements BatchPropagator {
     private int scale;
 
     /* Queues are stored in reverse order. Ie, strongest light is 0. */
-    private Set<Vector3ic>[] reduceQueues;
-    private Set<Vector3ic>[] increaseQueues;
+    private PositionQueue[] reduceQueues;
+    private PositionQueue[] increaseQueues;
 
     private Map<Side, Vector3ic> chunkEdgeDeltas = Maps.newEnumMap(Side.class);
 
@@ -40,6 +39,14 @@ public StandardBatchPropagator(PropagationRules rules, PropagatorWorldView world
     }
 
     public StandardBatchPropagator(PropagationRules rules, PropagatorWorldView world, int scale) {
+        this(rules, world, scale, PackedPositionQueue.factory());
+    }
+
+    /**
+     * @param queueFactory Creates the queues of pending positions. All queues of this propagator are created from it.
+     */
+    public StandardBatchPropagator(PropagationRules rules, PropagatorWorldView world, int scale,
+                                   Supplier<PositionQueue> queueFactory) {
         this.world = world;
         this.rules = rules;
         this.scale = scale;
@@ -64,11 +71,11 @@ public StandardBatchPropagator(PropagationRules rules, PropagatorWorldView world
             chunkEdgeDeltas.put(side, delta);
         }
 
-        increaseQueues = new Set[rules.getMaxValue()];
-        reduceQueues = new Set[rules.getMaxValue()];
+        increaseQueues = new PositionQueue[rules.getMaxValue()];
+        reduceQueues = new PositionQueue[rules.getMaxValue()];
         for (int i = 0; i < rules.getMaxValue(); ++i) {
-            increaseQueues[i] = Sets.newLinkedHashSet();
-            reduceQueues[i] = Sets.newLinkedHashSet();
+            increaseQueues[i] = queueFactory.get();
+            reduceQueues[i] = queueFactory.get();
         }
 
     }
@@ -185,14 +192,10 @@ private void processReduction() {
         for (int depth = 0; depth < rules.getMaxValue(); depth++) {
             byte oldValue = (byte) (rules.getMaxValue() - depth);
 
-            while (!reduceQueues[depth].isEmpty()) {
-                Set<Vector3ic> toProcess = reduceQueues[depth];
-                reduceQueues[depth] = Sets.newLinkedHashSetWithExpectedSize(toProcess.size());
-
+            PositionQueue queue = reduceQueues[depth];
+            while (!queue.isEmpty()) {
                 /* This step will add any new reductions to to the `reduceQueues` set */
-                for (Vector3ic pos : toProcess) {
-                    purge(pos, oldValue);
-                }
+                queue.drain(pos -> purge(pos, oldValue));
             }
         }
     }
@@ -204,14 +207,10 @@ private void processIncrease() {
         for (int depth = 0; depth < rules.getMaxValue() - 1; depth++) {
             byte value = (byte) (rules.getMaxValue() - depth);
 
-            while (!increaseQueues[depth].isEmpty()) {
-                Set<Vector3ic> toProcess = increaseQueues[depth];
-                increaseQueues[depth] = Sets.newLinkedHashSetWithExpectedSize(toProcess.size());
-
+            PositionQueue queue = increaseQueues[depth];
+            while (!queue.isEmpty()) {
                 /* This step will add any new values to `increaseQueues` */
-                for (Vector3ic pos : toProcess) {
-                    push(pos, value);
-                }
+                queue.drain(pos -> push(pos, value));
             }
         }
 
@@ -268,7 +267,7 @@ private void increase(Vector3ic position, byte value) {
      */
     private void reduce(Vector3ic position, byte oldValue) {
         if (oldValue > 0) {
-            reduceQueues[rules.getMaxValue() - oldValue].add(new Vector3i(position));
+            reduceQueues[rules.getMaxValue() - oldValue].add(position);
         }
     }
 
@@ -280,7 +279,7 @@ private void reduce(Vector3ic position, byte oldValue) {
      */
     private void queueSpreadValue(Vector3ic position, byte value) {
         if (value > 1) {
-            increaseQueues[rules.getMaxValue() - value].add(new Vector3i(position));
+            increaseQueues[rules.getMaxValue() - value].add(position);
         }
     }
 
@@ -288,7 +287,7 @@ private void queueSpreadValue(Vector3ic position, byte value) {
      * Clears all the queues and cleans up the object
      */
     private void cleanUp() {
-        for (Set<Vector3ic> queue : increaseQueues) {
+        for (PositionQueue queue : increaseQueues) {
             queue.clear();
         }
     }
@@ -2,7 +2,6 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.terasology.engine.world.propagation;
 
-import com.google.common.collect.Sets;
 import org.joml.Vector3i;
 import org.joml.Vector3ic;
 import org.terasology.engine.math.Side;
@@ -11,7 +10,7 @@
 import org.terasology.engine.world.chunks.Chunks;
 
 import java.util.Arrays;
-import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Batch propagator that works on a set of changed blocks
@@ -24,21 +23,30 @@ public class SunlightRegenBatchPropagator implements BatchPropagator {
     private PropagatorWorldView sunlightWorld;
     private BatchPropagator sunlightPropagator;
 
-    private Set<Vector3ic>[] reduceQueues;
-    private Set<Vector3ic>[] increaseQueues;
+    private PositionQueue[] reduceQueues;
+    private PositionQueue[] increaseQueues;
 
     public SunlightRegenBatchPropagator(PropagationRules regenRules, PropagatorWorldView regenWorld,
                                         BatchPropagator sunlightPropagator, PropagatorWorldView sunlightWorld) {
+        this(regenRules, regenWorld, sunlightPropagator, sunlightWorld, PackedPositionQueue.factory());
+    }
+
+    /**
+     * @param queueFactory Creates the queues of pending positions. All queues of this propagator are created from it.
+     */
+    public SunlightRegenBatchPropagator(PropagationRules regenRules, PropagatorWorldView regenWorld,
+                                        BatchPropagator sunlightPropagator, PropagatorWorldView sunlightWorld,
+                                        Supplier<PositionQueue> queueFactory) {
         this.regenRules = regenRules;
         this.regenWorld = regenWorld;
         this.sunlightPropagator = sunlightPropagator;
         this.sunlightWorld = sunlightWorld;
 
-        increaseQueues = new Set[regenRules.getMaxValue() + 1];
-        reduceQueues = new Set[regenRules.getMaxValue() + 1];
+        increaseQueues = new PositionQueue[regenRules.getMaxValue() + 1];
+        reduceQueues = new PositionQueue[regenRules.getMaxValue() + 1];
         for (int i = 0; i < regenRules.getMaxValue() + 1; ++i) {
-            increaseQueues[i] = Sets.newLinkedHashSet();
-            reduceQueues[i] = Sets.newLinkedHashSet();
+            increaseQueues[i] = queueFactory.get();
+            reduceQueues[i] = queueFactory.get();
         }
     }
 
@@ -97,10 +105,7 @@ private void queueSpreadRegen(Vector3ic position, byte value) {
 
     private void processRegenReduction() {
         for (byte depth = 0; depth <= regenRules.getMaxValue(); depth++) {
-            Set<Vector3ic> toProcess = reduceQueues[depth];
-
-            toProcess.forEach(this::purge);
-            toProcess.clear();
+            reduceQueues[depth].drain(this::purge);
         }
     }
 
@@ -127,12 +132,8 @@ private void purge(Vector3ic pos) {
 
     private void processRegenIncrease() {
         for (byte depth = regenRules.getMaxValue(); depth >= 0; depth--) {
-            Set<Vector3ic> toProcess = increaseQueues[depth];
-
-            for (Vector3ic pos : toProcess) {
-                push(pos, depth);
-            }
-            toProcess.clear();
+            byte value = depth;
+            increaseQueues[depth].drain(pos -> push(pos, value));
         }
     }
 